@@ -120,7 +120,9 @@ public abstract class AbstractTextGraphics implements TextGraphics {
 
     @Override
     public TextGraphics fill(char c) {
-        fillRectangle(Point.TOP_LEFT_CORNER, getSize(), c);
+        // Anything outside of the visible area would be dropped anyway
+        Rectangle visibleArea = getVisibleArea();
+        fillRectangle(visibleArea.point, visibleArea.size, c);
         return this;
     }
 
@@ -28,6 +28,7 @@ import com.googlecode.lanterna.gui2.WindowPostRenderer;
 import com.googlecode.lanterna.gui2.WindowShadowRenderer;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,6 +51,9 @@ public abstract class AbstractTheme implements Theme {
     private final ThemeTreeNode rootNode;
     private final WindowPostRenderer windowPostRenderer;
     private final WindowDecorationRenderer windowDecorationRenderer;
+    // Resolved definitions, these are cleared whenever the theme is modified
+    private final Map<Class<?>, DefinitionImpl> definitionCache;
+    private volatile DefinitionImpl defaultDefinition;
 
     protected AbstractTheme(WindowPostRenderer postRenderer,
                             WindowDecorationRenderer decorationRenderer) {
@@ -57,6 +61,7 @@ public abstract class AbstractTheme implements Theme {
         this.rootNode = new ThemeTreeNode(Object.class, null);
         this.windowPostRenderer = postRenderer;
         this.windowDecorationRenderer = decorationRenderer;
+        this.definitionCache = new ConcurrentHashMap<>();
 
         rootNode.foregroundMap.put(STYLE_NORMAL, TextColor.ANSI.WHITE);
         rootNode.backgroundMap.put(STYLE_NORMAL, TextColor.ANSI.BLACK);
@@ -78,9 +83,19 @@ public abstract class AbstractTheme implements Theme {
             return false;
         }
         node.apply(style, value);
+        clearCaches();
         return true;
     }
 
+    /**
+     * Drops all the resolved theme definitions and styles, so the next lookups will pick up changes made to the theme.
+     * This is called automatically by {@code addStyle(..)}.
+     */
+    protected void clearCaches() {
+        definitionCache.clear();
+        defaultDefinition = null;
+    }
+
     private ThemeTreeNode getNode(String definition) {
         try {
             if(definition == null || definition.trim().isEmpty()) {
@@ -111,11 +126,28 @@ public abstract class AbstractTheme implements Theme {
 
     @Override
     public ThemeDefinition getDefaultDefinition() {
-        return new DefinitionImpl(rootNode);
+        DefinitionImpl definition = defaultDefinition;
+        if(definition == null) {
+            definition = new DefinitionImpl(rootNode);
+            defaultDefinition = definition;
+        }
+        return definition;
     }
 
     @Override
     public ThemeDefinition getDefinition(Class<?> clazz) {
+        if(clazz == null) {
+            return getDefaultDefinition();
+        }
+        DefinitionImpl definition = definitionCache.get(clazz);
+        if(definition == null) {
+            definition = resolveDefinition(clazz);
+            definitionCache.put(clazz, definition);
+        }
+        return definition;
+    }
+
+    private DefinitionImpl resolveDefinition(Class<?> clazz) {
         LinkedList<Class<?>> hierarchy = new LinkedList<>();
         while(clazz != null && clazz != Object.class) {
             hierarchy.addFirst(clazz);
@@ -212,39 +244,51 @@ public abstract class AbstractTheme implements Theme {
 
     private class DefinitionImpl implements ThemeDefinition {
         final ThemeTreeNode node;
+        private final ThemeStyle normal;
+        private final ThemeStyle preLight;
+        private final ThemeStyle selected;
+        private final ThemeStyle active;
+        private final ThemeStyle insensitive;
+        private final Map<String, ThemeStyle> customStyles;
 
         public DefinitionImpl(ThemeTreeNode node) {
             this.node = node;
+            this.normal = new StyleImpl(node, STYLE_NORMAL);
+            this.preLight = new StyleImpl(node, STYLE_PRELIGHT);
+            this.selected = new StyleImpl(node, STYLE_SELECTED);
+            this.active = new StyleImpl(node, STYLE_ACTIVE);
+            this.insensitive = new StyleImpl(node, STYLE_INSENSITIVE);
+            this.customStyles = new ConcurrentHashMap<>();
         }
 
         @Override
         public ThemeStyle getNormal() {
-            return new StyleImpl(node, STYLE_NORMAL);
+            return normal;
         }
 
         @Override
         public ThemeStyle getPreLight() {
-            return new StyleImpl(node, STYLE_PRELIGHT);
+            return preLight;
         }
 
         @Override
         public ThemeStyle getSelected() {
-            return new StyleImpl(node, STYLE_SELECTED);
+            return selected;
         }
 
         @Override
         public ThemeStyle getActive() {
-            return new StyleImpl(node, STYLE_ACTIVE);
+            return active;
         }
 
         @Override
         public ThemeStyle getInsensitive() {
-            return new StyleImpl(node, STYLE_INSENSITIVE);
+            return insensitive;
         }
 
         @Override
         public ThemeStyle getCustom(String name) {
-            return new StyleImpl(node, name);
+            return customStyles.computeIfAbsent(name, customName -> new StyleImpl(node, customName));
         }
 
         @Override
@@ -258,73 +302,87 @@ public abstract class AbstractTheme implements Theme {
 
         @Override
         public char getCharacter(String name, char fallback) {
-            Character character = node.characterMap.get(name);
-            if(character == null) {
-                if(node == rootNode) {
-                    return fallback;
-                }
-                else {
-                    return new DefinitionImpl(node.parent).getCharacter(name, fallback);
+            for(ThemeTreeNode current = node; current != null; current = current.parent) {
+                Character character = current.characterMap.get(name);
+                if(character != null) {
+                    return character;
                 }
             }
-            return character;
+            return fallback;
         }
 
         @Override
         public boolean isCursorVisible() {
-            Boolean cursorVisible = node.cursorVisible;
-            if(cursorVisible == null) {
-                if(node == rootNode) {
-                    return true;
-                }
-                else {
-                    return new DefinitionImpl(node.parent).isCursorVisible();
+            for(ThemeTreeNode current = node; current != null; current = current.parent) {
+                if(current.cursorVisible != null) {
+                    return current.cursorVisible;
                 }
             }
-            return cursorVisible;
+            return true;
         }
 
         @Override
         public boolean getBooleanProperty(String name, boolean defaultValue) {
-            String propertyValue = node.propertyMap.get(name);
-            if(propertyValue == null) {
-                if(node == rootNode) {
-                    return defaultValue;
-                }
-                else {
-                    return new DefinitionImpl(node.parent).getBooleanProperty(name, defaultValue);
+            for(ThemeTreeNode current = node; current != null; current = current.parent) {
+                String propertyValue = current.propertyMap.get(name);
+                if(propertyValue != null) {
+                    return Boolean.parseBoolean(propertyValue);
                 }
             }
-            return Boolean.parseBoolean(propertyValue);
+            return defaultValue;
         }
 
         @SuppressWarnings("unchecked")
         @Override
         public <T extends Component> ComponentRenderer<T> getRenderer(Class<T> type) {
-            String rendererClass = node.renderer;
-            if(rendererClass == null) {
-                if(node == rootNode) {
-                    return null;
-                }
-                else {
-                    return new DefinitionImpl(node.parent).getRenderer(type);
+            for(ThemeTreeNode current = node; current != null; current = current.parent) {
+                if(current.renderer != null) {
+                    return (ComponentRenderer<T>)instanceByClassName(current.renderer);
                 }
             }
-            return (ComponentRenderer<T>)instanceByClassName(rendererClass);
+            return null;
         }
     }
 
+    /**
+     * Style resolved against the theme tree when created, it is discarded together with its definition if the theme is
+     * modified
+     */
     private class StyleImpl implements ThemeStyle {
-        private final ThemeTreeNode styleNode;
-        private final String name;
+        private final TextColor foreground;
+        private final TextColor background;
+        private final EnumSet<SGR> sgrs;
 
         private StyleImpl(ThemeTreeNode node, String name) {
-            this.styleNode = node;
-            this.name = name;
+            this.foreground = resolveForeground(node, name);
+            this.background = resolveBackground(node, name);
+            this.sgrs = resolveSGRs(node, name);
         }
 
         @Override
         public TextColor getForeground() {
+            return foreground;
+        }
+
+        @Override
+        public TextColor getBackground() {
+            return background;
+        }
+
+        @Override
+        public EnumSet<SGR> getSGRs() {
+            return EnumSet.copyOf(sgrs);
+        }
+
+        @Override
+        public void applyTo(TextGraphics graphics) {
+            graphics.setForegroundColor(foreground);
+            graphics.setBackgroundColor(background);
+            // TextGraphics copies the modifiers into its own state, so there is no need to hand out a copy
+            graphics.setModifiers(sgrs);
+        }
+
+        private TextColor resolveForeground(ThemeTreeNode styleNode, String name) {
             ThemeTreeNode node = styleNode;
             while(node != null) {
                 if(node.foregroundMap.containsKey(name)) {
@@ -339,8 +397,7 @@ public abstract class AbstractTheme implements Theme {
             return fallback;
         }
 
-        @Override
-        public TextColor getBackground() {
+        private TextColor resolveBackground(ThemeTreeNode styleNode, String name) {
             ThemeTreeNode node = styleNode;
             while(node != null) {
                 if(node.backgroundMap.containsKey(name)) {
@@ -355,8 +412,7 @@ public abstract class AbstractTheme implements Theme {
             return fallback;
         }
 
-        @Override
-        public EnumSet<SGR> getSGRs() {
+        private EnumSet<SGR> resolveSGRs(ThemeTreeNode styleNode, String name) {
             ThemeTreeNode node = styleNode;
             while(node != null) {
                 if(node.sgrMap.containsKey(name)) {
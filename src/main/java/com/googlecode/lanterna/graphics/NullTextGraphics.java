@@ -53,6 +53,11 @@ class NullTextGraphics implements TextGraphics {
         return size;
     }
 
+    @Override
+    public Rectangle getVisibleArea() {
+        return new Rectangle(0, 0, 0, 0);
+    }
+
     @Override
     public TextGraphics newTextGraphics(Point topLeftCorner, Dimension size) throws IllegalArgumentException {
         return this;
@@ -20,6 +20,7 @@ package com.googlecode.lanterna.graphics;
 
 import com.googlecode.lanterna.Dimension;
 import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.Rectangle;
 import com.googlecode.lanterna.TextCharacter;
 
 /**
@@ -59,6 +60,16 @@ class SubTextGraphics extends AbstractTextGraphics {
         return writableAreaSize;
     }
 
+    @Override
+    public Rectangle getVisibleArea() {
+        Rectangle underlyingVisibleArea = underlyingTextGraphics.getVisibleArea();
+        int left = Math.max(underlyingVisibleArea.x - topLeft.getColumn(), 0);
+        int top = Math.max(underlyingVisibleArea.y - topLeft.getRow(), 0);
+        int right = Math.min(underlyingVisibleArea.xAndWidth - topLeft.getColumn(), writableAreaSize.getColumns());
+        int bottom = Math.min(underlyingVisibleArea.yAndHeight - topLeft.getRow(), writableAreaSize.getRows());
+        return new Rectangle(left, top, Math.max(right - left, 0), Math.max(bottom - top, 0));
+    }
+
     @Override
     public TextCharacter getCharacter(int column, int row) {
         Point projectedPoint = project(column, row);
@@ -51,6 +51,18 @@ public interface TextGraphics extends StyleSet<TextGraphics> {
      */
     Dimension getSize();
 
+    /**
+     * Returns the part of this TextGraphics's writable area that will actually end up visible, in the coordinates of
+     * this TextGraphics. When a TextGraphics has been created through {@code newTextGraphics(..)} with an area that is
+     * partially outside of its parent, writes to that part are dropped and so it's not part of the visible area. This
+     * lets you skip drawing things that would be thrown away anyway. By default this is the whole writable area.
+     * @return Area, relative to the top-left corner of this TextGraphics, where characters put will be visible
+     */
+    default Rectangle getVisibleArea() {
+        Dimension size = getSize();
+        return new Rectangle(0, 0, size.getColumns(), size.getRows());
+    }
+
     /**
      * Creates a new TextGraphics of the same type as this one, using the same underlying subsystem. Using this method,
      * you need to specify a section of the current TextGraphics valid area that this new TextGraphic shall be
@@ -48,4 +48,15 @@ public interface ThemeStyle {
      * @return SGR flags associated with this style
      */
     EnumSet<SGR> getSGRs();
+
+    /**
+     * Activates this style on a {@link TextGraphics}, by setting its foreground color, background color and modifiers.
+     * Implementations that keep their SGR flags in an immutable form can override this to avoid copying them.
+     * @param graphics {@link TextGraphics} to apply this style to
+     */
+    default void applyTo(TextGraphics graphics) {
+        graphics.setForegroundColor(getForeground());
+        graphics.setBackgroundColor(getBackground());
+        graphics.setModifiers(getSGRs());
+    }
 }
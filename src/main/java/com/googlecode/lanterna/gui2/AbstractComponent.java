@@ -24,6 +24,10 @@ import com.googlecode.lanterna.bundle.LanternaThemes;
 import com.googlecode.lanterna.graphics.Theme;
 import com.googlecode.lanterna.graphics.ThemeDefinition;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 /**
  * AbstractComponent provides some good default behaviour for a {@code Component}, all components in Lanterna extends
  * from this class in some way. If you want to write your own component that isn't interactable or theme:able, you
@@ -68,13 +72,23 @@ public abstract class AbstractComponent<T extends Component> implements Componen
     private Theme themeOverride;
     private LayoutData layoutData;
     private boolean visible;
-    private boolean invalid;
+    // Invalidations come from any thread through the synchronized setters of the components, so the state below is
+    // guarded by its own lock rather than the component monitor, which the GUI thread holds for the whole draw
+    private final Object invalidationLock;
+    private volatile boolean invalid;
+    private volatile boolean invalidChildren;
+    // While rendering, invalidations are recorded here as well so that the ones raised by the renderer or by a child
+    // are still pending when the draw is done
+    private boolean drawing;
+    private boolean invalidatedWhileDrawing;
+    private Set<Component> childrenInvalidatedWhileDrawing;
 
     /**
      * Default constructor
      */
     public AbstractComponent(Attributes attributes) {
         this.attributes = attributes;
+        invalidationLock = new Object();
         size = Dimension.ZERO;
         point = Point.TOP_LEFT_CORNER;
         explicitPreferredSize = null;
@@ -118,9 +132,35 @@ public abstract class AbstractComponent<T extends Component> implements Componen
         //Delegate drawing the component to the renderer
         setSize(graphics.getSize());
         onBeforeDrawing();
-        getRenderer().drawComponent(graphics, self());
-        onAfterDrawing(graphics);
-        invalid = false;
+        synchronized (invalidationLock) {
+            drawing = true;
+            invalidatedWhileDrawing = false;
+            childrenInvalidatedWhileDrawing = null;
+        }
+        try {
+            getRenderer().drawComponent(graphics, self());
+            onAfterDrawing(graphics);
+        }
+        finally {
+            Set<Component> invalidatedChildren;
+            synchronized (invalidationLock) {
+                drawing = false;
+                invalid = invalidatedWhileDrawing;
+                invalidChildren = false;
+                invalidatedChildren = childrenInvalidatedWhileDrawing;
+                childrenInvalidatedWhileDrawing = null;
+            }
+            if (invalidatedChildren != null) {
+                // Renderers often invalidate a child right before drawing it, only keep the ones that weren't drawn
+                // since. The children are asked without holding the lock as they take their own when invalidated.
+                for (Component child : invalidatedChildren) {
+                    if (child.isInvalid()) {
+                        invalidChildren = true;
+                        break;
+                    }
+                }
+            }
+        }
     }
 
     @Override
@@ -245,7 +285,57 @@ public abstract class AbstractComponent<T extends Component> implements Componen
 
     @Override
     public void invalidate() {
-        invalid = true;
+        synchronized (invalidationLock) {
+            invalid = true;
+            if (drawing) {
+                invalidatedWhileDrawing = true;
+            }
+        }
+        Container parent = this.parent;
+        if (parent != null) {
+            parent.onChildInvalidated(this);
+        }
+    }
+
+    /**
+     * Marks this component as having invalid children and passes the notification on to the parent. The parent is
+     * only notified the first time after each draw (and once more if it happens while this component is being drawn),
+     * so this is cheap even when many children are invalidated at once.
+     * Components implementing {@link Container} get this as their {@code onChildInvalidated(..)} implementation.
+     *
+     * @param child Child component that was invalidated, or that has an invalidated component inside of it
+     */
+    public void onChildInvalidated(Component child) {
+        synchronized (invalidationLock) {
+            if (drawing) {
+                // The parent checks this component as a whole once drawn, so it only needs to hear about the first child
+                boolean first = childrenInvalidatedWhileDrawing == null;
+                if (first) {
+                    childrenInvalidatedWhileDrawing = Collections.newSetFromMap(new IdentityHashMap<>());
+                }
+                childrenInvalidatedWhileDrawing.add(child);
+                if (!first) {
+                    return;
+                }
+            } else if (invalidChildren) {
+                return;
+            }
+            invalidChildren = true;
+        }
+        Container parent = this.parent;
+        if (parent != null) {
+            parent.onChildInvalidated(this);
+        }
+    }
+
+    /**
+     * Returns {@code true} if any child (directly or indirectly) of this component has been invalidated since this
+     * component was last drawn.
+     *
+     * @return {@code true} if a child of this component has been invalidated since the last draw
+     */
+    protected boolean hasInvalidChildren() {
+        return invalidChildren;
     }
 
     @Override
@@ -359,6 +449,7 @@ public abstract class AbstractComponent<T extends Component> implements Componen
     @Override
     public final synchronized T setPreferredSize(Dimension explicitPreferredSize) {
         this.explicitPreferredSize = explicitPreferredSize;
+        invalidate();
         return self();
     }
 
@@ -372,6 +463,7 @@ public abstract class AbstractComponent<T extends Component> implements Componen
      */
     public T setRenderer(ComponentRenderer<T> renderer) {
         this.overrideRenderer = renderer;
+        invalidate();
         return self();
     }
 
@@ -144,7 +144,12 @@ public abstract class AbstractComposite<T extends Container> extends AbstractCom
 
     @Override
     public boolean isInvalid() {
-        return component != null && component.isInvalid();
+        return super.isInvalid() || hasInvalidChildren();
+    }
+
+    @Override
+    public boolean needsFullRedraw() {
+        return super.isInvalid() || component == null || component.needsFullRedraw();
     }
 
     @Override
@@ -97,6 +97,7 @@ public abstract class AbstractInteractableComponent<T extends AbstractInteractab
     @Override
     public synchronized T setEnabled(boolean enabled) {
         this.enabled = enabled;
+        invalidate();
         if (!enabled && isFocused()) {
             RootPane rootPane = getRootPane();
             if (rootPane != null) {
@@ -151,12 +152,14 @@ public abstract class AbstractInteractableComponent<T extends AbstractInteractab
     @Override
     public void onFocusGain(FocusChangeDirection direction, Interactable previouslyInFocus) {
         focused = true;
+        invalidate();
         focusGainListener.onFocusGain(direction, previouslyInFocus, this);
     }
 
     @Override
     public void onFocusLost(FocusChangeDirection direction, Interactable nextInFocus) {
         focused = false;
+        invalidate();
         focusLostListener.onFocusLost(direction, nextInFocus, this);
     }
 
@@ -164,6 +167,10 @@ public abstract class AbstractInteractableComponent<T extends AbstractInteractab
     public synchronized KeyStrokeResult onInput(KeyStroke keyStroke) {
         KeyStrokeResult keyStrokeResult = inputFilter == null || inputFilter.onInput(this, keyStroke) ? onKeyStroke(keyStroke) : KeyStrokeResult.UNHANDLED;
         keyStrokeListener.onKeyStroke(keyStroke, keyStrokeResult != KeyStrokeResult.UNHANDLED, self());
+        if (keyStrokeResult != KeyStrokeResult.UNHANDLED) {
+            // Whatever the input changed has to be picked up by the next redraw
+            invalidate();
+        }
         return keyStrokeResult;
     }
 
@@ -27,10 +27,18 @@ import com.googlecode.lanterna.input.MouseAction;
 import com.googlecode.lanterna.input.MouseActionType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Base class for several list box implementations, this will handle things like list of items and the scrollbar.
+ * <p>
+ * The items are held by a {@link ListModel}. By default this is a {@link DefaultListModel} that the item methods of the
+ * list box, such as {@link #addItems(List)}, operate on; for very large or generated lists you can instead plug in your
+ * own model through {@link #setListModel(ListModel)}, the list box will then only fetch the items it draws. Type-ahead
+ * search goes through an index of the item labels that is built the first time it's needed and kept until the items
+ * change.
  *
  * @param <T> Should always be itself, see {@code AbstractComponent}
  * @param <V> Type of items this list box contains
@@ -38,10 +46,17 @@ import java.util.List;
  */
 public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extends AbstractInteractableComponent<T> {
 
-    private final List<V> items = new ArrayList<>();
+    private static final long TYPE_AHEAD_TIMEOUT_MS = 1000;
+
+    private final ListModel.Listener modelListener;
     private final ListItemRenderer<V, T> listItemRenderer;
+    private ListModel<V> model;
     protected Point scrollOffset = new Point(0, 0);
     private int selectedIndex = -1;
+    private int modelVersion = 0;
+    private TypeAheadIndex typeAheadIndex;
+    private String typeAheadPrefix = "";
+    private long lastTypeAheadTime = 0;
 
     /**
      * This constructor sets up the component with a preferred size that is will always request, no matter what items
@@ -57,6 +72,130 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
         super(attributes);
         setPreferredSize(size);
         this.listItemRenderer = listItemRenderer;
+        this.modelListener = new ListModel.Listener() {
+            @Override
+            public void onItemsAdded(ListModel<?> model, int fromIndex, int count) {
+                itemsAdded(fromIndex, count);
+            }
+
+            @Override
+            public void onItemsRemoved(ListModel<?> model, int fromIndex, int count) {
+                itemsRemoved(fromIndex, count);
+            }
+
+            @Override
+            public void onItemsChanged(ListModel<?> model, int fromIndex, int count) {
+                itemsChanged();
+            }
+        };
+        this.model = new DefaultListModel<>();
+        this.model.addListener(modelListener);
+    }
+
+    /**
+     * Returns the model holding the items of this list box
+     *
+     * @return Model of this list box
+     */
+    public synchronized ListModel<V> getListModel() {
+        return model;
+    }
+
+    /**
+     * Replaces the model holding the items of this list box. The first item of the new model will be selected. Once a
+     * custom model is in place, items have to be added and removed through it; the item modification methods of the
+     * list box only work with a {@link DefaultListModel}.
+     *
+     * @param model Model to show in this list box
+     * @return Itself
+     */
+    public synchronized T setListModel(ListModel<V> model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Cannot assign a null ListModel");
+        }
+        this.model.removeListener(modelListener);
+        int oldItemCount = this.model.getItemCount();
+        this.model = model;
+        model.addListener(modelListener);
+        selectedIndex = model.getItemCount() > 0 ? 0 : -1;
+        onListModelReplaced(oldItemCount);
+        itemsChanged();
+        return self();
+    }
+
+    private DefaultListModel<V> getDefaultListModel() {
+        if (!(model instanceof DefaultListModel)) {
+            throw new IllegalStateException("This list box is backed by a custom ListModel, modify the items through the model");
+        }
+        return (DefaultListModel<V>) model;
+    }
+
+    private synchronized void itemsAdded(int fromIndex, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (selectedIndex == -1) {
+            selectedIndex = 0;
+        } else if (fromIndex <= selectedIndex) {
+            selectedIndex += count;
+        }
+        onItemsAdded(fromIndex, count);
+        itemsChanged();
+    }
+
+    private synchronized void itemsRemoved(int fromIndex, int count) {
+        if (selectedIndex >= fromIndex + count) {
+            selectedIndex -= count;
+        } else if (selectedIndex > fromIndex) {
+            selectedIndex = fromIndex;
+        }
+        selectedIndex = Math.min(selectedIndex, model.getItemCount() - 1);
+        onItemsRemoved(fromIndex, count);
+        itemsChanged();
+    }
+
+    private synchronized void itemsChanged() {
+        modelVersion++;
+        typeAheadIndex = null;
+        invalidate();
+    }
+
+    /**
+     * Called after items have been added to the model, so that subclasses keeping per-item state can follow along
+     *
+     * @param fromIndex Index of the first new item
+     * @param count Number of items added
+     */
+    protected void onItemsAdded(int fromIndex, int count) {
+    }
+
+    /**
+     * Called after items have been removed from the model, so that subclasses keeping per-item state can follow along
+     *
+     * @param fromIndex Index the first removed item had
+     * @param count Number of items removed
+     */
+    protected void onItemsRemoved(int fromIndex, int count) {
+    }
+
+    /**
+     * Called after {@link #setListModel(ListModel)} has put a new model in place. By default this is reported as all
+     * the old items being removed and all the new items being added; subclasses whose per-item state can't be carried
+     * over to unrelated items should override this and reset it instead.
+     *
+     * @param oldItemCount Number of items the previous model had
+     */
+    protected void onListModelReplaced(int oldItemCount) {
+        onItemsRemoved(0, oldItemCount);
+        onItemsAdded(0, model.getItemCount());
+    }
+
+    /**
+     * Returns a counter that is increased every time the items of this list box change, for renderers that cache
+     * anything derived from the items
+     */
+    synchronized int getModelVersion() {
+        return modelVersion;
     }
 
     /**
@@ -69,12 +208,15 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
         return addItems(List.of(items));
     }
 
+    /**
+     * Adds items to the list box, at the end
+     *
+     * @param items Items to add to the list box
+     * @return Itself
+     * @throws IllegalStateException If the list box is backed by a custom {@link ListModel}
+     */
     public synchronized T addItems(List<V> items) {
-        this.items.addAll(items);
-        if (selectedIndex == -1) {
-            selectedIndex = 0;
-        }
-        invalidate();
+        getDefaultListModel().addItems(items);
         return self();
     }
 
@@ -84,9 +226,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      * @return Itself
      */
     public synchronized T clearItems() {
-        items.clear();
-        selectedIndex = -1;
-        invalidate();
+        getDefaultListModel().clear();
         return self();
     }
 
@@ -104,7 +244,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
     protected int getIndexByMouseAction(MouseAction click) {
         int index = click.getPosition().getRow() - getGlobalPosition().getRow() - scrollOffset.getRow();
 
-        return Math.min(index, items.size() - 1);
+        return Math.min(index, getItemCount() - 1);
     }
 
     /**
@@ -116,7 +256,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      *                                   the list box
      */
     public synchronized V getItemAt(int index) {
-        return items.get(index);
+        return model.getItemAt(index);
     }
 
     /**
@@ -125,16 +265,25 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      * @return Number of items in the list box
      */
     public synchronized int getItemCount() {
-        return items.size();
+        return model.getItemCount();
     }
 
     /**
-     * Returns a copy of the items in the list box as a {@code List}
+     * Returns a copy of the items in the list box as a {@code List}. This fetches every item from the model, so avoid
+     * it on large lists.
      *
      * @return Copy of all the items in this list box
      */
     public synchronized List<V> getItems() {
-        return new ArrayList<>(items);
+        if (model instanceof DefaultListModel) {
+            return ((DefaultListModel<V>) model).getItems();
+        }
+        int itemCount = model.getItemCount();
+        List<V> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(model.getItemAt(i));
+        }
+        return items;
     }
 
     ListItemRenderer<V, T> getListItemRenderer() {
@@ -163,7 +312,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      * @return Itself
      */
     public synchronized T setSelectedIndex(int index) {
-        selectedIndex = Math.max(0, Math.min(index, items.size() - 1));
+        selectedIndex = Math.max(0, Math.min(index, getItemCount() - 1));
 
         invalidate();
         return self();
@@ -180,7 +329,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
         if (selectedIndex == -1) {
             return null;
         } else {
-            return items.get(selectedIndex);
+            return model.getItemAt(selectedIndex);
         }
     }
 
@@ -201,14 +350,14 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
                     return KeyStrokeResult.MOVE_FOCUS_LEFT;
 
                 case ArrowDown:
-                    if (items.isEmpty() || selectedIndex == items.size() - 1) {
+                    if (isEmpty() || selectedIndex == getItemCount() - 1) {
                         return KeyStrokeResult.MOVE_FOCUS_DOWN;
                     }
                     selectedIndex++;
                     return KeyStrokeResult.HANDLED;
 
                 case ArrowUp:
-                    if (items.isEmpty() || selectedIndex == 0) {
+                    if (isEmpty() || selectedIndex == 0) {
                         return KeyStrokeResult.MOVE_FOCUS_UP;
                     }
                     selectedIndex--;
@@ -219,7 +368,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
                     return KeyStrokeResult.HANDLED;
 
                 case End:
-                    selectedIndex = items.size() - 1;
+                    selectedIndex = getItemCount() - 1;
                     return KeyStrokeResult.HANDLED;
 
                 case PageUp:
@@ -279,7 +428,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      * @return Index of the item in the list box or -1 if the list box does not contain the item
      */
     public synchronized int indexOf(V item) {
-        return items.indexOf(item);
+        return model.indexOf(item);
     }
 
     /**
@@ -288,7 +437,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      * @return {@code true} if the list box has no items, {@code false} otherwise
      */
     public synchronized boolean isEmpty() {
-        return items.isEmpty();
+        return model.getItemCount() == 0;
     }
 
     @Override
@@ -302,14 +451,14 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
 
     @Override
     public void onFocusGain(FocusChangeDirection direction, Interactable previouslyInFocus) {
-        if (items.isEmpty()) {
+        if (isEmpty()) {
             return;
         }
 
         if (direction == FocusChangeDirection.DOWN) {
             selectedIndex = 0;
         } else if (direction == FocusChangeDirection.UP) {
-            selectedIndex = items.size() - 1;
+            selectedIndex = getItemCount() - 1;
         }
 
         super.onFocusGain(direction, previouslyInFocus);
@@ -322,37 +471,107 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
      * @param index Index of the item to remove
      * @return The item that was removed
      * @throws IndexOutOfBoundsException if the index is out of bounds in regards to the list of items
+     * @throws IllegalStateException If the list box is backed by a custom {@link ListModel}
      */
     public synchronized V removeItem(int index) {
-        V existing = items.remove(index);
-        if (index < selectedIndex) {
-            selectedIndex--;
+        DefaultListModel<V> defaultListModel = getDefaultListModel();
+        V existing = defaultListModel.getItemAt(index);
+        defaultListModel.removeItems(index, 1);
+        return existing;
+    }
+
+    /**
+     * Moves the selection to the next item whose label starts with what the user is typing. Characters typed within a
+     * second of each other are put together into a prefix to look for; typing the same character over and over instead
+     * cycles through the items starting with that character.
+     */
+    private synchronized boolean selectByCharacter(Character character) {
+        long now = System.currentTimeMillis();
+        if (now - lastTypeAheadTime > TYPE_AHEAD_TIMEOUT_MS) {
+            typeAheadPrefix = "";
         }
-        while (selectedIndex >= items.size()) {
-            selectedIndex--;
+        lastTypeAheadTime = now;
+        String prefix = typeAheadPrefix + Character.toLowerCase(character);
+        boolean cycling = prefix.chars().allMatch(c -> c == prefix.charAt(0));
+        if (typeAheadIndex == null) {
+            typeAheadIndex = new TypeAheadIndex(model);
         }
-        invalidate();
-        return existing;
+        int index = cycling ?
+                typeAheadIndex.findNext(prefix.substring(0, 1), selectedIndex + 1) :
+                typeAheadIndex.findNext(prefix, selectedIndex);
+        if (index == -1) {
+            typeAheadPrefix = "";
+            return false;
+        }
+        typeAheadPrefix = cycling ? prefix.substring(0, 1) : prefix;
+        setSelectedIndex(index);
+        return true;
     }
 
-    private boolean selectByCharacter(Character character) {
-        character = Character.toLowerCase(character);
+    /**
+     * The item indexes of a model sorted by the lower-cased {@code toString()} of the items, so that the items starting
+     * with a particular prefix can be found with a binary search. Only the indexes are kept; the labels needed during
+     * the search are asked from the model again.
+     */
+    private static class TypeAheadIndex {
+        private final ListModel<?> model;
+        private final int[] sortedIndexes;
+
+        private TypeAheadIndex(ListModel<?> model) {
+            this.model = model;
+            int itemCount = model.getItemCount();
+            String[] labels = new String[itemCount];
+            Integer[] indexes = new Integer[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                labels[i] = getLabel(i);
+                indexes[i] = i;
+            }
+            // Stable sort, items with the same label stay in list order
+            Arrays.sort(indexes, (a, b) -> labels[a].compareTo(labels[b]));
+            this.sortedIndexes = new int[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                sortedIndexes[i] = indexes[i];
+            }
+        }
+
+        private String getLabel(int index) {
+            Object item = model.getItemAt(index);
+            return item != null ? item.toString().toLowerCase(Locale.ROOT) : "";
+        }
 
-        int selectedIndex = getSelectedIndex();
-        for (int i = 0; i < getItemCount(); i++) {
-            int index = (selectedIndex + i + 1) % getItemCount();
-            V item = getItemAt(index);
-            String label = item != null ? item.toString() : null;
-            if (label != null && label.length() > 0) {
-                char firstChar = Character.toLowerCase(label.charAt(0));
-                if (firstChar == character) {
-                    setSelectedIndex(index);
-                    return true;
+        /**
+         * Returns the first index at or after {@code fromIndex} of an item starting with the prefix, wrapping around to
+         * the start of the list if there is none, or -1 if no item starts with the prefix
+         */
+        private int findNext(String prefix, int fromIndex) {
+            int first = lowerBound(prefix);
+            int end = lowerBound(prefix + Character.MAX_VALUE);
+            int wrapped = -1;
+            int next = -1;
+            for (int i = first; i < end; i++) {
+                int index = sortedIndexes[i];
+                if (index >= fromIndex && (next == -1 || index < next)) {
+                    next = index;
+                } else if (index < fromIndex && (wrapped == -1 || index < wrapped)) {
+                    wrapped = index;
                 }
             }
+            return next != -1 ? next : wrapped;
         }
 
-        return false;
+        private int lowerBound(String label) {
+            int low = 0;
+            int high = sortedIndexes.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (getLabel(sortedIndexes[middle]).compareTo(label) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
     }
 
     /**
@@ -364,6 +583,9 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
     public static class DefaultListBoxRenderer<V, T extends AbstractListBox<V, T>> implements InteractableRenderer<T> {
         private final ScrollBar verticalScrollBar;
         private int scrollTopIndex;
+        private int labelWidthSampleSize;
+        private int measuredModelVersion;
+        private int measuredLabelWidth;
 
         /**
          * Default constructor
@@ -371,6 +593,20 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
         public DefaultListBoxRenderer() {
             this.verticalScrollBar = new ScrollBar(Direction.VERTICAL);
             this.scrollTopIndex = 0;
+            this.labelWidthSampleSize = 1000;
+            this.measuredModelVersion = -1;
+            this.measuredLabelWidth = 0;
+        }
+
+        /**
+         * Sets how many items, counted from the top of the list, are measured to find the preferred width of the list
+         * box. Measuring means rendering the label of each item, so this keeps layout fast for large lists.
+         *
+         * @param labelWidthSampleSize Number of items to measure, or {@code Integer.MAX_VALUE} to measure all items
+         */
+        public synchronized void setLabelWidthSampleSize(int labelWidthSampleSize) {
+            this.labelWidthSampleSize = Math.max(1, labelWidthSampleSize);
+            this.measuredModelVersion = -1;
         }
 
         @Override
@@ -380,7 +616,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
             int componentHeight = graphics.getSize().getRows();
             //int componentWidth = graphics.getSize().getColumns();
             int selectedIndex = listBox.getSelectedIndex();
-            List<V> items = listBox.getItems();
+            int itemCount = listBox.getItemCount();
             ListItemRenderer<V, T> listItemRenderer = listBox.getListItemRenderer();
 
             if (selectedIndex != -1) {
@@ -393,9 +629,9 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
             //Do we need to recalculate the scroll position?
             //This code would be triggered by resizing the window when the scroll
             //position is at the bottom
-            if (items.size() > componentHeight &&
-                items.size() - scrollTopIndex < componentHeight) {
-                scrollTopIndex = items.size() - componentHeight;
+            if (itemCount > componentHeight &&
+                itemCount - scrollTopIndex < componentHeight) {
+                scrollTopIndex = itemCount - componentHeight;
             }
 
             listBox.scrollOffset = new Point(0, -scrollTopIndex);
@@ -404,7 +640,7 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
             graphics.fill(' ');
 
             Dimension itemSize = graphics.getSize().withRows(1);
-            for (int i = scrollTopIndex; i < items.size(); i++) {
+            for (int i = scrollTopIndex; i < itemCount; i++) {
                 if (i - scrollTopIndex >= componentHeight) {
                     break;
                 }
@@ -412,16 +648,16 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
                     graphics.newTextGraphics(new Point(0, i - scrollTopIndex), itemSize),
                     listBox,
                     i,
-                    items.get(i),
+                    listBox.getItemAt(i),
                     selectedIndex == i,
                     listBox.isFocused());
             }
 
             graphics.applyThemeStyle(themeDefinition.getNormal());
-            if (items.size() > componentHeight) {
+            if (itemCount > componentHeight) {
                 verticalScrollBar.onAdded(listBox.getParent());
                 verticalScrollBar.setViewSize(componentHeight);
-                verticalScrollBar.setScrollMaximum(items.size());
+                verticalScrollBar.setScrollMaximum(itemCount);
                 verticalScrollBar.setScrollPosition(scrollTopIndex);
                 verticalScrollBar.draw(graphics.newTextGraphics(
                     new Point(graphics.getSize().getColumns() - 1, 0),
@@ -443,17 +679,22 @@ public abstract class AbstractListBox<V, T extends AbstractListBox<V, T>> extend
         }
 
         @Override
-        public Dimension getPreferredSize(T listBox) {
-            int maxWidth = 5;   //Set it to something...
-            int index = 0;
-            for (V item : listBox.getItems()) {
-                String itemString = listBox.getListItemRenderer().getLabel(listBox, index++, item);
-                int stringLengthInColumns = TerminalTextUtils.getColumnWidth(itemString);
-                if (stringLengthInColumns > maxWidth) {
-                    maxWidth = stringLengthInColumns;
+        public synchronized Dimension getPreferredSize(T listBox) {
+            int modelVersion = listBox.getModelVersion();
+            if (modelVersion != measuredModelVersion) {
+                int maxWidth = 5;   //Set it to something...
+                int sampleSize = Math.min(listBox.getItemCount(), labelWidthSampleSize);
+                for (int index = 0; index < sampleSize; index++) {
+                    String itemString = listBox.getListItemRenderer().getLabel(listBox, index, listBox.getItemAt(index));
+                    int stringLengthInColumns = TerminalTextUtils.getColumnWidth(itemString);
+                    if (stringLengthInColumns > maxWidth) {
+                        maxWidth = stringLengthInColumns;
+                    }
                 }
+                measuredLabelWidth = maxWidth;
+                measuredModelVersion = modelVersion;
             }
-            return new Dimension(maxWidth + 1, listBox.getItemCount());
+            return new Dimension(measuredLabelWidth + 1, listBox.getItemCount());
         }
     }
 
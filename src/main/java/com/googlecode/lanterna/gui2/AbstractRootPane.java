@@ -37,6 +37,8 @@ public abstract class AbstractRootPane<T extends RootPane> implements RootPane {
     protected InteractableLookupMap interactableLookupMap = new InteractableLookupMap(new Dimension(80, 25));
     private Interactable focusedInteractable;
     private boolean invalid;
+    private Dimension lastDrawnSize;
+    private boolean lookupMapOutdated;
     private boolean strictFocusChange;
     private boolean enableDirectionBasedMovements = true;
     private Theme theme;
@@ -54,21 +56,41 @@ public abstract class AbstractRootPane<T extends RootPane> implements RootPane {
 
     @Override
     public void draw(TextUiGraphics graphics) {
-        graphics.applyThemeStyle(getTheme().getDefinition(Window.class).getNormal());
-        graphics.fill(' ');
+        // Unless something requires the whole pane to be cleared, keep the previous content and let the containers
+        // re-draw only the components that were invalidated
+        if (invalid || contentHolder.needsFullRedraw() || !graphics.getSize().equals(lastDrawnSize)) {
+            graphics.applyThemeStyle(getTheme().getDefinition(Window.class).getNormal());
+            graphics.fill(' ');
+            contentHolder.invalidate();
+        }
+        lastDrawnSize = graphics.getSize();
 
         if (!interactableLookupMap.getSize().equals(graphics.getSize())) {
             interactableLookupMap = new InteractableLookupMap(graphics.getSize());
-        } else {
-            interactableLookupMap.reset();
         }
 
         contentHolder.draw(graphics);
-        contentHolder.updateLookupMap(interactableLookupMap);
-        //interactableLookupMap.debug();
+        // Components may have been moved, resized or hidden, the lookup map is rebuilt the next time it's needed
+        lookupMapOutdated = true;
         invalid = false;
     }
 
+    /**
+     * Returns the lookup map of the interactables in this root pane, first bringing it up to date if anything was
+     * drawn since the last time it was used.
+     *
+     * @return Up-to-date lookup map of the interactables in this root pane
+     */
+    protected InteractableLookupMap getInteractableLookupMap() {
+        if (lookupMapOutdated) {
+            interactableLookupMap.reset();
+            contentHolder.updateLookupMap(interactableLookupMap);
+            //interactableLookupMap.debug();
+            lookupMapOutdated = false;
+        }
+        return interactableLookupMap;
+    }
+
     @Override
     public Component getComponent() {
         return contentHolder.getComponent();
@@ -125,7 +147,7 @@ public abstract class AbstractRootPane<T extends RootPane> implements RootPane {
         if (localCoordinates == null) {
             return false;
         }
-        Interactable interactable = interactableLookupMap.getInteractableAt(localCoordinates);
+        Interactable interactable = getInteractableLookupMap().getInteractableAt(localCoordinates);
         if (mouseAction.isMouseDown()) {
             mouseDownForDrag = interactable;
         }
@@ -261,7 +283,7 @@ public abstract class AbstractRootPane<T extends RootPane> implements RootPane {
                         direction = Interactable.FocusChangeDirection.PREVIOUS;
                         break;
                     case MOVE_FOCUS_DOWN:
-                        nextFocus = interactableLookupMap.findNextDown(focusedInteractable);
+                        nextFocus = getInteractableLookupMap().findNextDown(focusedInteractable);
                         direction = Interactable.FocusChangeDirection.DOWN;
                         if (nextFocus == null && !strictFocusChange) {
                             nextFocus = contentHolder.nextFocus(focusedInteractable);
@@ -269,15 +291,15 @@ public abstract class AbstractRootPane<T extends RootPane> implements RootPane {
                         }
                         break;
                     case MOVE_FOCUS_LEFT:
-                        nextFocus = interactableLookupMap.findNextLeft(focusedInteractable);
+                        nextFocus = getInteractableLookupMap().findNextLeft(focusedInteractable);
                         direction = Interactable.FocusChangeDirection.LEFT;
                         break;
                     case MOVE_FOCUS_RIGHT:
-                        nextFocus = interactableLookupMap.findNextRight(focusedInteractable);
+                        nextFocus = getInteractableLookupMap().findNextRight(focusedInteractable);
                         direction = Interactable.FocusChangeDirection.RIGHT;
                         break;
                     case MOVE_FOCUS_UP:
-                        nextFocus = interactableLookupMap.findNextUp(focusedInteractable);
+                        nextFocus = getInteractableLookupMap().findNextUp(focusedInteractable);
                         direction = Interactable.FocusChangeDirection.UP;
                         if (nextFocus == null && !strictFocusChange) {
                             nextFocus = contentHolder.previousFocus(focusedInteractable);
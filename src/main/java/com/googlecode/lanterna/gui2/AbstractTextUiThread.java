@@ -21,6 +21,8 @@ package com.googlecode.lanterna.gui2;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -31,6 +33,8 @@ public abstract class AbstractTextUiThread implements TextUiThread {
 
     protected final Frame frame;
     protected final Queue<Runnable> customTasks;
+    protected final AnimationClock animationClock;
+    private final ConcurrentMap<Object, Runnable> coalescedTasks;
     protected ExceptionHandler exceptionHandler;
 
     /**
@@ -53,6 +57,8 @@ public abstract class AbstractTextUiThread implements TextUiThread {
         };
         this.frame = frame;
         this.customTasks = new LinkedBlockingQueue<>();
+        this.animationClock = new AnimationClock();
+        this.coalescedTasks = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -60,6 +66,30 @@ public abstract class AbstractTextUiThread implements TextUiThread {
         customTasks.add(runnable);
     }
 
+    @Override
+    public void invokeLaterCoalesced(final Object key, Runnable runnable) throws IllegalStateException {
+        // Only the first task for a key queues anything, later ones just replace what that queued task will run
+        if (coalescedTasks.put(key, runnable) == null) {
+            try {
+                invokeLater(() -> {
+                    Runnable latest = coalescedTasks.remove(key);
+                    if (latest != null) {
+                        latest.run();
+                    }
+                });
+            }
+            catch (IllegalStateException e) {
+                coalescedTasks.remove(key);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public AnimationClock getAnimationClock() {
+        return animationClock;
+    }
+
     @Override
     public void setExceptionHandler(ExceptionHandler exceptionHandler) {
         if(exceptionHandler == null) {
@@ -81,6 +111,7 @@ public abstract class AbstractTextUiThread implements TextUiThread {
                     r.run();
                 }
             }
+            animationClock.tick();
             if (frame.isPendingUpdate()) {
                 frame.updateScreen();
                 return true;
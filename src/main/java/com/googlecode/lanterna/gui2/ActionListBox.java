@@ -131,6 +131,11 @@ public class ActionListBox extends AbstractListBox<ActionListBox.Item, ActionLis
         public String getLabel() {
             return label;
         }
+
+        @Override
+        public String toString() {
+            return label;
+        }
     }
 
     public static class ActionListBoxItemRenderer extends ListItemRenderer<Item, ActionListBox> {
@@ -21,16 +21,16 @@ package com.googlecode.lanterna.gui2;
 import com.googlecode.lanterna.Dimension;
 
 import java.lang.ref.WeakReference;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This is a special label that contains not just a single text to display but a number of frames that are cycled
- * through. The class will manage a timer on its own and ensure the label is updated and redrawn. There is a static
- * helper method available to create the classic "spinning bar": {@code createClassicSpinningLine()}
+ * through. The frames are advanced by the {@link AnimationClock} of the GUI the label is in, on the GUI thread and in
+ * step with the screen updates; while the label isn't showing, the animation is paused. There is a static helper
+ * method available to create the classic "spinning bar": {@code createClassicSpinningLine()}
  */
 public class AnimatedLabel extends Label {
-    private static Timer TIMER = null;
-    private static final WeakHashMap<AnimatedLabel, TimerTask> SCHEDULED_TASKS = new WeakHashMap<>();
 
     /**
      * Creates a classic spinning bar which can be used to signal to the user that an operation in is process.
@@ -57,6 +57,8 @@ public class AnimatedLabel extends Label {
     private final List<String[]> frames;
     private Dimension combinedMaximumPreferredSize;
     private int currentFrame;
+    private long millisecondsPerFrame;
+    private AnimationClock.Registration animationRegistration;
 
     /**
      * Creates a new animated label, initially set to one frame. You will need to add more frames and call
@@ -68,6 +70,8 @@ public class AnimatedLabel extends Label {
         super(firstFrameText);
         frames = new ArrayList<>();
         currentFrame = 0;
+        millisecondsPerFrame = 0;
+        animationRegistration = null;
         combinedMaximumPreferredSize = Dimension.ZERO;
 
         String[] lines = splitIntoMultipleLines(firstFrameText);
@@ -89,6 +93,7 @@ public class AnimatedLabel extends Label {
         String[] lines = splitIntoMultipleLines(text);
         frames.add(lines);
         ensurePreferredSize(lines);
+        invalidate();
         return this;
     }
 
@@ -98,7 +103,7 @@ public class AnimatedLabel extends Label {
 
     /**
      * Advances the animated label to the next frame. You normally don't need to call this manually as it will be done
-     * by the animation thread.
+     * by the animation clock.
      */
     public synchronized void nextFrame() {
         currentFrame++;
@@ -110,71 +115,81 @@ public class AnimatedLabel extends Label {
     }
 
     @Override
-    public void onRemoved(Container container) {
-        stopAnimation();
+    protected synchronized void onBeforeDrawing() {
+        super.onBeforeDrawing();
+        // The label may have been given its animation before it was added to a GUI, this is the first chance to start it
+        if (millisecondsPerFrame > 0 && animationRegistration == null) {
+            registerWithAnimationClock();
+        }
+    }
+
+    @Override
+    public synchronized void onRemoved(Container container) {
+        super.onRemoved(container);
+        // The label could be added to another GUI, with another clock; it registers again when next drawn
+        cancelAnimationRegistration();
     }
 
     /**
-     * Starts the animation thread which will periodically call {@code nextFrame()} at the interval specified by the
+     * Starts the animation, which will call {@code nextFrame()} at the interval specified by the
      * {@code millisecondsPerFrame} parameter. After all frames have been cycled through, it will start over from the
-     * first frame again.
+     * first frame again. The animation only runs while the label is showing in a GUI; if the label hasn't been added to
+     * one yet, it starts once it has been.
      * @param millisecondsPerFrame The interval in between every frame
      * @return Itself
      */
     public synchronized AnimatedLabel startAnimation(long millisecondsPerFrame) {
-        if(TIMER == null) {
-            TIMER = new Timer("AnimatedLabel");
+        cancelAnimationRegistration();
+        this.millisecondsPerFrame = millisecondsPerFrame;
+        if (getTextGUI() != null) {
+            registerWithAnimationClock();
         }
-        AnimationTimerTask animationTimerTask = new AnimationTimerTask(this);
-        SCHEDULED_TASKS.put(this, animationTimerTask);
-        TIMER.scheduleAtFixedRate(animationTimerTask, millisecondsPerFrame, millisecondsPerFrame);
         return this;
     }
 
     /**
-     * Halts the animation thread and the label will stop at whatever was the current frame at the time when this was
-     * called
+     * Halts the animation and the label will stop at whatever was the current frame at the time when this was called
      * @return Itself
      */
     public synchronized AnimatedLabel stopAnimation() {
-        removeTaskFromTimer(this);
+        millisecondsPerFrame = 0;
+        cancelAnimationRegistration();
         return this;
     }
 
-    private static synchronized void removeTaskFromTimer(AnimatedLabel animatedLabel) {
-        SCHEDULED_TASKS.get(animatedLabel).cancel();
-        SCHEDULED_TASKS.remove(animatedLabel);
-        canCloseTimer();
+    private void registerWithAnimationClock() {
+        Frame textGUI = getTextGUI();
+        TextUiThread guiThread = textGUI != null ? textGUI.getGUIThread() : null;
+        AnimationClock animationClock = guiThread != null ? guiThread.getAnimationClock() : null;
+        if (animationClock == null) {
+            return;
+        }
+        animationRegistration = animationClock.register(this, millisecondsPerFrame, new FrameTicker(this));
     }
 
-    private static synchronized void canCloseTimer() {
-        if(SCHEDULED_TASKS.isEmpty()) {
-            TIMER.cancel();
-            TIMER = null;
+    private void cancelAnimationRegistration() {
+        if (animationRegistration != null) {
+            animationRegistration.cancel();
+            animationRegistration = null;
         }
     }
 
-    private static class AnimationTimerTask extends TimerTask {
+    /**
+     * Advances the label from the animation clock without keeping it alive, so that a label in a window that was
+     * closed can be garbage collected and its ticker dropped
+     */
+    private static class FrameTicker implements AnimationClock.Ticker {
         private final WeakReference<AnimatedLabel> labelRef;
 
-        private AnimationTimerTask(AnimatedLabel label) {
+        private FrameTicker(AnimatedLabel label) {
             this.labelRef = new WeakReference<>(label);
         }
 
         @Override
-        public void run() {
-            AnimatedLabel animatedLabel = labelRef.get();
-            if(animatedLabel == null) {
-                cancel();
-                canCloseTimer();
-            }
-            else {
-                if(animatedLabel.getRootPane() == null) {
-                    animatedLabel.stopAnimation();
-                }
-                else {
-                    animatedLabel.nextFrame();
-                }
+        public void onTick() {
+            AnimatedLabel label = labelRef.get();
+            if (label != null) {
+                label.nextFrame();
             }
         }
     }
@@ -0,0 +1,179 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared source of animation ticks for the components of a {@link Frame}. Each {@link TextUiThread} owns one clock and
+ * runs it as part of {@link TextUiThread#processEventsAndUpdate()}, right before the screen is updated, so tickers are
+ * always called on the GUI thread and everything they invalidate is drawn in the same frame.
+ * <p>
+ * Tick times are counted from when the clock was created, a ticker with an interval of 150 ms fires at 150, 300, 450
+ * and so on, no matter when it was registered. Tickers with the same interval, or intervals that are multiples of each
+ * other, therefore fire together and share frames. If the GUI thread falls behind, missed ticks are skipped rather
+ * than made up for in a burst.
+ * <p>
+ * A ticker is tied to a component and is paused while the component is not showing: when it, or any of its parents,
+ * is set invisible, when it isn't in a window, or when that window is hidden or closed. The clock only keeps a weak
+ * reference to the component, a ticker whose component has been garbage collected is dropped.
+ *
+ * @see TextUiThread#getAnimationClock()
+ */
+public class AnimationClock {
+    /**
+     * Code to run on every tick of an animation
+     */
+    @FunctionalInterface
+    public interface Ticker {
+        /**
+         * Called on the GUI thread when it's time for the next frame of the animation
+         */
+        void onTick();
+    }
+
+    /**
+     * Handle to a ticker registered with {@link #register(Component, long, Ticker)}
+     */
+    public static class Registration {
+        private final WeakReference<Component> componentRef;
+        private final long millisecondsPerTick;
+        private final Ticker ticker;
+        private long nextTick;
+        private volatile boolean cancelled;
+
+        private Registration(Component component, long millisecondsPerTick, Ticker ticker, long nextTick) {
+            this.componentRef = new WeakReference<>(component);
+            this.millisecondsPerTick = millisecondsPerTick;
+            this.ticker = ticker;
+            this.nextTick = nextTick;
+            this.cancelled = false;
+        }
+
+        /**
+         * Stops the ticker, it will not be called again
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Returns {@code true} if {@link #cancel()} has been called
+         * @return {@code true} if this ticker has been cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final LongSupplier millisecondClock;
+    private final long epoch;
+    private final List<Registration> registrations;
+
+    /**
+     * Creates a new clock, you normally don't need to do this yourself but use the one owned by the GUI thread
+     */
+    public AnimationClock() {
+        this(() -> System.nanoTime() / 1000000);
+    }
+
+    AnimationClock(LongSupplier millisecondClock) {
+        this.millisecondClock = millisecondClock;
+        this.epoch = millisecondClock.getAsLong();
+        this.registrations = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Registers code to be called at a regular interval for as long as a component is showing. This method can be
+     * called from any thread, the ticker itself is always called on the GUI thread. The clock holds on to the ticker,
+     * so the ticker must not keep a strong reference to the component or the component will never be collected.
+     *
+     * @param component Component the animation is for, the ticker is paused while it's not showing
+     * @param millisecondsPerTick Interval between the ticks
+     * @param ticker Code to run on each tick
+     * @return Handle that can be used to stop the ticker
+     */
+    public Registration register(Component component, long millisecondsPerTick, Ticker ticker) {
+        if (component == null || ticker == null) {
+            throw new IllegalArgumentException("Cannot register an animation ticker without a component and a ticker");
+        }
+        if (millisecondsPerTick <= 0) {
+            throw new IllegalArgumentException("Illegal animation interval " + millisecondsPerTick + " ms");
+        }
+        Registration registration = new Registration(component, millisecondsPerTick, ticker,
+                nextTickAfter(millisecondClock.getAsLong(), millisecondsPerTick));
+        registrations.add(registration);
+        return registration;
+    }
+
+    /**
+     * Returns the number of tickers currently registered, paused ones included
+     * @return Number of registered tickers
+     */
+    public int getTickerCount() {
+        return registrations.size();
+    }
+
+    /**
+     * Calls all tickers that are due. This is done by the GUI thread on every pass through its event loop.
+     *
+     * @return {@code true} if any ticker was called
+     */
+    public boolean tick() {
+        long now = millisecondClock.getAsLong();
+        boolean anyTicked = false;
+        for (Registration registration : registrations) {
+            Component component = registration.componentRef.get();
+            if (registration.cancelled || component == null) {
+                registrations.remove(registration);
+                continue;
+            }
+            if (now < registration.nextTick) {
+                continue;
+            }
+            registration.nextTick = nextTickAfter(now, registration.millisecondsPerTick);
+            if (isShowing(component)) {
+                registration.ticker.onTick();
+                anyTicked = true;
+            }
+        }
+        return anyTicked;
+    }
+
+    private long nextTickAfter(long now, long millisecondsPerTick) {
+        return now - (now - epoch) % millisecondsPerTick + millisecondsPerTick;
+    }
+
+    private static boolean isShowing(Component component) {
+        for (Component test = component; test != null; test = test.getParent()) {
+            if (!test.isVisible()) {
+                return false;
+            }
+        }
+        RootPane rootPane = component.getRootPane();
+        if (rootPane instanceof Window) {
+            Window window = (Window) rootPane;
+            return window.isVisible() && window.getTextGUI() != null;
+        }
+        return rootPane != null;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A value that background threads can update as often as they like and that is handed to components on the GUI thread
+ * at most once per pass through the GUI event loop. Setting the value only stores it and, if no update for a binding is
+ * already waiting, queues one with {@link TextUiThread#invokeLaterCoalesced(Object, Runnable)}; when that runs, the
+ * binding is given whatever the value is by then. A worker thread reporting progress thousands of times per second
+ * therefore costs the GUI one update per frame, with the latest value.
+ * <p>
+ * Example:
+ * <pre>
+ *     {@code
+ *     BindableValue<Integer> progress = new BindableValue<>(0);
+ *     progress.bind(progressBar, progressBar::setValue);
+ *     // ... on the worker thread ...
+ *     progress.set(completed);
+ *     }
+ * </pre>
+ * If the component isn't in a GUI, or the GUI thread isn't running, the binding is updated directly on the thread
+ * setting the value.
+ *
+ * @param <T> Type of the value
+ */
+public class BindableValue<T> {
+    private static class Binding<T> {
+        private final Component component;
+        private final Consumer<? super T> consumer;
+
+        private Binding(Component component, Consumer<? super T> consumer) {
+            this.component = component;
+            this.consumer = consumer;
+        }
+    }
+
+    private final List<Binding<T>> bindings;
+    private volatile T value;
+
+    /**
+     * Creates a new value
+     * @param initialValue Value to start out with
+     */
+    public BindableValue(T initialValue) {
+        this.bindings = new CopyOnWriteArrayList<>();
+        this.value = initialValue;
+    }
+
+    /**
+     * Returns the current value, which may be newer than what the bound components have been given so far
+     * @return Current value
+     */
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Updates the value and schedules the bound components to be given it. This method can be called from any thread.
+     * @param value New value
+     */
+    public void set(T value) {
+        this.value = value;
+        for (Binding<T> binding : bindings) {
+            scheduleUpdate(binding);
+        }
+    }
+
+    /**
+     * Binds the value to a component. When called on the GUI thread of the component, or if the component isn't in a
+     * running GUI, the consumer is called right away with the current value; from any other thread the current value
+     * is delivered on the GUI thread like any later update. After that the consumer is called on the GUI thread of the
+     * component whenever the value has been set.
+     *
+     * @param component Component the value is shown in, its GUI thread is used to deliver the updates
+     * @param consumer Code applying the value to the component, typically a setter on the component
+     * @return Itself
+     */
+    public BindableValue<T> bind(Component component, Consumer<? super T> consumer) {
+        if (component == null || consumer == null) {
+            throw new IllegalArgumentException("Cannot bind a value without a component and a consumer");
+        }
+        Binding<T> binding = new Binding<>(component, consumer);
+        bindings.add(binding);
+        Frame textGUI = component.getTextGUI();
+        TextUiThread guiThread = textGUI != null ? textGUI.getGUIThread() : null;
+        if (guiThread != null && guiThread.getThread() == Thread.currentThread()) {
+            consumer.accept(value);
+        } else {
+            scheduleUpdate(binding);
+        }
+        return this;
+    }
+
+    /**
+     * Removes all bindings to a component, it will not be given any more updates
+     * @param component Component to unbind
+     * @return Itself
+     */
+    public BindableValue<T> unbind(Component component) {
+        bindings.removeIf(binding -> binding.component == component);
+        return this;
+    }
+
+    private void scheduleUpdate(final Binding<T> binding) {
+        Frame textGUI = binding.component.getTextGUI();
+        TextUiThread guiThread = textGUI != null ? textGUI.getGUIThread() : null;
+        Runnable update = () -> {
+            if (bindings.contains(binding)) {
+                binding.consumer.accept(value);
+            }
+        };
+        if (guiThread != null) {
+            try {
+                // The binding is the key, so everything set before the GUI thread gets to it turns into one update
+                guiThread.invokeLaterCoalesced(binding, update);
+                return;
+            }
+            catch (IllegalStateException e) {
+                // The GUI thread isn't running, update the component right away instead
+            }
+        }
+        update.run();
+    }
+
+    @Override
+    public String toString() {
+        return "BindableValue{" + Objects.toString(value) + "}";
+    }
+}
@@ -27,9 +27,9 @@ import com.googlecode.lanterna.input.MouseAction;
 import com.googlecode.lanterna.input.MouseActionType;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.IntStream;
 
 /**
  * This is a list box implementation where each item has its own checked state that can be toggled on and off
@@ -78,14 +78,19 @@ public class CheckBoxList<V> extends AbstractListBox<V, CheckBoxList<V>> {
      * @return Itself
      */
     public synchronized CheckBoxList<V> addItem(V item, boolean checkedState) {
-        itemStatus.add(checkedState);
-        return super.addItem(item);
+        super.addItem(item);
+        itemStatus.set(itemStatus.size() - 1, checkedState);
+        return this;
     }
 
     @Override
-    public synchronized CheckBoxList<V> addItems(List<V> items) {
-        IntStream.range(0, items.size()).forEach(i -> itemStatus.add(false));
-        return super.addItems(items);
+    protected void onItemsAdded(int fromIndex, int count) {
+        itemStatus.addAll(fromIndex, Collections.nCopies(count, false));
+    }
+
+    @Override
+    protected void onItemsRemoved(int fromIndex, int count) {
+        itemStatus.subList(fromIndex, fromIndex + count).clear();
     }
 
     /**
@@ -101,12 +106,6 @@ public class CheckBoxList<V> extends AbstractListBox<V, CheckBoxList<V>> {
         return this;
     }
 
-    @Override
-    public synchronized CheckBoxList<V> clearItems() {
-        itemStatus.clear();
-        return super.clearItems();
-    }
-
     private void fireSelectionChanged(int index, boolean checked) {
         runOnGUIThreadIfExistsOtherwiseRunDirect(() -> {
             selectionListeners.forEach(l -> l.onItemSelected(index, checked, this));
@@ -197,13 +196,6 @@ public class CheckBoxList<V> extends AbstractListBox<V, CheckBoxList<V>> {
         return itemStatus.get(index);
     }
 
-    @Override
-    public synchronized V removeItem(int index) {
-        V item = super.removeItem(index);
-        itemStatus.remove(index);
-        return item;
-    }
-
     /**
      * Removes a listener from this {@code CheckBoxList} so that if it had been added earlier, it will no longer be
      * called on user actions
@@ -236,6 +228,7 @@ public class CheckBoxList<V> extends AbstractListBox<V, CheckBoxList<V>> {
             return;
         }
         itemStatus.set(index, checked);
+        invalidate();
         fireSelectionChanged(index, checked);
     }
 
@@ -26,6 +26,7 @@ import com.googlecode.lanterna.graphics.Theme;
 import com.googlecode.lanterna.graphics.ThemeDefinition;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
+import com.googlecode.lanterna.input.PasteAction;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,11 +39,19 @@ import java.util.stream.Stream;
  * This is a simple combo box implementation that allows the user to select one out of multiple items through a
  * drop-down menu. If the combo box is not in read-only mode, the user can also enter free text in the combo box, much
  * like a {@code TextBox}.
+ * <p>
+ * When the user has typed in an editable combo box, the drop-down only lists the items whose label starts with the
+ * typed text, ignoring case. The matches are looked up in an index over the item labels that is built the first time
+ * it is needed and then kept up to date as items are added, replaced and removed, so this stays quick for combo boxes
+ * with tens of thousands of items. Items whose {@code toString()} changes while they are in the combo box have to be
+ * put back in with {@link #setItem(int, Object)} for the index to pick up the new label.
  *
  * @param <V> Type to use for the items in the combo box
  * @author Martin
  */
 public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
+    // Adding more items than this in one call drops the label index, it's cheaper to sort everything again when needed
+    private static final int MAX_INCREMENTAL_INDEX_UPDATES = 64;
 
     private final List<V> items;
     private final List<Listener> listeners = new CopyOnWriteArrayList<>();
@@ -53,6 +62,9 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
     private boolean dropDownFocused;
     private int textInputPosition;
     private int dropDownNumberOfRows;
+    private String filterText;
+    private ItemLabelIndex labelIndex;
+    private int modelVersion;
 
     /**
      * Creates a new {@code ComboBox} initialized with N number of items supplied through the varargs parameter. If at
@@ -127,6 +139,9 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
         this.dropDownFocused = true;
         this.textInputPosition = 0;
         this.dropDownNumberOfRows = 10;
+        this.filterText = null;
+        this.labelIndex = null;
+        this.modelVersion = 0;
         if (selectedIndex != -1) {
             this.text = this.items.get(selectedIndex).toString();
         } else {
@@ -144,13 +159,19 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
         if (item == null) {
             throw new IllegalArgumentException("Cannot add null elements to a ComboBox");
         }
+        if (item.length > MAX_INCREMENTAL_INDEX_UPDATES) {
+            labelIndex = null;
+        }
         Stream.of(item).forEach(i -> {
             items.add(i);
+            if (labelIndex != null) {
+                labelIndex.itemInserted(items.size() - 1, i);
+            }
             if (selectedIndex == -1 && items.size() == 1) {
                 setSelectedIndex(0);
             }
         });
-        invalidate();
+        itemsChanged();
         return this;
     }
 
@@ -166,10 +187,13 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
             throw new IllegalArgumentException("Cannot add null elements to a ComboBox");
         }
         items.add(index, item);
+        if (labelIndex != null) {
+            labelIndex.itemInserted(index, item);
+        }
         if (index <= selectedIndex) {
             setSelectedIndex(selectedIndex + 1);
         }
-        invalidate();
+        itemsChanged();
         return this;
     }
 
@@ -193,8 +217,9 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
      */
     public synchronized ComboBox<V> clearItems() {
         items.clear();
+        labelIndex = null;
         setSelectedIndex(-1);
-        invalidate();
+        itemsChanged();
         return this;
     }
 
@@ -357,6 +382,7 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
         if (readOnly) {
             dropDownFocused = true;
         }
+        invalidate();
         return this;
     }
 
@@ -401,6 +427,14 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
                 case Character:
                     text = text.substring(0, textInputPosition) + keyStroke.getCharacter() + text.substring(textInputPosition);
                     textInputPosition++;
+                    textEditedByUser();
+                    return KeyStrokeResult.HANDLED;
+
+                case Paste:
+                    String pastedText = TextBox.splitLines(((PasteAction) keyStroke).getText(), false).get(0);
+                    text = text.substring(0, textInputPosition) + pastedText + text.substring(textInputPosition);
+                    textInputPosition += pastedText.length();
+                    textEditedByUser();
                     return KeyStrokeResult.HANDLED;
 
                 case Tab:
@@ -411,12 +445,14 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
                     if (textInputPosition > 0) {
                         text = text.substring(0, textInputPosition - 1) + text.substring(textInputPosition);
                         textInputPosition--;
+                        textEditedByUser();
                     }
                     return KeyStrokeResult.HANDLED;
 
                 case Delete:
                     if (textInputPosition < text.length()) {
                         text = text.substring(0, textInputPosition) + text.substring(textInputPosition + 1);
+                        textEditedByUser();
                     }
                     return KeyStrokeResult.HANDLED;
 
@@ -498,12 +534,15 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
      */
     public synchronized ComboBox<V> removeItem(int index) {
         items.remove(index);
+        if (labelIndex != null) {
+            labelIndex.itemRemoved(index);
+        }
         if (index < selectedIndex) {
             setSelectedIndex(selectedIndex - 1);
         } else if (index == selectedIndex) {
             setSelectedIndex(-1);
         }
-        invalidate();
+        itemsChanged();
         return this;
     }
 
@@ -532,7 +571,10 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
             throw new IllegalArgumentException("Cannot add null elements to a ComboBox");
         }
         items.set(index, item);
-        invalidate();
+        if (labelIndex != null) {
+            labelIndex.itemReplaced(index, item);
+        }
+        itemsChanged();
         return this;
     }
 
@@ -555,6 +597,53 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
         invalidate();
     }
 
+    private void textEditedByUser() {
+        filterText = text;
+    }
+
+    private synchronized void itemsChanged() {
+        modelVersion++;
+        // The drop-down reads the items as it draws them, it can't be left showing a list that has changed under it
+        final PopupWindow popup = popupWindow;
+        if (popup != null) {
+            runOnGUIThreadIfExistsOtherwiseRunDirect(popup::close);
+        }
+        invalidate();
+    }
+
+    /**
+     * Returns a counter that is increased every time the items of this combo box change, for renderers that cache
+     * anything derived from the items
+     */
+    synchronized int getModelVersion() {
+        return modelVersion;
+    }
+
+    private ItemLabelIndex getLabelIndex() {
+        if (labelIndex == null) {
+            labelIndex = new ItemLabelIndex(items);
+        }
+        return labelIndex;
+    }
+
+    /**
+     * Returns the indexes of the items whose label, the result of calling {@code toString()} on the item, starts with
+     * the prefix, ignoring case. The indexes are ordered by label; items with the same label come in the order they
+     * have in the combo box. The matching items are looked up in an index rather than by going through all items.
+     *
+     * @param prefix Text the labels should start with
+     * @return Indexes of the matching items
+     */
+    public synchronized List<Integer> getMatchingItemIndexes(String prefix) {
+        ItemLabelIndex index = getLabelIndex();
+        int end = index.endOfMatches(prefix);
+        List<Integer> matches = new ArrayList<>();
+        for (int i = index.firstMatch(prefix); i < end; i++) {
+            matches.add(index.getItemIndex(i));
+        }
+        return matches;
+    }
+
     protected void showPopup(KeyStroke keyStroke) {
         popupWindow = new PopupWindow();
         popupWindow.setPosition(toGlobal(new Point(0, 1)));
@@ -564,6 +653,7 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
 
     private void updateText(String newText) {
         text = newText;
+        filterText = null;
         if (textInputPosition > text.length()) {
             textInputPosition = text.length();
         }
@@ -600,12 +690,16 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
     public static class DefaultComboBoxRenderer<V> extends ComboBoxRenderer<V> {
 
         private int textVisibleLeftPosition;
+        private int measuredModelVersion;
+        private int measuredLabelWidth;
 
         /**
          * Default constructor
          */
         public DefaultComboBoxRenderer() {
             this.textVisibleLeftPosition = 0;
+            this.measuredModelVersion = -1;
+            this.measuredLabelWidth = 0;
         }
 
         @Override
@@ -667,30 +761,110 @@ public class ComboBox<V> extends AbstractInteractableComponent<ComboBox<V>> {
                 (comboBox.getItemCount() == 0 ? TerminalTextUtils.getColumnWidth(comboBox.getText()) : 0) + 2);
             //noinspection SynchronizationOnLocalVariableOrMethodParameter
             synchronized (comboBox) {
-                for (int i = 0; i < comboBox.getItemCount(); i++) {
-                    V item = comboBox.getItem(i);
-                    size = size.max(new Dimension(TerminalTextUtils.getColumnWidth(item.toString()) + 2 + 1, 1));   // +1 to add a single column of space
+                // Measuring every label is expensive with many items, only do it again when the items have changed
+                int modelVersion = comboBox.getModelVersion();
+                if (modelVersion != measuredModelVersion) {
+                    measuredLabelWidth = 0;
+                    for (int i = 0; i < comboBox.getItemCount(); i++) {
+                        V item = comboBox.getItem(i);
+                        measuredLabelWidth = Math.max(measuredLabelWidth, TerminalTextUtils.getColumnWidth(item.toString()));
+                    }
+                    measuredModelVersion = modelVersion;
+                }
+                if (comboBox.getItemCount() > 0) {
+                    size = size.max(new Dimension(measuredLabelWidth + 2 + 1, 1));   // +1 to add a single column of space
                 }
             }
             return size;
         }
     }
 
+    /**
+     * The items listed in the drop-down, either all of them in order or the ones matching the text the user has typed.
+     * The list box entries are created as the list box asks for them, which is only for the rows it draws.
+     */
+    private class PopupListModel implements ListModel<ActionListBox.Item> {
+        private final PopupWindow popup;
+        private final int modelVersion;
+        private final ItemLabelIndex matches;
+        private final int firstMatch;
+        private final int itemCount;
+
+        private PopupListModel(PopupWindow popup) {
+            this.popup = popup;
+            this.modelVersion = ComboBox.this.modelVersion;
+            if (!readOnly && filterText != null && !filterText.isEmpty()) {
+                ItemLabelIndex index = getLabelIndex();
+                int first = index.firstMatch(filterText);
+                int end = index.endOfMatches(filterText);
+                if (first < end) {
+                    this.matches = index;
+                    this.firstMatch = first;
+                    this.itemCount = end - first;
+                    return;
+                }
+            }
+            this.matches = null;
+            this.firstMatch = 0;
+            this.itemCount = items.size();
+        }
+
+        private int toItemIndex(int index) {
+            return matches != null ? matches.getItemIndex(firstMatch + index) : index;
+        }
+
+        /**
+         * Translates an item index to the row showing it; with a filter, rows that aren't listed map to the first row
+         */
+        private int fromItemIndex(int itemIndex) {
+            if (matches == null || itemIndex == -1) {
+                return itemIndex;
+            }
+            int position = matches.positionOf(itemIndex) - firstMatch;
+            return position >= 0 && position < itemCount ? position : 0;
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        @Override
+        public ActionListBox.Item getItemAt(int index) {
+            if (index < 0 || index >= itemCount) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of range, the drop-down has " + itemCount + " items");
+            }
+            synchronized (ComboBox.this) {
+                if (modelVersion != ComboBox.this.modelVersion) {
+                    // The items changed and this drop-down is about to be closed
+                    return new ActionListBox.Item("", s -> {});
+                }
+                final int itemIndex = toItemIndex(index);
+                return new ActionListBox.Item(items.get(itemIndex).toString(), s -> {
+                    setSelectedIndex(itemIndex, true);
+                    popup.close();
+                });
+            }
+        }
+
+        @Override
+        public void addListener(Listener listener) {
+        }
+
+        @Override
+        public void removeListener(Listener listener) {
+        }
+    }
+
     private class PopupWindow extends BasicWindow {
         private final ActionListBox actionListBox;
 
         public PopupWindow() {
             setHints(Arrays.asList(Hint.NO_FOCUS, Hint.FIXED_POSITION, Hint.MENU_POPUP));
-            actionListBox = new ActionListBox(ComboBox.this.getSize().withRows(getItemCount()));
-            for (int i = 0; i < getItemCount(); i++) {
-                V item = items.get(i);
-                final int index = i;
-                actionListBox.addItem(item.toString(), s -> {
-                    setSelectedIndex(index, true);
-                    close();
-                });
-            }
-            actionListBox.setSelectedIndex(getSelectedIndex());
+            PopupListModel model = new PopupListModel(this);
+            actionListBox = new ActionListBox(ComboBox.this.getSize().withRows(model.getItemCount()));
+            actionListBox.setListModel(model);
+            actionListBox.setSelectedIndex(model.fromItemIndex(getSelectedIndex()));
             Dimension preferredSize = actionListBox.getPreferredSize();
             if (dropDownNumberOfRows > 0) {
                 actionListBox.setPreferredSize(preferredSize.withRows(Math.min(dropDownNumberOfRows, preferredSize.getRows())));
@@ -191,7 +191,18 @@ public interface Component extends TextUiElement, Attributed {
      * this as a hint to layout the child components again.
      */
     void invalidate();
-    
+
+    /**
+     * Returns {@code true} if the next time this component is drawn, its area needs to be cleared and everything inside
+     * of it re-drawn. Containers that are only invalid because some of their children are invalid can return
+     * {@code false} here to let the parent keep the previously drawn content and have only the invalid children
+     * re-drawn on top of it. By default this is the same as {@code isInvalid()}.
+     * @return {@code true} if this component can't be partially re-drawn over its previous content
+     */
+    default boolean needsFullRedraw() {
+        return isInvalid();
+    }
+
     /**
      * Takes a border object and moves this component inside it and then returns it again. This makes it easy to quickly
      * wrap a component on creation, like this:
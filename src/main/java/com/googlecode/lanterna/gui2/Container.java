@@ -110,6 +110,20 @@ public interface Container extends Component {
      */
     Interactable previousFocus(Interactable fromThis);
 
+    /**
+     * Called by a child component when it, or anything further down the hierarchy, has been invalidated. Containers use
+     * this to remember that they have something to re-draw, so that {@code isInvalid()} doesn't need to visit all the
+     * children. The default implementation passes the notification on to the parent container, if there is one.
+     *
+     * @param child Child component that was invalidated, or that has an invalidated component inside of it
+     */
+    default void onChildInvalidated(Component child) {
+        Container parent = getParent();
+        if (parent != null) {
+            parent.onChildInvalidated(this);
+        }
+    }
+
     /**
      * Removes the component from the container. This should remove the component from the Container's internal data
      * structure as well as call the onRemoved(..) method on the component itself if it was found inside the container.
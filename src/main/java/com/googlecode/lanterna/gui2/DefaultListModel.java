@@ -0,0 +1,160 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link ListModel} keeping its items in memory, in an {@code ArrayList}. This is the model list boxes are created with;
+ * the item methods on {@link AbstractListBox} such as {@link AbstractListBox#addItems(List)} operate on it.
+ *
+ * @param <V> Type of the items
+ */
+public class DefaultListModel<V> implements ListModel<V> {
+    private final List<V> items;
+    private final List<Listener> listeners;
+
+    /**
+     * Creates a new, empty, model
+     */
+    public DefaultListModel() {
+        this.items = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public synchronized int getItemCount() {
+        return items.size();
+    }
+
+    @Override
+    public synchronized V getItemAt(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public synchronized int indexOf(V item) {
+        return items.indexOf(item);
+    }
+
+    /**
+     * Returns a copy of all items in the model
+     * @return Copy of the items
+     */
+    public synchronized List<V> getItems() {
+        return new ArrayList<>(items);
+    }
+
+    /**
+     * Appends items to the end of the model
+     * @param newItems Items to append
+     * @return Itself
+     */
+    public DefaultListModel<V> addItems(List<V> newItems) {
+        if (newItems.isEmpty()) {
+            return this;
+        }
+        int index;
+        synchronized (this) {
+            index = items.size();
+            items.addAll(newItems);
+        }
+        listeners.forEach(listener -> listener.onItemsAdded(this, index, newItems.size()));
+        return this;
+    }
+
+    /**
+     * Inserts items at a particular index
+     * @param index Index the first new item will have
+     * @param newItems Items to insert
+     * @return Itself
+     */
+    public DefaultListModel<V> insertItems(int index, List<V> newItems) {
+        if (newItems.isEmpty()) {
+            return this;
+        }
+        synchronized (this) {
+            items.addAll(index, newItems);
+        }
+        listeners.forEach(listener -> listener.onItemsAdded(this, index, newItems.size()));
+        return this;
+    }
+
+    /**
+     * Replaces an item
+     * @param index Index of the item to replace
+     * @param item New item
+     * @return The item that was replaced
+     */
+    public V setItem(int index, V item) {
+        V previous;
+        synchronized (this) {
+            previous = items.set(index, item);
+        }
+        listeners.forEach(listener -> listener.onItemsChanged(this, index, 1));
+        return previous;
+    }
+
+    /**
+     * Removes a range of items
+     * @param fromIndex Index of the first item to remove
+     * @param count Number of items to remove
+     * @return Itself
+     */
+    public DefaultListModel<V> removeItems(int fromIndex, int count) {
+        if (count == 0) {
+            return this;
+        }
+        synchronized (this) {
+            items.subList(fromIndex, fromIndex + count).clear();
+        }
+        listeners.forEach(listener -> listener.onItemsRemoved(this, fromIndex, count));
+        return this;
+    }
+
+    /**
+     * Removes all items
+     * @return Itself
+     */
+    public DefaultListModel<V> clear() {
+        int count;
+        synchronized (this) {
+            count = items.size();
+            items.clear();
+        }
+        if (count > 0) {
+            listeners.forEach(listener -> listener.onItemsRemoved(this, 0, count));
+        }
+        return this;
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+}
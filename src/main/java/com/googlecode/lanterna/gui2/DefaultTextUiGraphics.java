@@ -31,9 +31,7 @@ public class DefaultTextUiGraphics implements TextUiGraphics {
 
     @Override
     public DefaultTextUiGraphics applyThemeStyle(ThemeStyle themeStyle) {
-        setForegroundColor(themeStyle.getForeground());
-        setBackgroundColor(themeStyle.getBackground());
-        setModifiers(themeStyle.getSGRs());
+        themeStyle.applyTo(this);
         return this;
     }
 
@@ -42,6 +40,11 @@ public class DefaultTextUiGraphics implements TextUiGraphics {
         return backend.getSize();
     }
 
+    @Override
+    public Rectangle getVisibleArea() {
+        return backend.getVisibleArea();
+    }
+
     @Override
     public TextColor getBackgroundColor() {
         return backend.getBackgroundColor();
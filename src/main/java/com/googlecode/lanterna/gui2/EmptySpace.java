@@ -114,5 +114,6 @@ public class EmptySpace extends AbstractComponent<EmptySpace> {
      */
     public void setColor(TextColor color) {
         this.color = color;
+        invalidate();
     }
 }
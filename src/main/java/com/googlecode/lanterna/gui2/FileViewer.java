@@ -0,0 +1,476 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.TerminalTextUtils;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.MouseAction;
+import com.googlecode.lanterna.input.MouseActionType;
+import com.googlecode.lanterna.screen.TabBehaviour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only component for paging through text files of any size, including files much larger than the heap. The file
+ * is memory-mapped and never loaded as a whole; a background thread scans it once to build an index of where the lines
+ * start (remembering the position of every 64th line, so the index stays small even for files with hundreds of millions
+ * of lines) and only the lines currently on screen are decoded. The file can be viewed while the index is still being
+ * built, the line count then grows as the scan progresses.
+ * <p>
+ * Lines are assumed to be separated by \n (optionally preceded by \r), so the charset has to be one where that is the
+ * single byte 0x0A, which is the case for UTF-8, ASCII and the ISO-8859 family among others.
+ * <p>
+ * The viewer keeps the file open until {@link #close()} is called. A closed viewer is empty: it has no lines, finds
+ * nothing and draws a blank area.
+ */
+public class FileViewer extends AbstractInteractableComponent<FileViewer> implements Closeable {
+    private static final int DEFAULT_SEGMENT_BITS = 28;
+    private static final int LINES_PER_ANCHOR = 64;
+    private static final int MAX_DECODED_LINE_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final long fileSize;
+    private final int segmentBits;
+    private final MappedByteBuffer[] segments;
+    private final Thread indexer;
+
+    // Start offsets of every LINES_PER_ANCHOR:th line, guarded by the monitor of the array holder (this)
+    private long[] anchors;
+    private int anchorCount;
+    private volatile long indexedLineCount;
+    private volatile boolean indexComplete;
+    private volatile boolean closed;
+
+    private long topLine;
+    private int leftColumn;
+
+    /**
+     * Opens a file for viewing, decoding it as UTF-8
+     * @param file File to view
+     * @throws IOException If the file couldn't be opened
+     */
+    public FileViewer(Path file) throws IOException {
+        this(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a file for viewing
+     * @param file File to view
+     * @param charset Charset the file is encoded in
+     * @throws IOException If the file couldn't be opened
+     */
+    public FileViewer(Path file, Charset charset) throws IOException {
+        this(file, charset, DEFAULT_SEGMENT_BITS);
+    }
+
+    FileViewer(Path file, Charset charset, int segmentBits) throws IOException {
+        super(Attributes.EMPTY);
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.charset = charset;
+        this.fileSize = channel.size();
+        this.segmentBits = segmentBits;
+        this.segments = new MappedByteBuffer[(int) ((fileSize + (1L << segmentBits) - 1) >>> segmentBits)];
+        this.anchors = new long[16];
+        this.anchorCount = 1;
+        this.indexedLineCount = 0;
+        this.indexComplete = false;
+        this.closed = false;
+        this.topLine = 0;
+        this.leftColumn = 0;
+        this.indexer = new Thread(this::buildIndex, "LanternaFileViewerIndexer");
+        this.indexer.setDaemon(true);
+        this.indexer.start();
+    }
+
+    @Override
+    protected InteractableRenderer<FileViewer> createDefaultRenderer() {
+        return new DefaultFileViewerRenderer();
+    }
+
+    /**
+     * Returns the number of lines found in the file so far. Until {@link #isIndexComplete()} returns {@code true}, this
+     * will keep growing.
+     * @return Number of lines known
+     */
+    public long getLineCount() {
+        return closed ? 0 : indexedLineCount;
+    }
+
+    /**
+     * Returns {@code true} once the background scan of the file is done and {@link #getLineCount()} is final
+     * @return {@code true} if the whole file has been indexed
+     */
+    public boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    /**
+     * Returns the index of the line shown at the top of the viewer
+     * @return Index of the first visible line
+     */
+    public synchronized long getTopLine() {
+        return topLine;
+    }
+
+    /**
+     * Scrolls the viewer so that a particular line is shown at the top. Lines beyond what has been indexed so far can't
+     * be scrolled to yet, in that case the viewer stops at the last known line.
+     * @param line Index of the line to show at the top, 0 being the first line
+     * @return Itself
+     */
+    public synchronized FileViewer goToLine(long line) {
+        long newTopLine = Math.max(0, Math.min(line, getLineCount() - 1));
+        if (newTopLine != topLine) {
+            topLine = newTopLine;
+            invalidate();
+        }
+        return this;
+    }
+
+    /**
+     * Returns how many columns the view is scrolled to the right
+     * @return Horizontal scroll offset, in columns
+     */
+    public synchronized int getLeftColumn() {
+        return leftColumn;
+    }
+
+    /**
+     * Scrolls the view horizontally
+     * @param leftColumn Column to show at the left edge of the viewer
+     * @return Itself
+     */
+    public synchronized FileViewer setLeftColumn(int leftColumn) {
+        leftColumn = Math.max(0, leftColumn);
+        if (leftColumn != this.leftColumn) {
+            this.leftColumn = leftColumn;
+            invalidate();
+        }
+        return this;
+    }
+
+    /**
+     * Decodes a single line of the file. Lines longer than 64 KiB are cut off.
+     * @param line Index of the line, 0 being the first line
+     * @return Content of the line, without the line separator
+     * @throws IndexOutOfBoundsException If the line hasn't been indexed (yet), or the viewer has been closed
+     */
+    public String getLine(long line) {
+        long lineCount = getLineCount();
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " is not among the " + lineCount + " lines indexed" +
+                    (closed ? ", the FileViewer has been closed" : ""));
+        }
+        return decodeLine(getLineStart(line));
+    }
+
+    /**
+     * Searches the file for a piece of text, starting at a line and going towards the end of the file. The search works
+     * directly on the mapped file and doesn't need the index to be complete, but it has to look at every byte up to the
+     * match, so on large files you will want to run it off the GUI thread.
+     * @param text Text to look for, it can't span several lines
+     * @param fromLine Index of the line to start searching from
+     * @return Index of the first line at or after {@code fromLine} containing the text, or -1 if there is no such line
+     */
+    public long search(String text, long fromLine) {
+        byte[] needle = text.getBytes(charset);
+        if (needle.length == 0 || fromLine < 0 || fromLine >= getLineCount()) {
+            return -1;
+        }
+        long line = fromLine;
+        long position = getLineStart(fromLine);
+        long lastStart = fileSize - needle.length;
+        while (position <= lastStart && !closed) {
+            ByteBuffer segment = getSegment((int) (position >>> segmentBits));
+            long segmentStart = position & ~((1L << segmentBits) - 1);
+            int end = (int) Math.min(segment.limit(), lastStart - segmentStart + 1);
+            for (int i = (int) (position - segmentStart); i < end; i++) {
+                byte b = segment.get(i);
+                if (b == '\n') {
+                    line++;
+                } else if (b == needle[0] && matches(segmentStart + i, needle)) {
+                    return line;
+                }
+            }
+            position = segmentStart + end;
+        }
+        return -1;
+    }
+
+    /**
+     * Stops the background indexing and closes the file. The viewer is empty from then on.
+     * @throws IOException If there was an error closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        indexer.interrupt();
+        synchronized (segments) {
+            // Segments mapped earlier would otherwise keep serving parts of the file
+            Arrays.fill(segments, null);
+        }
+        channel.close();
+        invalidate();
+    }
+
+    @Override
+    public KeyStrokeResult onKeyStroke(KeyStroke keyStroke) {
+        int rows = Math.max(1, getSize().getRows());
+        switch (keyStroke.getKeyType()) {
+            case ArrowUp:
+                goToLine(getTopLine() - 1);
+                return KeyStrokeResult.HANDLED;
+            case ArrowDown:
+                goToLine(getTopLine() + 1);
+                return KeyStrokeResult.HANDLED;
+            case PageUp:
+                goToLine(getTopLine() - rows);
+                return KeyStrokeResult.HANDLED;
+            case PageDown:
+                goToLine(getTopLine() + rows);
+                return KeyStrokeResult.HANDLED;
+            case Home:
+                goToLine(0);
+                return KeyStrokeResult.HANDLED;
+            case End:
+                goToLine(getLineCount() - rows);
+                return KeyStrokeResult.HANDLED;
+            case ArrowLeft:
+                setLeftColumn(getLeftColumn() - 1);
+                return KeyStrokeResult.HANDLED;
+            case ArrowRight:
+                setLeftColumn(getLeftColumn() + 1);
+                return KeyStrokeResult.HANDLED;
+            case MouseEvent:
+                MouseActionType actionType = ((MouseAction) keyStroke).getActionType();
+                if (actionType == MouseActionType.SCROLL_UP) {
+                    goToLine(getTopLine() - 1);
+                } else if (actionType == MouseActionType.SCROLL_DOWN) {
+                    goToLine(getTopLine() + 1);
+                }
+                return super.onKeyStroke(keyStroke);
+            default:
+                return super.onKeyStroke(keyStroke);
+        }
+    }
+
+    private void buildIndex() {
+        long lineCount = 0;
+        long lastPublished = System.currentTimeMillis();
+        try {
+            for (int segmentIndex = 0; segmentIndex < segments.length && !closed; segmentIndex++) {
+                ByteBuffer segment = getSegment(segmentIndex).duplicate();
+                long segmentStart = (long) segmentIndex << segmentBits;
+                int limit = segment.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (segment.get(i) == '\n') {
+                        lineCount++;
+                        long nextLineStart = segmentStart + i + 1;
+                        if (lineCount % LINES_PER_ANCHOR == 0) {
+                            addAnchor(nextLineStart);
+                        }
+                        indexedLineCount = lineCount;
+                    }
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastPublished > 100) {
+                    lastPublished = now;
+                    invalidateFromBackground();
+                }
+            }
+            if (!closed) {
+                // The last line may not be terminated by a line separator
+                if (fileSize == 0 || byteAt(fileSize - 1) != '\n') {
+                    indexedLineCount = lineCount + 1;
+                }
+                indexComplete = true;
+                invalidateFromBackground();
+            }
+        } catch (RuntimeException e) {
+            if (!closed) {
+                throw e;
+            }
+        }
+    }
+
+    private void invalidateFromBackground() {
+        Frame textGUI = getTextGUI();
+        TextUiThread guiThread = textGUI != null ? textGUI.getGUIThread() : null;
+        if (guiThread != null) {
+            try {
+                guiThread.invokeLaterCoalesced(this, this::invalidate);
+            } catch (IllegalStateException e) {
+                // The GUI thread isn't running, the new lines will show on the next redraw
+            }
+        }
+    }
+
+    private synchronized void addAnchor(long offset) {
+        if (anchorCount == anchors.length) {
+            anchors = Arrays.copyOf(anchors, anchors.length * 2);
+        }
+        anchors[anchorCount++] = offset;
+    }
+
+    private synchronized long getAnchor(int index) {
+        return anchors[index];
+    }
+
+    private long getLineStart(long line) {
+        long position = getAnchor((int) (line / LINES_PER_ANCHOR));
+        for (long remaining = line % LINES_PER_ANCHOR; remaining > 0; position++) {
+            if (byteAt(position) == '\n') {
+                remaining--;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Finds the start of the line following the one starting at {@code lineStart}
+     */
+    private long getNextLineStart(long lineStart) {
+        long position = lineStart;
+        while (position < fileSize && byteAt(position) != '\n') {
+            position++;
+        }
+        return position + 1;
+    }
+
+    private String decodeLine(long lineStart) {
+        int length = 0;
+        byte[] bytes = new byte[256];
+        for (long position = lineStart; position < fileSize && length < MAX_DECODED_LINE_BYTES; position++) {
+            byte b = byteAt(position);
+            if (b == '\n') {
+                break;
+            }
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = b;
+        }
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try {
+            return decoder.decode(ByteBuffer.wrap(bytes, 0, length)).toString();
+        } catch (CharacterCodingException e) {
+            // Can't happen with REPLACE as the error action
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean matches(long position, byte[] needle) {
+        for (int i = 1; i < needle.length; i++) {
+            if (byteAt(position + i) != needle[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte byteAt(long position) {
+        return getSegment((int) (position >>> segmentBits)).get((int) (position & ((1L << segmentBits) - 1)));
+    }
+
+    private MappedByteBuffer getSegment(int index) {
+        synchronized (segments) {
+            if (closed) {
+                throw new IllegalStateException("FileViewer has been closed");
+            }
+            if (segments[index] == null) {
+                long start = (long) index << segmentBits;
+                try {
+                    segments[index] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << segmentBits, fileSize - start));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to map " + start + " of the file", e);
+                }
+            }
+            return segments[index];
+        }
+    }
+
+    /**
+     * Default renderer for {@link FileViewer}, draws the visible lines with tabs expanded to every 8th column and
+     * without any cursor
+     */
+    public static class DefaultFileViewerRenderer implements InteractableRenderer<FileViewer> {
+        @Override
+        public Point getCursorLocation(FileViewer component) {
+            return null;
+        }
+
+        @Override
+        public Dimension getPreferredSize(FileViewer component) {
+            return new Dimension(80, 24);
+        }
+
+        @Override
+        public void drawComponent(TextUiGraphics graphics, FileViewer component) {
+            Dimension size = graphics.getSize();
+            graphics.applyThemeStyle(component.isFocused() ?
+                    component.getThemeDefinition().getSelected() :
+                    component.getThemeDefinition().getNormal());
+            graphics.fill(' ');
+            long lineCount = component.getLineCount();
+            long line = component.getTopLine();
+            if (line >= lineCount) {
+                return;
+            }
+            int leftColumn = component.getLeftColumn();
+            try {
+                long lineStart = component.getLineStart(line);
+                for (int row = 0; row < size.getRows() && line < lineCount; row++, line++) {
+                    String text = TabBehaviour.ALIGN_TO_COLUMN_8.replaceTabs(component.decodeLine(lineStart), 0);
+                    StringBuilder printable = new StringBuilder(text.length());
+                    for (int i = 0; i < text.length(); i++) {
+                        char c = text.charAt(i);
+                        printable.append(TerminalTextUtils.isControlCharacter(c) ? ' ' : c);
+                    }
+                    graphics.putString(0, row, TerminalTextUtils.fitString(printable.toString(), leftColumn, size.getColumns()));
+                    lineStart = component.getNextLineStart(lineStart);
+                }
+            } catch (IllegalStateException e) {
+                // Closed by another thread while drawing; close() invalidated the viewer so it's drawn empty next time
+                if (!component.closed) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -230,6 +230,7 @@ public class GridLayout implements LayoutManager {
     private int rightMarginSize;
 
     private boolean changed;
+    private final LayoutCache layoutCache;
 
     /**
      * Creates a new {@code GridLayout} with the specified number of columns. Initially, this layout will have a
@@ -245,6 +246,7 @@ public class GridLayout implements LayoutManager {
         this.leftMarginSize = 1;
         this.rightMarginSize = 1;
         this.changed = true;
+        this.layoutCache = new LayoutCache();
     }
 
     /**
@@ -266,6 +268,7 @@ public class GridLayout implements LayoutManager {
         }
         this.horizontalSpacing = horizontalSpacing;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -288,6 +291,7 @@ public class GridLayout implements LayoutManager {
         }
         this.verticalSpacing = verticalSpacing;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -310,6 +314,7 @@ public class GridLayout implements LayoutManager {
         }
         this.topMarginSize = topMarginSize;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -332,6 +337,7 @@ public class GridLayout implements LayoutManager {
         }
         this.bottomMarginSize = bottomMarginSize;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -354,6 +360,7 @@ public class GridLayout implements LayoutManager {
         }
         this.leftMarginSize = leftMarginSize;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -376,6 +383,7 @@ public class GridLayout implements LayoutManager {
         }
         this.rightMarginSize = rightMarginSize;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -386,6 +394,15 @@ public class GridLayout implements LayoutManager {
 
     @Override
     public Dimension getPreferredSize(List<Component> components) {
+        if(layoutCache.validate(components) && layoutCache.getLayoutPreferredSize() != null) {
+            return layoutCache.getLayoutPreferredSize();
+        }
+        Dimension preferredSize = calculatePreferredSize(components);
+        layoutCache.setLayoutPreferredSize(preferredSize);
+        return preferredSize;
+    }
+
+    private Dimension calculatePreferredSize(List<Component> components) {
         Dimension preferredSize = Dimension.ZERO;
         if(components.isEmpty()) {
             return preferredSize.withRelative(
@@ -413,6 +430,12 @@ public class GridLayout implements LayoutManager {
 
     @Override
     public void doLayout(Dimension area, List<Component> components) {
+        //Nothing that affects the layout has changed since last time, put the components back where they were
+        if(layoutCache.validate(components) && layoutCache.restoreLayout(area)) {
+            changed = false;
+            return;
+        }
+
         //Sanity check, if the area is way too small, just return
         Component[][] table = buildTable(components);
         table = eliminateUnusedRowsAndColumns(table);
@@ -421,9 +444,11 @@ public class GridLayout implements LayoutManager {
                 table.length == 0 ||
                 area.getColumns() <= leftMarginSize + rightMarginSize + ((table[0].length - 1) * horizontalSpacing) ||
                 area.getRows() <= bottomMarginSize + topMarginSize + ((table.length - 1) * verticalSpacing)) {
+            layoutCache.storeLayout(area, false);
             changed = false;
             return;
         }
+        Dimension originalArea = area;
 
         //Adjust area to the margins
         area = area.withRelative(-leftMarginSize - rightMarginSize, -topMarginSize - bottomMarginSize);
@@ -465,7 +490,7 @@ public class GridLayout implements LayoutManager {
                 Component component = table[y][x];
                 if(component != null && !positionMap.containsKey(component)) {
                     GridLayoutData layoutData = getLayoutData(component);
-                    Dimension size = component.getPreferredSize();
+                    Dimension size = layoutCache.getPreferredSize(component);
                     Point point = tableCellTopLeft;
 
                     int availableHorizontalSpace = 0;
@@ -521,6 +546,7 @@ public class GridLayout implements LayoutManager {
             component.setPosition(positionMap.get(component).withRelative(leftMarginSize, topMarginSize));
             component.setSize(sizeMap.get(component));
         }
+        layoutCache.storeLayout(originalArea, true);
         this.changed = false;
     }
 
@@ -538,7 +564,7 @@ public class GridLayout implements LayoutManager {
                 }
                 GridLayoutData layoutData = getLayoutData(component);
                 if (layoutData.horizontalSpan == 1) {
-                    columnWidths[i] = Math.max(columnWidths[i], component.getPreferredSize().getColumns());
+                    columnWidths[i] = Math.max(columnWidths[i], layoutCache.getPreferredSize(component).getColumns());
                 }
             }
         }
@@ -559,7 +585,7 @@ public class GridLayout implements LayoutManager {
                         accumWidth += columnWidths[j];
                     }
 
-                    int preferredWidth = component.getPreferredSize().getColumns();
+                    int preferredWidth = layoutCache.getPreferredSize(component).getColumns();
                     if(preferredWidth > accumWidth) {
                         int columnOffset = 0;
                         do {
@@ -591,7 +617,7 @@ public class GridLayout implements LayoutManager {
                 }
                 GridLayoutData layoutData = getLayoutData(component);
                 if(layoutData.verticalSpan == 1) {
-                    rowHeights[rowIndex] = Math.max(rowHeights[rowIndex], component.getPreferredSize().getRows());
+                    rowHeights[rowIndex] = Math.max(rowHeights[rowIndex], layoutCache.getPreferredSize(component).getRows());
                 }
             }
             rowIndex++;
@@ -616,7 +642,7 @@ public class GridLayout implements LayoutManager {
                         accumulatedHeight += rowHeights[i];
                     }
 
-                    int preferredHeight = component.getPreferredSize().getRows();
+                    int preferredHeight = layoutCache.getPreferredSize(component).getRows();
                     if(preferredHeight > accumulatedHeight) {
                         int rowOffset = 0;
                         do {
@@ -745,7 +771,7 @@ public class GridLayout implements LayoutManager {
 
         int rowCount = 0;
         int rowsExtent = 1;
-        Queue<Component> toBePlaced = new LinkedList<>(components);
+        Queue<Component> toBePlaced = new ArrayDeque<>(components);
         while(!toBePlaced.isEmpty() || rowCount < rowsExtent) {
             //Start new row
             Component[] row = new Component[numberOfColumns];
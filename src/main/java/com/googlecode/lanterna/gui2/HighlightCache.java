@@ -0,0 +1,95 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Per-line highlighting results of a {@link TextBox}, kept in step with its {@link TextDocument}. Lines before the
+ * frontier are known to be up to date; lines from the frontier and on are checked, in order, when they are asked for.
+ * A line is only highlighted again if its text changed or if the state it starts in is no longer the one it was
+ * highlighted with, so an edit costs one highlighted line plus a cheap state comparison for each line after it, up to
+ * the last line drawn.
+ *
+ * @param <S> Type of the state carried between lines
+ */
+class HighlightCache<S> {
+    private static class HighlightedLine<S> {
+        private final S startState;
+        private final S endState;
+        private final List<SyntaxHighlighter.Span> spans;
+
+        private HighlightedLine(S startState, S endState, List<SyntaxHighlighter.Span> spans) {
+            this.startState = startState;
+            this.endState = endState;
+            this.spans = spans;
+        }
+    }
+
+    private final SyntaxHighlighter<S> highlighter;
+    // null entries are lines whose text has changed since they were highlighted
+    private final List<HighlightedLine<S>> lines;
+    private int frontier;
+
+    HighlightCache(SyntaxHighlighter<S> highlighter, int lineCount) {
+        this.highlighter = highlighter;
+        this.lines = new ArrayList<>(Collections.nCopies(lineCount, null));
+        this.frontier = 0;
+    }
+
+    SyntaxHighlighter<S> getHighlighter() {
+        return highlighter;
+    }
+
+    synchronized void onLinesReplaced(int fromIndex, int removedLineCount, int insertedLineCount) {
+        int common = Math.min(removedLineCount, insertedLineCount);
+        for (int i = fromIndex; i < fromIndex + common; i++) {
+            lines.set(i, null);
+        }
+        if (removedLineCount > common) {
+            lines.subList(fromIndex + common, fromIndex + removedLineCount).clear();
+        } else if (insertedLineCount > common) {
+            lines.addAll(fromIndex + common, Collections.nCopies(insertedLineCount - common, null));
+        }
+        frontier = Math.min(frontier, fromIndex);
+    }
+
+    /**
+     * Returns the spans of a line, highlighting it and any lines before it that are out of date first
+     * @param document Document the lines are read from
+     * @param index Index of the line
+     * @return Spans of the line
+     */
+    synchronized List<SyntaxHighlighter.Span> getSpans(TextDocument document, int index) {
+        while (frontier <= index) {
+            S state = frontier == 0 ? highlighter.getInitialState() : lines.get(frontier - 1).endState;
+            HighlightedLine<S> line = lines.get(frontier);
+            if (line == null || !Objects.equals(line.startState, state)) {
+                List<SyntaxHighlighter.Span> spans = new ArrayList<>();
+                S endState = highlighter.highlightLine(document.getLine(frontier), state, spans);
+                lines.set(frontier, new HighlightedLine<>(state, endState, spans));
+            }
+            frontier++;
+        }
+        return lines.get(index).spans;
+    }
+}
@@ -20,36 +20,79 @@ package com.googlecode.lanterna.gui2;
 
 import com.googlecode.lanterna.Dimension;
 import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.Rectangle;
 
 import java.util.*;
 
 /**
  * This class is used to keep a 'map' of the usable area and note where all the interact:ables are. It can then be used
  * to find the next interactable in any direction. It is used inside the GUI system to drive arrow key navigation.
+ * <p>
+ * Rather than a cell-by-cell map, this keeps the rectangles of the interactables indexed by row. For every row, the
+ * parts that are visible (an interactable added later covers the ones added before it) are kept as sorted, non
+ * overlapping segments, which are searched with binary search.
  * @author Martin
  */
 public class InteractableLookupMap {
-    private final int[][] lookupMap;
+    private final Dimension size;
     private final List<Interactable> interactables;
+    private final List<List<Integer>> rowEntries;
+    private final List<int[]> bounds;
+    private final RowSegments[] rowSegments;
+    private Rectangle clip;
 
     InteractableLookupMap(Dimension size) {
-        lookupMap = new int[size.getRows()][size.getColumns()];
+        this.size = size;
         interactables = new ArrayList<>();
-        for (int[] aLookupMap : lookupMap) {
-            Arrays.fill(aLookupMap, -1);
+        bounds = new ArrayList<>();
+        rowEntries = new ArrayList<>(size.getRows());
+        for (int row = 0; row < size.getRows(); row++) {
+            rowEntries.add(new ArrayList<>());
         }
+        rowSegments = new RowSegments[size.getRows()];
     }
 
     void reset() {
         interactables.clear();
-        for (int[] aLookupMap : lookupMap) {
-            Arrays.fill(aLookupMap, -1);
+        bounds.clear();
+        for (List<Integer> entries : rowEntries) {
+            entries.clear();
         }
+        Arrays.fill(rowSegments, null);
+        clip = null;
+    }
+
+    /**
+     * Restricts the area where interactables added after this call are registered, on top of any restriction already
+     * in place. Containers that only show a part of their content, like {@link ScrollPanel}, use this to keep the
+     * hidden interactables out of the map. Pass the returned value to {@code restoreClip(..)} when done.
+     * @param area Area in base pane coordinates that interactables are limited to
+     * @return The restriction that was in place before this call, {@code null} if there was none
+     */
+    Rectangle pushClip(Rectangle area) {
+        Rectangle previous = clip;
+        if (previous != null) {
+            int left = Math.max(previous.x, area.x);
+            int top = Math.max(previous.y, area.y);
+            int right = Math.min(previous.xAndWidth, area.xAndWidth);
+            int bottom = Math.min(previous.yAndHeight, area.yAndHeight);
+            area = new Rectangle(left, top, Math.max(right - left, 0), Math.max(bottom - top, 0));
+        }
+        clip = area;
+        return previous;
+    }
+
+    /**
+     * Puts back the restriction returned by {@code pushClip(..)}
+     * @param previous Restriction to put back
+     */
+    void restoreClip(Rectangle previous) {
+        clip = previous;
     }
 
     Dimension getSize() {
-        if (lookupMap.length==0) { return Dimension.ZERO; }
-        return new Dimension(lookupMap[0].length, lookupMap.length);
+        if (size.getRows() == 0) { return Dimension.ZERO; }
+        return size;
     }
 
     /**
@@ -58,17 +101,28 @@ public class InteractableLookupMap {
      */
     public synchronized void add(Interactable interactable) {
         Point topLeft = interactable.toBasePane(Point.TOP_LEFT_CORNER);
-        Dimension size = interactable.getSize();
+        Dimension componentSize = interactable.getSize();
         interactables.add(interactable);
         int index = interactables.size() - 1;
-        for(int y = topLeft.getRow(); y < topLeft.getRow() + size.getRows(); y++) {
-            for(int x = topLeft.getColumn(); x < topLeft.getColumn() + size.getColumns(); x++) {
-                //Make sure it's not outside the map
-                if(y >= 0 && y < lookupMap.length &&
-                        x >= 0 && x < lookupMap[y].length) {
-                    lookupMap[y][x] = index;
-                }
-            }
+
+        //Make sure it's not outside the map
+        int left = Math.max(topLeft.getColumn(), 0);
+        int right = Math.min(topLeft.getColumn() + componentSize.getColumns(), size.getColumns());
+        int top = Math.max(topLeft.getRow(), 0);
+        int bottom = Math.min(topLeft.getRow() + componentSize.getRows(), size.getRows());
+        if (clip != null) {
+            left = Math.max(left, clip.x);
+            right = Math.min(right, clip.xAndWidth);
+            top = Math.max(top, clip.y);
+            bottom = Math.min(bottom, clip.yAndHeight);
+        }
+        bounds.add(new int[] { left, right });
+        if (left >= right) {
+            return;
+        }
+        for (int row = top; row < bottom; row++) {
+            rowEntries.get(row).add(index);
+            rowSegments[row] = null;
         }
     }
 
@@ -81,16 +135,17 @@ public class InteractableLookupMap {
         if (point.getRow() < 0 || point.getColumn() < 0) {
             return null;
         }
-        if(point.getRow() >= lookupMap.length) {
+        if(point.getRow() >= size.getRows()) {
             return null;
         }
-        else if(point.getColumn() >= lookupMap[0].length) {
+        else if(point.getColumn() >= size.getColumns()) {
             return null;
         }
-        else if(lookupMap[point.getRow()][point.getColumn()] == -1) {
+        int index = getSegments(point.getRow()).indexAt(point.getColumn());
+        if (index == -1) {
             return null;
         }
-        return interactables.get(lookupMap[point.getRow()][point.getColumn()]);
+        return interactables.get(index);
     }
 
     /**
@@ -143,31 +198,23 @@ public class InteractableLookupMap {
             return null;
         }
         Set<Interactable> disqualified = getDisqualifiedInteractables(startPoint, true);
-        Dimension size = getSize();
         int maxShiftLeft = interactable.toBasePane(Point.TOP_LEFT_CORNER).getColumn();
         maxShiftLeft = Math.max(maxShiftLeft, 0);
         int maxShiftRight = interactable.toBasePane(new Point(interactable.getSize().getColumns() - 1, 0)).getColumn();
         maxShiftRight = Math.min(maxShiftRight, size.getColumns() - 1);
         int maxShift = Math.max(startPoint.getColumn() - maxShiftLeft, maxShiftRight - startPoint.getRow());
+        int searchFrom = Math.max(maxShiftLeft, startPoint.getColumn() - maxShift);
+        int searchTo = Math.min(maxShiftRight, startPoint.getColumn() + maxShift);
+        if (maxShift < 0 || searchFrom > searchTo) {
+            return null;
+        }
         for (int searchRow = startPoint.getRow() + directionTerm;
              searchRow >= 0 && searchRow < size.getRows();
              searchRow += directionTerm) {
 
-            for (int xShift = 0; xShift <= maxShift; xShift++) {
-                for (int modifier : new int[]{1, -1}) {
-                    if (xShift == 0 && modifier == -1) {
-                        break;
-                    }
-                    int searchColumn = startPoint.getColumn() + (xShift * modifier);
-                    if (searchColumn < maxShiftLeft || searchColumn > maxShiftRight) {
-                        continue;
-                    }
-
-                    int index = lookupMap[searchRow][searchColumn];
-                    if (index != -1 && !disqualified.contains(interactables.get(index))) {
-                        return interactables.get(index);
-                    }
-                }
+            int index = getSegments(searchRow).findClosest(startPoint.getColumn(), searchFrom, searchTo, disqualified);
+            if (index != -1) {
+                return interactables.get(index);
             }
         }
         return null;
@@ -195,7 +242,6 @@ public class InteractableLookupMap {
 
     //Avoid code duplication in above two methods
     private Interactable findNextLeftOrRight(Interactable interactable, boolean isRight) {
-        int directionTerm = isRight ? 1 : -1;
         Point startPoint = interactable.getCursorLocation();
         if(startPoint == null) {
             // If the currently active interactable component is not showing the cursor, use the top-left position
@@ -222,67 +268,73 @@ public class InteractableLookupMap {
             // The structure has changed, our interactable is no longer inside the base pane!
             return null;
         }
+        int firstColumn = startPoint.getColumn() + (isRight ? 1 : -1);
+        if (firstColumn < 0 || firstColumn >= size.getColumns()) {
+            return null;
+        }
         Set<Interactable> disqualified = getDisqualifiedInteractables(startPoint, false);
-        Dimension size = getSize();
         int maxShiftUp = interactable.toBasePane(Point.TOP_LEFT_CORNER).getRow();
         maxShiftUp = Math.max(maxShiftUp, 0);
         int maxShiftDown = interactable.toBasePane(new Point(0, interactable.getSize().getRows() - 1)).getRow();
         maxShiftDown = Math.min(maxShiftDown, size.getRows() - 1);
         int maxShift = Math.max(startPoint.getRow() - maxShiftUp, maxShiftDown - startPoint.getRow());
-        for(int searchColumn = startPoint.getColumn() + directionTerm;
-            searchColumn >= 0 && searchColumn < size.getColumns();
-            searchColumn += directionTerm) {
 
-            for(int yShift = 0; yShift <= maxShift; yShift++) {
-                for(int modifier: new int[] { 1, -1 }) {
-                    if(yShift == 0 && modifier == -1) {
-                        break;
-                    }
-                    int searchRow = startPoint.getRow() + (yShift * modifier);
-                    if(searchRow < maxShiftUp || searchRow > maxShiftDown) {
-                        continue;
-                    }
-                    int index = lookupMap[searchRow][searchColumn];
-                    if (index != -1 && !disqualified.contains(interactables.get(index))) {
-                        return interactables.get(index);
-                    }
+        // The closest column wins, then the closest row, with rows below preferred over rows above
+        int bestIndex = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for(int yShift = 0; yShift <= maxShift; yShift++) {
+            for(int modifier: new int[] { 1, -1 }) {
+                if(yShift == 0 && modifier == -1) {
+                    break;
+                }
+                int searchRow = startPoint.getRow() + (yShift * modifier);
+                if(searchRow < maxShiftUp || searchRow > maxShiftDown) {
+                    continue;
+                }
+                RowSegments segments = getSegments(searchRow);
+                int column = isRight ?
+                        segments.findFirstFrom(firstColumn, disqualified) :
+                        segments.findLastFrom(firstColumn, disqualified);
+                if (column == -1) {
+                    continue;
+                }
+                int distance = Math.abs(column - firstColumn);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestIndex = segments.indexAt(column);
                 }
             }
         }
-        return null;
+        return bestIndex == -1 ? null : interactables.get(bestIndex);
     }
 
     private Set<Interactable> getDisqualifiedInteractables(Point startPoint, boolean scanHorizontally) {
         Set<Interactable> disqualified = new HashSet<>();
-        if (lookupMap.length == 0) { return disqualified; } // safeguard
-
-        Dimension size = getSize();
+        if (size.getRows() == 0 || size.getColumns() == 0) { return disqualified; } // safeguard
 
         //Adjust start position if necessary
         if(startPoint.getRow() < 0) {
             startPoint = startPoint.withRow(0);
         }
-        else if(startPoint.getRow() >= lookupMap.length) {
-            startPoint = startPoint.withRow(lookupMap.length - 1);
+        else if(startPoint.getRow() >= size.getRows()) {
+            startPoint = startPoint.withRow(size.getRows() - 1);
         }
         if(startPoint.getColumn() < 0) {
             startPoint = startPoint.withColumn(0);
         }
-        else if(startPoint.getColumn() >= lookupMap[startPoint.getRow()].length) {
-            startPoint = startPoint.withColumn(lookupMap[startPoint.getRow()].length - 1);
+        else if(startPoint.getColumn() >= size.getColumns()) {
+            startPoint = startPoint.withColumn(size.getColumns() - 1);
         }
 
         if(scanHorizontally) {
-            for(int column = 0; column < size.getColumns(); column++) {
-                int index = lookupMap[startPoint.getRow()][column];
-                if(index != -1) {
-                    disqualified.add(interactables.get(index));
-                }
+            RowSegments segments = getSegments(startPoint.getRow());
+            for (int owner : segments.owners) {
+                disqualified.add(interactables.get(owner));
             }
         }
         else {
             for(int row = 0; row < size.getRows(); row++) {
-                int index = lookupMap[row][startPoint.getColumn()];
+                int index = getSegments(row).indexAt(startPoint.getColumn());
                 if(index != -1) {
                     disqualified.add(interactables.get(index));
                 }
@@ -291,9 +343,20 @@ public class InteractableLookupMap {
         return disqualified;
     }
 
+    private RowSegments getSegments(int row) {
+        RowSegments segments = rowSegments[row];
+        if (segments == null) {
+            segments = new RowSegments(rowEntries.get(row), bounds);
+            rowSegments[row] = segments;
+        }
+        return segments;
+    }
+
     void debug() {
-        for(int[] row: lookupMap) {
-            for(int value: row) {
+        for(int row = 0; row < size.getRows(); row++) {
+            RowSegments segments = getSegments(row);
+            for(int column = 0; column < size.getColumns(); column++) {
+                int value = segments.indexAt(column);
                 if(value >= 0) {
                     System.out.print(" ");
                 }
@@ -303,4 +366,122 @@ public class InteractableLookupMap {
         }
         System.out.println();
     }
+
+    /**
+     * The visible parts of the interactables on a single row, as sorted and non-overlapping [start, end) segments
+     */
+    private class RowSegments {
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] owners;
+
+        RowSegments(List<Integer> entries, List<int[]> bounds) {
+            // Interactables added later are on top, so go through them in reverse and only keep what isn't covered yet
+            TreeMap<Integer, Integer> covered = new TreeMap<>();
+            TreeMap<Integer, int[]> segments = new TreeMap<>();
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                int index = entries.get(i);
+                int start = bounds.get(index)[0];
+                int end = bounds.get(index)[1];
+                Map.Entry<Integer, Integer> before = covered.floorEntry(start);
+                int position = before != null && before.getValue() > start ? before.getValue() : start;
+                while (position < end) {
+                    Map.Entry<Integer, Integer> next = covered.ceilingEntry(position);
+                    int pieceEnd = next == null ? end : Math.min(next.getKey(), end);
+                    if (pieceEnd > position) {
+                        segments.put(position, new int[] { pieceEnd, index });
+                    }
+                    position = next == null ? end : Math.max(pieceEnd, next.getValue());
+                }
+                // Merge the new interval into the covered intervals
+                int mergedStart = start;
+                int mergedEnd = end;
+                if (before != null && before.getValue() >= start) {
+                    mergedStart = before.getKey();
+                    mergedEnd = Math.max(mergedEnd, before.getValue());
+                }
+                Map.Entry<Integer, Integer> overlapping = covered.ceilingEntry(mergedStart);
+                while (overlapping != null && overlapping.getKey() <= mergedEnd) {
+                    mergedEnd = Math.max(mergedEnd, overlapping.getValue());
+                    covered.remove(overlapping.getKey());
+                    overlapping = covered.ceilingEntry(mergedStart);
+                }
+                covered.put(mergedStart, mergedEnd);
+            }
+            starts = new int[segments.size()];
+            ends = new int[segments.size()];
+            owners = new int[segments.size()];
+            int i = 0;
+            for (Map.Entry<Integer, int[]> segment : segments.entrySet()) {
+                starts[i] = segment.getKey();
+                ends[i] = segment.getValue()[0];
+                owners[i] = segment.getValue()[1];
+                i++;
+            }
+        }
+
+        /**
+         * Returns the position of the last segment starting at or before the column, or -1 if there is none
+         */
+        private int segmentAtOrBefore(int column) {
+            int position = Arrays.binarySearch(starts, column);
+            return position >= 0 ? position : -position - 2;
+        }
+
+        int indexAt(int column) {
+            int segment = segmentAtOrBefore(column);
+            if (segment >= 0 && column < ends[segment]) {
+                return owners[segment];
+            }
+            return -1;
+        }
+
+        /**
+         * Finds the interactable closest to a column within [from, to], preferring the right side if two are equally
+         * far away, ignoring the disqualified ones
+         */
+        int findClosest(int column, int from, int to, Set<Interactable> disqualified) {
+            int bestIndex = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            boolean bestOnRight = false;
+            for (int segment = Math.max(segmentAtOrBefore(from), 0); segment < starts.length && starts[segment] <= to; segment++) {
+                if (ends[segment] <= from || disqualified.contains(interactables.get(owners[segment]))) {
+                    continue;
+                }
+                int closest = Math.max(Math.max(starts[segment], from), Math.min(column, Math.min(ends[segment] - 1, to)));
+                int distance = Math.abs(closest - column);
+                boolean onRight = closest >= column;
+                if (distance < bestDistance || (distance == bestDistance && onRight && !bestOnRight)) {
+                    bestIndex = owners[segment];
+                    bestDistance = distance;
+                    bestOnRight = onRight;
+                }
+            }
+            return bestIndex;
+        }
+
+        /**
+         * Returns the first column at or after the given column belonging to an interactable that isn't disqualified
+         */
+        int findFirstFrom(int column, Set<Interactable> disqualified) {
+            for (int segment = Math.max(segmentAtOrBefore(column), 0); segment < starts.length; segment++) {
+                if (ends[segment] > column && !disqualified.contains(interactables.get(owners[segment]))) {
+                    return Math.max(starts[segment], column);
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the last column at or before the given column belonging to an interactable that isn't disqualified
+         */
+        int findLastFrom(int column, Set<Interactable> disqualified) {
+            for (int segment = segmentAtOrBefore(column); segment >= 0; segment--) {
+                if (!disqualified.contains(interactables.get(owners[segment]))) {
+                    return Math.min(ends[segment] - 1, column);
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The items of a {@link ComboBox} ordered by their lower-cased labels, so that the items whose label starts with what
+ * the user has typed can be found with a binary search instead of by comparing against every item. The index is built
+ * with a single sort and is then kept up to date as items are inserted, replaced and removed; each such change costs
+ * one binary search and moving the indexes after it, but no label comparisons beyond the search.
+ */
+class ItemLabelIndex {
+    // Lower-cased labels, in item order
+    private final List<String> labels;
+    // Item indexes, in label order; items with the same label stay in item order
+    private int[] sortedIndexes;
+
+    ItemLabelIndex(List<?> items) {
+        int itemCount = items.size();
+        this.labels = new ArrayList<>(itemCount);
+        Integer[] indexes = new Integer[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            labels.add(toKey(items.get(i)));
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (a, b) -> labels.get(a).compareTo(labels.get(b)));
+        this.sortedIndexes = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            sortedIndexes[i] = indexes[i];
+        }
+    }
+
+    private static String toKey(Object item) {
+        return item.toString().toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return labels.size();
+    }
+
+    /**
+     * Returns the index of the item at a position in label order
+     */
+    int getItemIndex(int sortedPosition) {
+        return sortedIndexes[sortedPosition];
+    }
+
+    /**
+     * Returns the position in label order of the first item whose label starts with the prefix, or where such an item
+     * would have been
+     */
+    int firstMatch(String prefix) {
+        return lowerBound(prefix.toLowerCase(Locale.ROOT), Integer.MIN_VALUE);
+    }
+
+    /**
+     * Returns the position in label order right after the last item whose label starts with the prefix
+     */
+    int endOfMatches(String prefix) {
+        return lowerBound(prefix.toLowerCase(Locale.ROOT) + Character.MAX_VALUE, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Returns the position in label order of an item
+     */
+    int positionOf(int itemIndex) {
+        int position = lowerBound(labels.get(itemIndex), itemIndex);
+        return sortedIndexes[position] == itemIndex ? position : -1;
+    }
+
+    void itemInserted(int itemIndex, Object item) {
+        String key = toKey(item);
+        for (int i = 0; i < sortedIndexes.length; i++) {
+            if (sortedIndexes[i] >= itemIndex) {
+                sortedIndexes[i]++;
+            }
+        }
+        labels.add(itemIndex, key);
+        int position = lowerBound(key, itemIndex);
+        int[] newSortedIndexes = new int[sortedIndexes.length + 1];
+        System.arraycopy(sortedIndexes, 0, newSortedIndexes, 0, position);
+        newSortedIndexes[position] = itemIndex;
+        System.arraycopy(sortedIndexes, position, newSortedIndexes, position + 1, sortedIndexes.length - position);
+        sortedIndexes = newSortedIndexes;
+    }
+
+    void itemRemoved(int itemIndex) {
+        int position = positionOf(itemIndex);
+        labels.remove(itemIndex);
+        int[] newSortedIndexes = new int[sortedIndexes.length - 1];
+        System.arraycopy(sortedIndexes, 0, newSortedIndexes, 0, position);
+        System.arraycopy(sortedIndexes, position + 1, newSortedIndexes, position, newSortedIndexes.length - position);
+        for (int i = 0; i < newSortedIndexes.length; i++) {
+            if (newSortedIndexes[i] > itemIndex) {
+                newSortedIndexes[i]--;
+            }
+        }
+        sortedIndexes = newSortedIndexes;
+    }
+
+    void itemReplaced(int itemIndex, Object item) {
+        itemRemoved(itemIndex);
+        itemInserted(itemIndex, item);
+    }
+
+    /**
+     * Binary search for the first position whose (label, item index) pair is not less than the one given
+     */
+    private int lowerBound(String key, int itemIndex) {
+        int low = 0;
+        int high = sortedIndexes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int index = sortedIndexes[middle];
+            int comparison = labels.get(index).compareTo(key);
+            if (comparison < 0 || (comparison == 0 && index < itemIndex)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -68,6 +68,7 @@ public class Label extends AbstractComponent<Label> {
      */
     public synchronized Label addStyle(SGR sgr) {
         additionalStyles.add(sgr);
+        invalidate();
         return this;
     }
 
@@ -135,6 +136,7 @@ public class Label extends AbstractComponent<Label> {
      */
     public synchronized Label setBackgroundColor(TextColor backgroundColor) {
         this.backgroundColor = backgroundColor;
+        invalidate();
         return this;
     }
 
@@ -189,6 +191,7 @@ public class Label extends AbstractComponent<Label> {
      */
     public synchronized Label setForegroundColor(TextColor foregroundColor) {
         this.foregroundColor = foregroundColor;
+        invalidate();
         return this;
     }
 
@@ -225,6 +228,7 @@ public class Label extends AbstractComponent<Label> {
      */
     public synchronized Label setLabelWidth(Integer labelWidth) {
         this.labelWidth = labelWidth;
+        invalidate();
         return this;
     }
 
@@ -267,6 +271,7 @@ public class Label extends AbstractComponent<Label> {
      */
     public synchronized Label removeStyle(SGR sgr) {
         additionalStyles.remove(sgr);
+        invalidate();
         return this;
     }
 
@@ -0,0 +1,201 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory of the last results computed by a {@link LayoutManager}. The results are valid for as long as the list of
+ * components, their preferred sizes, layout data and visibility stay the same; every call to {@code validate(..)}
+ * compares the current state of the components to the one the results were computed from and drops the results if
+ * anything has changed. This lets a layout manager skip the layout entirely when a container is re-drawn without any
+ * structural change.
+ * <p>
+ * Layout managers using this class need to call {@code clear()} whenever one of their own settings is changed.
+ */
+class LayoutCache {
+    private static final Component[] NO_COMPONENTS = new Component[0];
+
+    private Component[] components;
+    private Dimension[] preferredSizes;
+    private LayoutData[] layoutData;
+    private boolean[] visible;
+    private Map<Component, Dimension> preferredSizeMap;
+
+    private Dimension preferredSize;
+    private Dimension layoutArea;
+    private Point[] positions;
+    private Dimension[] sizes;
+
+    LayoutCache() {
+        clear();
+    }
+
+    /**
+     * Drops everything remembered, the next {@code validate(..)} will return {@code false}
+     */
+    void clear() {
+        components = NO_COMPONENTS;
+        preferredSizes = new Dimension[0];
+        layoutData = new LayoutData[0];
+        visible = new boolean[0];
+        preferredSizeMap = null;
+        dropResults();
+    }
+
+    /**
+     * Compares the components to the state the cached results were computed for. If they differ, the cached results
+     * are dropped and the current state is recorded instead. Each component's preferred size is calculated exactly
+     * once by this call, and can be read back through {@code getPreferredSize(Component)} while computing new results.
+     * @param components Components the layout manager was asked to handle
+     * @return {@code true} if the cached results (if any) are still valid for these components
+     */
+    boolean validate(List<Component> components) {
+        int count = components.size();
+        boolean unchanged = count == this.components.length;
+        if(!unchanged) {
+            allocate(count);
+        }
+        for(int i = 0; i < count; i++) {
+            Component component = components.get(i);
+            Dimension componentPreferredSize = component.getPreferredSize();
+            LayoutData componentLayoutData = component.getLayoutData();
+            boolean componentVisible = component.isVisible();
+            if(unchanged &&
+                    (this.components[i] != component ||
+                    layoutData[i] != componentLayoutData ||
+                    visible[i] != componentVisible ||
+                    !preferredSizes[i].equals(componentPreferredSize))) {
+                unchanged = false;
+                // Keep the entries before this one, they have already been checked to be the same
+                Component[] previousComponents = this.components;
+                Dimension[] previousPreferredSizes = preferredSizes;
+                LayoutData[] previousLayoutData = layoutData;
+                boolean[] previousVisible = visible;
+                allocate(count);
+                System.arraycopy(previousComponents, 0, this.components, 0, i);
+                System.arraycopy(previousPreferredSizes, 0, preferredSizes, 0, i);
+                System.arraycopy(previousLayoutData, 0, layoutData, 0, i);
+                System.arraycopy(previousVisible, 0, visible, 0, i);
+            }
+            if(!unchanged) {
+                this.components[i] = component;
+                preferredSizes[i] = componentPreferredSize;
+                layoutData[i] = componentLayoutData;
+                visible[i] = componentVisible;
+            }
+        }
+        if(!unchanged) {
+            dropResults();
+        }
+        return unchanged;
+    }
+
+    /**
+     * Returns the preferred size the component had at the last {@code validate(..)}, or calculates it if the component
+     * wasn't part of that call
+     * @param component Component to get the preferred size of
+     * @return Preferred size of the component
+     */
+    Dimension getPreferredSize(Component component) {
+        if(preferredSizeMap == null) {
+            preferredSizeMap = new IdentityHashMap<>();
+            for(int i = 0; i < components.length; i++) {
+                preferredSizeMap.put(components[i], preferredSizes[i]);
+            }
+        }
+        Dimension componentPreferredSize = preferredSizeMap.get(component);
+        if(componentPreferredSize == null) {
+            componentPreferredSize = component.getPreferredSize();
+        }
+        return componentPreferredSize;
+    }
+
+    /**
+     * Returns the cached result of {@code LayoutManager.getPreferredSize(..)}
+     * @return Cached preferred size of the layout, or {@code null} if there is none
+     */
+    Dimension getLayoutPreferredSize() {
+        return preferredSize;
+    }
+
+    void setLayoutPreferredSize(Dimension preferredSize) {
+        this.preferredSize = preferredSize;
+    }
+
+    /**
+     * Re-applies the positions and sizes from the last layout, if it was done on the same area
+     * @param area Area the components are being laid out on
+     * @return {@code true} if there was a cached layout for this area, {@code false} if the layout needs to be computed
+     */
+    boolean restoreLayout(Dimension area) {
+        if(!area.equals(layoutArea)) {
+            return false;
+        }
+        if(positions != null) {
+            for(int i = 0; i < components.length; i++) {
+                components[i].setPosition(positions[i]);
+                components[i].setSize(sizes[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the positions and sizes the components currently have as the layout for an area
+     * @param area Area the components were laid out on
+     * @param laidOut {@code false} if the layout manager didn't touch the components, for example because the area was
+     *                too small
+     */
+    void storeLayout(Dimension area, boolean laidOut) {
+        layoutArea = area;
+        if(laidOut) {
+            positions = new Point[components.length];
+            sizes = new Dimension[components.length];
+            for(int i = 0; i < components.length; i++) {
+                positions[i] = components[i].getPosition();
+                sizes[i] = components[i].getSize();
+            }
+        }
+        else {
+            positions = null;
+            sizes = null;
+        }
+    }
+
+    private void allocate(int count) {
+        components = new Component[count];
+        preferredSizes = new Dimension[count];
+        layoutData = new LayoutData[count];
+        visible = new boolean[count];
+    }
+
+    private void dropResults() {
+        preferredSizeMap = null;
+        preferredSize = null;
+        layoutArea = null;
+        positions = null;
+        sizes = null;
+    }
+}
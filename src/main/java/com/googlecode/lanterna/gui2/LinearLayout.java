@@ -113,6 +113,7 @@ public class LinearLayout implements LayoutManager {
     private final Direction direction;
     private int spacing;
     private boolean changed;
+    private final LayoutCache layoutCache;
 
     /**
      * Default constructor, creates a vertical {@code LinearLayout}
@@ -129,6 +130,7 @@ public class LinearLayout implements LayoutManager {
         this.direction = direction;
         this.spacing = direction == Direction.HORIZONTAL ? 1 : 0;
         this.changed = true;
+        this.layoutCache = new LayoutCache();
     }
 
     /**
@@ -140,6 +142,7 @@ public class LinearLayout implements LayoutManager {
     public LinearLayout setSpacing(int spacing) {
         this.spacing = spacing;
         this.changed = true;
+        this.layoutCache.clear();
         return this;
     }
 
@@ -154,22 +157,29 @@ public class LinearLayout implements LayoutManager {
 
     @Override
     public Dimension getPreferredSize(List<Component> components) {
+        if(layoutCache.validate(components) && layoutCache.getLayoutPreferredSize() != null) {
+            return layoutCache.getLayoutPreferredSize();
+        }
+
         // Filter out invisible components
         components = components.stream().filter(Component::isVisible).collect(Collectors.toList());
 
+        Dimension preferredSize;
         if(direction == Direction.VERTICAL) {
-            return getPreferredSizeVertically(components);
+            preferredSize = getPreferredSizeVertically(components);
         }
         else {
-            return getPreferredSizeHorizontally(components);
+            preferredSize = getPreferredSizeHorizontally(components);
         }
+        layoutCache.setLayoutPreferredSize(preferredSize);
+        return preferredSize;
     }
 
     private Dimension getPreferredSizeVertically(List<Component> components) {
         int maxWidth = 0;
         int height = 0;
         for(Component component: components) {
-            Dimension preferredSize = component.getPreferredSize();
+            Dimension preferredSize = layoutCache.getPreferredSize(component);
             if(maxWidth < preferredSize.getColumns()) {
                 maxWidth = preferredSize.getColumns();
             }
@@ -183,7 +193,7 @@ public class LinearLayout implements LayoutManager {
         int maxHeight = 0;
         int width = 0;
         for(Component component: components) {
-            Dimension preferredSize = component.getPreferredSize();
+            Dimension preferredSize = layoutCache.getPreferredSize(component);
             if(maxHeight < preferredSize.getRows()) {
                 maxHeight = preferredSize.getRows();
             }
@@ -200,6 +210,12 @@ public class LinearLayout implements LayoutManager {
 
     @Override
     public void doLayout(Dimension area, List<Component> components) {
+        // Nothing that affects the layout has changed since last time, put the components back where they were
+        if(layoutCache.validate(components) && layoutCache.restoreLayout(area)) {
+            this.changed = false;
+            return;
+        }
+
         // Filter out invisible components
         components = components.stream().filter(Component::isVisible).collect(Collectors.toList());
 
@@ -219,6 +235,7 @@ public class LinearLayout implements LayoutManager {
                 doFlexibleHorizontalLayout(area, components);
             }
         }
+        layoutCache.storeLayout(area, true);
         this.changed = false;
     }
 
@@ -238,7 +255,7 @@ public class LinearLayout implements LayoutManager {
                     alignment = ((LinearLayoutData)layoutData).alignment;
                 }
 
-                Dimension preferredSize = component.getPreferredSize();
+                Dimension preferredSize = layoutCache.getPreferredSize(component);
                 Dimension decidedSize = new Dimension(
                         Math.min(availableHorizontalSpace, preferredSize.getColumns()),
                         Math.min(remainingVerticalSpace, preferredSize.getRows()));
@@ -282,7 +299,7 @@ public class LinearLayout implements LayoutManager {
                 alignment = ((LinearLayoutData)layoutData).alignment;
             }
 
-            Dimension preferredSize = component.getPreferredSize();
+            Dimension preferredSize = layoutCache.getPreferredSize(component);
             Dimension fittingSize = new Dimension(
                     Math.min(availableHorizontalSpace, preferredSize.getColumns()),
                     preferredSize.getRows());
@@ -386,7 +403,7 @@ public class LinearLayout implements LayoutManager {
                     alignment = ((LinearLayoutData)layoutData).alignment;
                 }
 
-                Dimension preferredSize = component.getPreferredSize();
+                Dimension preferredSize = layoutCache.getPreferredSize(component);
                 Dimension decidedSize = new Dimension(
                         Math.min(remainingHorizontalSpace, preferredSize.getColumns()),
                         Math.min(availableVerticalSpace, preferredSize.getRows()));
@@ -430,7 +447,7 @@ public class LinearLayout implements LayoutManager {
                 alignment = ((LinearLayoutData)layoutData).alignment;
             }
 
-            Dimension preferredSize = component.getPreferredSize();
+            Dimension preferredSize = layoutCache.getPreferredSize(component);
             Dimension fittingSize = new Dimension(
                     preferredSize.getColumns(),
                     Math.min(availableVerticalSpace, preferredSize.getRows()));
@@ -0,0 +1,109 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.Objects;
+
+/**
+ * Source of the items shown by an {@link AbstractListBox}. The list box only asks for the items it is about to draw, so
+ * an implementation is free to create or load them on demand and back list boxes far larger than what would be
+ * practical to keep as objects in memory. {@link DefaultListModel} is the plain in-memory implementation that list
+ * boxes use unless told otherwise.
+ * <p>
+ * The list box calls {@link #getItemAt(int)} while drawing and while matching typed text against the items, on the
+ * GUI thread. A model whose items are slow to produce should load them in the background and announce them through
+ * its {@link Listener} once they are available, instead of making the list box wait.
+ *
+ * @param <V> Type of the items
+ */
+public interface ListModel<V> {
+
+    /**
+     * Listener that is notified when the items served by a {@link ListModel} change. The list box moves its selection
+     * and scroll position by the ranges in these calls, so a model that appends many items at once should report them
+     * with one {@code onItemsAdded} call covering all of them.
+     */
+    interface Listener {
+        /**
+         * Called when items have been inserted
+         * @param model Model the items were added to
+         * @param fromIndex Index of the first new item
+         * @param count Number of items that were added
+         */
+        void onItemsAdded(ListModel<?> model, int fromIndex, int count);
+
+        /**
+         * Called when items have been removed
+         * @param model Model the items were removed from
+         * @param fromIndex Index the first removed item had
+         * @param count Number of items that were removed
+         */
+        void onItemsRemoved(ListModel<?> model, int fromIndex, int count);
+
+        /**
+         * Called when existing items have been replaced or modified
+         * @param model Model that was modified
+         * @param fromIndex Index of the first modified item
+         * @param count Number of consecutive items that may have been modified
+         */
+        void onItemsChanged(ListModel<?> model, int fromIndex, int count);
+    }
+
+    /**
+     * Returns the number of items
+     * @return Number of items
+     */
+    int getItemCount();
+
+    /**
+     * Returns an item
+     * @param index Index of the item
+     * @return The item at the index
+     * @throws IndexOutOfBoundsException If the index is less than zero or not less than the number of items
+     */
+    V getItemAt(int index);
+
+    /**
+     * Returns the index of the first item equal to the one supplied. The default implementation goes through the items
+     * one by one, models that can look items up faster should override it.
+     * @param item Item to look for
+     * @return Index of the item or -1 if there is no such item
+     */
+    default int indexOf(V item) {
+        int itemCount = getItemCount();
+        for (int i = 0; i < itemCount; i++) {
+            if (Objects.equals(item, getItemAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a listener that will be notified whenever the items change
+     * @param listener Listener to register
+     */
+    void addListener(Listener listener);
+
+    /**
+     * Removes a listener previously added through {@link #addListener(Listener)}
+     * @param listener Listener to deregister
+     */
+    void removeListener(Listener listener);
+}
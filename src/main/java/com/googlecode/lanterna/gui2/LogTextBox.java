@@ -0,0 +1,252 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Read-only multi-line {@link TextBox} meant for showing a live log. Lines can be appended from any thread through
+ * {@link #appendLine(String)}; they are queued and added to the text box in one batch on the GUI thread, so a burst of
+ * lines costs a single update no matter how many arrive before the next frame. The oldest lines are dropped once the
+ * log goes past the configured number of lines or characters, and as long as the view is showing the end of the log it
+ * keeps following new lines. Scrolling up stops the following until the view is scrolled back down to the last line.
+ */
+public class LogTextBox extends TextBox {
+    private final Queue<String> pendingLines;
+    private final AtomicBoolean flushScheduled;
+    private final Runnable flushTask;
+    private int maxLines;
+    private long maxCharacters;
+    private long retainedCharacters;
+    private boolean empty;
+
+    /**
+     * Creates a new log text box that keeps up to 10000 lines
+     * @param preferredSize Preferred size of the text box
+     */
+    public LogTextBox(Dimension preferredSize) {
+        this(preferredSize, 10000);
+    }
+
+    /**
+     * Creates a new log text box
+     * @param preferredSize Preferred size of the text box
+     * @param maxLines Number of lines to keep before the oldest ones are dropped
+     */
+    public LogTextBox(Dimension preferredSize, int maxLines) {
+        super(preferredSize, "", Style.MULTI_LINE, Attributes.EMPTY);
+        this.pendingLines = new ConcurrentLinkedQueue<>();
+        this.flushScheduled = new AtomicBoolean(false);
+        this.flushTask = this::flushPendingLines;
+        this.maxLines = maxLines;
+        this.maxCharacters = Long.MAX_VALUE;
+        this.retainedCharacters = 0;
+        this.empty = true;
+        setReadOnly(true);
+        setVerticalFocusSwitching(false);
+    }
+
+    /**
+     * Adds a line at the end of the log. This can be called from any thread; the line is shown on the next update of
+     * the GUI. Text containing \n is split into several lines.
+     * @param line Line to add
+     * @return Itself
+     */
+    public LogTextBox appendLine(String line) {
+        pendingLines.add(line);
+        if(flushScheduled.compareAndSet(false, true)) {
+            scheduleFlush();
+        }
+        return this;
+    }
+
+    private void scheduleFlush() {
+        Frame textGUI = getTextGUI();
+        TextUiThread guiThread = textGUI != null ? textGUI.getGUIThread() : null;
+        if(guiThread != null) {
+            try {
+                guiThread.invokeLater(flushTask);
+                return;
+            }
+            catch(IllegalStateException e) {
+                // The GUI thread isn't running, add the lines right away instead
+            }
+        }
+        flushPendingLines();
+    }
+
+    /**
+     * Adds a line at the end of the log right away, this needs to be called on the GUI thread. Lines appended through
+     * {@link #appendLine(String)} that haven't been shown yet will end up after this line.
+     * @param line Line to add at the end of the log
+     * @return Itself
+     */
+    @Override
+    public synchronized LogTextBox addLine(String line) {
+        appendLines(splitLines(line, true));
+        return this;
+    }
+
+    /**
+     * Replaces the content of the log. Lines appended through {@link #appendLine(String)} that haven't been shown yet
+     * will end up after the new content.
+     * @param text New content of the log
+     * @return Itself
+     */
+    @Override
+    public synchronized LogTextBox setText(String text) {
+        super.setText(text);
+        TextDocument document = getDocument();
+        retainedCharacters = 0;
+        for(int i = 0; i < document.getLineCount(); i++) {
+            retainedCharacters += document.getLine(i).length();
+        }
+        empty = document.getLineCount() == 1 && document.getLine(0).isEmpty();
+        if(maxLines > 0) {
+            // The TextBox constructor sets the initial text before the limits have been assigned
+            evict();
+        }
+        return this;
+    }
+
+    /**
+     * Sets how many lines the log keeps, the oldest lines are dropped when there are more
+     * @param maxLines Maximum number of lines to keep
+     * @return Itself
+     */
+    public synchronized LogTextBox setMaxLines(int maxLines) {
+        if(maxLines < 1) {
+            throw new IllegalArgumentException("LogTextBox needs to keep at least one line");
+        }
+        this.maxLines = maxLines;
+        evict();
+        return this;
+    }
+
+    /**
+     * Returns how many lines the log keeps
+     * @return Maximum number of lines to keep
+     */
+    public synchronized int getMaxLines() {
+        return maxLines;
+    }
+
+    /**
+     * Sets how many characters the log keeps in total, the oldest lines are dropped when there are more. By default
+     * only the line limit applies.
+     * @param maxCharacters Maximum number of characters to keep, summed over all lines
+     * @return Itself
+     */
+    public synchronized LogTextBox setMaxCharacters(long maxCharacters) {
+        if(maxCharacters < 1) {
+            throw new IllegalArgumentException("LogTextBox needs to keep at least one character");
+        }
+        this.maxCharacters = maxCharacters;
+        evict();
+        return this;
+    }
+
+    /**
+     * Returns how many characters the log keeps in total
+     * @return Maximum number of characters to keep
+     */
+    public synchronized long getMaxCharacters() {
+        return maxCharacters;
+    }
+
+    /**
+     * Removes all lines from the log, including those appended but not yet shown
+     * @return Itself
+     */
+    public synchronized LogTextBox clearLog() {
+        pendingLines.clear();
+        getDocument().replaceLines(0, getDocument().getLineCount(), Collections.singletonList(""));
+        retainedCharacters = 0;
+        empty = true;
+        return this;
+    }
+
+    private synchronized void flushPendingLines() {
+        flushScheduled.set(false);
+        List<String> batch = new ArrayList<>();
+        String line;
+        while((line = pendingLines.poll()) != null) {
+            batch.addAll(splitLines(line, true));
+        }
+        if(!batch.isEmpty()) {
+            appendLines(batch);
+        }
+    }
+
+    private void appendLines(List<String> batch) {
+        if(batch.size() > maxLines) {
+            // No point in adding lines that would be dropped right away
+            batch = batch.subList(batch.size() - maxLines, batch.size());
+        }
+
+        TextDocument document = getDocument();
+        Point viewTopLeft = getRenderer().getViewTopLeft();
+        boolean followingTail = viewTopLeft.getRow() + Math.max(1, getSize().getRows()) >= document.getLineCount();
+        for(String newLine: batch) {
+            retainedCharacters += newLine.length();
+        }
+        if(empty) {
+            document.replaceLines(0, 1, batch);
+            empty = false;
+        }
+        else {
+            document.insertLines(document.getLineCount(), batch);
+        }
+        int evictedLines = evict();
+
+        if(followingTail) {
+            // The renderer pulls this back so that the last line ends up at the bottom of the view
+            getRenderer().setViewTopLeft(viewTopLeft.withRow(document.getLineCount()));
+        }
+        else if(evictedLines > 0) {
+            // Keep showing the same lines while the user is looking at older parts of the log
+            getRenderer().setViewTopLeft(viewTopLeft.withRelativeRow(-evictedLines));
+        }
+    }
+
+    private int evict() {
+        TextDocument document = getDocument();
+        int lineCount = document.getLineCount();
+        int evictCount = Math.max(0, lineCount - maxLines);
+        for(int i = 0; i < evictCount; i++) {
+            retainedCharacters -= document.getLine(i).length();
+        }
+        while(retainedCharacters > maxCharacters && evictCount < lineCount - 1) {
+            retainedCharacters -= document.getLine(evictCount).length();
+            evictCount++;
+        }
+        if(evictCount > 0) {
+            document.removeLines(0, evictCount);
+        }
+        return evictCount;
+    }
+}
@@ -24,6 +24,7 @@ import com.googlecode.lanterna.Rectangle;
 import com.googlecode.lanterna.TextColor;
 import com.googlecode.lanterna.graphics.BasicTextImage;
 import com.googlecode.lanterna.graphics.TextImage;
+import com.googlecode.lanterna.graphics.Theme;
 import com.googlecode.lanterna.gui2.Window.Hint;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
@@ -51,7 +52,7 @@ public class MultiWindowFrame extends AbstractFrame implements WindowFrame {
     private final WindowManager windowManager;
     private final RootPane backgroundPane;
     private final WindowList windowList;
-    private final IdentityHashMap<Window, TextImage> windowRenderBufferCache;
+    private final IdentityHashMap<Window, WindowRenderBuffer> windowRenderBufferCache;
     private final WindowPostRenderer postRenderer;
 
     private boolean eofWhenNoWindows;
@@ -254,6 +255,9 @@ public class MultiWindowFrame extends AbstractFrame implements WindowFrame {
     }
 
     private void drawBackgroundPane(TextUiGraphics graphics) {
+        // The windows are drawn on top of the background pane directly on the screen, so there is no previous content
+        // for it to keep
+        backgroundPane.invalidate();
         backgroundPane.draw(new DefaultTextUiGraphics(this, graphics));
     }
 
@@ -261,31 +265,14 @@ public class MultiWindowFrame extends AbstractFrame implements WindowFrame {
     protected synchronized void drawGUI(TextUiGraphics graphics) {
         drawBackgroundPane(graphics);
         windowManager.prepareWindows(this, windowList.getWindowsInStableOrder(), graphics.getSize());
-        for (Window window : getWindows()) {
+        List<Window> windows = new ArrayList<>(getWindows());
+        for (int i = 0; i < windows.size(); i++) {
+            Window window = windows.get(i);
             if (window.isVisible()) {
-                // First draw windows to a buffer, then copy it to the real destination. This is to make physical off-screen
-                // drawing work better. Store the buffers in a cache so we don't have to re-create them every time.
-                TextImage textImage = windowRenderBufferCache.get(window);
-                if (textImage == null || !textImage.getSize().equals(window.getDecoratedSize())) {
-                    textImage = new BasicTextImage(window.getDecoratedSize());
-                    windowRenderBufferCache.put(window, textImage);
+                // Windows completely hidden behind another window don't need to be drawn or copied at all
+                if (!isOccluded(window, windows.subList(i + 1, windows.size()))) {
+                    graphics.drawImage(window.getPosition(), drawWindow(window));
                 }
-                TextUiGraphics windowGraphics = new DefaultTextUiGraphics(this, textImage.newTextGraphics());
-                TextUiGraphics insideWindowDecorationsGraphics = windowGraphics;
-                Point contentOffset = Point.TOP_LEFT_CORNER;
-                if (!window.isHint(Hint.NO_DECORATIONS)) {
-                    WindowDecorationRenderer decorationRenderer = windowManager.getWindowDecorationRenderer(window);
-                    insideWindowDecorationsGraphics = decorationRenderer.draw(this, windowGraphics, window);
-                    contentOffset = decorationRenderer.getOffset(window);
-                }
-
-                window.draw(insideWindowDecorationsGraphics);
-                window.setContentOffset(contentOffset);
-                if (windowGraphics != insideWindowDecorationsGraphics) {
-                    Borders.joinLinesWithFrame(windowGraphics);
-                }
-
-                graphics.drawImage(window.getPosition(), textImage);
 
                 if (!window.isHint(Hint.NO_POST_RENDERING)) {
                     if (window.getPostRenderer() != null) {
@@ -300,7 +287,65 @@ public class MultiWindowFrame extends AbstractFrame implements WindowFrame {
         }
 
         // Purge the render buffer cache from windows that have been removed
-        windowRenderBufferCache.keySet().retainAll(getWindows());
+        windowRenderBufferCache.keySet().retainAll(windows);
+    }
+
+    /**
+     * Draws the window into its render buffer, unless nothing that affects how it looks has changed since the last
+     * time, in which case the buffer is returned as it is.
+     */
+    private TextImage drawWindow(Window window) {
+        // First draw windows to a buffer, then copy it to the real destination. This is to make physical off-screen
+        // drawing work better. Store the buffers in a cache so we don't have to re-create them every time.
+        WindowDecorationRenderer decorationRenderer = window.isHint(Hint.NO_DECORATIONS) ? null : windowManager.getWindowDecorationRenderer(window);
+        boolean active = getActiveWindow() == window;
+        WindowRenderBuffer buffer = windowRenderBufferCache.get(window);
+        if (buffer == null || !buffer.image.getSize().equals(window.getDecoratedSize())) {
+            buffer = new WindowRenderBuffer(new BasicTextImage(window.getDecoratedSize()));
+            windowRenderBufferCache.put(window, buffer);
+        } else if (!window.isInvalid() && buffer.isDrawnWith(decorationRenderer, window.getTheme(), active)) {
+            return buffer.image;
+        }
+
+        TextUiGraphics windowGraphics = new DefaultTextUiGraphics(this, buffer.image.newTextGraphics());
+        TextUiGraphics insideWindowDecorationsGraphics = windowGraphics;
+        Point contentOffset = Point.TOP_LEFT_CORNER;
+        if (decorationRenderer != null) {
+            insideWindowDecorationsGraphics = decorationRenderer.draw(this, windowGraphics, window);
+            contentOffset = decorationRenderer.getOffset(window);
+        }
+        if (!buffer.isDrawnWith(decorationRenderer, window.getTheme())) {
+            // New buffer, theme or decorations, nothing of the previous content can be reused
+            window.invalidate();
+        }
+
+        window.draw(insideWindowDecorationsGraphics);
+        window.setContentOffset(contentOffset);
+        if (windowGraphics != insideWindowDecorationsGraphics) {
+            Borders.joinLinesWithFrame(windowGraphics);
+        }
+        buffer.setDrawnWith(decorationRenderer, window.getTheme(), active);
+        return buffer.image;
+    }
+
+    private boolean isOccluded(Window window, List<Window> windowsAbove) {
+        Point position = window.getPosition();
+        Dimension size = window.getDecoratedSize();
+        if (position == null || size == null) {
+            return false;
+        }
+        for (Window above : windowsAbove) {
+            Point abovePosition = above.getPosition();
+            Dimension aboveSize = above.getDecoratedSize();
+            if (above.isVisible() && abovePosition != null && aboveSize != null &&
+                    abovePosition.getColumn() <= position.getColumn() &&
+                    abovePosition.getRow() <= position.getRow() &&
+                    abovePosition.getColumn() + aboveSize.getColumns() >= position.getColumn() + size.getColumns() &&
+                    abovePosition.getRow() + aboveSize.getRows() >= position.getRow() + size.getRows()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -378,8 +423,10 @@ public class MultiWindowFrame extends AbstractFrame implements WindowFrame {
 
     @Override
     public synchronized boolean isPendingUpdate() {
-        for (Window window : getWindows()) {
-            if (window.isVisible() && window.isInvalid()) {
+        List<Window> windows = new ArrayList<>(getWindows());
+        for (int i = 0; i < windows.size(); i++) {
+            Window window = windows.get(i);
+            if (window.isVisible() && window.isInvalid() && !isOccluded(window, windows.subList(i + 1, windows.size()))) {
                 return true;
             }
         }
@@ -535,4 +582,38 @@ public class MultiWindowFrame extends AbstractFrame implements WindowFrame {
             }
         }
     }
+
+    /**
+     * Render buffer of a window, together with what the window decorations were drawn with the last time
+     */
+    private static class WindowRenderBuffer {
+        private final TextImage image;
+        private WindowDecorationRenderer decorationRenderer;
+        private Theme theme;
+        private boolean active;
+        private boolean drawn;
+
+        private WindowRenderBuffer(TextImage image) {
+            this.image = image;
+        }
+
+        private boolean isDrawnWith(WindowDecorationRenderer decorationRenderer, Theme theme) {
+            // Window managers may hand out a new renderer instance every time, so compare the type
+            return drawn &&
+                    (this.decorationRenderer == null ? decorationRenderer == null :
+                            decorationRenderer != null && this.decorationRenderer.getClass() == decorationRenderer.getClass()) &&
+                    this.theme == theme;
+        }
+
+        private boolean isDrawnWith(WindowDecorationRenderer decorationRenderer, Theme theme, boolean active) {
+            return isDrawnWith(decorationRenderer, theme) && this.active == active;
+        }
+
+        private void setDrawnWith(WindowDecorationRenderer decorationRenderer, Theme theme, boolean active) {
+            this.decorationRenderer = decorationRenderer;
+            this.theme = theme;
+            this.active = active;
+            this.drawn = true;
+        }
+    }
 }
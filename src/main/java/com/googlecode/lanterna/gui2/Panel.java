@@ -19,13 +19,17 @@
 package com.googlecode.lanterna.gui2;
 
 import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.Rectangle;
 import com.googlecode.lanterna.TextColor;
 import com.googlecode.lanterna.input.KeyStroke;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
@@ -191,6 +195,7 @@ public class Panel extends AbstractComponent<Panel> implements Container {
      */
     public void setFillColorOverride(TextColor fillColor) {
         this.fillColorOverride = fillColor;
+        invalidate();
     }
 
     /**
@@ -233,7 +238,16 @@ public class Panel extends AbstractComponent<Panel> implements Container {
 
     @Override
     public boolean isInvalid() {
-        return components.stream().anyMatch(c -> c.isVisible() && c.isInvalid()) || super.isInvalid() || layoutManager.hasChanged();
+        return super.isInvalid() || hasInvalidChildren() || layoutManager.hasChanged();
+    }
+
+    @Override
+    public boolean needsFullRedraw() {
+        ComponentRenderer<Panel> renderer = getRenderer();
+        return super.isInvalid() ||
+                layoutManager.hasChanged() ||
+                !(renderer instanceof DefaultPanelRenderer) ||
+                !((DefaultPanelRenderer) renderer).fillAreaBeforeDrawingComponents;
     }
 
     private void layout(Dimension size) {
@@ -375,31 +389,145 @@ public class Panel extends AbstractComponent<Panel> implements Container {
 
     public class DefaultPanelRenderer implements ComponentRenderer<Panel> {
         private boolean fillAreaBeforeDrawingComponents = true;
+        private Dimension lastDrawnSize;
 
         @Override
         public void drawComponent(TextUiGraphics graphics, Panel panel) {
+            boolean fullRedraw = !fillAreaBeforeDrawingComponents ||
+                    needsFullRedraw() ||
+                    !graphics.getSize().equals(lastDrawnSize);
+            lastDrawnSize = graphics.getSize();
+
             if (isInvalid()) {
-                layout(graphics.getSize());
+                if (fullRedraw) {
+                    layout(graphics.getSize());
+                } else {
+                    // If the layout moved or resized anything, the previous content can't be reused
+                    List<Component> children = getChildrenList();
+                    List<Point> positions = new ArrayList<>(children.size());
+                    List<Dimension> sizes = new ArrayList<>(children.size());
+                    for (Component child : children) {
+                        positions.add(child.getPosition());
+                        sizes.add(child.getSize());
+                    }
+                    layout(graphics.getSize());
+                    for (int i = 0; i < children.size() && !fullRedraw; i++) {
+                        fullRedraw = !children.get(i).getPosition().equals(positions.get(i)) ||
+                                !children.get(i).getSize().equals(sizes.get(i));
+                    }
+                }
             }
 
-            if (fillAreaBeforeDrawingComponents) {
-                // Reset the area
-                graphics.applyThemeStyle(getThemeDefinition().getNormal());
-                if (fillColorOverride != null) {
-                    graphics.setBackgroundColor(fillColorOverride);
+            if (fullRedraw) {
+                if (fillAreaBeforeDrawingComponents) {
+                    // Reset the area
+                    fill(graphics);
                 }
-                graphics.fill(' ');
+
+                Rectangle visibleArea = graphics.getVisibleArea();
+                synchronized (components) {
+                    for (Component child : components) {
+                        if (!child.isVisible() || !intersects(child, visibleArea)) {
+                            continue;
+                        }
+                        // Nothing of what was drawn before is left, so the child must not try to reuse it
+                        child.invalidate();
+                        TextUiGraphics componentGraphics = graphics.newTextGraphics(child.getPosition(), child.getSize());
+                        child.draw(componentGraphics);
+                    }
+                }
+            } else {
+                drawInvalidComponents(graphics);
             }
+        }
 
+        /**
+         * Re-draws only the children that are invalid, keeping whatever was drawn for the other children the last time
+         * around. Children that overlap a re-drawn child are re-drawn as well, since they may be painting over (or be
+         * painted over by) it. Children outside of the visible area of the graphics are skipped.
+         */
+        private void drawInvalidComponents(TextUiGraphics graphics) {
+            Rectangle visibleArea = graphics.getVisibleArea();
+            List<Component> visibleComponents = new ArrayList<>();
+            Set<Component> toDraw = new HashSet<>();
             synchronized (components) {
                 for (Component child : components) {
-                    if (!child.isVisible()) {
-                        continue;
+                    if (child.isVisible() && intersects(child, visibleArea)) {
+                        visibleComponents.add(child);
+                        if (child.isInvalid()) {
+                            toDraw.add(child);
+                        }
+                    }
+                }
+            }
+            if (toDraw.isEmpty()) {
+                return;
+            }
+
+            boolean added = true;
+            while (added) {
+                added = false;
+                for (Component child : visibleComponents) {
+                    if (!toDraw.contains(child) && overlapsAny(child, toDraw)) {
+                        toDraw.add(child);
+                        added = true;
                     }
-                    TextUiGraphics componentGraphics = graphics.newTextGraphics(child.getPosition(), child.getSize());
-                    child.draw(componentGraphics);
                 }
             }
+
+            // Overlapping children can only be restored by clearing and drawing them all in order, the rest can be
+            // left to re-draw themselves on top of their previous content
+            List<Component> toClear = new ArrayList<>();
+            for (Component child : visibleComponents) {
+                if (toDraw.contains(child) && (child.needsFullRedraw() || overlapsAny(child, toDraw))) {
+                    toClear.add(child);
+                }
+            }
+            for (Component child : toClear) {
+                fill(graphics.newTextGraphics(child.getPosition(), child.getSize()));
+                child.invalidate();
+            }
+
+            for (Component child : visibleComponents) {
+                if (toDraw.contains(child)) {
+                    child.draw(graphics.newTextGraphics(child.getPosition(), child.getSize()));
+                }
+            }
+        }
+
+        private boolean overlapsAny(Component component, Collection<Component> others) {
+            for (Component other : others) {
+                if (other != component && overlaps(component, other)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean overlaps(Component a, Component b) {
+            Point aPosition = a.getPosition();
+            Point bPosition = b.getPosition();
+            return aPosition.getColumn() < bPosition.getColumn() + b.getSize().getColumns() &&
+                    bPosition.getColumn() < aPosition.getColumn() + a.getSize().getColumns() &&
+                    aPosition.getRow() < bPosition.getRow() + b.getSize().getRows() &&
+                    bPosition.getRow() < aPosition.getRow() + a.getSize().getRows();
+        }
+
+        private boolean intersects(Component component, Rectangle area) {
+            Point position = component.getPosition();
+            Dimension size = component.getSize();
+            return position.getColumn() < area.xAndWidth &&
+                    area.x < position.getColumn() + size.getColumns() &&
+                    position.getRow() < area.yAndHeight &&
+                    area.y < position.getRow() + size.getRows();
+        }
+
+        private void fill(TextUiGraphics graphics) {
+            graphics.applyThemeStyle(getThemeDefinition().getNormal());
+            if (fillColorOverride != null) {
+                graphics.setBackgroundColor(fillColorOverride);
+            }
+            graphics.fill(' ');
         }
 
         @Override
@@ -217,6 +217,7 @@ public class ProgressBar extends AbstractComponent<ProgressBar> {
      */
     public void setPreferredWidth(int preferredWidth) {
         this.preferredWidth = preferredWidth;
+        invalidate();
     }
 
     /**
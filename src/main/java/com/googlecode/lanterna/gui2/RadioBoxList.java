@@ -207,15 +207,30 @@ public class RadioBoxList<V> extends AbstractListBox<V, RadioBoxList<V>> {
     }
 
     @Override
-    public synchronized V removeItem(int index) {
-        V item = super.removeItem(index);
-        if (index < checkedIndex) {
-            checkedIndex--;
+    protected void onItemsAdded(int fromIndex, int count) {
+        if (checkedIndex != -1 && fromIndex <= checkedIndex) {
+            checkedIndex += count;
+        }
+    }
+
+    @Override
+    protected void onListModelReplaced(int oldItemCount) {
+        // The checked item of the old model has no counterpart in the new one
+        if (checkedIndex != -1) {
+            setCheckedIndex(-1);
+        }
+    }
+
+    @Override
+    protected void onItemsRemoved(int fromIndex, int count) {
+        if (checkedIndex >= fromIndex + count) {
+            checkedIndex -= count;
+        } else if (checkedIndex > fromIndex) {
+            checkedIndex = fromIndex;
         }
         while (checkedIndex >= getItemCount()) {
             checkedIndex--;
         }
-        return item;
     }
 
     /**
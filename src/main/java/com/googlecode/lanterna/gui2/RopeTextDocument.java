@@ -0,0 +1,282 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Default {@link TextDocument}, keeping the lines in a rope: a randomized balanced tree (treap) ordered by line index,
+ * where every node knows how many lines there are in its subtree. Looking up, inserting and removing lines are all
+ * O(log n) in the number of lines, and inserting k lines at once costs O(k + log n), so even documents of millions of
+ * lines can be edited without copying them around.
+ * <p>
+ * A listener that modifies the document while it's being notified doesn't change it right away; the modification is
+ * applied once all listeners have been told about the current change, the same as if it had been made through
+ * {@link #invokeAfterNotifying(Runnable)}.
+ */
+public class RopeTextDocument implements TextDocument {
+
+    private static class Node {
+        private String line;
+        private final int priority;
+        private int size;
+        private Node left;
+        private Node right;
+
+        private Node(String line, int priority) {
+            this.line = line;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+
+    private final Random random;
+    private final List<ChangeListener> listeners;
+    // Set while the current thread is notifying the listeners, holds the modifications they make in the meantime
+    private final ThreadLocal<List<Runnable>> changesFromListeners;
+    private Node root;
+
+    /**
+     * Creates a new, empty, document
+     */
+    public RopeTextDocument() {
+        this.random = new Random();
+        this.listeners = new ArrayList<>();
+        this.changesFromListeners = new ThreadLocal<>();
+        this.root = null;
+    }
+
+    /**
+     * Creates a new document with some initial lines
+     * @param lines Initial content of the document, one element per line
+     */
+    public RopeTextDocument(List<String> lines) {
+        this();
+        this.root = build(lines);
+    }
+
+    @Override
+    public synchronized int getLineCount() {
+        return size(root);
+    }
+
+    @Override
+    public synchronized String getLine(int index) {
+        return find(index).line;
+    }
+
+    @Override
+    public void setLine(int index, String line) {
+        if(deferredWhileNotifying(() -> setLine(index, line))) {
+            return;
+        }
+        synchronized(this) {
+            find(index).line = line;
+        }
+        fireLinesReplaced(index, 1, 1);
+    }
+
+    @Override
+    public void replaceLines(int fromIndex, int count, List<String> newLines) {
+        final List<String> newLinesCopy = new ArrayList<>(newLines);
+        if(deferredWhileNotifying(() -> replaceLines(fromIndex, count, newLinesCopy))) {
+            return;
+        }
+        synchronized(this) {
+            if(fromIndex < 0 || count < 0 || fromIndex + count > size(root)) {
+                throw new IndexOutOfBoundsException("Cannot replace " + count + " lines at index " + fromIndex +
+                        " in a document with " + size(root) + " lines");
+            }
+            Node[] head = split(root, fromIndex);
+            Node[] tail = split(head[1], count);
+            root = merge(merge(head[0], build(newLines)), tail[1]);
+        }
+        fireLinesReplaced(fromIndex, count, newLines.size());
+    }
+
+    @Override
+    public synchronized String getText() {
+        StringBuilder bob = new StringBuilder();
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        boolean first = true;
+        while(node != null || !stack.isEmpty()) {
+            while(node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            if(!first) {
+                bob.append('\n');
+            }
+            bob.append(node.line);
+            first = false;
+            node = node.right;
+        }
+        return bob.toString();
+    }
+
+    @Override
+    public synchronized void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public synchronized void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void invokeAfterNotifying(Runnable task) {
+        if(!deferredWhileNotifying(task)) {
+            task.run();
+        }
+    }
+
+    private boolean deferredWhileNotifying(Runnable change) {
+        List<Runnable> pendingChanges = changesFromListeners.get();
+        if(pendingChanges == null) {
+            return false;
+        }
+        pendingChanges.add(change);
+        return true;
+    }
+
+    private void fireLinesReplaced(int fromIndex, int removedLineCount, int insertedLineCount) {
+        List<ChangeListener> copy;
+        synchronized(this) {
+            copy = new ArrayList<>(listeners);
+        }
+        List<Runnable> pendingChanges = new ArrayList<>();
+        changesFromListeners.set(pendingChanges);
+        try {
+            for(ChangeListener listener: copy) {
+                listener.onLinesReplaced(this, fromIndex, removedLineCount, insertedLineCount);
+            }
+        }
+        finally {
+            changesFromListeners.remove();
+        }
+        for(Runnable change: pendingChanges) {
+            change.run();
+        }
+    }
+
+    private Node find(int index) {
+        if(index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Invalid line index " + index + " for a document with " + size(root) + " lines");
+        }
+        Node node = root;
+        while(true) {
+            int leftSize = size(node.left);
+            if(index < leftSize) {
+                node = node.left;
+            }
+            else if(index == leftSize) {
+                return node;
+            }
+            else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Builds a treap out of a list of lines in linear time, by keeping the right spine of the tree on a stack
+     */
+    private Node build(List<String> lines) {
+        Deque<Node> rightSpine = new ArrayDeque<>();
+        for(String line: lines) {
+            Node node = new Node(line, random.nextInt());
+            Node lastPopped = null;
+            while(!rightSpine.isEmpty() && rightSpine.peek().priority < node.priority) {
+                lastPopped = rightSpine.pop();
+                update(lastPopped);
+            }
+            node.left = lastPopped;
+            if(!rightSpine.isEmpty()) {
+                rightSpine.peek().right = node;
+            }
+            rightSpine.push(node);
+        }
+        Node top = null;
+        while(!rightSpine.isEmpty()) {
+            top = rightSpine.pop();
+            update(top);
+        }
+        return top;
+    }
+
+    /**
+     * Splits a tree into the first {@code count} lines and the rest
+     */
+    private static Node[] split(Node node, int count) {
+        if(node == null) {
+            return new Node[] { null, null };
+        }
+        int leftSize = size(node.left);
+        if(count <= leftSize) {
+            Node[] parts = split(node.left, count);
+            node.left = parts[1];
+            update(node);
+            return new Node[] { parts[0], node };
+        }
+        else {
+            Node[] parts = split(node.right, count - leftSize - 1);
+            node.right = parts[0];
+            update(node);
+            return new Node[] { node, parts[1] };
+        }
+    }
+
+    /**
+     * Concatenates two trees, all lines in {@code left} come before the lines in {@code right}
+     */
+    private static Node merge(Node left, Node right) {
+        if(left == null) {
+            return right;
+        }
+        if(right == null) {
+            return left;
+        }
+        if(left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        else {
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
@@ -154,6 +154,7 @@ public class ScrollBar extends AbstractComponent<ScrollBar> {
      */
     public ScrollBar setViewSize(int viewSize) {
         this.viewSize = viewSize;
+        invalidate();
         return this;
     }
 
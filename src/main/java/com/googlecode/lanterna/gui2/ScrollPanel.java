@@ -0,0 +1,248 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.Rectangle;
+
+/**
+ * Container that shows a part of a larger component through a viewport, with scrollbars indicating which part of the
+ * component is visible. The wrapped component is given at least its preferred size and is then scrolled under the
+ * viewport; {@link Panel}s skip drawing children that fall outside of the viewport, so the wrapped component can hold
+ * a very large number of children and still be drawn cheaply. Only the interactables visible in the viewport are
+ * reachable through arrow key navigation and the mouse, tabbing (and arrow keys falling back to tabbing) will move focus
+ * to the others and the viewport is scrolled to show the focused component.
+ * <p>
+ * Since the preferred size of the {@code ScrollPanel} is the preferred size of the wrapped component, you will usually
+ * want to give it an explicit size with {@code setPreferredSize(..)} or place it in a layout that decides its size.
+ */
+// Composite declares setComponent(..) with a free type parameter on the return type, which no implementation can
+// satisfy without an unchecked conversion
+@SuppressWarnings("unchecked")
+public class ScrollPanel extends AbstractComposite<ScrollPanel> {
+    private Point scrollOffset;
+    private Dimension viewSize;
+    private Interactable lastFocused;
+
+    /**
+     * Creates a new {@code ScrollPanel} showing the supplied component
+     * @param component Component to show inside the viewport
+     */
+    public ScrollPanel(Component component) {
+        this(component, Attributes.EMPTY);
+    }
+
+    public ScrollPanel(Component component, Attributes attributes) {
+        super(attributes);
+        this.scrollOffset = Point.TOP_LEFT_CORNER;
+        this.viewSize = null;
+        this.lastFocused = null;
+        setComponent(component);
+    }
+
+    @Override
+    protected ComponentRenderer<ScrollPanel> createDefaultRenderer() {
+        return new DefaultScrollPanelRenderer();
+    }
+
+    /**
+     * Returns the position inside the wrapped component that is currently shown at the top-left corner of the viewport
+     * @return Scroll offset of the viewport
+     */
+    public synchronized Point getScrollOffset() {
+        return scrollOffset;
+    }
+
+    /**
+     * Scrolls the viewport so that the supplied position of the wrapped component is shown at its top-left corner. The
+     * offset will be adjusted the next time the {@code ScrollPanel} is drawn, if it would scroll past the wrapped
+     * component.
+     * @param scrollOffset New scroll offset
+     * @return Itself
+     */
+    public synchronized ScrollPanel setScrollOffset(Point scrollOffset) {
+        if (!scrollOffset.equals(this.scrollOffset)) {
+            this.scrollOffset = scrollOffset;
+            invalidate();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the size of the viewport, which is the size of this component minus the scrollbars, as it was the last
+     * time it was drawn
+     * @return Size of the viewport
+     */
+    public synchronized Dimension getViewSize() {
+        return viewSize != null ? viewSize : getSize();
+    }
+
+    @Override
+    public void updateLookupMap(InteractableLookupMap interactableLookupMap) {
+        Point topLeft = toBasePane(Point.TOP_LEFT_CORNER);
+        if (topLeft == null) {
+            return;
+        }
+        Dimension visibleSize = getViewSize();
+        Rectangle previousClip = interactableLookupMap.pushClip(
+                new Rectangle(topLeft.getColumn(), topLeft.getRow(), visibleSize.getColumns(), visibleSize.getRows()));
+        try {
+            super.updateLookupMap(interactableLookupMap);
+        } finally {
+            interactableLookupMap.restoreClip(previousClip);
+        }
+    }
+
+    /**
+     * Adjusts the scroll offset so that the focused interactable is visible, if focus has moved to an interactable
+     * inside this {@code ScrollPanel} since the last time this was called
+     */
+    private void followFocus(Component content, Dimension viewSize) {
+        RootPane rootPane = getRootPane();
+        Interactable focused = rootPane != null ? rootPane.getFocusedInteractable() : null;
+        if (focused == lastFocused) {
+            return;
+        }
+        lastFocused = focused;
+        if (focused == null || !focused.isInside(this)) {
+            return;
+        }
+        Point focusedTopLeft = focused.toBasePane(Point.TOP_LEFT_CORNER);
+        Point contentTopLeft = content.toBasePane(Point.TOP_LEFT_CORNER);
+        if (focusedTopLeft == null || contentTopLeft == null) {
+            return;
+        }
+        int column = focusedTopLeft.getColumn() - contentTopLeft.getColumn();
+        int row = focusedTopLeft.getRow() - contentTopLeft.getRow();
+        Dimension focusedSize = focused.getSize();
+        scrollOffset = new Point(
+                scrollIntoView(scrollOffset.getColumn(), column, focusedSize.getColumns(), viewSize.getColumns()),
+                scrollIntoView(scrollOffset.getRow(), row, focusedSize.getRows(), viewSize.getRows()));
+    }
+
+    private static int scrollIntoView(int offset, int start, int length, int viewLength) {
+        if (start + length > offset + viewLength) {
+            offset = start + length - viewLength;
+        }
+        if (start < offset) {
+            offset = start;
+        }
+        return offset;
+    }
+
+    /**
+     * Default renderer for {@code ScrollPanel}, it shows a vertical and/or horizontal scrollbar when the wrapped
+     * component doesn't fit and draws the wrapped component scrolled under the remaining area.
+     */
+    public static class DefaultScrollPanelRenderer implements ComponentRenderer<ScrollPanel> {
+        private final ScrollBar verticalScrollBar;
+        private final ScrollBar horizontalScrollBar;
+        private Point lastDrawnOffset;
+        private Dimension lastDrawnViewSize;
+
+        public DefaultScrollPanelRenderer() {
+            verticalScrollBar = new ScrollBar(Direction.VERTICAL);
+            horizontalScrollBar = new ScrollBar(Direction.HORIZONTAL);
+        }
+
+        @Override
+        public Dimension getPreferredSize(ScrollPanel component) {
+            Component content = component.getComponent();
+            return content != null ? content.getPreferredSize() : Dimension.ZERO;
+        }
+
+        @Override
+        public void drawComponent(TextUiGraphics graphics, ScrollPanel component) {
+            Dimension area = graphics.getSize();
+            Component content = component.getComponent();
+            graphics.applyThemeStyle(component.getThemeDefinition().getNormal());
+            if (content == null) {
+                graphics.fill(' ');
+                return;
+            }
+
+            Dimension preferredSize = content.getPreferredSize();
+            boolean drawVerticalScrollBar = preferredSize.getRows() > area.getRows() && area.getColumns() > 1;
+            boolean drawHorizontalScrollBar = preferredSize.getColumns() > area.getColumns() - (drawVerticalScrollBar ? 1 : 0) && area.getRows() > 1;
+            if (drawHorizontalScrollBar && !drawVerticalScrollBar) {
+                drawVerticalScrollBar = preferredSize.getRows() > area.getRows() - 1 && area.getColumns() > 1;
+            }
+            Dimension viewSize = area.withRelative(drawVerticalScrollBar ? -1 : 0, drawHorizontalScrollBar ? -1 : 0);
+            Dimension contentSize = new Dimension(
+                    Math.max(preferredSize.getColumns(), viewSize.getColumns()),
+                    Math.max(preferredSize.getRows(), viewSize.getRows()));
+
+            Point offset;
+            synchronized (component) {
+                component.viewSize = viewSize;
+                component.followFocus(content, viewSize);
+                offset = new Point(
+                        Math.max(0, Math.min(component.scrollOffset.getColumn(), contentSize.getColumns() - viewSize.getColumns())),
+                        Math.max(0, Math.min(component.scrollOffset.getRow(), contentSize.getRows() - viewSize.getRows())));
+                component.scrollOffset = offset;
+            }
+
+            if (!offset.equals(lastDrawnOffset) || !viewSize.equals(lastDrawnViewSize)) {
+                // Everything shown in the viewport has moved, nothing that was drawn before can be kept
+                content.invalidate();
+            }
+            lastDrawnOffset = offset;
+            lastDrawnViewSize = viewSize;
+
+            content.setPosition(new Point(-offset.getColumn(), -offset.getRow()));
+            content.setSize(contentSize);
+            TextUiGraphics viewGraphics = graphics.newTextGraphics(Point.TOP_LEFT_CORNER, viewSize);
+            content.draw(viewGraphics.newTextGraphics(content.getPosition(), contentSize));
+
+            if (drawVerticalScrollBar) {
+                updateScrollBar(verticalScrollBar, component, viewSize.getRows(), contentSize.getRows(), offset.getRow());
+                verticalScrollBar.draw(graphics.newTextGraphics(
+                        new Point(viewSize.getColumns(), 0),
+                        new Dimension(1, viewSize.getRows())));
+            }
+            if (drawHorizontalScrollBar) {
+                updateScrollBar(horizontalScrollBar, component, viewSize.getColumns(), contentSize.getColumns(), offset.getColumn());
+                horizontalScrollBar.draw(graphics.newTextGraphics(
+                        new Point(0, viewSize.getRows()),
+                        new Dimension(viewSize.getColumns(), 1)));
+            }
+            if (drawVerticalScrollBar && drawHorizontalScrollBar) {
+                graphics.applyThemeStyle(component.getThemeDefinition().getNormal());
+                graphics.setCharacter(viewSize.getColumns(), viewSize.getRows(), ' ');
+            }
+        }
+
+        /**
+         * Only touches the scrollbar when something changed, since every change invalidates it and, through it, the
+         * {@code ScrollPanel}
+         */
+        private static void updateScrollBar(ScrollBar scrollBar, ScrollPanel component, int viewSize, int maximum, int position) {
+            if (scrollBar.getParent() != component) {
+                // The scrollbars aren't children of the ScrollPanel but need it as parent for their theme
+                scrollBar.onAdded(component);
+            }
+            if (scrollBar.getViewSize() != viewSize) {
+                scrollBar.setViewSize(viewSize);
+            }
+            scrollBar.setScrollMaximum(maximum);
+            scrollBar.setScrollPosition(position);
+        }
+    }
+}
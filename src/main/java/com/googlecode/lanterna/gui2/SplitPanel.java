@@ -218,6 +218,7 @@ public class SplitPanel extends Panel {
         }
         int total = Math.abs(left) + Math.abs(right);
         ratio = (double)left / (double)total;
+        invalidate();
     }
     
 }
@@ -0,0 +1,111 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.graphics.ThemeStyle;
+
+import java.util.List;
+
+/**
+ * Colours the text of a {@link TextBox}, one line at a time. Highlighting is driven by a state that is carried from the
+ * end of one line to the start of the next, for example "inside a block comment" or "inside a string literal". The
+ * {@code TextBox} remembers the state at the start of every line together with the spans produced for it, so after an
+ * edit only the lines that changed, and the lines after them whose start state turned out different, are highlighted
+ * again. Lines are only highlighted when they are about to be drawn.
+ * <p>
+ * Since states are compared with {@link Object#equals(Object)} to decide if the following lines need to be redone,
+ * they should be immutable values such as enums, integers or small value classes implementing {@code equals}.
+ *
+ * @param <S> Type of the state carried between lines
+ * @see TextBox#setSyntaxHighlighter(SyntaxHighlighter)
+ */
+public interface SyntaxHighlighter<S> {
+
+    /**
+     * Returns the state at the start of the first line of the text
+     * @return State at the start of the text
+     */
+    S getInitialState();
+
+    /**
+     * Highlights a single line. The spans are added to {@code spans} in the order they appear on the line and must not
+     * overlap; text not covered by any span is drawn with the normal style of the {@code TextBox}.
+     * @param line Line to highlight, without the line separator
+     * @param startState State at the start of the line, as returned for the previous line
+     * @param spans List to add the styled spans of this line to
+     * @return State at the end of the line, to be passed in as the start state of the next line
+     */
+    S highlightLine(String line, S startState, List<Span> spans);
+
+    /**
+     * Range of characters on a line to be drawn with a particular style
+     */
+    class Span {
+        private final int start;
+        private final int end;
+        private final ThemeStyle style;
+
+        /**
+         * Creates a new span
+         * @param start Index of the first character of the span
+         * @param end Index of the character after the last character of the span
+         * @param style Style to draw the characters of the span with
+         */
+        public Span(int start, int end, ThemeStyle style) {
+            if (start < 0 || end < start) {
+                throw new IllegalArgumentException("Invalid span " + start + " - " + end);
+            }
+            if (style == null) {
+                throw new IllegalArgumentException("Cannot create a Span with a null style");
+            }
+            this.start = start;
+            this.end = end;
+            this.style = style;
+        }
+
+        /**
+         * Returns the index of the first character of the span
+         * @return Index of the first character of the span
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the index of the character after the last character of the span
+         * @return Index of the character after the span
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * Returns the style the characters of this span are drawn with
+         * @return Style of the span
+         */
+        public ThemeStyle getStyle() {
+            return style;
+        }
+
+        @Override
+        public String toString() {
+            return "Span{" + start + "-" + end + "}";
+        }
+    }
+}
@@ -22,11 +22,15 @@ import com.googlecode.lanterna.Dimension;
 import com.googlecode.lanterna.Point;
 import com.googlecode.lanterna.TerminalTextUtils;
 import com.googlecode.lanterna.graphics.ThemeDefinition;
+import com.googlecode.lanterna.graphics.ThemeStyle;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.MouseAction;
 import com.googlecode.lanterna.input.MouseActionType;
+import com.googlecode.lanterna.input.PasteAction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -41,7 +45,8 @@ import java.util.regex.Pattern;
  */
 public class TextBox extends AbstractInteractableComponent<TextBox> {
 
-    private final List<String> lines = new ArrayList<>();
+    private final TextDocument.ChangeListener documentListener;
+    private TextDocument document;
     private final Style style;
     private final int maxLineLength;
     private Point caretPoint;
@@ -53,6 +58,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
     private Character mask;
     private Pattern validationPattern;
     private TextChangeListener textChangeListener;
+    private HighlightCache<?> highlightCache;
 
     /**
      * Default constructor, this creates a single-line {@code TextBox} of size 10 which is initially empty
@@ -151,12 +157,55 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
         this.caretPoint = Point.TOP_LEFT_CORNER;
         this.maxLineLength = -1;
         this.longestRow = 1;    //To fit the cursor
+        this.highlightCache = null;
+        this.documentListener = (document, fromIndex, removedLineCount, insertedLineCount) -> {
+            HighlightCache<?> highlightCache = this.highlightCache;
+            if (highlightCache != null) {
+                highlightCache.onLinesReplaced(fromIndex, removedLineCount, insertedLineCount);
+            }
+            for (int i = fromIndex; i < fromIndex + insertedLineCount; i++) {
+                int lineWidth = TerminalTextUtils.getColumnWidth(document.getLine(i));
+                if (longestRow < lineWidth + 1) {
+                    longestRow = lineWidth + 1;
+                }
+            }
+            if (document.getLineCount() == 0) {
+                // The document may be shared and edited from outside, but the TextBox always keeps at least one line.
+                // Put it back once the other listeners have seen the removal, unless someone else got there first
+                document.invokeAfterNotifying(() -> {
+                    if (document.getLineCount() == 0) {
+                        document.insertLines(0, Collections.singletonList(""));
+                    }
+                });
+                return;
+            }
+            keepCaretInDocument(document);
+            invalidate();
+        };
+        this.document = new RopeTextDocument();
+        this.document.addChangeListener(documentListener);
         setText(initialContent);
 
         // Re-adjust caret position
         this.caretPoint = Point.TOP_LEFT_CORNER.withColumn(getLine(0).length());
 
-        setPreferredSize(Optional.ofNullable(preferredSize).orElseGet(() -> new Dimension(Math.max(10, longestRow), lines.size())));
+        setPreferredSize(Optional.ofNullable(preferredSize).orElseGet(() -> new Dimension(Math.max(10, longestRow), document.getLineCount())));
+    }
+
+    /**
+     * Pulls the caret back inside the document if lines it was on, or the part of its line it was at, have been removed.
+     * The TextBox's own edits always leave the caret in a valid position before the document reports the change, so
+     * this only has an effect for edits made to the document from outside.
+     */
+    private synchronized void keepCaretInDocument(TextDocument document) {
+        if (document != this.document) {
+            return;
+        }
+        int row = Math.min(caretPoint.getRow(), document.getLineCount() - 1);
+        int column = Math.min(caretPoint.getColumn(), document.getLine(row).length());
+        if (row != caretPoint.getRow() || column != caretPoint.getColumn()) {
+            caretPoint = new Point(column, row);
+        }
     }
 
     /**
@@ -166,40 +215,39 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
      * @return Itself
      */
     public synchronized TextBox addLine(String line) {
-        StringBuilder bob = new StringBuilder();
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '\n' && style == Style.MULTI_LINE) {
-                String string = bob.toString();
-                int lineWidth = TerminalTextUtils.getColumnWidth(string);
-                lines.add(string);
-                if (longestRow < lineWidth + 1) {
-                    longestRow = lineWidth + 1;
-                }
-                addLine(line.substring(i + 1));
-                return this;
-            } else if (Character.isISOControl(c)) {
-                continue;
+        List<String> newLines = splitLines(line, style == Style.MULTI_LINE);
+        for (String newLine : newLines) {
+            if (!validated(newLine)) {
+                throw new IllegalStateException("TextBox validation pattern " + validationPattern + " does not match the supplied text");
             }
-
-            bob.append(c);
-        }
-        String string = bob.toString();
-        if (!validated(string)) {
-            throw new IllegalStateException("TextBox validation pattern " + validationPattern + " does not match the supplied text");
-        }
-        int lineWidth = TerminalTextUtils.getColumnWidth(string);
-        lines.add(string);
-        if (longestRow < lineWidth + 1) {
-            longestRow = lineWidth + 1;
         }
+        document.insertLines(document.getLineCount(), newLines);
         fireOnTextChanged(false);
         invalidate();
         return this;
     }
 
+    /**
+     * Splits text into lines on \n (if {@code splitOnNewLine} is set) and drops all other control characters
+     */
+    static List<String> splitLines(String text, boolean splitOnNewLine) {
+        List<String> result = new ArrayList<>();
+        StringBuilder bob = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' && splitOnNewLine) {
+                result.add(bob.toString());
+                bob.setLength(0);
+            } else if (!Character.isISOControl(c)) {
+                bob.append(c);
+            }
+        }
+        result.add(bob.toString());
+        return result;
+    }
+
     private boolean canMoveCaretDown() {
-        return caretPoint.getRow() < lines.size() - 1;
+        return caretPoint.getRow() < document.getLineCount() - 1;
     }
 
     private boolean canMoveCaretUp() {
@@ -248,7 +296,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
      * @throws IndexOutOfBoundsException if the row index is less than zero or too large
      */
     public synchronized String getLine(int index) {
-        return lines.get(index);
+        return document.getLine(index);
     }
 
     /**
@@ -257,7 +305,69 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
      * @return Number of lines of text currently in this TextBox
      */
     public synchronized int getLineCount() {
-        return lines.size();
+        return document.getLineCount();
+    }
+
+    /**
+     * Returns the document holding the text of this {@code TextBox}. Listeners added to the document are told exactly
+     * which lines changed, which is cheaper than the full text handed to a {@link TextChangeListener}.
+     *
+     * @return Document holding the text of this {@code TextBox}
+     */
+    public synchronized TextDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Replaces the document holding the text of this {@code TextBox}, for example to share a document between two
+     * text boxes or to use a custom {@link TextDocument} implementation. An empty document will get an empty first
+     * line, as the {@code TextBox} always has at least one line.
+     *
+     * @param document Document to show and edit in this {@code TextBox}
+     * @return Itself
+     */
+    public synchronized TextBox setDocument(TextDocument document) {
+        if (document == null) {
+            throw new IllegalArgumentException("Cannot assign a null TextDocument");
+        }
+        this.document.removeChangeListener(documentListener);
+        this.document = document;
+        this.longestRow = 1;
+        if (highlightCache != null) {
+            highlightCache = new HighlightCache<>(highlightCache.getHighlighter(), 0);
+        }
+        document.addChangeListener(documentListener);
+        if (document.getLineCount() == 0) {
+            document.insertLines(0, Collections.singletonList(""));
+        } else {
+            documentListener.onLinesReplaced(document, 0, 0, document.getLineCount());
+        }
+        setCaretPosition(caretPoint.getRow(), caretPoint.getColumn());
+        fireOnTextChanged(false);
+        return this;
+    }
+
+    /**
+     * Returns the highlighter colouring the text of this {@code TextBox}
+     *
+     * @return Highlighter in use or {@code null} if the text is drawn in a single style
+     */
+    public synchronized SyntaxHighlighter<?> getSyntaxHighlighter() {
+        return highlightCache != null ? highlightCache.getHighlighter() : null;
+    }
+
+    /**
+     * Sets a highlighter to colour the text of this {@code TextBox} with. Lines are highlighted as they are drawn and
+     * the results are kept, so editing a line only has it and the lines whose start state changed highlighted again.
+     * Highlighting is not applied while a mask is set.
+     *
+     * @param syntaxHighlighter Highlighter to use or {@code null} to draw the text in a single style
+     * @return Itself
+     */
+    public synchronized TextBox setSyntaxHighlighter(SyntaxHighlighter<?> syntaxHighlighter) {
+        this.highlightCache = syntaxHighlighter != null ? new HighlightCache<>(syntaxHighlighter, document.getLineCount()) : null;
+        invalidate();
+        return this;
     }
 
     /**
@@ -298,11 +408,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
      * @return The text inside this {@code TextBox}
      */
     public synchronized String getText() {
-        StringBuilder bob = new StringBuilder(lines.get(0));
-        for (int i = 1; i < lines.size(); i++) {
-            bob.append("\n").append(lines.get(i));
-        }
-        return bob.toString();
+        return document.getText();
     }
 
     /**
@@ -316,17 +422,23 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
         if (split.length == 0) {
             split = new String[]{""};
         }
-        lines.clear();
-        longestRow = 1;
+        List<String> newLines = new ArrayList<>(split.length);
         for (String line : split) {
-            addLine(line);
+            String newLine = splitLines(line, false).get(0);
+            if (!validated(newLine)) {
+                throw new IllegalStateException("TextBox validation pattern " + validationPattern + " does not match the supplied text");
+            }
+            newLines.add(newLine);
         }
-        if (caretPoint.getRow() > lines.size() - 1) {
-            caretPoint = caretPoint.withRow(lines.size() - 1);
+        longestRow = 1;
+        document.replaceLines(0, document.getLineCount(), newLines);
+        if (caretPoint.getRow() > newLines.size() - 1) {
+            caretPoint = caretPoint.withRow(newLines.size() - 1);
         }
-        if (caretPoint.getColumn() > lines.get(caretPoint.getRow()).length()) {
-            caretPoint = caretPoint.withColumn(lines.get(caretPoint.getRow()).length());
+        if (caretPoint.getColumn() > newLines.get(caretPoint.getRow()).length()) {
+            caretPoint = caretPoint.withColumn(newLines.get(caretPoint.getRow()).length());
         }
+        fireOnTextChanged(false);
         invalidate();
         return this;
     }
@@ -465,7 +577,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                     getRenderer().setViewTopLeft(getRenderer().getViewTopLeft().withRelativeRow(-1));
                     return KeyStrokeResult.HANDLED;
                 case ArrowDown:
-                    if (getRenderer().getViewTopLeft().getRow() + getSize().getRows() == lines.size() && verticalFocusSwitching) {
+                    if (getRenderer().getViewTopLeft().getRow() + getSize().getRows() == document.getLineCount() && verticalFocusSwitching) {
                         return KeyStrokeResult.MOVE_FOCUS_DOWN;
                     }
                     getRenderer().setViewTopLeft(getRenderer().getViewTopLeft().withRelativeRow(1));
@@ -487,7 +599,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
             return super.onKeyStroke(keyStroke);
         }
 
-        String line = lines.get(caretPoint.getRow());
+        String line = document.getLine(caretPoint.getRow());
         boolean lineWasModified = false;
         KeyStrokeResult keyStrokeResult = null;
         switch (keyStroke.getKeyType()) {
@@ -495,28 +607,31 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 if (maxLineLength == -1 || maxLineLength > line.length() + 1) {
                     line = line.substring(0, caretPoint.getColumn()) + keyStroke.getCharacter() + line.substring(caretPoint.getColumn());
                     if (validated(line)) {
-                        lines.set(caretPoint.getRow(), line);
+                        document.setLine(caretPoint.getRow(), line);
                         lineWasModified = true;
                         caretPoint = caretPoint.withRelativeColumn(1);
                     }
                 }
                 keyStrokeResult = KeyStrokeResult.HANDLED;
                 break;
+            case Paste:
+                lineWasModified = insertPastedText(line, ((PasteAction) keyStroke).getText());
+                keyStrokeResult = KeyStrokeResult.HANDLED;
+                break;
             case Backspace:
                 if (caretPoint.getColumn() > 0) {
                     line = line.substring(0, caretPoint.getColumn() - 1) + line.substring(caretPoint.getColumn());
                     if (validated(line)) {
-                        lines.set(caretPoint.getRow(), line);
-                        lineWasModified = true;
                         caretPoint = caretPoint.withRelativeColumn(-1);
+                        document.setLine(caretPoint.getRow(), line);
+                        lineWasModified = true;
                     }
                 } else if (style == Style.MULTI_LINE && caretPoint.getRow() > 0) {
-                    String concatenatedLines = lines.get(caretPoint.getRow() - 1) + line;
+                    String concatenatedLines = document.getLine(caretPoint.getRow() - 1) + line;
                     if (validated(concatenatedLines)) {
-                        lines.remove(caretPoint.getRow());
                         caretPoint = caretPoint.withRelativeRow(-1);
-                        caretPoint = caretPoint.withColumn(lines.get(caretPoint.getRow()).length());
-                        lines.set(caretPoint.getRow(), concatenatedLines);
+                        caretPoint = caretPoint.withColumn(document.getLine(caretPoint.getRow()).length());
+                        document.replaceLines(caretPoint.getRow(), 2, Collections.singletonList(concatenatedLines));
                         lineWasModified = true;
                     }
                 }
@@ -526,14 +641,13 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 if (caretPoint.getColumn() < line.length()) {
                     line = line.substring(0, caretPoint.getColumn()) + line.substring(caretPoint.getColumn() + 1);
                     if (validated(line)) {
-                        lines.set(caretPoint.getRow(), line);
+                        document.setLine(caretPoint.getRow(), line);
                         lineWasModified = true;
                     }
-                } else if (style == Style.MULTI_LINE && caretPoint.getRow() < lines.size() - 1) {
-                    String concatenatedLines = line + lines.get(caretPoint.getRow() + 1);
+                } else if (style == Style.MULTI_LINE && caretPoint.getRow() < document.getLineCount() - 1) {
+                    String concatenatedLines = line + document.getLine(caretPoint.getRow() + 1);
                     if (validated(concatenatedLines)) {
-                        lines.set(caretPoint.getRow(), concatenatedLines);
-                        lines.remove(caretPoint.getRow() + 1);
+                        document.replaceLines(caretPoint.getRow(), 2, Collections.singletonList(concatenatedLines));
                         lineWasModified = true;
                     }
                 }
@@ -544,16 +658,16 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                     caretPoint = caretPoint.withRelativeColumn(-1);
                 } else if (style == Style.MULTI_LINE && caretWarp && caretPoint.getRow() > 0) {
                     caretPoint = caretPoint.withRelativeRow(-1);
-                    caretPoint = caretPoint.withColumn(lines.get(caretPoint.getRow()).length());
+                    caretPoint = caretPoint.withColumn(document.getLine(caretPoint.getRow()).length());
                 } else if (horizontalFocusSwitching) {
                     keyStrokeResult = KeyStrokeResult.MOVE_FOCUS_LEFT;
                 }
                 keyStrokeResult = keyStrokeResult == null ? KeyStrokeResult.HANDLED : keyStrokeResult;
                 break;
             case ArrowRight:
-                if (caretPoint.getColumn() < lines.get(caretPoint.getRow()).length()) {
+                if (caretPoint.getColumn() < document.getLine(caretPoint.getRow()).length()) {
                     caretPoint = caretPoint.withRelativeColumn(1);
-                } else if (style == Style.MULTI_LINE && caretWarp && caretPoint.getRow() < lines.size() - 1) {
+                } else if (style == Style.MULTI_LINE && caretWarp && caretPoint.getRow() < document.getLineCount() - 1) {
                     caretPoint = caretPoint.withRelativeRow(1);
                     caretPoint = caretPoint.withColumn(0);
                 } else if (horizontalFocusSwitching) {
@@ -589,8 +703,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 String newLine = line.substring(caretPoint.getColumn());
                 String oldLine = line.substring(0, caretPoint.getColumn());
                 if (validated(newLine) && validated(oldLine)) {
-                    lines.set(caretPoint.getRow(), oldLine);
-                    lines.add(caretPoint.getRow() + 1, newLine);
+                    document.replaceLines(caretPoint.getRow(), 1, Arrays.asList(oldLine, newLine));
                     caretPoint = caretPoint.withColumn(0).withRelativeRow(1);
                     lineWasModified = true;
                 }
@@ -602,11 +715,11 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 break;
             case PageDown:
                 caretPoint = caretPoint.withRelativeRow(getSize().getRows());
-                if (caretPoint.getRow() > lines.size() - 1) {
-                    caretPoint = caretPoint.withRow(lines.size() - 1);
+                if (caretPoint.getRow() > document.getLineCount() - 1) {
+                    caretPoint = caretPoint.withRow(document.getLineCount() - 1);
                 }
-                if (lines.get(caretPoint.getRow()).length() < caretPoint.getColumn()) {
-                    caretPoint = caretPoint.withColumn(lines.get(caretPoint.getRow()).length());
+                if (document.getLine(caretPoint.getRow()).length() < caretPoint.getColumn()) {
+                    caretPoint = caretPoint.withColumn(document.getLine(caretPoint.getRow()).length());
                 }
                 keyStrokeResult = KeyStrokeResult.HANDLED;
                 break;
@@ -615,8 +728,8 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 if (caretPoint.getRow() < 0) {
                     caretPoint = caretPoint.withRow(0);
                 }
-                if (lines.get(caretPoint.getRow()).length() < caretPoint.getColumn()) {
-                    caretPoint = caretPoint.withColumn(lines.get(caretPoint.getRow()).length());
+                if (document.getLine(caretPoint.getRow()).length() < caretPoint.getColumn()) {
+                    caretPoint = caretPoint.withColumn(document.getLine(caretPoint.getRow()).length());
                 }
                 keyStrokeResult = KeyStrokeResult.HANDLED;
                 break;
@@ -643,8 +756,8 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                     Point offset = getRenderer().getViewTopLeft();
                     int newCaretPositionColumn = mouseAction.getPosition().getColumn() - getGlobalPosition().getColumn() + offset.getColumn();
                     int newCaretPositionRow = mouseAction.getPosition().getRow() - getGlobalPosition().getRow() + offset.getRow();
-                    if (newCaretPositionRow >= 0 && newCaretPositionRow < lines.size()) {
-                        String newActiveLine = lines.get(newCaretPositionRow);
+                    if (newCaretPositionRow >= 0 && newCaretPositionRow < document.getLineCount()) {
+                        String newActiveLine = document.getLine(newCaretPositionRow);
                         int minPositionAttempt = 0;
                         int maxPositionAttempt = newActiveLine.length();
                         newCaretPositionColumn = Math.max(minPositionAttempt, Math.min(newCaretPositionColumn, maxPositionAttempt));
@@ -664,10 +777,30 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
         return keyStrokeResult;
     }
 
+    /**
+     * Inserts pasted text at the caret as a single document update. In single-line mode the line breaks of the pasted
+     * text are dropped. Nothing is inserted if any of the resulting lines would fail validation or be too long.
+     */
+    private boolean insertPastedText(String line, String text) {
+        List<String> newLines = splitLines(text, style == Style.MULTI_LINE);
+        int lastIndex = newLines.size() - 1;
+        int caretColumn = newLines.get(lastIndex).length() + (lastIndex == 0 ? caretPoint.getColumn() : 0);
+        newLines.set(0, line.substring(0, caretPoint.getColumn()) + newLines.get(0));
+        newLines.set(lastIndex, newLines.get(lastIndex) + line.substring(caretPoint.getColumn()));
+        for (String newLine : newLines) {
+            if ((maxLineLength != -1 && newLine.length() >= maxLineLength) || !validated(newLine)) {
+                return false;
+            }
+        }
+        document.replaceLines(caretPoint.getRow(), 1, newLines);
+        caretPoint = new Point(caretColumn, caretPoint.getRow() + lastIndex);
+        return true;
+    }
+
     private void performMoveCaretDown() {
-        int trueColumnPosition = TerminalTextUtils.getColumnIndex(lines.get(caretPoint.getRow()), caretPoint.getColumn());
+        int trueColumnPosition = TerminalTextUtils.getColumnIndex(document.getLine(caretPoint.getRow()), caretPoint.getColumn());
         caretPoint = caretPoint.withRelativeRow(1);
-        String line = lines.get(caretPoint.getRow());
+        String line = document.getLine(caretPoint.getRow());
         if (trueColumnPosition > TerminalTextUtils.getColumnWidth(line)) {
             caretPoint = caretPoint.withColumn(line.length());
         } else {
@@ -676,9 +809,9 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
     }
 
     private void performMoveCaretUp() {
-        int trueColumnPosition = TerminalTextUtils.getColumnIndex(lines.get(caretPoint.getRow()), caretPoint.getColumn());
+        int trueColumnPosition = TerminalTextUtils.getColumnIndex(document.getLine(caretPoint.getRow()), caretPoint.getColumn());
         caretPoint = caretPoint.withRelativeRow(-1);
-        String line = lines.get(caretPoint.getRow());
+        String line = document.getLine(caretPoint.getRow());
         if (trueColumnPosition > TerminalTextUtils.getColumnWidth(line)) {
             caretPoint = caretPoint.withColumn(line.length());
         } else {
@@ -706,16 +839,23 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
             }
         }
 
-        if (lineIndex < 0 || lineIndex >= lines.size()) {
-            throw new ArrayIndexOutOfBoundsException("Invalid line index for TextBox with " + lines.size() + " lines: " + lineIndex);
+        if (lineIndex < 0 || lineIndex >= document.getLineCount()) {
+            throw new ArrayIndexOutOfBoundsException("Invalid line index for TextBox with " + document.getLineCount() + " lines: " + lineIndex);
+        }
+        // The document listener may already have pulled the caret in, so work from where it was before the removal
+        Point caretBeforeRemoval = caretPoint;
+        if (document.getLineCount() == 1) {
+            // The TextBox always keeps at least one line
+            document.setLine(0, "");
+        } else {
+            document.removeLines(lineIndex, 1);
         }
-        lines.remove(lineIndex);
-        if (caretPoint.getRow() == lineIndex) {
+        if (caretBeforeRemoval.getRow() == lineIndex) {
             // Validate the caret can still stay in this position
-            setCaretPosition(caretPoint.getRow(), caretPoint.getColumn());
-        } else if (caretPoint.getRow() > lineIndex) {
+            setCaretPosition(lineIndex, caretBeforeRemoval.getColumn());
+        } else if (caretBeforeRemoval.getRow() > lineIndex) {
             // Update caret position
-            setCaretPosition(caretPoint.getRow() - 1, caretPoint.getColumn());
+            setCaretPosition(caretBeforeRemoval.getRow() - 1, caretBeforeRemoval.getColumn());
         }
         fireOnTextChanged(false);
         return this;
@@ -733,15 +873,16 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
     public synchronized TextBox setCaretPosition(int line, int column) {
         if (line < 0) {
             line = 0;
-        } else if (line >= lines.size()) {
-            line = lines.size() - 1;
+        } else if (line >= document.getLineCount()) {
+            line = document.getLineCount() - 1;
         }
         if (column < 0) {
             column = 0;
-        } else if (column > lines.get(line).length()) {
-            column = lines.get(line).length();
+        } else if (column > document.getLine(line).length()) {
+            column = document.getLine(line).length();
         }
         caretPoint = caretPoint.withRow(line).withColumn(column);
+        invalidate();
         return this;
     }
 
@@ -770,8 +911,8 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
      */
     public synchronized TextBox setValidationPattern(Pattern validationPattern) {
         if (validationPattern != null) {
-            for (String line : lines) {
-                if (!validated(line)) {
+            for (int i = 0; i < document.getLineCount(); i++) {
+                if (!validated(document.getLine(i))) {
                     throw new IllegalStateException("TextBox validation pattern " + validationPattern + " does not match existing content");
                 }
             }
@@ -812,6 +953,9 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
      * Listener interface for when the {@link TextBox} content has changed. This can be either by user interactions with
      * the component or through programmatically adding and removing lines (there is a flag set on the callback method
      * to make it possible to distinguish between the two).
+     * <p>
+     * The listener is handed the whole text on every change, which gets expensive for large multi-line content; add a
+     * {@link TextDocument.ChangeListener} to {@link TextBox#getDocument()} instead to be told only what changed.
      */
     public interface TextChangeListener {
         /**
@@ -907,19 +1051,21 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 }
             }
             ThemeDefinition themeDefinition = component.getThemeDefinition();
+            ThemeStyle textStyle;
             if (component.isFocused()) {
                 if (component.isReadOnly()) {
-                    graphics.applyThemeStyle(themeDefinition.getSelected());
+                    textStyle = themeDefinition.getSelected();
                 } else {
-                    graphics.applyThemeStyle(themeDefinition.getActive());
+                    textStyle = themeDefinition.getActive();
                 }
             } else {
                 if (component.isReadOnly()) {
-                    graphics.applyThemeStyle(themeDefinition.getInsensitive());
+                    textStyle = themeDefinition.getInsensitive();
                 } else {
-                    graphics.applyThemeStyle(themeDefinition.getNormal());
+                    textStyle = themeDefinition.getNormal();
                 }
             }
+            graphics.applyThemeStyle(textStyle);
 
             Character fillCharacter = unusedSpaceCharacter;
             if (fillCharacter == null) {
@@ -955,12 +1101,17 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
                 }
             }
 
+            HighlightCache<?> highlightCache = component.getMask() == null ? component.highlightCache : null;
             for (int row = 0; row < textAreaSize.getRows(); row++) {
                 int rowIndex = row + viewTopLeft.getRow();
-                if (rowIndex >= component.lines.size()) {
+                if (rowIndex >= component.getLineCount()) {
+                    continue;
+                }
+                String line = component.getLine(rowIndex);
+                if (highlightCache != null) {
+                    drawHighlightedLine(graphics, row, line, highlightCache.getSpans(component.document, rowIndex), textStyle);
                     continue;
                 }
-                String line = component.lines.get(rowIndex);
                 if (component.getMask() != null) {
                     StringBuilder builder = new StringBuilder();
                     for (int i = 0; i < line.length(); i++) {
@@ -972,6 +1123,34 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
             }
         }
 
+        private void drawHighlightedLine(TextUiGraphics graphics, int row, String line, List<SyntaxHighlighter.Span> spans, ThemeStyle textStyle) {
+            int column = 0;
+            int index = 0;
+            for (SyntaxHighlighter.Span span : spans) {
+                int start = Math.min(Math.max(span.getStart(), index), line.length());
+                int end = Math.min(span.getEnd(), line.length());
+                column = drawSegment(graphics, row, column, line.substring(index, start));
+                if (start < end) {
+                    graphics.applyThemeStyle(span.getStyle());
+                    column = drawSegment(graphics, row, column, line.substring(start, end));
+                    graphics.applyThemeStyle(textStyle);
+                }
+                index = Math.max(start, end);
+            }
+            drawSegment(graphics, row, column, line.substring(index));
+        }
+
+        private int drawSegment(TextUiGraphics graphics, int row, int column, String text) {
+            int width = TerminalTextUtils.getColumnWidth(text);
+            int viewLeft = viewTopLeft.getColumn();
+            int viewWidth = graphics.getSize().getColumns();
+            if (width > 0 && column + width > viewLeft && column < viewLeft + viewWidth) {
+                int x = Math.max(0, column - viewLeft);
+                graphics.putString(x, row, TerminalTextUtils.fitString(text, Math.max(0, viewLeft - column), viewWidth - x));
+            }
+            return column + width;
+        }
+
         @Override
         public Point getCursorLocation(TextBox component) {
             if (component.isReadOnly()) {
@@ -991,7 +1170,7 @@ public class TextBox extends AbstractInteractableComponent<TextBox> {
 
         @Override
         public Dimension getPreferredSize(TextBox component) {
-            return new Dimension(component.longestRow, component.lines.size());
+            return new Dimension(component.longestRow, component.getLineCount());
         }
 
         @Override
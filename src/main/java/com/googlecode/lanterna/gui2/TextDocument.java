@@ -0,0 +1,136 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The text content behind a {@link TextBox}, organized as a sequence of lines. All modifications go through
+ * {@link #replaceLines(int, int, List)} and are reported to the registered {@link ChangeListener}s as a delta, so that
+ * nobody has to look at the whole text to find out what changed. {@link RopeTextDocument} is the default
+ * implementation; you can plug in your own through {@link TextBox#setDocument(TextDocument)}.
+ * <p>
+ * Lines never contain the {@code \n} separator.
+ */
+public interface TextDocument {
+
+    /**
+     * Listener that is notified of every modification of a {@link TextDocument}
+     */
+    interface ChangeListener {
+        /**
+         * Called after a range of lines has been replaced with new lines. Insertions are reported with
+         * {@code removedLineCount} 0 and deletions with {@code insertedLineCount} 0.
+         * @param document Document that was modified
+         * @param fromIndex Index of the first line that was replaced
+         * @param removedLineCount Number of lines that were removed, starting at {@code fromIndex}
+         * @param insertedLineCount Number of lines that were inserted in their place, starting at {@code fromIndex}
+         */
+        void onLinesReplaced(TextDocument document, int fromIndex, int removedLineCount, int insertedLineCount);
+    }
+
+    /**
+     * Returns the number of lines in the document
+     * @return Number of lines in the document
+     */
+    int getLineCount();
+
+    /**
+     * Returns a line of the document
+     * @param index Index of the line
+     * @return The line at the index, without any line separator
+     * @throws IndexOutOfBoundsException if the index is less than zero or not less than the number of lines
+     */
+    String getLine(int index);
+
+    /**
+     * Replaces a range of lines with new lines; the number of new lines doesn't have to match the number of lines
+     * replaced
+     * @param fromIndex Index of the first line to replace
+     * @param count Number of lines to replace, 0 to insert the new lines at {@code fromIndex}
+     * @param newLines Lines to put in place of the replaced ones
+     */
+    void replaceLines(int fromIndex, int count, List<String> newLines);
+
+    /**
+     * Replaces a single line
+     * @param index Index of the line to replace
+     * @param line New content of the line
+     */
+    default void setLine(int index, String line) {
+        replaceLines(index, 1, Collections.singletonList(line));
+    }
+
+    /**
+     * Inserts lines into the document
+     * @param index Index the first of the new lines should have, the line count to append at the end
+     * @param lines Lines to insert
+     */
+    default void insertLines(int index, List<String> lines) {
+        replaceLines(index, 0, lines);
+    }
+
+    /**
+     * Removes lines from the document
+     * @param index Index of the first line to remove
+     * @param count Number of lines to remove
+     */
+    default void removeLines(int index, int count) {
+        replaceLines(index, count, Collections.emptyList());
+    }
+
+    /**
+     * Returns the whole content of the document, with the lines separated by {@code \n}. This has to visit every line,
+     * so avoid calling it on every change.
+     * @return Content of the document
+     */
+    default String getText() {
+        StringBuilder bob = new StringBuilder();
+        for(int i = 0; i < getLineCount(); i++) {
+            if(i > 0) {
+                bob.append('\n');
+            }
+            bob.append(getLine(i));
+        }
+        return bob.toString();
+    }
+
+    /**
+     * Runs code once the document has finished notifying its listeners of the change currently being reported, or
+     * right away if no change is being reported on this thread. Listeners that want to modify the document in response
+     * to a change should do it from here, so that the other listeners see the changes in the order they were made.
+     * @param task Code to run
+     */
+    default void invokeAfterNotifying(Runnable task) {
+        task.run();
+    }
+
+    /**
+     * Adds a listener to be notified of modifications to the document
+     * @param listener Listener to add
+     */
+    void addChangeListener(ChangeListener listener);
+
+    /**
+     * Removes a listener previously added through {@link #addChangeListener(ChangeListener)}
+     * @param listener Listener to remove
+     */
+    void removeChangeListener(ChangeListener listener);
+}
@@ -39,6 +39,22 @@ public interface TextUiThread {
      */
     void invokeLater(Runnable runnable) throws IllegalStateException;
 
+    /**
+     * Invokes custom code on the GUI thread like {@link #invokeLater(Runnable)}, but only the latest code submitted for
+     * a key is run. If code for the same key is already waiting to run, it is replaced by this one and no new task is
+     * queued, so a background thread can post updates as fast as it likes without growing the queue; the GUI thread
+     * runs at most one task per key for each pass through its event loop. Keys are compared with {@code equals(..)}.
+     * <p>
+     * The default implementation doesn't coalesce anything, it passes every task on to {@link #invokeLater(Runnable)}.
+     *
+     * @param key Identifies which updates replace each other, for example the component being updated
+     * @param runnable Code to run asynchronously
+     * @throws java.lang.IllegalStateException If the GUI thread is not running
+     */
+    default void invokeLaterCoalesced(Object key, Runnable runnable) throws IllegalStateException {
+        invokeLater(runnable);
+    }
+
     /**
      * Main method to call when you are managing the event/input/update loop yourself. This method will run one round
      * through the GUI's event/input queue and update the visuals if required. If the operation did nothing (returning
@@ -69,6 +85,16 @@ public interface TextUiThread {
      */
     void setExceptionHandler(ExceptionHandler exceptionHandler);
 
+    /**
+     * Returns the clock that drives animations in this GUI. Its tickers are run by this thread as part of
+     * {@link #processEventsAndUpdate()}, just before the screen is updated. The default implementation returns
+     * {@code null} for GUI threads that don't run a clock, components then don't animate.
+     * @return Animation clock of this GUI thread, or {@code null} if it doesn't have one
+     */
+    default AnimationClock getAnimationClock() {
+        return null;
+    }
+
     /**
      * Returns the Java thread which is processing GUI events and updating the screen
      * @return Thread which is processing events and updating the screen
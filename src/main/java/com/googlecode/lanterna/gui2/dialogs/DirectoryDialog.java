@@ -25,8 +25,8 @@ import com.googlecode.lanterna.gui2.*;
 import com.googlecode.lanterna.gui2.BorderLayout.Location;
 
 import java.io.File;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Dialog that allows the user to iterate the file system and pick directory.
@@ -41,6 +41,8 @@ public class DirectoryDialog extends DialogWindow {
     private final boolean showHiddenDirs;
     private File directory;
     private File selectedDir;
+    private final DirectoryLister.GuiExecutor guiExecutor = new DirectoryLister.GuiExecutor(this);
+    private DirectoryLister.Listing listing;
 
     /**
      * Default constructor for {@code DirectoryDialog}
@@ -111,13 +113,11 @@ public class DirectoryDialog extends DialogWindow {
     }
 
     private void reloadViews(final File directory) {
+        if (listing != null) {
+            listing.cancel();
+        }
         dirBox.setText(directory.getAbsolutePath());
         dirListBox.clearItems();
-        File[] entries = directory.listFiles();
-        if (entries == null) {
-            return;
-        }
-        Arrays.sort(entries, Comparator.comparing(o -> o.getName().toLowerCase()));
         if (directory.getAbsoluteFile().getParentFile() != null) {
             dirListBox.addItem("..", s -> {
                 DirectoryDialog.this.directory = directory.getAbsoluteFile().getParentFile();
@@ -134,20 +134,53 @@ public class DirectoryDialog extends DialogWindow {
                 }
             }
         }
-        for (final File entry : entries) {
-            if (entry.isHidden() && !showHiddenDirs) {
-                continue;
+        final int navigationItemCount = dirListBox.getItemCount();
+        listing = DirectoryLister.list(directory, guiExecutor, new DirectoryLister.Listener() {
+            @Override
+            public void onEntries(List<DirectoryLister.Entry> entries) {
+                addEntries(entries);
             }
-            if (entry.isDirectory()) {
-                dirListBox.addItem(entry.getName(), s -> {
-                    DirectoryDialog.this.directory = entry;
-                    reloadViews(entry);
-                });
+
+            @Override
+            public void onComplete(List<DirectoryLister.Entry> entries) {
+                // Replace what was shown while loading with the sorted listing, keeping the selection
+                ActionListBox.Item selectedDirectory = dirListBox.getSelectedIndex() >= navigationItemCount ? dirListBox.getSelectedItem() : null;
+                DirectoryLister.removeItemsFrom(dirListBox, navigationItemCount);
+                addEntries(entries);
+                if (dirListBox.isEmpty()) {
+                    dirListBox.addItem("<empty>", Interactable.ClickListener.DUMMY);
+                }
+                DirectoryLister.reselect(dirListBox, selectedDirectory);
+            }
+        });
+    }
+
+    private void addEntries(List<DirectoryLister.Entry> entries) {
+        List<ActionListBox.Item> items = new ArrayList<>();
+        for (final DirectoryLister.Entry entry : entries) {
+            if (entry.isDirectory() && (!entry.isHidden() || showHiddenDirs)) {
+                items.add(new ActionListBox.Item(entry.getName(), s -> {
+                    DirectoryDialog.this.directory = entry.getFile();
+                    reloadViews(entry.getFile());
+                }));
             }
         }
-        if (dirListBox.isEmpty()) {
-            dirListBox.addItem("<empty>", Interactable.ClickListener.DUMMY);
+        dirListBox.addItems(items);
+    }
+
+    @Override
+    public void draw(TextUiGraphics graphics) {
+        // The first listing is started by the constructor, its results are held back until the dialog is in a GUI
+        guiExecutor.flush();
+        super.draw(graphics);
+    }
+
+    @Override
+    public void close() {
+        if (listing != null) {
+            listing.cancel();
         }
+        super.close();
     }
 
     /**
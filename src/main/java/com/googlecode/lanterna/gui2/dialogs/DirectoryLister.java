@@ -0,0 +1,335 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2.dialogs;
+
+import com.googlecode.lanterna.gui2.ActionListBox;
+import com.googlecode.lanterna.gui2.DefaultListModel;
+import com.googlecode.lanterna.gui2.TextUiThread;
+import com.googlecode.lanterna.gui2.Window;
+import com.googlecode.lanterna.gui2.WindowFrame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Lists directories for {@link FileDialog} and {@link DirectoryDialog} in the background, so that a slow network mount
+ * or a directory with a huge number of entries doesn't freeze the GUI. Entries are read through a
+ * {@link DirectoryStream}, with the type and hidden flag of each entry coming from a single attribute read, and handed
+ * over in batches while the listing is in progress. The most recently listed directories are cached and served again
+ * for as long as their modification time stays the same.
+ */
+class DirectoryLister {
+    private static final int CACHE_SIZE = 16;
+    private static final int FIRST_BATCH_SIZE = 64;
+    private static final int BATCH_SIZE = 1024;
+    private static final long BATCH_INTERVAL_MS = 100;
+    // Linux also offers the "dos" view, but there hidden files are the ones starting with a dot
+    private static final boolean DOS_ATTRIBUTES = FileSystems.getDefault().supportedFileAttributeViews().contains("dos") &&
+            !FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    // Several threads, so that a listing stuck on an unresponsive mount doesn't hold up the others
+    private static final ExecutorService DEFAULT_BACKGROUND_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "LanternaDirectoryLister");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<Path, CachedListing> CACHE = new LinkedHashMap<Path, CachedListing>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, CachedListing> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * A file or directory found in a listing
+     */
+    static class Entry {
+        private final File file;
+        private final String name;
+        private final boolean directory;
+        private final boolean hidden;
+
+        Entry(File file, String name, boolean directory, boolean hidden) {
+            this.file = file;
+            this.name = name;
+            this.directory = directory;
+            this.hidden = hidden;
+        }
+
+        File getFile() {
+            return file;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isDirectory() {
+            return directory;
+        }
+
+        boolean isHidden() {
+            return hidden;
+        }
+    }
+
+    /**
+     * Receives the result of a listing. The methods are called through the result executor passed to
+     * {@link #list(File, Executor, Listener)} and never after the listing has been cancelled.
+     */
+    interface Listener {
+        /**
+         * Called with entries read so far, in the order the file system returned them
+         * @param entries Entries read since the last call
+         */
+        void onEntries(List<Entry> entries);
+
+        /**
+         * Called once the whole directory has been read
+         * @param entries All entries of the directory, sorted by name, or an empty list if the directory couldn't be
+         *                read
+         */
+        void onComplete(List<Entry> entries);
+    }
+
+    /**
+     * A listing in progress
+     */
+    static class Listing {
+        private volatile boolean cancelled;
+        private volatile boolean servedFromCache;
+
+        private Listing() {
+            this.cancelled = false;
+            this.servedFromCache = false;
+        }
+
+        /**
+         * Stops reading the directory and makes sure the listener isn't called anymore
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isServedFromCache() {
+            return servedFromCache;
+        }
+    }
+
+    private static class CachedListing {
+        private final FileTime lastModified;
+        private final List<Entry> entries;
+
+        private CachedListing(FileTime lastModified, List<Entry> entries) {
+            this.lastModified = lastModified;
+            this.entries = entries;
+        }
+    }
+
+    private DirectoryLister() {
+    }
+
+    /**
+     * Starts listing a directory on a background thread
+     * @param directory Directory to list
+     * @param resultExecutor Executor to call the listener through, normally the GUI thread
+     * @param listener Listener to receive the entries
+     * @return Handle that can be used to cancel the listing
+     */
+    static Listing list(File directory, Executor resultExecutor, Listener listener) {
+        return list(directory, resultExecutor, DEFAULT_BACKGROUND_EXECUTOR, listener);
+    }
+
+    static Listing list(File directory, Executor resultExecutor, Executor backgroundExecutor, Listener listener) {
+        Listing listing = new Listing();
+        backgroundExecutor.execute(() -> read(directory.toPath(), listing, resultExecutor, listener));
+        return listing;
+    }
+
+    /**
+     * Executor that runs tasks on the GUI thread of a window. Tasks submitted before the window has been added to a GUI,
+     * or while its GUI thread isn't accepting tasks yet, are held back and handed over by {@link #flush()}, which the
+     * dialogs call when they are drawn. Tasks are never run on the thread submitting them, the listing results would
+     * otherwise modify the list boxes from the background thread.
+     */
+    static class GuiExecutor implements Executor {
+        private final Window window;
+        private final Deque<Runnable> pendingTasks;
+
+        GuiExecutor(Window window) {
+            this.window = window;
+            this.pendingTasks = new ArrayDeque<>();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            synchronized (this) {
+                pendingTasks.add(task);
+            }
+            flush();
+        }
+
+        /**
+         * Passes the held back tasks on to the GUI thread, if the window has one that is running
+         */
+        synchronized void flush() {
+            WindowFrame textGUI = window.getTextGUI();
+            TextUiThread guiThread = textGUI != null ? textGUI.getGUIThread() : null;
+            if (guiThread == null) {
+                return;
+            }
+            while (!pendingTasks.isEmpty()) {
+                try {
+                    guiThread.invokeLater(pendingTasks.peek());
+                } catch (IllegalStateException e) {
+                    // The GUI thread isn't running yet, try again on the next flush
+                    return;
+                }
+                pendingTasks.poll();
+            }
+        }
+
+        synchronized int getPendingTaskCount() {
+            return pendingTasks.size();
+        }
+    }
+
+    /**
+     * Removes the items of a list box from an index to the end, with a single model update
+     */
+    static void removeItemsFrom(ActionListBox listBox, int fromIndex) {
+        ((DefaultListModel<ActionListBox.Item>) listBox.getListModel()).removeItems(fromIndex, listBox.getItemCount() - fromIndex);
+    }
+
+    /**
+     * Selects the item with the same label as the one supplied, if the list box still has one
+     */
+    static void reselect(ActionListBox listBox, ActionListBox.Item item) {
+        if (item == null) {
+            return;
+        }
+        for (int i = 0; i < listBox.getItemCount(); i++) {
+            if (listBox.getItemAt(i).getLabel().equals(item.getLabel())) {
+                listBox.setSelectedIndex(i);
+                return;
+            }
+        }
+    }
+
+    private static void read(Path directory, Listing listing, Executor resultExecutor, Listener listener) {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            FileTime lastModified = Files.getLastModifiedTime(directory);
+            CachedListing cached;
+            synchronized (CACHE) {
+                cached = CACHE.get(directory);
+            }
+            if (cached != null && cached.lastModified.equals(lastModified)) {
+                listing.servedFromCache = true;
+                deliver(listing, resultExecutor, () -> listener.onComplete(cached.entries));
+                return;
+            }
+            List<Entry> batch = new ArrayList<>();
+            int batchSize = FIRST_BATCH_SIZE;
+            long lastDelivery = System.currentTimeMillis();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    if (listing.isCancelled()) {
+                        return;
+                    }
+                    Entry entry = readEntry(path);
+                    entries.add(entry);
+                    batch.add(entry);
+                    long now = System.currentTimeMillis();
+                    if (batch.size() >= batchSize || now - lastDelivery >= BATCH_INTERVAL_MS) {
+                        List<Entry> delivery = batch;
+                        deliver(listing, resultExecutor, () -> listener.onEntries(delivery));
+                        batch = new ArrayList<>();
+                        batchSize = BATCH_SIZE;
+                        lastDelivery = now;
+                    }
+                }
+            }
+            entries.sort(Comparator.comparing(entry -> entry.getName().toLowerCase(Locale.ROOT)));
+            entries = Collections.unmodifiableList(entries);
+            synchronized (CACHE) {
+                CACHE.put(directory, new CachedListing(lastModified, entries));
+            }
+        } catch (IOException | DirectoryIteratorException | SecurityException e) {
+            // Unreadable directories are shown as empty
+            entries = Collections.emptyList();
+        }
+        List<Entry> result = entries;
+        deliver(listing, resultExecutor, () -> listener.onComplete(result));
+    }
+
+    private static Entry readEntry(Path path) {
+        String name = path.getFileName().toString();
+        boolean directory = false;
+        boolean hidden = name.startsWith(".");
+        try {
+            if (DOS_ATTRIBUTES) {
+                DosFileAttributes attributes = Files.readAttributes(path, DosFileAttributes.class);
+                directory = attributes.isDirectory();
+                hidden = attributes.isHidden();
+            } else {
+                directory = Files.readAttributes(path, BasicFileAttributes.class).isDirectory();
+            }
+        } catch (IOException | SecurityException e) {
+            // Dangling link or no access, list it as a plain file
+        }
+        return new Entry(path.toFile(), name, directory, hidden);
+    }
+
+    private static void deliver(Listing listing, Executor resultExecutor, Runnable delivery) {
+        if (listing.isCancelled()) {
+            return;
+        }
+        resultExecutor.execute(() -> {
+            if (!listing.isCancelled()) {
+                delivery.run();
+            }
+        });
+    }
+}
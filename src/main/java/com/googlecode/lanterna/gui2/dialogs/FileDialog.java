@@ -23,8 +23,8 @@ import com.googlecode.lanterna.TerminalTextUtils;
 import com.googlecode.lanterna.gui2.*;
 
 import java.io.File;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Dialog that allows the user to iterate the file system and pick file to open/save
@@ -41,6 +41,8 @@ public class FileDialog extends DialogWindow {
 
     private File directory;
     private File selectedFile;
+    private final DirectoryLister.GuiExecutor guiExecutor = new DirectoryLister.GuiExecutor(this);
+    private DirectoryLister.Listing listing;
 
     /**
      * Default constructor for {@code FileDialog}
@@ -123,13 +125,11 @@ public class FileDialog extends DialogWindow {
     }
 
     private void reloadViews(final File directory) {
+        if (listing != null) {
+            listing.cancel();
+        }
         directoryListBox.clearItems();
         fileListBox.clearItems();
-        File[] entries = directory.listFiles();
-        if (entries == null) {
-            return;
-        }
-        Arrays.sort(entries, Comparator.comparing(o -> o.getName().toLowerCase()));
         if (directory.getAbsoluteFile().getParentFile() != null) {
             directoryListBox.addItem("..", s -> {
                 FileDialog.this.directory = directory.getAbsoluteFile().getParentFile();
@@ -146,25 +146,66 @@ public class FileDialog extends DialogWindow {
                 }
             }
         }
-        for (final File entry : entries) {
+        final int navigationItemCount = directoryListBox.getItemCount();
+        listing = DirectoryLister.list(directory, guiExecutor, new DirectoryLister.Listener() {
+            @Override
+            public void onEntries(List<DirectoryLister.Entry> entries) {
+                addEntries(entries);
+            }
+
+            @Override
+            public void onComplete(List<DirectoryLister.Entry> entries) {
+                // Replace what was shown while loading with the sorted listing, keeping the selection
+                ActionListBox.Item selectedDirectory = directoryListBox.getSelectedIndex() >= navigationItemCount ? directoryListBox.getSelectedItem() : null;
+                ActionListBox.Item selectedFile = fileListBox.getSelectedItem();
+                DirectoryLister.removeItemsFrom(directoryListBox, navigationItemCount);
+                fileListBox.clearItems();
+                addEntries(entries);
+                if (fileListBox.isEmpty()) {
+                    fileListBox.addItem("<empty>", Interactable.ClickListener.DUMMY);
+                }
+                DirectoryLister.reselect(directoryListBox, selectedDirectory);
+                DirectoryLister.reselect(fileListBox, selectedFile);
+            }
+        });
+    }
+
+    private void addEntries(List<DirectoryLister.Entry> entries) {
+        List<ActionListBox.Item> directoryItems = new ArrayList<>();
+        List<ActionListBox.Item> fileItems = new ArrayList<>();
+        for (final DirectoryLister.Entry entry : entries) {
             if (entry.isHidden() && !showHiddenFilesAndDirs) {
                 continue;
             }
             if (entry.isDirectory()) {
-                directoryListBox.addItem(entry.getName(), s -> {
-                    FileDialog.this.directory = entry;
-                    reloadViews(entry);
-                });
+                directoryItems.add(new ActionListBox.Item(entry.getName(), s -> {
+                    FileDialog.this.directory = entry.getFile();
+                    reloadViews(entry.getFile());
+                }));
             } else {
-                fileListBox.addItem(entry.getName(), s -> {
+                fileItems.add(new ActionListBox.Item(entry.getName(), s -> {
                     fileBox.setText(entry.getName());
                     setFocusedInteractable(okButton);
-                });
+                }));
             }
         }
-        if (fileListBox.isEmpty()) {
-            fileListBox.addItem("<empty>", Interactable.ClickListener.DUMMY);
+        directoryListBox.addItems(directoryItems);
+        fileListBox.addItems(fileItems);
+    }
+
+    @Override
+    public void draw(TextUiGraphics graphics) {
+        // The first listing is started by the constructor, its results are held back until the dialog is in a GUI
+        guiExecutor.flush();
+        super.draw(graphics);
+    }
+
+    @Override
+    public void close() {
+        if (listing != null) {
+            listing.cancel();
         }
+        super.close();
     }
 
     /**
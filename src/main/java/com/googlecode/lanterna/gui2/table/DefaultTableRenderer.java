@@ -27,7 +27,9 @@ import com.googlecode.lanterna.gui2.TextUiGraphics;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -53,10 +55,11 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
     //So that we don't have to recalculate the size every time. This still isn't optimal but shouganai.
     private Dimension cachedSize;
     private final List<Integer> preferredColumnSizes;
-    private final List<Integer> preferredRowSizes;
+    private final Map<Integer, Integer> preferredRowSizes;
     private final Set<Integer> expandableColumns;
     private int headerSizeInRows;
     private boolean allowPartialColumn;
+    private int columnWidthSampleSize;
 
     private boolean scrollBarsHidden;
 
@@ -77,11 +80,12 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         visibleRowsOnLastDraw = 0;
         allowPartialColumn = false;
         scrollBarsHidden = false;
+        columnWidthSampleSize = 1000;
 
         cachedSize = null;
 
         preferredColumnSizes = new ArrayList<>();
-        preferredRowSizes = new ArrayList<>();
+        preferredRowSizes = new HashMap<>();
         expandableColumns = new TreeSet<>();
         headerSizeInRows = 0;
     }
@@ -136,6 +140,19 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         this.expandableColumns.addAll(expandableColumns);
     }
 
+    /**
+     * Sets how many rows, counted from the top of the table, are measured when calculating the column widths. The rows
+     * currently in view are always measured as well. Cells in rows outside of this sample that are wider than their
+     * column will be truncated. The default is 1000 rows.
+     * @param columnWidthSampleSize Number of rows to measure, from the top of the table
+     */
+    public synchronized void setColumnWidthSampleSize(int columnWidthSampleSize) {
+        if(columnWidthSampleSize < 0) {
+            throw new IllegalArgumentException("Cannot set a negative column width sample size");
+        }
+        this.columnWidthSampleSize = columnWidthSampleSize;
+    }
+
     @Override
     public boolean isScrollBarsHidden() {
         return scrollBarsHidden;
@@ -196,7 +213,9 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
             return cachedSize;
         }
 
-        TableModel<V> tableModel = table.getTableModel();
+        TableDataProvider<V> dataProvider = table.getDataProvider();
+        int rowCount = dataProvider.getRowCount();
+        int columnCount = dataProvider.getColumnCount();
 
         // Copy these so we don't modify the renderers state
         int viewLeftColumn = this.viewLeftColumn;
@@ -205,22 +224,19 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         int visibleRows = table.getVisibleRows();
         int selectedRow = table.getSelectedRow();
         int selectedColumn = table.getSelectedColumn();
-        List<List<V>> rows = tableModel.getRows();
-        List<String> columnHeaders = tableModel.getColumnLabels();
         TableHeaderRenderer<V> tableHeaderRenderer = table.getTableHeaderRenderer();
-        TableCellRenderer<V> tableCellRenderer = table.getTableCellRenderer();
 
         if(visibleColumns == 0) {
-            visibleColumns = tableModel.getColumnCount();
+            visibleColumns = columnCount;
         }
         if(visibleRows == 0) {
-            visibleRows = tableModel.getRowCount();
+            visibleRows = rowCount;
         }
 
         preferredColumnSizes.clear();
         preferredRowSizes.clear();
 
-        if(tableModel.getColumnCount() == 0) {
+        if(columnCount == 0) {
             return Dimension.ZERO;
         }
 
@@ -239,65 +255,18 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
             viewTopRow = Math.max(0, selectedRow - visibleRows + 1);
         }
 
-        // If there are no rows, base the column sizes off of the column labels
-        if(rows.size() == 0) {
-            for(int columnIndex = 0; columnIndex < columnHeaders.size(); columnIndex++) {
-                int columnSize = tableHeaderRenderer.getPreferredSize(table, columnHeaders.get(columnIndex), columnIndex).getColumns();
-                if(preferredColumnSizes.size() == columnIndex) {
-                    preferredColumnSizes.add(columnSize);
-                }
-                else {
-                    if(preferredColumnSizes.get(columnIndex) < columnSize) {
-                        preferredColumnSizes.set(columnIndex, columnSize);
-                    }
-                }
-            }
+        // Base the column sizes on the column labels and a sample of the rows, the first rows of the table and the rows
+        // in view. Measuring every row would make large tables unusable.
+        for(int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            preferredColumnSizes.add(tableHeaderRenderer.getPreferredSize(table, dataProvider.getColumnLabel(columnIndex), columnIndex).getColumns());
         }
-
-        for(int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
-            List<V> row = rows.get(rowIndex);
-            for(int columnIndex = 0; columnIndex < row.size(); columnIndex++) {
-                V cell = row.get(columnIndex);
-                int columnSize = tableCellRenderer.getPreferredSize(table, cell, columnIndex, rowIndex).getColumns();
-                if(preferredColumnSizes.size() == columnIndex) {
-                    preferredColumnSizes.add(columnSize);
-                }
-                else {
-                    if(preferredColumnSizes.get(columnIndex) < columnSize) {
-                        preferredColumnSizes.set(columnIndex, columnSize);
-                    }
-                }
-            }
-
-            //Do the headers too, on the first iteration
-            if(rowIndex == 0) {
-                for(int columnIndex = 0; columnIndex < row.size(); columnIndex++) {
-                    int columnSize = tableHeaderRenderer.getPreferredSize(table, columnHeaders.get(columnIndex), columnIndex).getColumns();
-                    if(preferredColumnSizes.size() == columnIndex) {
-                        preferredColumnSizes.add(columnSize);
-                    }
-                    else {
-                        if(preferredColumnSizes.get(columnIndex) < columnSize) {
-                            preferredColumnSizes.set(columnIndex, columnSize);
-                        }
-                    }
-                }
-            }
+        int sampleEnd = Math.min(rowCount, columnWidthSampleSize);
+        for(int rowIndex = 0; rowIndex < sampleEnd; rowIndex++) {
+            measureRow(table, dataProvider, rowIndex, true);
         }
-
-        for(int columnIndex = 0; columnIndex < columnHeaders.size(); columnIndex++) {
-            for(int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
-                V cell = rows.get(rowIndex).get(columnIndex);
-                int rowSize = tableCellRenderer.getPreferredSize(table, cell, columnIndex, rowIndex).getRows();
-                if(preferredRowSizes.size() == rowIndex) {
-                    preferredRowSizes.add(rowSize);
-                }
-                else {
-                    if(preferredRowSizes.get(rowIndex) < rowSize) {
-                        preferredRowSizes.set(rowIndex, rowSize);
-                    }
-                }
-            }
+        int rowsInView = table.getVisibleRows() != 0 ? visibleRows : visibleRowsOnLastDraw;
+        for(int rowIndex = Math.max(sampleEnd, viewTopRow); rowIndex < Math.min(rowCount, viewTopRow + rowsInView); rowIndex++) {
+            measureRow(table, dataProvider, rowIndex, true);
         }
 
         int preferredRowSize = 0;
@@ -314,19 +283,21 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         }
 
         if (table.getVisibleRows() == 0) {
-            for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
-                preferredRowSize += preferredRowSizes.get(rowIndex);
+            // Rows outside of the sample are counted as one line each
+            preferredRowSize += rowCount;
+            for (Integer rowSize : preferredRowSizes.values()) {
+                preferredRowSize += rowSize - 1;
             }
         }
         else {
-            for (int rowIndex = viewTopRow; rowIndex < Math.min(rows.size(), viewTopRow + visibleRows); rowIndex++) {
-                preferredRowSize += preferredRowSizes.get(rowIndex);
+            for (int rowIndex = viewTopRow; rowIndex < Math.min(rowCount, viewTopRow + visibleRows); rowIndex++) {
+                preferredRowSize += getRowSize(table, rowIndex);
             }
         }
 
         headerSizeInRows = 0;
-        for(int columnIndex = 0; columnIndex < columnHeaders.size(); columnIndex++) {
-            int headerRows = tableHeaderRenderer.getPreferredSize(table, columnHeaders.get(columnIndex), columnIndex).getRows();
+        for(int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            int headerRows = tableHeaderRenderer.getPreferredSize(table, dataProvider.getColumnLabel(columnIndex), columnIndex).getRows();
             if(headerSizeInRows < headerRows) {
                 headerSizeInRows = headerRows;
             }
@@ -337,14 +308,12 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
             preferredRowSize++;    //Spacing between header and body
         }
         if(cellVerticalBorderStyle != TableCellBorderStyle.None) {
-            if(!rows.isEmpty()) {
-                preferredRowSize += Math.min(rows.size(), visibleRows) - 1; //Vertical space between cells
+            if(rowCount > 0) {
+                preferredRowSize += Math.min(rowCount, visibleRows) - 1; //Vertical space between cells
             }
         }
         if(isHorizontallySpaced()) {
-            if(!columnHeaders.isEmpty()) {
-                preferredColumnSize += Math.min(tableModel.getColumnCount(), visibleColumns) - 1;    //Spacing between the columns
-            }
+            preferredColumnSize += Math.min(columnCount, visibleColumns) - 1;    //Spacing between the columns
         }
 
         if(!scrollBarsHidden) {
@@ -353,7 +322,7 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
             // table will need to force scrollbars or not. We might think that we don't need a horizontal scrollbar here but
             // it might turn out that we need it.
             preferredColumnSize++;
-            if (visibleColumns < tableModel.getColumnCount()) {
+            if (visibleColumns < columnCount) {
                 preferredRowSize++;
             }
         }
@@ -362,6 +331,29 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         return cachedSize;
     }
 
+    private int measureRow(Table<V> table, TableDataProvider<V> dataProvider, int rowIndex, boolean updateColumnSizes) {
+        TableCellRenderer<V> tableCellRenderer = table.getTableCellRenderer();
+        int rowSize = 0;
+        for(int columnIndex = 0; columnIndex < preferredColumnSizes.size(); columnIndex++) {
+            V cell = dataProvider.getCell(columnIndex, rowIndex);
+            Dimension cellSize = tableCellRenderer.getPreferredSize(table, cell, columnIndex, rowIndex);
+            if(updateColumnSizes && preferredColumnSizes.get(columnIndex) < cellSize.getColumns()) {
+                preferredColumnSizes.set(columnIndex, cellSize.getColumns());
+            }
+            rowSize = Math.max(rowSize, cellSize.getRows());
+        }
+        preferredRowSizes.put(rowIndex, rowSize);
+        return rowSize;
+    }
+
+    private int getRowSize(Table<V> table, int rowIndex) {
+        Integer rowSize = preferredRowSizes.get(rowIndex);
+        if(rowSize == null) {
+            return measureRow(table, table.getDataProvider(), rowIndex, false);
+        }
+        return rowSize;
+    }
+
     @Override
     public Point getCursorLocation(Table<V> component) {
         return null;
@@ -393,33 +385,33 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         if(viewTopRow > selectedRow) {
             viewTopRow = selectedRow;
         }
-        if (viewTopRow >= table.getTableModel().getRowCount()) {
-            viewTopRow = Math.max(0, table.getTableModel().getRowCount() - 1);
+        if (viewTopRow >= table.getDataProvider().getRowCount()) {
+            viewTopRow = Math.max(0, table.getDataProvider().getRowCount() - 1);
         }
 
         Dimension areaWithoutScrollBars = area.withRelativeRows(-headerSizeIncludingBorder);
         int preferredVisibleRows = table.getVisibleRows();
         if(preferredVisibleRows == 0) {
-            preferredVisibleRows = table.getTableModel().getRowCount();
+            preferredVisibleRows = table.getDataProvider().getRowCount();
         }
         int preferredVisibleColumns = table.getVisibleColumns();
         if(preferredVisibleColumns == 0) {
-            preferredVisibleColumns = table.getTableModel().getColumnCount();
+            preferredVisibleColumns = table.getDataProvider().getColumnCount();
         }
 
-        int visibleRows = calculateVisibleRows(areaWithoutScrollBars, viewTopRow, preferredVisibleRows);
-        boolean needVerticalScrollBar = !scrollBarsHidden && visibleRows < table.getTableModel().getRowCount();
+        int visibleRows = calculateVisibleRows(table, areaWithoutScrollBars, viewTopRow, preferredVisibleRows);
+        boolean needVerticalScrollBar = !scrollBarsHidden && visibleRows < table.getDataProvider().getRowCount();
         if(needVerticalScrollBar) {
             areaWithoutScrollBars = areaWithoutScrollBars.withRelativeColumns(-verticalScrollBar.getPreferredSize().getColumns());
         }
         int visibleColumns = calculateVisibleColumns(areaWithoutScrollBars, viewLeftColumn, preferredVisibleColumns);
-        boolean needHorizontalScrollBar = !scrollBarsHidden && visibleColumns < table.getTableModel().getColumnCount();
+        boolean needHorizontalScrollBar = !scrollBarsHidden && visibleColumns < table.getDataProvider().getColumnCount();
         if(needHorizontalScrollBar) {
             areaWithoutScrollBars = areaWithoutScrollBars.withRelativeRows(-horizontalScrollBar.getPreferredSize().getRows());
 
             // As we have now a horizontal scrollbar, we need to re-evaluate how many rows are visible
-            visibleRows = calculateVisibleRows(areaWithoutScrollBars, viewTopRow, preferredVisibleRows);
-            if(!needVerticalScrollBar && visibleRows < table.getTableModel().getRowCount()) {
+            visibleRows = calculateVisibleRows(table, areaWithoutScrollBars, viewTopRow, preferredVisibleRows);
+            if(!needVerticalScrollBar && visibleRows < table.getDataProvider().getRowCount()) {
                 // Previously we didn't need a scrollbar but now we do because the horizontal scrollbar took one row
                 needVerticalScrollBar = true;
                 areaWithoutScrollBars = areaWithoutScrollBars.withRelativeColumns(-verticalScrollBar.getPreferredSize().getColumns());
@@ -436,7 +428,7 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         }
         while(viewTopRow <= selectedRow - visibleRows) {
             viewTopRow = Math.max(0, selectedRow - visibleRows + 1);
-            visibleRows = calculateVisibleRows(areaWithoutScrollBars, viewTopRow, preferredVisibleRows);
+            visibleRows = calculateVisibleRows(table, areaWithoutScrollBars, viewTopRow, preferredVisibleRows);
         }
 
         int renderColumns;
@@ -463,15 +455,16 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         visibleRowsOnLastDraw = visibleRows;
     }
 
-    private int calculateVisibleRows(Dimension area, int viewTopRow, int preferredVisibleRows) {
+    private int calculateVisibleRows(Table<V> table, Dimension area, int viewTopRow, int preferredVisibleRows) {
         int remainingVerticalSpace = area.getRows();
         int visibleRows = 0;
         int borderAdjustment = cellVerticalBorderStyle.getSize();
-        for (int row = viewTopRow; row < preferredRowSizes.size(); row++) {
+        int rowCount = table.getDataProvider().getRowCount();
+        for (int row = viewTopRow; row < rowCount; row++) {
             if (preferredVisibleRows == visibleRows) {
                 break;
             }
-            int rowSize = preferredRowSizes.get(row) + borderAdjustment;
+            int rowSize = getRowSize(table, row) + borderAdjustment;
             if (remainingVerticalSpace < rowSize) {
                 break;
             }
@@ -503,8 +496,7 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         List<Integer> columnSizes = new ArrayList<>(preferredColumnSizes);
         int horizontalSpaceRequirement = 0;
         int viewLeftColumn = table.getRenderer().getViewLeftColumn();
-        List<String> headers = table.getTableModel().getColumnLabels();
-        int endColumnIndex = Math.min(headers.size(), viewLeftColumn + visibleColumns);
+        int endColumnIndex = Math.min(table.getDataProvider().getColumnCount(), viewLeftColumn + visibleColumns);
         List<Integer> visibleExpandableColumns = new ArrayList<>();
         for(int index = viewLeftColumn; index < endColumnIndex; index++) {
             horizontalSpaceRequirement += preferredColumnSizes.get(index);
@@ -531,16 +523,16 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
     private void drawHeader(TextUiGraphics graphics, Table<V> table, List<Integer> columnSizes) {
         Theme theme = table.getTheme();
         TableHeaderRenderer<V> tableHeaderRenderer = table.getTableHeaderRenderer();
-        List<String> headers = table.getTableModel().getColumnLabels();
+        TableDataProvider<V> dataProvider = table.getDataProvider();
         int viewLeftColumn = table.getRenderer().getViewLeftColumn();
         int visibleColumns = table.getVisibleColumns();
         if(visibleColumns == 0) {
-            visibleColumns = table.getTableModel().getColumnCount();
+            visibleColumns = dataProvider.getColumnCount();
         }
         int leftPosition = 0;
-        int endColumnIndex = Math.min(headers.size(), viewLeftColumn + visibleColumns);
+        int endColumnIndex = Math.min(dataProvider.getColumnCount(), viewLeftColumn + visibleColumns);
         for(int index = viewLeftColumn; index < endColumnIndex; index++) {
-            String label = headers.get(index);
+            String label = dataProvider.getColumnLabel(index);
             Dimension size = new Dimension(columnSizes.get(index), headerSizeInRows);
             tableHeaderRenderer.drawHeader(table, label, index, graphics.newTextGraphics(new Point(leftPosition, 0), size));
             leftPosition += size.getColumns();
@@ -590,8 +582,9 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         ThemeDefinition themeDefinition = theme.getDefinition(Table.class);
         Dimension area = graphics.getSize();
         TableCellRenderer<V> tableCellRenderer = table.getTableCellRenderer();
-        TableModel<V> tableModel = table.getTableModel();
-        List<List<V>> rows = tableModel.getRows();
+        TableDataProvider<V> dataProvider = table.getDataProvider();
+        int rowCount = dataProvider.getRowCount();
+        int columnCount = dataProvider.getColumnCount();
         int viewTopRow = table.getRenderer().getViewTopRow();
         int viewLeftColumn = table.getRenderer().getViewLeftColumn();
 
@@ -604,7 +597,7 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
             }
             verticalScrollBar.setPosition(new Point(graphics.getSize().getColumns() - verticalScrollBarPreferredSize.getColumns(), 0));
             verticalScrollBar.setSize(verticalScrollBarPreferredSize.withRows(scrollBarHeight));
-            verticalScrollBar.setScrollMaximum(rows.size());
+            verticalScrollBar.setScrollMaximum(rowCount);
             verticalScrollBar.setViewSize(visibleRows);
             verticalScrollBar.setScrollPosition(viewTopRow);
 
@@ -629,7 +622,7 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
             int scrollBarWidth = graphics.getSize().getColumns();
             horizontalScrollBar.setPosition(new Point(0, graphics.getSize().getRows() - horizontalScrollBarPreferredSize.getRows()));
             horizontalScrollBar.setSize(horizontalScrollBarPreferredSize.withColumns(scrollBarWidth));
-            horizontalScrollBar.setScrollMaximum(tableModel.getColumnCount());
+            horizontalScrollBar.setScrollMaximum(columnCount);
             horizontalScrollBar.setViewSize(visibleColumns);
             horizontalScrollBar.setScrollPosition(viewLeftColumn);
 
@@ -651,10 +644,10 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
         }
 
         int topPosition = 0;
-        for(int rowIndex = viewTopRow; rowIndex < Math.min(viewTopRow + visibleRows, rows.size()); rowIndex++) {
+        for(int rowIndex = viewTopRow; rowIndex < Math.min(viewTopRow + visibleRows, rowCount); rowIndex++) {
             int leftPosition = 0;
-            List<V> row = rows.get(rowIndex);
-            for(int columnIndex = viewLeftColumn; columnIndex < Math.min(viewLeftColumn + renderColumns, row.size()); columnIndex++) {
+            int rowSize = getRowSize(table, rowIndex);
+            for(int columnIndex = viewLeftColumn; columnIndex < Math.min(viewLeftColumn + renderColumns, columnCount); columnIndex++) {
                 if(columnIndex > viewLeftColumn) {
                     if(table.getSelectedRow() == rowIndex && !table.isCellSelection()) {
                         if(table.isFocused()) {
@@ -670,13 +663,13 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
                     graphics.setCharacter(leftPosition, topPosition, getVerticalCharacter(cellHorizontalBorderStyle));
                     leftPosition++;
                 }
-                V cell = row.get(columnIndex);
+                V cell = dataProvider.getCell(columnIndex, rowIndex);
                 Point cellPoint = new Point(leftPosition, topPosition);
-                Dimension cellArea = new Dimension(columnSizes.get(columnIndex), preferredRowSizes.get(rowIndex));
+                Dimension cellArea = new Dimension(columnSizes.get(columnIndex), rowSize);
                 tableCellRenderer.drawCell(table, cell, columnIndex, rowIndex, graphics.newTextGraphics(cellPoint, cellArea));
                 leftPosition += cellArea.getColumns();
 
-                if(columnIndex < row.size() - 1) {
+                if(columnIndex < columnCount - 1) {
                     if (table.getSelectedRow() == rowIndex && !table.isCellSelection()) {
                         if (table.isFocused()) {
                             graphics.applyThemeStyle(themeDefinition.getActive());
@@ -693,11 +686,11 @@ public class DefaultTableRenderer<V> implements TableRenderer<V> {
                     break;
                 }
             }
-            topPosition += preferredRowSizes.get(rowIndex);
+            topPosition += rowSize;
             if(cellVerticalBorderStyle != TableCellBorderStyle.None) {
                 leftPosition = 0;
                 graphics.applyThemeStyle(themeDefinition.getNormal());
-                for(int i = viewLeftColumn; i < Math.min(viewLeftColumn + renderColumns + 1, row.size()); i++) {
+                for(int i = viewLeftColumn; i < Math.min(viewLeftColumn + renderColumns + 1, columnCount); i++) {
                     if(i > viewLeftColumn) {
                         graphics.setCharacter(
                                 leftPosition,
@@ -26,8 +26,6 @@ import com.googlecode.lanterna.input.KeyType;
 import com.googlecode.lanterna.input.MouseAction;
 import com.googlecode.lanterna.input.MouseActionType;
 
-import java.util.List;
-
 /**
  * The table class is an interactable component that displays a grid of cells containing data along with a header of
  * labels. It supports scrolling when the number of rows and/or columns gets too large to fit and also supports
@@ -39,7 +37,8 @@ import java.util.List;
  */
 public class Table<V> extends AbstractInteractableComponent<Table<V>> {
     private TableModel<V> tableModel;
-    private final TableModel.Listener<V> tableModelListener;  // Used to invalidate the table whenever the model changes
+    private TableDataProvider<V> dataProvider;
+    private final TableDataProvider.DataListener dataListener;  // Used to invalidate the table whenever the data changes
     private TableHeaderRenderer<V> tableHeaderRenderer;
     private TableCellRenderer<V> tableCellRenderer;
     private ClickListener clickListener;
@@ -67,46 +66,45 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
         this.tableHeaderRenderer = new DefaultTableHeaderRenderer<>();
         this.tableCellRenderer = new DefaultTableCellRenderer<>();
         this.tableModel = new TableModel<>(columnLabels);
+        this.dataProvider = tableModel;
         this.escapeByArrowKey = true;
-        this.tableModelListener = new TableModel.Listener<V>() {
+        this.dataListener = new TableDataProvider.DataListener() {
             @Override
-            public void onCellChanged(TableModel<V> model, int row, int column, V oldValue, V newValue) {
+            public void onRowsAdded(TableDataProvider<?> provider, int fromIndex, int count) {
+                if (fromIndex <= selectedRow) {
+                    selectedRow = Math.min(provider.getRowCount() - 1, selectedRow + count);
+                }
                 invalidate();
             }
 
             @Override
-            public void onColumnAdded(TableModel<V> model, int index) {
+            public void onRowsRemoved(TableDataProvider<?> provider, int fromIndex, int count) {
+                if (fromIndex + count <= selectedRow) {
+                    selectedRow = Math.max(0, selectedRow - count);
+                } else {
+                    // We may have deleted the selected row
+                    if (fromIndex < selectedRow) {
+                        selectedRow = fromIndex;
+                    }
+                    int rowCount = provider.getRowCount();
+                    if (selectedRow > rowCount - 1) {
+                        selectedRow = Math.max(0, rowCount - 1);
+                    }
+                }
                 invalidate();
             }
 
             @Override
-            public void onColumnRemoved(TableModel<V> model, int index, String oldHeader, List<V> oldColumn) {
+            public void onRowsChanged(TableDataProvider<?> provider, int fromIndex, int count) {
                 invalidate();
             }
 
             @Override
-            public void onRowAdded(TableModel<V> model, int index) {
-                if (index <= selectedRow) {
-                    selectedRow = Math.min(model.getRowCount() - 1, selectedRow + 1);
-                }
-                invalidate();
-            }
-
-            @Override
-            public void onRowRemoved(TableModel<V> model, int index, List<V> oldRow) {
-                if (index < selectedRow) {
-                    selectedRow = Math.max(0, selectedRow - 1);
-                } else {
-                    // We may have deleted the selected row
-                    int rowCount = model.getRowCount();
-                    if (selectedRow > rowCount - 1) {
-                        selectedRow = Math.max(0, rowCount - 1);
-                    }
-                }
+            public void onColumnsChanged(TableDataProvider<?> provider) {
                 invalidate();
             }
         };
-        this.tableModel.addListener(tableModelListener);
+        this.dataProvider.addDataListener(dataListener);
     }
 
     @Override
@@ -122,14 +120,14 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
      * @return row of a table that was clicked on with {@link MouseAction}
      */
     protected int getColumnByMouseAction(MouseAction mouseAction) {
-        int maxColumnIndex = tableModel.getColumnCount() - 1;
+        int maxColumnIndex = dataProvider.getColumnCount() - 1;
         int column = 0;
-        int columnSize = tableHeaderRenderer.getPreferredSize(this, tableModel.getColumnLabel(column), column).getColumns();
+        int columnSize = tableHeaderRenderer.getPreferredSize(this, dataProvider.getColumnLabel(column), column).getColumns();
         int globalColumnMoused = mouseAction.getPosition().getColumn() - getGlobalPosition().getColumn();
         while (globalColumnMoused - columnSize - 1 >= 0 && column < maxColumnIndex) {
             globalColumnMoused -= columnSize;
             column++;
-            columnSize = tableHeaderRenderer.getPreferredSize(this, tableModel.getColumnLabel(column), column).getColumns();
+            columnSize = tableHeaderRenderer.getPreferredSize(this, dataProvider.getColumnLabel(column), column).getColumns();
         }
         return column;
     }
@@ -150,7 +148,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
      */
     public int getLastViewedRowIndex() {
         int visibleRows = getRenderer().getVisibleRowsOnLastDraw();
-        return Math.min(getRenderer().getViewTopRow() + visibleRows - 1, tableModel.getRowCount() - 1);
+        return Math.min(getRenderer().getViewTopRow() + visibleRows - 1, dataProvider.getRowCount() - 1);
     }
 
     @Override
@@ -192,6 +190,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
         if (cellSelection) {
             this.selectedColumn = selectedColumn;
         }
+        invalidate();
         return this;
     }
 
@@ -214,13 +213,14 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
         if (selectedRow < 0) {
             throw new IllegalArgumentException("selectedRow must be >= 0 but was " + selectedRow);
         }
-        int rowCount = tableModel.getRowCount();
+        int rowCount = dataProvider.getRowCount();
         if (rowCount == 0) {
             selectedRow = 0;
         } else if (selectedRow > rowCount - 1) {
             selectedRow = rowCount - 1;
         }
         this.selectedRow = selectedRow;
+        invalidate();
         return this;
     }
 
@@ -269,7 +269,8 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
     /**
      * Returns the underlying table model
      *
-     * @return Underlying table model
+     * @return Underlying table model, or {@code null} if the table is showing a {@link TableDataProvider} that isn't a
+     * {@link TableModel}
      */
     public TableModel<V> getTableModel() {
         return tableModel;
@@ -285,9 +286,35 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
         if (tableModel == null) {
             throw new IllegalArgumentException("Cannot assign a null TableModel");
         }
-        this.tableModel.removeListener(tableModelListener);
-        this.tableModel = tableModel;
-        this.tableModel.addListener(tableModelListener);
+        return setDataProvider(tableModel);
+    }
+
+    /**
+     * Returns the provider the table is reading its rows from. Unless {@link #setDataProvider(TableDataProvider)} has
+     * been called with something else, this is the table model.
+     *
+     * @return Provider of the table data
+     */
+    public TableDataProvider<V> getDataProvider() {
+        return dataProvider;
+    }
+
+    /**
+     * Makes the table read its content from a {@link TableDataProvider}. The table only asks the provider for the rows
+     * it is about to draw (and a limited sample of rows when sizing the columns), so this is the way to show data sets
+     * that are too large to copy into a {@link TableModel}.
+     *
+     * @param dataProvider Provider to read the table data from
+     * @return Itself
+     */
+    public synchronized Table<V> setDataProvider(TableDataProvider<V> dataProvider) {
+        if (dataProvider == null) {
+            throw new IllegalArgumentException("Cannot assign a null TableDataProvider");
+        }
+        this.dataProvider.removeDataListener(dataListener);
+        this.dataProvider = dataProvider;
+        this.tableModel = dataProvider instanceof TableModel ? (TableModel<V>) dataProvider : null;
+        this.dataProvider.addDataListener(dataListener);
         invalidate();
         return this;
     }
@@ -316,6 +343,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
     @Deprecated
     public synchronized Table<V> setViewLeftColumn(int viewLeftColumn) {
         getRenderer().setViewLeftColumn(viewLeftColumn);
+        invalidate();
         return this;
     }
 
@@ -342,6 +370,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
     @Deprecated
     public synchronized Table<V> setViewTopRow(int viewTopRow) {
         getRenderer().setViewTopRow(viewTopRow);
+        invalidate();
         return this;
     }
 
@@ -398,7 +427,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
                 }
                 break;
             case ArrowDown:
-                if (selectedRow < tableModel.getRowCount() - 1) {
+                if (selectedRow < dataProvider.getRowCount() - 1) {
                     selectedRow++;
                 } else if (escapeByArrowKey) {
                     return KeyStrokeResult.MOVE_FOCUS_DOWN;
@@ -410,8 +439,8 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
                 }
                 break;
             case PageDown:
-                if (getRenderer().getVisibleRowsOnLastDraw() > 0 && selectedRow < tableModel.getRowCount() - 1) {
-                    int toEndDistance = tableModel.getRowCount() - 1 - selectedRow;
+                if (getRenderer().getVisibleRowsOnLastDraw() > 0 && selectedRow < dataProvider.getRowCount() - 1) {
+                    int toEndDistance = dataProvider.getRowCount() - 1 - selectedRow;
                     selectedRow += Math.min(getRenderer().getVisibleRowsOnLastDraw() - 1, toEndDistance);
                 }
                 break;
@@ -419,7 +448,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
                 selectedRow = 0;
                 break;
             case End:
-                selectedRow = tableModel.getRowCount() - 1;
+                selectedRow = dataProvider.getRowCount() - 1;
                 break;
             case ArrowLeft:
                 if (cellSelection && selectedColumn > 0) {
@@ -429,7 +458,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
                 }
                 break;
             case ArrowRight:
-                if (cellSelection && selectedColumn < tableModel.getColumnCount() - 1) {
+                if (cellSelection && selectedColumn < dataProvider.getColumnCount() - 1) {
                     selectedColumn++;
                 } else if (escapeByArrowKey) {
                     return KeyStrokeResult.MOVE_FOCUS_RIGHT;
@@ -497,6 +526,7 @@ public class Table<V> extends AbstractInteractableComponent<Table<V>> {
         } else if (!cellSelection) {
             selectedColumn = -1;
         }
+        invalidate();
         return this;
     }
 
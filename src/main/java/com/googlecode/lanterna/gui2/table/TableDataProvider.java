@@ -0,0 +1,109 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2.table;
+
+/**
+ * Source of the data presented by a {@link Table}. The table only asks for the cells it is about to measure or draw, so
+ * an implementation is free to load or compute rows on demand and serve tables far larger than what would be practical
+ * to keep in a {@link TableModel}, which is the plain in-memory implementation of this interface.
+ * <p>
+ * {@link #getCell(int, int)} is called from the GUI thread for every visible cell whenever the table is redrawn, so
+ * a provider backed by a database or a file should keep the rows around the visible area ready rather than fetching
+ * them cell by cell.
+ *
+ * @param <V> Type of data in the table cells
+ */
+public interface TableDataProvider<V> {
+
+    /**
+     * Listener that is notified when the data served by a {@link TableDataProvider} changes. Rows are identified by
+     * index ranges; a provider that reloads a thousand consecutive rows sends one {@code onRowsChanged} covering them
+     * rather than one per row.
+     */
+    interface DataListener {
+        /**
+         * Called when rows have been inserted
+         * @param provider Provider the rows were added to
+         * @param fromIndex Index of the first new row
+         * @param count Number of rows that were added
+         */
+        void onRowsAdded(TableDataProvider<?> provider, int fromIndex, int count);
+
+        /**
+         * Called when rows have been removed
+         * @param provider Provider the rows were removed from
+         * @param fromIndex Index the first removed row had
+         * @param count Number of rows that were removed
+         */
+        void onRowsRemoved(TableDataProvider<?> provider, int fromIndex, int count);
+
+        /**
+         * Called when the content of existing rows has changed
+         * @param provider Provider that was modified
+         * @param fromIndex Index of the first modified row
+         * @param count Number of consecutive rows that may have been modified
+         */
+        void onRowsChanged(TableDataProvider<?> provider, int fromIndex, int count);
+
+        /**
+         * Called when columns have been added, removed or relabeled
+         * @param provider Provider that was modified
+         */
+        void onColumnsChanged(TableDataProvider<?> provider);
+    }
+
+    /**
+     * Returns the number of rows
+     * @return Number of rows
+     */
+    int getRowCount();
+
+    /**
+     * Returns the number of columns
+     * @return Number of columns
+     */
+    int getColumnCount();
+
+    /**
+     * Returns the label of a column header
+     * @param columnIndex Index of the column
+     * @return Label of the column
+     */
+    String getColumnLabel(int columnIndex);
+
+    /**
+     * Returns the value of a single cell
+     * @param columnIndex Column index of the cell
+     * @param rowIndex Row index of the cell
+     * @return Value stored in the cell
+     */
+    V getCell(int columnIndex, int rowIndex);
+
+    /**
+     * Adds a listener that will be notified whenever the data changes
+     * @param listener Listener to register
+     */
+    void addDataListener(DataListener listener);
+
+    /**
+     * Removes a listener previously added through {@link #addDataListener(DataListener)}
+     * @param listener Listener to deregister
+     */
+    void removeDataListener(DataListener listener);
+}
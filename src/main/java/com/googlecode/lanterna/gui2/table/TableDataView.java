@@ -0,0 +1,472 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A sorted and/or filtered view on top of another {@link TableDataProvider}, usually a {@link TableModel}. The view
+ * doesn't copy any data, it keeps an index mapping from its own rows to the rows of the source. Sorting and filtering
+ * runs as a background task which produces a new mapping; until that is ready the view keeps showing the previous
+ * order. The new mapping is then handed over to the {@code resultExecutor}, which is expected to run it on the GUI
+ * thread, for example by passing in {@code textGUI.getGUIThread()::invokeLater}, so the table never sees the order
+ * change in the middle of a draw.
+ * <p>
+ * Changes to the source are reflected in the view right away (new rows are shown at the end, removed rows disappear)
+ * and then trigger a new background sort of the updated data.
+ * <p>
+ * If the filter or the comparator throws an exception, the view stays on the previous result and the exception is
+ * rethrown through the {@code resultExecutor}.
+ * <p>
+ * The view never calls into the source or its own listeners while holding its own lock, since the source will be
+ * holding its lock when it notifies the view about changes.
+ *
+ * @param <V> Type of data in the table cells
+ */
+public class TableDataView<V> implements TableDataProvider<V> {
+
+    /**
+     * Decides which rows of the source are included in a {@link TableDataView}. This is called from the background
+     * thread doing the filtering.
+     * @param <V> Type of data in the table cells
+     */
+    public interface RowFilter<V> {
+        /**
+         * Called for each row of the source to find out whether it should be part of the view
+         * @param source Provider the view is built on top of
+         * @param rowIndex Index of the row in the source
+         * @return {@code true} if the row should be shown
+         */
+        boolean include(TableDataProvider<V> source, int rowIndex);
+    }
+
+    private static class WorkerHolder {
+        private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LanternaTableDataView");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final TableDataProvider<V> source;
+    private final Executor resultExecutor;
+    private final Executor backgroundExecutor;
+    private final List<DataListener> listeners;
+
+    private int sortColumn;
+    private Comparator<? super V> sortComparator;
+    private RowFilter<V> filter;
+    private int[] viewToModel;  // null means every row of the source, in the source order
+    private int generation;
+    private boolean updating;
+
+    /**
+     * Creates a new view that sorts and filters on a shared background thread
+     * @param source Provider to build the view on top of
+     * @param resultExecutor Executor that applies a finished sort or filter, normally the GUI thread's
+     *                       {@code invokeLater}
+     */
+    public TableDataView(TableDataProvider<V> source, Executor resultExecutor) {
+        this(source, resultExecutor, WorkerHolder.WORKER);
+    }
+
+    /**
+     * Creates a new view
+     * @param source Provider to build the view on top of
+     * @param resultExecutor Executor that applies a finished sort or filter, normally the GUI thread's
+     *                       {@code invokeLater}
+     * @param backgroundExecutor Executor to run the sorting and filtering on
+     */
+    public TableDataView(TableDataProvider<V> source, Executor resultExecutor, Executor backgroundExecutor) {
+        this.source = source;
+        this.resultExecutor = resultExecutor;
+        this.backgroundExecutor = backgroundExecutor;
+        this.listeners = new ArrayList<>();
+        this.sortColumn = -1;
+        this.sortComparator = null;
+        this.filter = null;
+        this.viewToModel = null;
+        this.generation = 0;
+        this.updating = false;
+        source.addDataListener(new SourceListener());
+    }
+
+    /**
+     * Returns the provider this view is built on top of
+     * @return Source of the view
+     */
+    public TableDataProvider<V> getSource() {
+        return source;
+    }
+
+    /**
+     * Sorts the view on the values of a column. The new order is calculated in the background and shown once ready.
+     * @param columnIndex Index of the column to sort on
+     * @param comparator Comparator for the values of the column, or {@code null} to go back to the source order
+     * @return Itself
+     */
+    public TableDataView<V> setSortColumn(int columnIndex, Comparator<? super V> comparator) {
+        Runnable update;
+        synchronized(this) {
+            this.sortColumn = comparator != null ? columnIndex : -1;
+            this.sortComparator = comparator;
+            update = prepareUpdate();
+        }
+        update.run();
+        return this;
+    }
+
+    /**
+     * Returns the index of the column the view is sorted on
+     * @return Index of the sort column, or -1 if the view isn't sorted
+     */
+    public synchronized int getSortColumn() {
+        return sortColumn;
+    }
+
+    /**
+     * Limits the view to the rows accepted by a filter. The filtered rows are calculated in the background and shown
+     * once ready.
+     * @param filter Filter to apply, or {@code null} to show all rows
+     * @return Itself
+     */
+    public TableDataView<V> setFilter(RowFilter<V> filter) {
+        Runnable update;
+        synchronized(this) {
+            this.filter = filter;
+            update = prepareUpdate();
+        }
+        update.run();
+        return this;
+    }
+
+    /**
+     * Returns {@code true} while a sort or filter is being calculated and the view is still showing the previous result
+     * @return {@code true} if an update of the view is pending
+     */
+    public synchronized boolean isUpdating() {
+        return updating;
+    }
+
+    /**
+     * Translates a row index of this view to the index of the same row in the source
+     * @param viewRowIndex Index of the row in this view
+     * @return Index of the row in the source
+     */
+    public synchronized int convertRowIndexToModel(int viewRowIndex) {
+        if(viewToModel == null) {
+            return viewRowIndex;
+        }
+        return viewToModel[viewRowIndex];
+    }
+
+    @Override
+    public int getRowCount() {
+        int[] mapping;
+        synchronized(this) {
+            mapping = viewToModel;
+        }
+        return mapping == null ? source.getRowCount() : mapping.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return source.getColumnCount();
+    }
+
+    @Override
+    public String getColumnLabel(int columnIndex) {
+        return source.getColumnLabel(columnIndex);
+    }
+
+    @Override
+    public V getCell(int columnIndex, int rowIndex) {
+        return source.getCell(columnIndex, convertRowIndexToModel(rowIndex));
+    }
+
+    @Override
+    public synchronized void addDataListener(DataListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public synchronized void removeDataListener(DataListener listener) {
+        listeners.remove(listener);
+    }
+
+    private boolean isSortedOrFiltered() {
+        return sortComparator != null || filter != null;
+    }
+
+    private synchronized boolean isCurrent(int requestGeneration) {
+        return generation == requestGeneration;
+    }
+
+    /**
+     * Starts a new generation of the view, must be called while holding the lock. The returned task hands the update
+     * to the executors and must be run after the lock has been released, since the executors may run it right away.
+     */
+    private Runnable prepareUpdate() {
+        final int requestGeneration = ++generation;
+        updating = true;
+        if(!isSortedOrFiltered()) {
+            return () -> resultExecutor.execute(() -> apply(requestGeneration, null));
+        }
+        final int column = sortColumn;
+        final Comparator<? super V> comparator = sortComparator;
+        final RowFilter<V> filter = this.filter;
+        return () -> backgroundExecutor.execute(() -> {
+            int[] permutation;
+            try {
+                permutation = calculatePermutation(requestGeneration, column, comparator, filter);
+            }
+            catch(RuntimeException e) {
+                // The source may have changed while we were reading it, in which case a new update is already queued.
+                // Otherwise the filter or comparator failed; report it where it will be seen instead of losing it on
+                // the background thread
+                if(isCurrent(requestGeneration)) {
+                    resultExecutor.execute(() -> fail(requestGeneration, e));
+                }
+                return;
+            }
+            if(permutation != null) {
+                resultExecutor.execute(() -> apply(requestGeneration, permutation));
+            }
+        });
+    }
+
+    private int[] calculatePermutation(int requestGeneration, int column, Comparator<? super V> comparator, RowFilter<V> filter) {
+        int rowCount = source.getRowCount();
+        int[] included = new int[rowCount];
+        int includedCount = 0;
+        for(int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            if((rowIndex & 0x3ff) == 0 && !isCurrent(requestGeneration)) {
+                return null;
+            }
+            if(filter == null || filter.include(source, rowIndex)) {
+                included[includedCount++] = rowIndex;
+            }
+        }
+        if(comparator == null) {
+            return Arrays.copyOf(included, includedCount);
+        }
+
+        List<V> keys = new ArrayList<>(includedCount);
+        Integer[] order = new Integer[includedCount];
+        for(int i = 0; i < includedCount; i++) {
+            keys.add(source.getCell(column, included[i]));
+            order[i] = i;
+        }
+        if(!isCurrent(requestGeneration)) {
+            return null;
+        }
+        Arrays.sort(order, (a, b) -> comparator.compare(keys.get(a), keys.get(b)));
+        int[] permutation = new int[includedCount];
+        for(int i = 0; i < includedCount; i++) {
+            permutation[i] = included[order[i]];
+        }
+        return permutation;
+    }
+
+    /**
+     * Gives up on an update whose sort or filter threw, the view stays on the previous result and the exception is
+     * rethrown on the thread of the result executor, where the GUI thread's exception handler gets to see it
+     */
+    private void fail(int requestGeneration, RuntimeException e) {
+        synchronized(this) {
+            if(generation != requestGeneration) {
+                return;
+            }
+            updating = false;
+        }
+        throw e;
+    }
+
+    private void apply(int requestGeneration, int[] permutation) {
+        int[] oldMapping;
+        List<DataListener> listenersCopy;
+        synchronized(this) {
+            if(generation != requestGeneration) {
+                return;
+            }
+            oldMapping = viewToModel;
+            viewToModel = permutation;
+            updating = false;
+            listenersCopy = new ArrayList<>(listeners);
+        }
+        int sourceRowCount = oldMapping == null || permutation == null ? source.getRowCount() : 0;
+        int oldRowCount = oldMapping == null ? sourceRowCount : oldMapping.length;
+        int newRowCount = permutation == null ? sourceRowCount : permutation.length;
+        for(DataListener listener: listenersCopy) {
+            if(newRowCount < oldRowCount) {
+                listener.onRowsRemoved(this, newRowCount, oldRowCount - newRowCount);
+            }
+            else if(newRowCount > oldRowCount) {
+                listener.onRowsAdded(this, oldRowCount, newRowCount - oldRowCount);
+            }
+            if(newRowCount > 0) {
+                listener.onRowsChanged(this, 0, newRowCount);
+            }
+        }
+    }
+
+    private class SourceListener implements DataListener {
+        // The source calls these while holding its own lock, so the view's lock is only held to update the mapping and
+        // is released again before notifying the view's listeners or scheduling a new sort
+
+        @Override
+        public void onRowsAdded(TableDataProvider<?> provider, int fromIndex, int count) {
+            int viewIndex = fromIndex;
+            List<DataListener> listenersCopy;
+            Runnable update = null;
+            synchronized(TableDataView.this) {
+                if(viewToModel != null) {
+                    // Shift the existing mapping and show the new rows at the end until the view has been updated
+                    int oldLength = viewToModel.length;
+                    int[] newMapping = Arrays.copyOf(viewToModel, oldLength + count);
+                    for(int i = 0; i < oldLength; i++) {
+                        if(newMapping[i] >= fromIndex) {
+                            newMapping[i] += count;
+                        }
+                    }
+                    for(int i = 0; i < count; i++) {
+                        newMapping[oldLength + i] = fromIndex + i;
+                    }
+                    viewToModel = newMapping;
+                    viewIndex = oldLength;
+                }
+                listenersCopy = new ArrayList<>(listeners);
+                if(isSortedOrFiltered()) {
+                    update = prepareUpdate();
+                }
+            }
+            for(DataListener listener: listenersCopy) {
+                listener.onRowsAdded(TableDataView.this, viewIndex, count);
+            }
+            if(update != null) {
+                update.run();
+            }
+        }
+
+        @Override
+        public void onRowsRemoved(TableDataProvider<?> provider, int fromIndex, int count) {
+            int[] removedViewIndexes = null;
+            int removedCount = 0;
+            List<DataListener> listenersCopy;
+            Runnable update = null;
+            synchronized(TableDataView.this) {
+                if(viewToModel != null) {
+                    int[] newMapping = new int[viewToModel.length];
+                    removedViewIndexes = new int[viewToModel.length];
+                    int newLength = 0;
+                    for(int i = 0; i < viewToModel.length; i++) {
+                        int modelIndex = viewToModel[i];
+                        if(modelIndex < fromIndex) {
+                            newMapping[newLength++] = modelIndex;
+                        }
+                        else if(modelIndex >= fromIndex + count) {
+                            newMapping[newLength++] = modelIndex - count;
+                        }
+                        else {
+                            removedViewIndexes[removedCount++] = i;
+                        }
+                    }
+                    viewToModel = Arrays.copyOf(newMapping, newLength);
+                }
+                listenersCopy = new ArrayList<>(listeners);
+                if(isSortedOrFiltered()) {
+                    update = prepareUpdate();
+                }
+            }
+            if(removedViewIndexes == null) {
+                for(DataListener listener: listenersCopy) {
+                    listener.onRowsRemoved(TableDataView.this, fromIndex, count);
+                }
+            }
+            else if(removedCount > 0) {
+                int firstRemoved = removedViewIndexes[0];
+                int spanLength = removedViewIndexes[removedCount - 1] - firstRemoved + 1;
+                for(DataListener listener: listenersCopy) {
+                    listener.onRowsRemoved(TableDataView.this, firstRemoved, spanLength);
+                }
+                if(spanLength > removedCount) {
+                    // The removed rows are spread out in the view; rather than one event per row, the rows in between
+                    // are reported as removed along with them and added back
+                    for(DataListener listener: listenersCopy) {
+                        listener.onRowsAdded(TableDataView.this, firstRemoved, spanLength - removedCount);
+                    }
+                }
+            }
+            if(update != null) {
+                update.run();
+            }
+        }
+
+        @Override
+        public void onRowsChanged(TableDataProvider<?> provider, int fromIndex, int count) {
+            int viewFromIndex = fromIndex;
+            int viewCount = count;
+            List<DataListener> listenersCopy;
+            Runnable update = null;
+            synchronized(TableDataView.this) {
+                if(viewToModel != null) {
+                    // We don't keep a reverse mapping, so we can't tell where the rows are in the view
+                    viewFromIndex = 0;
+                    viewCount = viewToModel.length;
+                }
+                listenersCopy = new ArrayList<>(listeners);
+                if(isSortedOrFiltered()) {
+                    update = prepareUpdate();
+                }
+            }
+            if(viewCount > 0) {
+                for(DataListener listener: listenersCopy) {
+                    listener.onRowsChanged(TableDataView.this, viewFromIndex, viewCount);
+                }
+            }
+            if(update != null) {
+                update.run();
+            }
+        }
+
+        @Override
+        public void onColumnsChanged(TableDataProvider<?> provider) {
+            List<DataListener> listenersCopy;
+            Runnable update = null;
+            synchronized(TableDataView.this) {
+                listenersCopy = new ArrayList<>(listeners);
+                if(isSortedOrFiltered()) {
+                    update = prepareUpdate();
+                }
+            }
+            for(DataListener listener: listenersCopy) {
+                listener.onColumnsChanged(TableDataView.this);
+            }
+            if(update != null) {
+                update.run();
+            }
+        }
+    }
+}
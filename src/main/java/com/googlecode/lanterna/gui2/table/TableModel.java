@@ -19,14 +19,15 @@
 package com.googlecode.lanterna.gui2.table;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A {@code TableModel} contains the data model behind a table, here is where all the action cell values and header
- * labels are stored.
+ * labels are stored. This is the in-memory implementation of {@link TableDataProvider}.
  *
  * @author Martin
  */
-public class TableModel<V> {
+public class TableModel<V> implements TableDataProvider<V> {
 
     /**
      * Listener interface for the {@link TableModel} class which can be attached to a {@link TableModel} to be notified
@@ -72,11 +73,99 @@ public class TableModel<V> {
          * @param newValue New value of the cell
          */
         void onCellChanged(TableModel<V> model, int row, int column, V oldValue, V newValue);
+
+        /**
+         * Called when a range of rows has been added to the model in one operation. The default implementation calls
+         * {@link #onRowAdded(TableModel, int)} for each new row.
+         * @param model Model the rows were added to
+         * @param fromIndex Index of the first new row
+         * @param count Number of rows that were added
+         */
+        default void onRowsAdded(TableModel<V> model, int fromIndex, int count) {
+            for(int i = 0; i < count; i++) {
+                onRowAdded(model, fromIndex + i);
+            }
+        }
+
+        /**
+         * Called when a range of rows has been removed from the model in one operation. The default implementation
+         * calls {@link #onRowRemoved(TableModel, int, List)} for each removed row, as if they had been removed one by
+         * one from {@code fromIndex}.
+         * @param model Model the rows were removed from
+         * @param fromIndex Index the first removed row had
+         * @param oldRows Content of the rows that were removed
+         */
+        default void onRowsRemoved(TableModel<V> model, int fromIndex, List<List<V>> oldRows) {
+            for(List<V> oldRow: oldRows) {
+                onRowRemoved(model, fromIndex, oldRow);
+            }
+        }
+    }
+
+    /**
+     * Change notification held back while a {@link #batchUpdate(Runnable)} is running, so that it can be merged with the
+     * following ones
+     */
+    private static class PendingEvent {
+        private enum Type { ROWS_ADDED, ROWS_REMOVED, ROWS_CHANGED, COLUMNS_CHANGED }
+
+        private final Type type;
+        private int fromIndex;
+        private int count;
+
+        private PendingEvent(Type type, int fromIndex, int count) {
+            this.type = type;
+            this.fromIndex = fromIndex;
+            this.count = count;
+        }
+
+        /**
+         * Tries to fold the next event into this one
+         * @return {@code true} if the event was merged, {@code false} if it has to be kept as a separate event
+         */
+        private boolean merge(Type nextType, int nextFromIndex, int nextCount) {
+            if(nextType != type) {
+                return false;
+            }
+            switch(type) {
+                case ROWS_ADDED:
+                    // Rows inserted inside or right after a block of new rows just make the block bigger
+                    if(nextFromIndex >= fromIndex && nextFromIndex <= fromIndex + count) {
+                        count += nextCount;
+                        return true;
+                    }
+                    return false;
+                case ROWS_REMOVED:
+                    if(nextFromIndex == fromIndex) {
+                        count += nextCount;
+                        return true;
+                    }
+                    else if(nextFromIndex + nextCount == fromIndex) {
+                        fromIndex = nextFromIndex;
+                        count += nextCount;
+                        return true;
+                    }
+                    return false;
+                case ROWS_CHANGED:
+                    if(nextFromIndex <= fromIndex + count && nextFromIndex + nextCount >= fromIndex) {
+                        int endIndex = Math.max(fromIndex + count, nextFromIndex + nextCount);
+                        fromIndex = Math.min(fromIndex, nextFromIndex);
+                        count = endIndex - fromIndex;
+                        return true;
+                    }
+                    return false;
+                default:
+                    return true;
+            }
+        }
     }
 
     private final List<String> columns;
     private final List<List<V>> rows;
     private final List<Listener<V>> listeners;
+    private final List<DataListener> dataListeners;
+    private final List<PendingEvent> pendingEvents;
+    private int batchDepth;
 
     /**
      * Default constructor, creates a new model with same number of columns as labels supplied
@@ -86,12 +175,16 @@ public class TableModel<V> {
         this.columns = new ArrayList<>(Arrays.asList(columnLabels));
         this.rows = new ArrayList<>();
         this.listeners = new ArrayList<>();
+        this.dataListeners = new CopyOnWriteArrayList<>();
+        this.pendingEvents = new ArrayList<>();
+        this.batchDepth = 0;
     }
 
     /**
      * Returns the number of columns in the model
      * @return Number of columns in the model
      */
+    @Override
     public synchronized int getColumnCount() {
         return columns.size();
     }
@@ -100,6 +193,7 @@ public class TableModel<V> {
      * Returns number of rows in the model
      * @return Number of rows in the model
      */
+    @Override
     public synchronized int getRowCount() {
         return rows.size();
     }
@@ -167,6 +261,7 @@ public class TableModel<V> {
         for(Listener<V> listener: listeners) {
             listener.onRowAdded(this, index);
         }
+        fireDataEvent(PendingEvent.Type.ROWS_ADDED, index, 1);
         return this;
     }
 
@@ -180,25 +275,109 @@ public class TableModel<V> {
         for(Listener<V> listener: listeners) {
             listener.onRowRemoved(this, index, removedRow);
         }
+        fireDataEvent(PendingEvent.Type.ROWS_REMOVED, index, 1);
         return this;
     }
 
     /**
-     * Removes all rows from the table, this will trigger listeners for each row
+     * Adds a number of rows to the end of the table model. Listeners are notified once for the whole range.
+     * @param newRows Data for the new rows, each mapped column by column in order
      * @return Itself
      */
-    public synchronized TableModel<V> clear() {
-        while (rows.size() > 0) {
-            removeRow(0);
+    public synchronized TableModel<V> addRows(Collection<? extends Collection<V>> newRows) {
+        return insertRows(getRowCount(), newRows);
+    }
+
+    /**
+     * Inserts a number of rows into the table model at a particular index. Listeners are notified once for the whole
+     * range.
+     * @param index Index the first new row should have
+     * @param newRows Data for the new rows, each mapped column by column in order
+     * @return Itself
+     */
+    public synchronized TableModel<V> insertRows(int index, Collection<? extends Collection<V>> newRows) {
+        if(newRows.isEmpty()) {
+            return this;
+        }
+        List<List<V>> lists = new ArrayList<>(newRows.size());
+        for(Collection<V> values: newRows) {
+            lists.add(new ArrayList<>(values));
+        }
+        rows.addAll(index, lists);
+        for(Listener<V> listener: listeners) {
+            listener.onRowsAdded(this, index, lists.size());
+        }
+        fireDataEvent(PendingEvent.Type.ROWS_ADDED, index, lists.size());
+        return this;
+    }
+
+    /**
+     * Removes a range of rows from the table model. Listeners are notified once for the whole range.
+     * @param fromIndex Index of the first row to remove
+     * @param count Number of rows to remove
+     * @return Itself
+     */
+    public synchronized TableModel<V> removeRows(int fromIndex, int count) {
+        if(count == 0) {
+            return this;
+        }
+        List<List<V>> range = rows.subList(fromIndex, fromIndex + count);
+        List<List<V>> removedRows = new ArrayList<>(range);
+        range.clear();
+        for(Listener<V> listener: listeners) {
+            listener.onRowsRemoved(this, fromIndex, removedRows);
+        }
+        fireDataEvent(PendingEvent.Type.ROWS_REMOVED, fromIndex, count);
+        return this;
+    }
+
+    /**
+     * Replaces all rows of the table model with new content. Listeners of the model see this as all the old rows being
+     * removed and the new ones added, while a table showing the model keeps its selection where possible.
+     * @param newRows Data for the new rows, each mapped column by column in order
+     * @return Itself
+     */
+    public synchronized TableModel<V> replaceAll(Collection<? extends Collection<V>> newRows) {
+        List<List<V>> oldRows = new ArrayList<>(rows);
+        rows.clear();
+        for(Collection<V> values: newRows) {
+            rows.add(new ArrayList<>(values));
+        }
+        for(Listener<V> listener: listeners) {
+            if(!oldRows.isEmpty()) {
+                listener.onRowsRemoved(this, 0, oldRows);
+            }
+            if(!rows.isEmpty()) {
+                listener.onRowsAdded(this, 0, rows.size());
+            }
+        }
+        int keptRows = Math.min(oldRows.size(), rows.size());
+        if(oldRows.size() > rows.size()) {
+            fireDataEvent(PendingEvent.Type.ROWS_REMOVED, keptRows, oldRows.size() - keptRows);
+        }
+        else if(rows.size() > oldRows.size()) {
+            fireDataEvent(PendingEvent.Type.ROWS_ADDED, keptRows, rows.size() - keptRows);
+        }
+        if(keptRows > 0) {
+            fireDataEvent(PendingEvent.Type.ROWS_CHANGED, 0, keptRows);
         }
         return this;
     }
 
+    /**
+     * Removes all rows from the table
+     * @return Itself
+     */
+    public synchronized TableModel<V> clear() {
+        return removeRows(0, rows.size());
+    }
+
     /**
      * Returns the label of a column header
      * @param index Index of the column to retrieve the header label for
      * @return Label of the column selected
      */
+    @Override
     public synchronized String getColumnLabel(int index) {
         return columns.get(index);
     }
@@ -211,6 +390,7 @@ public class TableModel<V> {
      */
     public synchronized TableModel<V> setColumnLabel(int index, String newLabel) {
         columns.set(index, newLabel);
+        fireDataEvent(PendingEvent.Type.COLUMNS_CHANGED, 0, 0);
         return this;
     }
 
@@ -256,6 +436,7 @@ public class TableModel<V> {
         for(Listener<V> listener: listeners) {
             listener.onColumnAdded(this, index);
         }
+        fireDataEvent(PendingEvent.Type.COLUMNS_CHANGED, 0, 0);
         return this;
     }
 
@@ -273,6 +454,7 @@ public class TableModel<V> {
         for(Listener<V> listener: listeners) {
             listener.onColumnRemoved(this, index, removedColumnHeader, removedColumn);
         }
+        fireDataEvent(PendingEvent.Type.COLUMNS_CHANGED, 0, 0);
         return this;
     }
 
@@ -282,6 +464,7 @@ public class TableModel<V> {
      * @param rowIndex Row index of the cell
      * @return The data value stored in this cell
      */
+    @Override
     public synchronized V getCell(int columnIndex, int rowIndex) {
         if(rowIndex < 0 || columnIndex < 0) {
             throw new IndexOutOfBoundsException("Invalid row or column index: " + rowIndex + " " + columnIndex);
@@ -319,6 +502,85 @@ public class TableModel<V> {
         for(Listener<V> listener: listeners) {
             listener.onCellChanged(this, rowIndex, columnIndex, existingValue, value);
         }
+        fireDataEvent(PendingEvent.Type.ROWS_CHANGED, rowIndex, 1);
+        return this;
+    }
+
+    /**
+     * Updates a rectangular block of cells. {@link Listener}s are notified for each cell that changed, listeners added
+     * through {@link #addDataListener(DataListener)} once for the range of rows.
+     * @param columnIndex Column index of the top-left cell of the block
+     * @param rowIndex Row index of the top-left cell of the block
+     * @param values New values, one list per row starting at {@code rowIndex}, each holding the values for the columns
+     *               starting at {@code columnIndex}
+     * @return Itself
+     * @throws IndexOutOfBoundsException If the block doesn't fit inside the table, in which case nothing is changed
+     */
+    public synchronized TableModel<V> setCells(int columnIndex, int rowIndex, List<? extends List<V>> values) {
+        int blockColumns = 0;
+        for(List<V> rowValues: values) {
+            blockColumns = Math.max(blockColumns, rowValues.size());
+        }
+        if(rowIndex < 0 || columnIndex < 0) {
+            throw new IndexOutOfBoundsException("Invalid row or column index: " + rowIndex + " " + columnIndex);
+        }
+        else if(rowIndex + values.size() > getRowCount()) {
+            throw new IndexOutOfBoundsException("TableModel has " + getRowCount() + " rows, invalid access at rows " +
+                    rowIndex + " to " + (rowIndex + values.size() - 1));
+        }
+        if(columnIndex + blockColumns > getColumnCount()) {
+            throw new IndexOutOfBoundsException("TableModel has " + getColumnCount() + " columns, invalid access at columns " +
+                    columnIndex + " to " + (columnIndex + blockColumns - 1));
+        }
+
+        boolean changed = false;
+        for(int i = 0; i < values.size(); i++) {
+            List<V> row = rows.get(rowIndex + i);
+            List<V> rowValues = values.get(i);
+            for(int j = 0; j < rowValues.size(); j++) {
+                int column = columnIndex + j;
+                V existingValue = row.get(column);
+                V value = rowValues.get(j);
+                if(existingValue == value) {
+                    continue;
+                }
+                row.set(column, value);
+                changed = true;
+                for(Listener<V> listener: listeners) {
+                    listener.onCellChanged(this, rowIndex + i, column, existingValue, value);
+                }
+            }
+        }
+        if(changed) {
+            fireDataEvent(PendingEvent.Type.ROWS_CHANGED, rowIndex, values.size());
+        }
+        return this;
+    }
+
+    /**
+     * Runs a number of modifications to the model as one batch. Listeners added through
+     * {@link #addDataListener(DataListener)} are notified when the batch is done, with consecutive changes merged into
+     * as few range events as possible; adding ten thousand rows one by one in a batch results in a single event. The
+     * model is locked for the duration of the batch. Batches can be nested, the events are sent when the outermost one
+     * completes.
+     * @param update Code that modifies the model
+     * @return Itself
+     */
+    public synchronized TableModel<V> batchUpdate(Runnable update) {
+        batchDepth++;
+        try {
+            update.run();
+        }
+        finally {
+            batchDepth--;
+            if(batchDepth == 0) {
+                List<PendingEvent> events = new ArrayList<>(pendingEvents);
+                pendingEvents.clear();
+                for(PendingEvent event: events) {
+                    deliverDataEvent(event.type, event.fromIndex, event.count);
+                }
+            }
+        }
         return this;
     }
 
@@ -341,4 +603,42 @@ public class TableModel<V> {
         listeners.remove(listener);
         return this;
     }
+
+    @Override
+    public void addDataListener(DataListener listener) {
+        dataListeners.add(listener);
+    }
+
+    @Override
+    public void removeDataListener(DataListener listener) {
+        dataListeners.remove(listener);
+    }
+
+    private void fireDataEvent(PendingEvent.Type type, int fromIndex, int count) {
+        if(batchDepth == 0) {
+            deliverDataEvent(type, fromIndex, count);
+        }
+        else if(pendingEvents.isEmpty() || !pendingEvents.get(pendingEvents.size() - 1).merge(type, fromIndex, count)) {
+            pendingEvents.add(new PendingEvent(type, fromIndex, count));
+        }
+    }
+
+    private void deliverDataEvent(PendingEvent.Type type, int fromIndex, int count) {
+        for(DataListener listener: dataListeners) {
+            switch(type) {
+                case ROWS_ADDED:
+                    listener.onRowsAdded(this, fromIndex, count);
+                    break;
+                case ROWS_REMOVED:
+                    listener.onRowsRemoved(this, fromIndex, count);
+                    break;
+                case ROWS_CHANGED:
+                    listener.onRowsChanged(this, fromIndex, count);
+                    break;
+                case COLUMNS_CHANGED:
+                    listener.onColumnsChanged(this);
+                    break;
+            }
+        }
+    }
 }
@@ -46,6 +46,7 @@ public class DefaultKeyDecodingProfile implements KeyDecodingProfile {
                     new BasicCharacterPattern(new KeyStroke(KeyType.F3), ESC_CODE, '[', '[', 'C'), //Linux
                     new BasicCharacterPattern(new KeyStroke(KeyType.F4), ESC_CODE, '[', '[', 'D'), //Linux
                     new BasicCharacterPattern(new KeyStroke(KeyType.F5), ESC_CODE, '[', '[', 'E'), //Linux
+                    new BasicCharacterPattern(PasteAction.START_MARKER, ESC_CODE, '[', '2', '0', '0', '~'), //Bracketed paste
 
                     new EscapeSequenceCharacterPattern(),
                     new NormalCharacterPattern(),
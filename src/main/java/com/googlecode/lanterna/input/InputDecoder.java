@@ -31,11 +31,16 @@ import java.util.*;
  * @author Martin, Andreas
  */
 public class InputDecoder {
+    private static final char[] PASTE_END = { 0x1b, '[', '2', '0', '1', '~' };
+    // Longer pastes are delivered as several PasteActions, so a paste never needs more than this much memory
+    private static final int MAX_PASTE_CHUNK_LENGTH = 64 * 1024;
+
     private final Reader source;
     private final List<CharacterPattern> bytePatterns;
     private final List<Character> currentMatching;
     private boolean seenEOF;
     private int timeoutUnits;
+    private StringBuilder pastedText;   // not null while inside a bracketed paste
 
     /**
      * Creates a new input decoder using a specified Reader as the source to read characters from
@@ -47,6 +52,7 @@ public class InputDecoder {
         this.currentMatching = new ArrayList<>();
         this.seenEOF = false;
         this.timeoutUnits = 0; // default is no wait at all
+        this.pastedText = null;
     }
 
     /**
@@ -113,6 +119,9 @@ public class InputDecoder {
      * @throws IOException If there was an I/O error when reading from the input stream
      */
     public synchronized KeyStroke getNextCharacter(boolean blockingIO) throws IOException {
+        if(pastedText != null) {
+            return readPastedText(blockingIO);
+        }
 
         KeyStroke bestMatch = null;
         int bestLen = 0;
@@ -210,9 +219,103 @@ public class InputDecoder {
 
         List<Character> bestSub = currentMatching.subList(0, bestLen );
         bestSub.clear(); // remove matched characters from input
+        if(bestMatch == PasteAction.START_MARKER) {
+            pastedText = new StringBuilder();
+            return readPastedText(blockingIO);
+        }
         return bestMatch;
     }
 
+    /**
+     * Reads the text of a bracketed paste as plain text, without matching it against any patterns. Whatever has arrived
+     * is handed over when no more input is ready, or when it reaches {@code MAX_PASTE_CHUNK_LENGTH}, and the rest of the
+     * paste is read on the following calls until the end marker arrives. A paste that is cut off therefore never holds
+     * up the input or grows without bounds.
+     */
+    private KeyStroke readPastedText(boolean blockingIO) throws IOException {
+        while(true) {
+            if(endsWith(pastedText, PASTE_END)) {
+                pastedText.setLength(pastedText.length() - PASTE_END.length);
+                return finishPaste();
+            }
+            int pending = pendingPasteTail(pastedText);
+            if(pastedText.length() - pending >= MAX_PASTE_CHUNK_LENGTH) {
+                return takePasteChunk(pending);
+            }
+            int readChar;
+            if(!currentMatching.isEmpty()) {
+                readChar = currentMatching.remove(0);
+            }
+            else if(source.ready() || (blockingIO && pastedText.length() == pending)) {
+                readChar = source.read();
+                if(readChar == -1) {
+                    seenEOF = true;
+                    return finishPaste();
+                }
+            }
+            else {
+                // Nothing more has arrived yet, hand over what we have and pick up the rest on the next call
+                return takePasteChunk(pending);
+            }
+            pastedText.append((char)readChar);
+        }
+    }
+
+    private KeyStroke finishPaste() {
+        String text = pastedText.toString();
+        pastedText = null;
+        return newPasteAction(text);
+    }
+
+    private KeyStroke takePasteChunk(int pending) {
+        int length = pastedText.length() - pending;
+        if(length == 0) {
+            return null;
+        }
+        String text = pastedText.substring(0, length);
+        pastedText.delete(0, length);
+        return newPasteAction(text);
+    }
+
+    private static PasteAction newPasteAction(String text) {
+        // Terminals usually send the line breaks of pasted text as \r
+        return new PasteAction(text.replace("\r\n", "\n").replace('\r', '\n'));
+    }
+
+    /**
+     * Returns how many characters at the end of the pasted text have to be held back when handing over a part of the
+     * paste: the start of what could be the end marker, and a \r that could be followed by \n
+     */
+    private static int pendingPasteTail(StringBuilder text) {
+        int pending = 0;
+        for(int length = Math.min(PASTE_END.length - 1, text.length()); length > 0 && pending == 0; length--) {
+            pending = length;
+            for(int i = 0; i < length; i++) {
+                if(text.charAt(text.length() - length + i) != PASTE_END[i]) {
+                    pending = 0;
+                    break;
+                }
+            }
+        }
+        if(text.length() > pending && text.charAt(text.length() - pending - 1) == '\r') {
+            pending++;
+        }
+        return pending;
+    }
+
+    private static boolean endsWith(StringBuilder text, char[] suffix) {
+        int offset = text.length() - suffix.length;
+        if(offset < 0) {
+            return false;
+        }
+        for(int i = 0; i < suffix.length; i++) {
+            if(text.charAt(offset + i) != suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Matching getBestMatch(List<Character> characterSequence) {
         boolean partialMatch = false;
         KeyStroke bestMatch = null;
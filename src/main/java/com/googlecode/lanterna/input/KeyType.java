@@ -83,6 +83,11 @@ public enum KeyType {
      * event capturing must first be enabled and many terminals don't suppose this extension at all.
      */
     MouseEvent,
+    /**
+     * Text pasted into the terminal while bracketed paste mode was enabled, delivered as a single {@link PasteAction}
+     * holding all of the text instead of one key stroke per character.
+     */
+    Paste,
     /**
      * This value is returned when you try to read input and the input stream has been closed.
      */
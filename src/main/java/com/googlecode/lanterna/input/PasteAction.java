@@ -0,0 +1,57 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.input;
+
+/**
+ * PasteAction, a KeyStroke in disguise, this class contains a block of text pasted into the terminal. Terminals only
+ * mark up pasted text this way when bracketed paste mode has been enabled, see
+ * {@link com.googlecode.lanterna.terminal.ExtendedTerminal#setBracketedPasteMode(boolean)}; otherwise the text arrives
+ * as ordinary key strokes, one per character.
+ */
+public class PasteAction extends KeyStroke {
+    /**
+     * Matched by the key decoding profile when a paste begins; the {@link InputDecoder} then reads the pasted text and
+     * returns a proper {@code PasteAction} with it, so this one is never handed out.
+     */
+    static final PasteAction START_MARKER = new PasteAction("");
+
+    private final String text;
+
+    /**
+     * Constructs a PasteAction holding a block of pasted text
+     * @param text Text that was pasted, with line breaks normalized to \n
+     */
+    public PasteAction(String text) {
+        super(KeyType.Paste, false, false);
+        this.text = text;
+    }
+
+    /**
+     * Returns the text that was pasted. Line breaks are always \n, whatever the terminal sent.
+     * @return Pasted text
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "PasteAction{length=" + text.length() + '}';
+    }
+}
@@ -97,4 +97,18 @@ public interface ExtendedTerminal extends Terminal, Scrollable {
      * @throws IOException If the was an underlying I/O error
      */
     void setMouseCaptureMode(MouseCaptureMode mouseCaptureMode) throws IOException;
+
+    /**
+     * Enables or disables bracketed paste mode. When enabled, the terminal emulator marks the start and the end of text
+     * pasted into it so that the whole paste is read as a single {@link com.googlecode.lanterna.input.PasteAction}
+     * rather than one key stroke per character, and line breaks in it can't be mistaken for the Enter key. Like mouse
+     * capture mode, this only takes effect while in private mode and is disabled again when private mode is exited.
+     * Terminals that don't support bracketed paste simply keep sending the text as key strokes, and the default
+     * implementation of this method does nothing.
+     *
+     * @param enabled {@code true} to enable bracketed paste mode, {@code false} to disable it
+     * @throws IOException If the was an underlying I/O error
+     */
+    default void setBracketedPasteMode(boolean enabled) throws IOException {
+    }
 }
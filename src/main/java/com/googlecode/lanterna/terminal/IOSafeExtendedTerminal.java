@@ -53,6 +53,9 @@ public interface IOSafeExtendedTerminal extends IOSafeTerminal,ExtendedTerminal
     @Override
     void setMouseCaptureMode(MouseCaptureMode mouseCaptureMode);
 
+    @Override
+    void setBracketedPasteMode(boolean enabled);
+
     @Override
     void scrollLines(int firstLine, int lastLine, int distance);
 }
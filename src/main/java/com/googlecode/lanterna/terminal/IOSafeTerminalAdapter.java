@@ -445,6 +445,16 @@ public class IOSafeTerminalAdapter implements IOSafeTerminal {
             }
         }
 
+        @Override
+        public void setBracketedPasteMode(boolean enabled) {
+            try {
+                backend.setBracketedPasteMode(enabled);
+            }
+            catch(IOException e) {
+                exceptionHandler.onException(e);
+            }
+        }
+
         @Override
         public void scrollLines(int firstLine, int lastLine, int distance) {
             try {
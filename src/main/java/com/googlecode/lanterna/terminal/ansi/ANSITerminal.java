@@ -43,6 +43,7 @@ public abstract class ANSITerminal extends StreamBasedTerminal implements Extend
 
     private MouseCaptureMode requestedMouseCaptureMode;
     private MouseCaptureMode mouseCaptureMode;
+    private boolean bracketedPasteMode;
     private boolean inPrivateMode;
 
     @SuppressWarnings("WeakerAccess")
@@ -55,6 +56,7 @@ public abstract class ANSITerminal extends StreamBasedTerminal implements Extend
         this.inPrivateMode = false;
         this.requestedMouseCaptureMode = null;
         this.mouseCaptureMode = null;
+        this.bracketedPasteMode = false;
         getInputDecoder().addProfile(getDefaultKeyDecodingProfile());
     }
 
@@ -224,6 +226,9 @@ public abstract class ANSITerminal extends StreamBasedTerminal implements Extend
             this.mouseCaptureMode = requestedMouseCaptureMode;
             updateMouseCaptureMode(this.mouseCaptureMode, 'h');
         }
+        if (bracketedPasteMode) {
+            updateBracketedPasteMode('h');
+        }
         flush();
         inPrivateMode = true;
     }
@@ -240,6 +245,9 @@ public abstract class ANSITerminal extends StreamBasedTerminal implements Extend
             updateMouseCaptureMode(this.mouseCaptureMode, 'l');
             this.mouseCaptureMode = null;
         }
+        if (bracketedPasteMode) {
+            updateBracketedPasteMode('l');
+        }
         flush();
         inPrivateMode = false;
     }
@@ -356,6 +364,10 @@ public abstract class ANSITerminal extends StreamBasedTerminal implements Extend
         writeCSISequenceToTerminal((byte)'9', (byte)';', (byte)'0', (byte)'t');
     }
 
+    private void updateBracketedPasteMode(char l_or_h) throws IOException {
+        writeCSISequenceToTerminal((byte)'?', (byte)'2', (byte)'0', (byte)'0', (byte)'4', (byte)l_or_h);
+    }
+
     private void updateMouseCaptureMode(MouseCaptureMode mouseCaptureMode, char l_or_h) throws IOException {
         if (mouseCaptureMode == null) { return; }
 
@@ -388,6 +400,15 @@ public abstract class ANSITerminal extends StreamBasedTerminal implements Extend
         }
     }
 
+    @Override
+    public void setBracketedPasteMode(boolean enabled) throws IOException {
+        if (inPrivateMode && enabled != bracketedPasteMode) {
+            updateBracketedPasteMode(enabled ? 'h' : 'l');
+            flush();
+        }
+        bracketedPasteMode = enabled;
+    }
+
     @Override
     public void scrollLines(int firstLine, int lastLine, int distance) throws IOException {
         final String CSI = "\033[";
@@ -205,6 +205,23 @@ public class AWTTerminal extends Panel implements IOSafeTerminal {
         return terminalImplementation.getDeviceConfiguration();
     }
 
+    /**
+     * Returns how many frames this terminal has rendered in response to being flushed. Flushes are merged so that the
+     * terminal renders at most one frame per {@link TerminalEmulatorDeviceConfiguration#getFrameIntervalInMilliSeconds()}.
+     * @return Number of frames rendered
+     */
+    public long getRenderedFrameCount() {
+        return terminalImplementation.getRenderedFrameCount();
+    }
+
+    /**
+     * Returns how many flushes were merged into an already scheduled frame instead of being rendered on their own
+     * @return Number of frames dropped by coalescing flushes
+     */
+    public long getDroppedFrameCount() {
+        return terminalImplementation.getDroppedFrameCount();
+    }
+
     /**
      * Overridden method from AWT's {@code Component} class that returns the preferred size of the terminal (in pixels)
      * @return The terminal's preferred size in pixels
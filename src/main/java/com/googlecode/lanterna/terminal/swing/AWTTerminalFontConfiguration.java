@@ -33,7 +33,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class encapsulates the font information used by an {@link AWTTerminal}. By customizing this class, you can
@@ -126,7 +128,11 @@ public class AWTTerminalFontConfiguration {
     }
 
     private static int getHPIAdjustedFontSize(int baseFontSize) {
-        if (Toolkit.getDefaultToolkit().getScreenResolution() >= 110) {
+        if (GraphicsEnvironment.isHeadless()) {
+            // There is no screen to adjust for (and querying it would throw HeadlessException)
+            return baseFontSize;
+        }
+        else if (Toolkit.getDefaultToolkit().getScreenResolution() >= 110) {
             // Rely on DPI if it is a high value.
             return Toolkit.getDefaultToolkit().getScreenResolution() / (baseFontSize/2) + 1;
         } else {
@@ -220,7 +226,18 @@ public class AWTTerminalFontConfiguration {
         return new AWTTerminalFontConfiguration(true, BoldMode.EVERYTHING_BUT_SYMBOLS, fontsInOrderOfPriority);
     }
 
+    // Box drawing and block elements, which are used heavily when drawing text GUIs
+    private static final char BOX_DRAWING_FIRST = '\u2500';
+    private static final char BOX_DRAWING_LAST = '\u259F';
+
     private final List<Font> fontPriority;
+    // For each font in the priority list, the font itself followed by its bold, italic and bold-italic derivations,
+    // indexed by the Font.BOLD/Font.ITALIC style bits
+    private final Font[][] styledFonts;
+    // Resolved fallback font index per character, eagerly computed for the common ranges and lazily for the rest
+    private final int[] asciiFontIndex;
+    private final int[] boxDrawingFontIndex;
+    private final Map<String, Integer> fontIndexCache;
     private final int fontWidth;
     private final int fontHeight;
     private final boolean useAntiAliasing;
@@ -256,37 +273,76 @@ public class AWTTerminalFontConfiguration {
                 fontPriority.set(i, font);
             }
         }
+
+        this.styledFonts = new Font[fontPriority.size()][];
+        for(int i = 0; i < fontPriority.size(); i++) {
+            Font font = fontPriority.get(i);
+            styledFonts[i] = new Font[] {
+                    font,
+                    font.deriveFont(Font.BOLD),
+                    font.deriveFont(Font.ITALIC),
+                    font.deriveFont(Font.BOLD | Font.ITALIC) };
+        }
+        this.asciiFontIndex = new int[128];
+        for(char c = 0; c < asciiFontIndex.length; c++) {
+            asciiFontIndex[c] = findFontIndex(String.valueOf(c));
+        }
+        this.boxDrawingFontIndex = new int[BOX_DRAWING_LAST - BOX_DRAWING_FIRST + 1];
+        for(char c = BOX_DRAWING_FIRST; c <= BOX_DRAWING_LAST; c++) {
+            boxDrawingFontIndex[c - BOX_DRAWING_FIRST] = findFontIndex(String.valueOf(c));
+        }
+        this.fontIndexCache = new ConcurrentHashMap<>();
     }
 
     /**
      * Given a certain character, return the font to use for drawing it. The method will go through all fonts passed in
      * to this {@link AWTTerminalFontConfiguration} in the order of priority specified and chose the first font which is
      * capable of drawing {@code character}. If no such font is found, the normal fonts is returned (and probably won't
-     * be able to draw the character).
+     * be able to draw the character). The font lookup is cached per character and the bold/italic variants are derived
+     * only once, so repeated calls for the same character always return the same {@link Font} instance.
      * @param character Character to find a font for
      * @return Font which the {@code character} should be drawn using
      */
     Font getFontForCharacter(TextCharacter character) {
-        Font normalFont = getFontForCharacter(character.getCharacterString());
-        if(boldMode == BoldMode.EVERYTHING || (boldMode == BoldMode.EVERYTHING_BUT_SYMBOLS && isNotASymbol(character.getCharacterString().charAt(0)))) {
-            if(character.isBold()) {
-                normalFont = normalFont.deriveFont(Font.BOLD);
+        String characterString = character.getCharacterString();
+        int style = Font.PLAIN;
+        if(character.isBold() &&
+                (boldMode == BoldMode.EVERYTHING ||
+                        (boldMode == BoldMode.EVERYTHING_BUT_SYMBOLS && isNotASymbol(characterString.charAt(0))))) {
+            style |= Font.BOLD;
+        }
+        if(character.isItalic()) {
+            style |= Font.ITALIC;
+        }
+        return styledFonts[getFontIndex(characterString)][style];
+    }
+
+    private int getFontIndex(String characterString) {
+        if(characterString.length() == 1) {
+            char c = characterString.charAt(0);
+            if(c < asciiFontIndex.length) {
+                return asciiFontIndex[c];
+            }
+            else if(c >= BOX_DRAWING_FIRST && c <= BOX_DRAWING_LAST) {
+                return boxDrawingFontIndex[c - BOX_DRAWING_FIRST];
             }
         }
-        if (character.isItalic() ) {
-            normalFont = normalFont.deriveFont(Font.ITALIC);
+        Integer fontIndex = fontIndexCache.get(characterString);
+        if(fontIndex == null) {
+            fontIndex = findFontIndex(characterString);
+            fontIndexCache.put(characterString, fontIndex);
         }
-        return normalFont;
+        return fontIndex;
     }
 
-    private Font getFontForCharacter(String string) {
-        for(Font font: fontPriority) {
-            if(font.canDisplayUpTo(string) == -1) {
-                return font;
+    private int findFontIndex(String string) {
+        for(int i = 0; i < fontPriority.size(); i++) {
+            if(fontPriority.get(i).canDisplayUpTo(string) == -1) {
+                return i;
             }
         }
         //No available font here, what to do...?
-        return fontPriority.get(0);
+        return 0;
     }
 
     /**
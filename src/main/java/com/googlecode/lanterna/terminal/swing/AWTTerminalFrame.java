@@ -147,6 +147,23 @@ public class AWTTerminalFrame extends Frame implements IOSafeTerminal {
         return awtTerminal.getDeviceConfiguration();
     }
 
+    /**
+     * Returns how many frames this terminal has rendered in response to being flushed. Flushes are merged so that the
+     * terminal renders at most one frame per {@link TerminalEmulatorDeviceConfiguration#getFrameIntervalInMilliSeconds()}.
+     * @return Number of frames rendered
+     */
+    public long getRenderedFrameCount() {
+        return awtTerminal.getRenderedFrameCount();
+    }
+
+    /**
+     * Returns how many flushes were merged into an already scheduled frame instead of being rendered on their own
+     * @return Number of frames dropped by coalescing flushes
+     */
+    public long getDroppedFrameCount() {
+        return awtTerminal.getDroppedFrameCount();
+    }
+
     /**
      * Returns the auto-close triggers used by the AWTTerminalFrame
      * @return Current auto-close trigger
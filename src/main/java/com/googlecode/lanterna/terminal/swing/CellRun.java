@@ -0,0 +1,167 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.terminal.swing;
+
+import com.googlecode.lanterna.TextCharacter;
+
+import java.awt.*;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
+
+/**
+ * A horizontal run of cells on the same row that are all drawn using the same font, colors and decorations, so that
+ * the whole run can be painted with one background fill and one text draw operation. Only single-width characters
+ * made up of one {@code char} are merged into longer runs, anything else (CJK, emoji, combining characters) is always
+ * drawn as a run of its own.
+ */
+class CellRun {
+    private final StringBuilder text;
+    private int row;
+    private int column;
+    private int cells;
+    private int length;
+    private boolean mergeable;
+    private Font font;
+    private Color foregroundColor;
+    private Color backgroundColor;
+    private boolean underlined;
+    private boolean crossedOut;
+    private boolean drawCursor;
+
+    CellRun() {
+        this.text = new StringBuilder();
+        reset();
+    }
+
+    void reset() {
+        text.setLength(0);
+        cells = 0;
+        length = 0;
+        font = null;
+        foregroundColor = null;
+        backgroundColor = null;
+    }
+
+    boolean isEmpty() {
+        return length == 0;
+    }
+
+    int getRow() {
+        return row;
+    }
+
+    int getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns the number of terminal columns covered by this run
+     * @return Number of terminal columns covered by this run
+     */
+    int getCells() {
+        return cells;
+    }
+
+    Color getForegroundColor() {
+        return foregroundColor;
+    }
+
+    boolean isDrawCursor() {
+        return drawCursor;
+    }
+
+    void start(int row, int column, TextCharacter character, Font font, Color foregroundColor, Color backgroundColor, boolean drawCursor) {
+        reset();
+        this.row = row;
+        this.column = column;
+        this.mergeable = isMergeable(character);
+        this.font = font;
+        this.foregroundColor = foregroundColor;
+        this.backgroundColor = backgroundColor;
+        this.underlined = character.isUnderlined();
+        this.crossedOut = character.isCrossedOut();
+        this.drawCursor = drawCursor;
+        append(character);
+    }
+
+    boolean canAppend(TextCharacter character, Font font, Color foregroundColor, Color backgroundColor, boolean drawCursor) {
+        return !isEmpty() &&
+                mergeable &&
+                !this.drawCursor &&
+                !drawCursor &&
+                isMergeable(character) &&
+                underlined == character.isUnderlined() &&
+                crossedOut == character.isCrossedOut() &&
+                this.foregroundColor.equals(foregroundColor) &&
+                this.backgroundColor.equals(backgroundColor) &&
+                this.font.equals(font);
+    }
+
+    void append(TextCharacter character) {
+        text.append(character.getCharacterString());
+        cells += character.isDoubleWidth() ? 2 : 1;
+        length++;
+    }
+
+    /**
+     * Paints the background, text and line decorations of this run. The clip of {@code g} is set to the area of the
+     * run.
+     * @param g Graphics to draw with
+     * @param fontWidth Width of one terminal column, in pixels
+     * @param fontHeight Height of one terminal row, in pixels
+     * @param verticalOffsetInPixels Number of pixels to shift the run upwards, used for scrolling
+     */
+    void draw(Graphics2D g, int fontWidth, int fontHeight, int verticalOffsetInPixels) {
+        int x = column * fontWidth;
+        int y = row * fontHeight - verticalOffsetInPixels;
+        int runWidth = cells * fontWidth;
+        g.setColor(backgroundColor);
+        g.setClip(x, y, runWidth, fontHeight);
+        g.fillRect(x, y, runWidth, fontHeight);
+
+        g.setColor(foregroundColor);
+        g.setFont(font);
+        FontMetrics fontMetrics = g.getFontMetrics();
+        int baseline = y + fontHeight - fontMetrics.getDescent() + 1;
+        if(length == 1) {
+            g.drawString(text.toString(), x, baseline);
+        }
+        else {
+            // Place every glyph on the character grid; the integer font width may differ slightly from the advance of
+            // the font so letting the font lay out the string would make long runs drift out of their cells
+            GlyphVector glyphVector = font.createGlyphVector(g.getFontRenderContext(), text.toString());
+            for(int i = 0; i < length; i++) {
+                glyphVector.setGlyphPosition(i, new Point2D.Float(i * fontWidth, 0));
+            }
+            g.drawGlyphVector(glyphVector, x, baseline);
+        }
+
+        if(crossedOut) {
+            int lineStartY = y + (fontHeight / 2);
+            g.drawLine(x, lineStartY, x + runWidth, lineStartY);
+        }
+        if(underlined) {
+            g.drawLine(x, baseline, x + runWidth, baseline);
+        }
+    }
+
+    private static boolean isMergeable(TextCharacter character) {
+        return !character.isDoubleWidth() && character.getCharacterString().length() == 1;
+    }
+}
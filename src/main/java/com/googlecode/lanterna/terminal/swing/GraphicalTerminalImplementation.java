@@ -42,8 +42,10 @@ import java.util.*;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is the class that does the heavy lifting for both {@link AWTTerminal} and {@link SwingTerminal}. It maintains
@@ -64,7 +66,7 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
 
     private boolean cursorIsVisible;
     private boolean enableInput;
-    private Timer blinkTimer;
+    private ScheduledFuture<?> blinkTask;
     private boolean hasBlinkingText;
     private boolean blinkOn;
     private boolean bellOn;
@@ -75,6 +77,13 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
     private int lastComponentWidth;
     private int lastComponentHeight;
 
+    // Flushes are merged into at most one back buffer update per frame interval, driven by the shared render clock
+    private final AtomicBoolean frameScheduled;
+    private final AtomicLong renderedFrames;
+    private final AtomicLong droppedFrames;
+    private long lastFrameTime;  // System.nanoTime() of the last frame
+    private boolean anyFrameRendered;
+
     // We use two different data structures to optimize drawing
     //  * A list of modified characters since the last draw (stored in VirtualTerminal)
     //  * A backbuffer with the graphics content
@@ -125,11 +134,15 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
         this.lastComponentWidth = 0;
         this.backbuffer = null;  // We don't know the dimensions yet
         this.copybuffer = null;
-        this.blinkTimer = null;
+        this.blinkTask = null;
         this.hasBlinkingText = false;   // Assume initial content doesn't have any blinking text
         this.blinkOn = true;
         this.needFullRedraw = false;
-
+        this.frameScheduled = new AtomicBoolean(false);
+        this.renderedFrames = new AtomicLong(0);
+        this.droppedFrames = new AtomicLong(0);
+        this.lastFrameTime = 0;
+        this.anyFrameRendered = false;
 
         virtualTerminal.setBacklogSize(deviceConfiguration.getLineBufferScrollbackSize());
     }
@@ -210,32 +223,87 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
      * Start the timer that triggers blinking
      */
     synchronized void startBlinkTimer() {
-        if(blinkTimer != null) {
+        if(blinkTask != null) {
             // Already on!
             return;
         }
-        blinkTimer = new Timer("LanternaTerminalBlinkTimer", true);
-        blinkTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
+        blinkTask = TerminalEmulatorRenderClock.scheduleAtFixedRate(() -> {
+            // An exception escaping from here would cancel the periodic task and the blinking would stop for good
+            try {
                 blinkOn = !blinkOn;
                 if(hasBlinkingText) {
                     repaint();
                 }
             }
-        }, deviceConfiguration.getBlinkLengthInMilliSeconds(), deviceConfiguration.getBlinkLengthInMilliSeconds());
+            catch(RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, deviceConfiguration.getBlinkLengthInMilliSeconds());
     }
 
     /**
      * Stops the timer the triggers blinking
      */
     synchronized void stopBlinkTimer() {
-        if(blinkTimer == null) {
+        if(blinkTask == null) {
             // Already off!
             return;
         }
-        blinkTimer.cancel();
-        blinkTimer = null;
+        blinkTask.cancel(false);
+        blinkTask = null;
+    }
+
+    /**
+     * Returns how many times the back buffer has been updated as a result of flushing the terminal
+     * @return Number of frames rendered
+     */
+    long getRenderedFrameCount() {
+        return renderedFrames.get();
+    }
+
+    /**
+     * Returns how many flushes didn't cause a back buffer update of their own because they were merged into a frame
+     * that was already scheduled. Frames requested by the bell effect are not counted.
+     * @return Number of frames dropped by coalescing
+     */
+    long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Schedules a back buffer update and repaint on the render clock. If a frame is already pending, this call is merged
+     * into it. Frames are spaced at least {@link TerminalEmulatorDeviceConfiguration#getFrameIntervalInMilliSeconds()}
+     * apart.
+     * @param fromFlush {@code true} if the frame was requested by flushing the terminal, only these are counted as
+     *                  dropped when merged
+     */
+    private void requestFrame(boolean fromFlush) {
+        if(!frameScheduled.compareAndSet(false, true)) {
+            if(fromFlush) {
+                droppedFrames.incrementAndGet();
+            }
+            return;
+        }
+        long delay = 0;
+        synchronized(this) {
+            if(anyFrameRendered) {
+                long sinceLastFrame = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastFrameTime);
+                delay = Math.max(0, deviceConfiguration.getFrameIntervalInMilliSeconds() - sinceLastFrame);
+            }
+        }
+        TerminalEmulatorRenderClock.schedule(this::renderFrame, delay);
+    }
+
+    private void renderFrame() {
+        synchronized(this) {
+            // Clear the flag first, so that a flush arriving while we are drawing will schedule another frame
+            frameScheduled.set(false);
+            lastFrameTime = System.nanoTime();
+            anyFrameRendered = true;
+            updateBackBuffer(scrollController.getScrollingOffset());
+            renderedFrames.incrementAndGet();
+        }
+        repaint();
     }
 
     ///////////
@@ -406,6 +474,9 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
             }
         }
 
+        // Consecutive dirty cells on the same row sharing font, colors and decorations are collected into a run which
+        // is then drawn using one background fill and one text draw operation
+        final CellRun cellRun = new CellRun();
         virtualTerminal.forEachLine(firstVisibleRowIndex, lastVisibleRowIndex, (rowNumber, bufferLine) -> {
             for(int column = 0; column < viewportSize.getColumns(); column++) {
                 TextCharacter textCharacter = bufferLine.getCharacterAt(column);
@@ -423,7 +494,6 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
                     foundBlinkingCharacters.set(true);
                 }
                 if(dirtyCellsLookupTable.isAllDirty() || dirtyCellsLookupTable.isDirty(rowNumber, column) || isBlinking) {
-                    int characterWidth = fontWidth * (textCharacter.isDoubleWidth() ? 2 : 1);
                     Color foregroundColor = deriveTrueForegroundColor(textCharacter, atCursorLocation);
                     Color backgroundColor = deriveTrueBackgroundColor(textCharacter, atCursorLocation);
                     //Always draw if the cursor isn't blinking
@@ -436,22 +506,23 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
                         backgroundColor = temp;
                     }
 
-                    drawCharacter(backbufferGraphics,
-                            textCharacter,
-                            column,
-                            rowNumber,
-                            foregroundColor,
-                            backgroundColor,
-                            fontWidth,
-                            fontHeight,
-                            characterWidth,
-                            scrollOffsetFromTopInPixels,
-                            drawCursor);
+                    Font font = getFontForCharacter(textCharacter);
+                    if(!cellRun.canAppend(textCharacter, font, foregroundColor, backgroundColor, drawCursor)) {
+                        drawCellRun(backbufferGraphics, cellRun, fontWidth, fontHeight, scrollOffsetFromTopInPixels);
+                        cellRun.start(rowNumber, column, textCharacter, font, foregroundColor, backgroundColor, drawCursor);
+                    }
+                    else {
+                        cellRun.append(textCharacter);
+                    }
+                }
+                else {
+                    drawCellRun(backbufferGraphics, cellRun, fontWidth, fontHeight, scrollOffsetFromTopInPixels);
                 }
                 if(textCharacter.isDoubleWidth()) {
                     column++; //Skip the trailing space after a CJK character
                 }
             }
+            drawCellRun(backbufferGraphics, cellRun, fontWidth, fontHeight, scrollOffsetFromTopInPixels);
         });
 
         backbufferGraphics.dispose();
@@ -518,60 +589,36 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
         }
     }
 
-    private void drawCharacter(
-            Graphics g,
-            TextCharacter character,
-            int columnIndex,
-            int rowIndex,
-            Color foregroundColor,
-            Color backgroundColor,
+    private void drawCellRun(
+            Graphics2D g,
+            CellRun cellRun,
             int fontWidth,
             int fontHeight,
-            int characterWidth,
-            int scrollingOffsetInPixels,
-            boolean drawCursor) {
-
-        int x = columnIndex * fontWidth;
-        int y = rowIndex * fontHeight - scrollingOffsetInPixels;
-        g.setColor(backgroundColor);
-        g.setClip(x, y, characterWidth, fontHeight);
-        g.fillRect(x, y, characterWidth, fontHeight);
-
-        g.setColor(foregroundColor);
-        Font font = getFontForCharacter(character);
-        g.setFont(font);
-        FontMetrics fontMetrics = g.getFontMetrics();
-        g.drawString(character.getCharacterString(), x, y + fontHeight - fontMetrics.getDescent() + 1);
-
-        if(character.isCrossedOut()) {
-            //noinspection UnnecessaryLocalVariable
-            int lineStartX = x;
-            int lineStartY = y + (fontHeight / 2);
-            int lineEndX = lineStartX + characterWidth;
-            g.drawLine(lineStartX, lineStartY, lineEndX, lineStartY);
-        }
-        if(character.isUnderlined()) {
-            //noinspection UnnecessaryLocalVariable
-            int lineStartX = x;
-            int lineStartY = y + fontHeight - fontMetrics.getDescent() + 1;
-            int lineEndX = lineStartX + characterWidth;
-            g.drawLine(lineStartX, lineStartY, lineEndX, lineStartY);
+            int scrollingOffsetInPixels) {
+
+        if(cellRun.isEmpty()) {
+            return;
         }
+        cellRun.draw(g, fontWidth, fontHeight, scrollingOffsetInPixels);
 
-        if(drawCursor) {
+        if(cellRun.isDrawCursor()) {
+            int x = cellRun.getColumn() * fontWidth;
+            int y = cellRun.getRow() * fontHeight - scrollingOffsetInPixels;
+            int runWidth = cellRun.getCells() * fontWidth;
             if(deviceConfiguration.getCursorColor() == null) {
-                g.setColor(foregroundColor);
+                g.setColor(cellRun.getForegroundColor());
             }
             else {
                 g.setColor(colorConfiguration.toAWTColor(deviceConfiguration.getCursorColor(), false, false));
             }
             if(deviceConfiguration.getCursorStyle() == TerminalEmulatorDeviceConfiguration.CursorStyle.UNDER_BAR) {
-                g.fillRect(x, y + fontHeight - 3, characterWidth, 2);
+                g.fillRect(x, y + fontHeight - 3, runWidth, 2);
             }
             else if(deviceConfiguration.getCursorStyle() == TerminalEmulatorDeviceConfiguration.CursorStyle.VERTICAL_BAR) {
                 g.fillRect(x, y + 1, 2, fontHeight - 2);
             }
         }
+        cellRun.reset();
     }
 
 
@@ -774,33 +821,26 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
         }
 
         // Flash the screen...
-        bellOn = true;
-        needFullRedraw = true;
-        updateBackBuffer(scrollController.getScrollingOffset());
-        repaint();
-        // Unify this with the blink timer and just do the whole timer logic ourselves?
-        new Thread("BellSilencer") {
-            @Override
-            public void run() {
-                try {
-                    Thread.sleep(100);
-                }
-                catch(InterruptedException ignore) {}
+        synchronized(this) {
+            bellOn = true;
+            needFullRedraw = true;
+        }
+        requestFrame(false);
+        TerminalEmulatorRenderClock.schedule(() -> {
+            synchronized(GraphicalTerminalImplementation.this) {
                 bellOn = false;
                 needFullRedraw = true;
-                updateBackBuffer(scrollController.getScrollingOffset());
-                repaint();
             }
-        }.start();
+            requestFrame(false);
+        }, 100);
 
         // ...and make a sound
         Toolkit.getDefaultToolkit().beep();
     }
 
     @Override
-    public synchronized void flush() {
-        updateBackBuffer(scrollController.getScrollingOffset());
-        repaint();
+    public void flush() {
+        requestFrame(true);
     }
 
     @Override
@@ -1055,8 +1095,12 @@ abstract class GraphicalTerminalImplementation implements IOSafeTerminal {
                 return;
             }
             BitSet tableRow = table.get(point.getRow() - firstRowIndex);
-            if(point.getColumn() < tableRow.size()) {
-                tableRow.set(point.getColumn());
+            // Characters drawn as part of a run may leave some ink in the neighbouring cells, so repaint the cells on
+            // both sides as well to make sure nothing from the old character is left behind
+            int fromColumn = Math.max(0, point.getColumn() - 1);
+            int toColumn = Math.min(tableRow.size(), point.getColumn() + 2);
+            if(fromColumn < toColumn) {
+                tableRow.set(fromColumn, toColumn);
             }
         }
 
@@ -139,6 +139,23 @@ public class SwingTerminalFrame extends JFrame implements IOSafeTerminal {
         return swingTerminal.getDeviceConfiguration();
     }
 
+    /**
+     * Returns how many frames this terminal has rendered in response to being flushed. Flushes are merged so that the
+     * terminal renders at most one frame per {@link TerminalEmulatorDeviceConfiguration#getFrameIntervalInMilliSeconds()}.
+     * @return Number of frames rendered
+     */
+    public long getRenderedFrameCount() {
+        return swingTerminal.getRenderedFrameCount();
+    }
+
+    /**
+     * Returns how many flushes were merged into an already scheduled frame instead of being rendered on their own
+     * @return Number of frames dropped by coalescing flushes
+     */
+    public long getDroppedFrameCount() {
+        return swingTerminal.getDroppedFrameCount();
+    }
+
     /**
      * Returns the auto-close triggers used by the SwingTerminalFrame
      * @return Current auto-close trigger
@@ -47,12 +47,30 @@ public class TerminalEmulatorColorConfiguration {
         return new TerminalEmulatorColorConfiguration(colorPalette, true);
     }
 
+    // Must be a power of two
+    private static final int RGB_COLOR_CACHE_SIZE = 1024;
+
     private final TerminalEmulatorPalette colorPalette;
     private final boolean useBrightColorsOnBold;
+    // Palette lookup for every ANSI color, foreground/background and normal/bright tone, see ansiColorIndex(..)
+    private final Color[] ansiColors;
+    // Direct-mapped cache of AWT colors for indexed and RGB colors, keyed on the 24-bit color value. Color is immutable
+    // so racing threads at worst create the same color twice.
+    private final Color[] rgbColorCache;
 
     private TerminalEmulatorColorConfiguration(TerminalEmulatorPalette colorPalette, boolean useBrightColorsOnBold) {
         this.colorPalette = colorPalette;
         this.useBrightColorsOnBold = useBrightColorsOnBold;
+        this.ansiColors = new Color[TextColor.ANSI.values().length * 4];
+        for(TextColor.ANSI ansi: TextColor.ANSI.values()) {
+            for(boolean isForeground: new boolean[] { false, true }) {
+                for(boolean useBrightTones: new boolean[] { false, true }) {
+                    ansiColors[ansiColorIndex(ansi, isForeground, useBrightTones)] =
+                            colorPalette.get(ansi, isForeground, useBrightTones);
+                }
+            }
+        }
+        this.rgbColorCache = new Color[RGB_COLOR_CACHE_SIZE];
     }
 
     /**
@@ -67,9 +85,31 @@ public class TerminalEmulatorColorConfiguration {
      */
     @Deprecated
     public Color toAWTColor(TextColor color, boolean isForeground, boolean inBoldContext) {
+        return resolveAWTColor(color, isForeground, inBoldContext);
+    }
+
+    /**
+     * Same as {@link #toAWTColor(TextColor, boolean, boolean)}, for the AWT based renderers in this package which
+     * already depend on the java.desktop module
+     */
+    Color resolveAWTColor(TextColor color, boolean isForeground, boolean inBoldContext) {
         if(color instanceof TextColor.ANSI) {
-            return colorPalette.get((TextColor.ANSI)color, isForeground, inBoldContext && useBrightColorsOnBold);
+            return ansiColors[ansiColorIndex((TextColor.ANSI)color, isForeground, inBoldContext && useBrightColorsOnBold)];
+        }
+        else if(color instanceof TextColor.Indexed || color instanceof TextColor.RGB) {
+            int rgb = (color.getRed() << 16) | (color.getGreen() << 8) | color.getBlue();
+            int slot = (rgb ^ (rgb >>> 10) ^ (rgb >>> 20)) & (RGB_COLOR_CACHE_SIZE - 1);
+            Color awtColor = rgbColorCache[slot];
+            if(awtColor == null || (awtColor.getRGB() & 0xFFFFFF) != rgb) {
+                awtColor = new Color(rgb);
+                rgbColorCache[slot] = awtColor;
+            }
+            return awtColor;
         }
-        return color.toColor();
+        return new Color(color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    private static int ansiColorIndex(TextColor.ANSI color, boolean isForeground, boolean useBrightTones) {
+        return color.ordinal() * 4 + (isForeground ? 2 : 0) + (useBrightTones ? 1 : 0);
     }
 }
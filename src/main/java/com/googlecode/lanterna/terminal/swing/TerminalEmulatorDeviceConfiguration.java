@@ -42,6 +42,7 @@ public class TerminalEmulatorDeviceConfiguration {
     private final TextColor cursorColor;
     private final boolean cursorBlinking;
     private final boolean clipboardAvailable;
+    private final int frameIntervalInMilliSeconds;
 
     /**
      * Creates a new terminal device configuration object with all the defaults set
@@ -88,6 +89,34 @@ public class TerminalEmulatorDeviceConfiguration {
             boolean cursorBlinking,
             boolean clipboardAvailable) {
 
+        this(lineBufferScrollbackSize, blinkLengthInMilliSeconds, cursorStyle, cursorColor, cursorBlinking, clipboardAvailable, 16);
+    }
+
+    /**
+     * Creates a new terminal device configuration object with all configurable values specified.
+     * @param lineBufferScrollbackSize How many lines of scrollback buffer should the terminal save?
+     * @param blinkLengthInMilliSeconds How many milliseconds does a 'blink' last
+     * @param cursorStyle Style of the terminal text cursor
+     * @param cursorColor Color of the terminal text cursor
+     * @param cursorBlinking Should the terminal text cursor blink?
+     * @param clipboardAvailable Should the terminal support pasting text from the clipboard?
+     * @param frameIntervalInMilliSeconds Minimum number of milliseconds between two redraws of the terminal, flushes
+     *                                    arriving faster than this are merged into one frame
+     */
+    @SuppressWarnings("WeakerAccess")
+    public TerminalEmulatorDeviceConfiguration(
+            int lineBufferScrollbackSize,
+            int blinkLengthInMilliSeconds,
+            CursorStyle cursorStyle,
+            TextColor cursorColor,
+            boolean cursorBlinking,
+            boolean clipboardAvailable,
+            int frameIntervalInMilliSeconds) {
+
+        if(frameIntervalInMilliSeconds < 0) {
+            throw new IllegalArgumentException("Frame interval cannot be negative");
+        }
+        this.frameIntervalInMilliSeconds = frameIntervalInMilliSeconds;
         this.lineBufferScrollbackSize = lineBufferScrollbackSize;
         this.blinkLengthInMilliSeconds = blinkLengthInMilliSeconds;
         this.cursorStyle = cursorStyle;
@@ -143,6 +172,15 @@ public class TerminalEmulatorDeviceConfiguration {
         return clipboardAvailable;
     }
 
+    /**
+     * Returns the minimum time between two redraws of the terminal. Flushes and blink/bell effects arriving more often
+     * than this are merged into a single frame.
+     * @return Milliseconds between two frames, at the least
+     */
+    public int getFrameIntervalInMilliSeconds() {
+        return frameIntervalInMilliSeconds;
+    }
+
     /**
      * Copies the current configuration. The new object has the given value.
      * @param blinkLengthInMilliSeconds How many milliseconds does a 'blink' last
@@ -158,7 +196,8 @@ public class TerminalEmulatorDeviceConfiguration {
                     this.cursorStyle,
                     this.cursorColor,
                     this.cursorBlinking,
-                    this.clipboardAvailable);
+                    this.clipboardAvailable,
+                    this.frameIntervalInMilliSeconds);
         }
     }
 
@@ -177,7 +216,8 @@ public class TerminalEmulatorDeviceConfiguration {
                     this.cursorStyle,
                     this.cursorColor,
                     this.cursorBlinking,
-                    this.clipboardAvailable);
+                    this.clipboardAvailable,
+                    this.frameIntervalInMilliSeconds);
         }
     }
 
@@ -196,7 +236,8 @@ public class TerminalEmulatorDeviceConfiguration {
                     cursorStyle,
                     this.cursorColor,
                     this.cursorBlinking,
-                    this.clipboardAvailable);
+                    this.clipboardAvailable,
+                    this.frameIntervalInMilliSeconds);
         }
     }
 
@@ -215,7 +256,8 @@ public class TerminalEmulatorDeviceConfiguration {
                     this.cursorStyle,
                     cursorColor,
                     this.cursorBlinking,
-                    this.clipboardAvailable);
+                    this.clipboardAvailable,
+                    this.frameIntervalInMilliSeconds);
         }
     }
 
@@ -234,7 +276,8 @@ public class TerminalEmulatorDeviceConfiguration {
                     this.cursorStyle,
                     this.cursorColor,
                     cursorBlinking,
-                    this.clipboardAvailable);
+                    this.clipboardAvailable,
+                    this.frameIntervalInMilliSeconds);
         }
     }
 
@@ -253,7 +296,28 @@ public class TerminalEmulatorDeviceConfiguration {
                     this.cursorStyle,
                     this.cursorColor,
                     this.cursorBlinking,
-                    clipboardAvailable);
+                    clipboardAvailable,
+                    this.frameIntervalInMilliSeconds);
+        }
+    }
+
+    /**
+     * Copies the current configuration. The new object has the given value.
+     * @param frameIntervalInMilliSeconds Minimum number of milliseconds between two redraws of the terminal
+     * @return A copy of the current configuration with the changed value.
+     */
+    public TerminalEmulatorDeviceConfiguration withFrameIntervalInMilliSeconds(int frameIntervalInMilliSeconds) {
+        if(this.frameIntervalInMilliSeconds == frameIntervalInMilliSeconds) {
+            return this;
+        } else {
+            return new TerminalEmulatorDeviceConfiguration(
+                    this.lineBufferScrollbackSize,
+                    this.blinkLengthInMilliSeconds,
+                    this.cursorStyle,
+                    this.cursorColor,
+                    this.cursorBlinking,
+                    this.clipboardAvailable,
+                    frameIntervalInMilliSeconds);
         }
     }
 
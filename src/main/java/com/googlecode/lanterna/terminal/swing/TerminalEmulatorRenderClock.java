@@ -0,0 +1,65 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.terminal.swing;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single scheduler thread shared by all graphical terminal emulators in the JVM. It drives the coalesced back buffer
+ * updates as well as the blink and bell effects, so that no terminal needs a timer or thread of its own.
+ */
+final class TerminalEmulatorRenderClock {
+    private TerminalEmulatorRenderClock() {}
+
+    private static class SchedulerHolder {
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "LanternaTerminalRenderClock");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    /**
+     * Runs a task once on the render clock thread after a delay
+     * @param task Task to run
+     * @param delayInMilliSeconds Milliseconds to wait before running the task
+     * @return Future that can be used to cancel the task
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delayInMilliSeconds) {
+        return SchedulerHolder.SCHEDULER.schedule(task, delayInMilliSeconds, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a task periodically on the render clock thread
+     * @param task Task to run
+     * @param periodInMilliSeconds Milliseconds between each run, also used as the initial delay
+     * @return Future that can be used to cancel the task
+     */
+    static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long periodInMilliSeconds) {
+        return SchedulerHolder.SCHEDULER.scheduleAtFixedRate(task, periodInMilliSeconds, periodInMilliSeconds, TimeUnit.MILLISECONDS);
+    }
+}
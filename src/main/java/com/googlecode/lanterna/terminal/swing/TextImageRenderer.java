@@ -0,0 +1,288 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.terminal.swing;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.TextImage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Renders {@link TextImage}s (including {@link com.googlecode.lanterna.screen.ScreenBuffer}) into AWT
+ * {@link BufferedImage}s without needing any on-screen component, using the same font and color configuration classes
+ * as {@link SwingTerminal} and {@link AWTTerminal}. This works with {@code java.awt.headless=true} and is useful for
+ * producing thumbnails or snapshots of running sessions.
+ * <p>
+ * The renderer itself doesn't hold any mutable state and can be shared between threads. For rendering the same session
+ * repeatedly, use {@link #newRetainedImage()} which keeps the image around and only re-draws the cells that changed
+ * since the last update.
+ * <p>
+ * Blinking text is always drawn in its visible state and no cursor is drawn.
+ */
+public class TextImageRenderer {
+    private final AWTTerminalFontConfiguration fontConfiguration;
+    private final TerminalEmulatorColorConfiguration colorConfiguration;
+
+    /**
+     * Creates a new renderer with the default font and color configuration
+     */
+    public TextImageRenderer() {
+        this(AWTTerminalFontConfiguration.getDefault(), TerminalEmulatorColorConfiguration.getDefault());
+    }
+
+    /**
+     * Creates a new renderer with a specific font and color configuration
+     * @param fontConfiguration Fonts to draw the text with, also decides the pixel size of each cell
+     * @param colorConfiguration Palette and bold settings to use when translating the text colors
+     */
+    public TextImageRenderer(AWTTerminalFontConfiguration fontConfiguration, TerminalEmulatorColorConfiguration colorConfiguration) {
+        if(fontConfiguration == null || colorConfiguration == null) {
+            throw new IllegalArgumentException("Cannot create a TextImageRenderer with null font or color configuration");
+        }
+        this.fontConfiguration = fontConfiguration;
+        this.colorConfiguration = colorConfiguration;
+    }
+
+    /**
+     * Returns the size in pixels of the image that would be produced when rendering a text image of a certain size
+     * @param size Size of the text image, in columns and rows
+     * @return Size of the rendered image, in pixels
+     */
+    public java.awt.Dimension getImageSize(Dimension size) {
+        return new java.awt.Dimension(
+                size.getColumns() * fontConfiguration.getFontWidth(),
+                size.getRows() * fontConfiguration.getFontHeight());
+    }
+
+    /**
+     * Renders the whole text image into a new {@link BufferedImage}
+     * @param textImage Text image to render
+     * @return Newly allocated image with the content of {@code textImage}
+     */
+    public BufferedImage render(TextImage textImage) {
+        Dimension size = textImage.getSize();
+        BufferedImage image = createImage(size);
+        Graphics2D graphics = createGraphics(image);
+        try {
+            CellRun cellRun = new CellRun();
+            for(int row = 0; row < size.getRows(); row++) {
+                drawRow(graphics, cellRun, textImage, row, size.getColumns(), null);
+            }
+        }
+        finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Renders a list of text images in parallel on an executor. This method blocks until all images have been
+     * rendered.
+     * @param textImages Text images to render
+     * @param executorService Executor to run the rendering on
+     * @return Rendered images, in the same order as {@code textImages}
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the rendering to finish
+     */
+    public List<BufferedImage> renderAll(List<? extends TextImage> textImages, ExecutorService executorService) throws InterruptedException {
+        List<Future<BufferedImage>> futures = new ArrayList<>(textImages.size());
+        for(final TextImage textImage: textImages) {
+            futures.add(executorService.submit(() -> render(textImage)));
+        }
+        List<BufferedImage> result = new ArrayList<>(textImages.size());
+        boolean done = false;
+        try {
+            for(Future<BufferedImage> future: futures) {
+                result.add(future.get());
+            }
+            done = true;
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        finally {
+            if(!done) {
+                // Don't leave the rest of the batch running when nobody is going to collect the result
+                for(Future<BufferedImage> future: futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new {@link RetainedImage} which keeps the rendered image between updates so that only cells which
+     * changed are re-drawn
+     * @return New retained image, initially empty
+     */
+    public RetainedImage newRetainedImage() {
+        return new RetainedImage();
+    }
+
+    private BufferedImage createImage(Dimension size) {
+        java.awt.Dimension imageSize = getImageSize(size);
+        BufferedImage image = new BufferedImage(
+                Math.max(1, imageSize.width),
+                Math.max(1, imageSize.height),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(colorConfiguration.resolveAWTColor(TextColor.ANSI.DEFAULT, false, false));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+        return image;
+    }
+
+    private Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D graphics = image.createGraphics();
+        if(fontConfiguration.isAntiAliased()) {
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        }
+        return graphics;
+    }
+
+    private void drawRow(Graphics2D graphics, CellRun cellRun, TextImage textImage, int row, int columns, boolean[] dirty) {
+        final int fontWidth = fontConfiguration.getFontWidth();
+        final int fontHeight = fontConfiguration.getFontHeight();
+        for(int column = 0; column < columns; column++) {
+            TextCharacter character = textImage.getCharacterAt(column, row);
+            if(dirty == null || dirty[column]) {
+                Color foregroundColor;
+                Color backgroundColor;
+                if(character.isReversed()) {
+                    foregroundColor = colorConfiguration.resolveAWTColor(character.getBackgroundColor(), character.getBackgroundColor() != TextColor.ANSI.DEFAULT, character.isBold());
+                    backgroundColor = colorConfiguration.resolveAWTColor(character.getForegroundColor(), character.getBackgroundColor() == TextColor.ANSI.DEFAULT, character.isBold());
+                }
+                else {
+                    foregroundColor = colorConfiguration.resolveAWTColor(character.getForegroundColor(), true, character.isBold());
+                    backgroundColor = colorConfiguration.resolveAWTColor(character.getBackgroundColor(), false, false);
+                }
+                Font font = fontConfiguration.getFontForCharacter(character);
+                if(!cellRun.canAppend(character, font, foregroundColor, backgroundColor, false)) {
+                    drawCellRun(graphics, cellRun, fontWidth, fontHeight);
+                    cellRun.start(row, column, character, font, foregroundColor, backgroundColor, false);
+                }
+                else {
+                    cellRun.append(character);
+                }
+            }
+            else {
+                drawCellRun(graphics, cellRun, fontWidth, fontHeight);
+            }
+            if(character.isDoubleWidth()) {
+                column++; //Skip the trailing padding after a CJK character
+            }
+        }
+        drawCellRun(graphics, cellRun, fontWidth, fontHeight);
+    }
+
+    private static void drawCellRun(Graphics2D graphics, CellRun cellRun, int fontWidth, int fontHeight) {
+        if(!cellRun.isEmpty()) {
+            cellRun.draw(graphics, fontWidth, fontHeight, 0);
+            cellRun.reset();
+        }
+    }
+
+    /**
+     * An image that is kept between renderings of the same source, typically one per session. Each call to
+     * {@link #update(TextImage)} compares the text image with what was drawn last time and only re-draws the cells
+     * that differ. Updates are synchronized on the retained image, if you want to read the returned
+     * {@link BufferedImage} while another thread may be updating it, synchronize on this object or copy the image
+     * first.
+     */
+    public class RetainedImage {
+        private BufferedImage image;
+        private TextCharacter[][] lastRendered;
+
+        private RetainedImage() {
+            this.image = null;
+            this.lastRendered = new TextCharacter[0][];
+        }
+
+        /**
+         * Brings the retained image up to date with the content of {@code textImage}. If the size of the text image
+         * has changed since last time, the image is re-allocated and fully redrawn.
+         * @param textImage Text image to draw
+         * @return The retained image, which is the same instance as last time unless the size changed
+         */
+        public synchronized BufferedImage update(TextImage textImage) {
+            Dimension size = textImage.getSize();
+            boolean fullRedraw = image == null ||
+                    lastRendered.length != size.getRows() ||
+                    (size.getRows() > 0 && lastRendered[0].length != size.getColumns());
+            if(fullRedraw) {
+                image = createImage(size);
+                lastRendered = new TextCharacter[size.getRows()][size.getColumns()];
+            }
+
+            Graphics2D graphics = createGraphics(image);
+            try {
+                CellRun cellRun = new CellRun();
+                boolean[] changed = new boolean[size.getColumns()];
+                boolean[] dirty = new boolean[size.getColumns()];
+                for(int row = 0; row < size.getRows(); row++) {
+                    TextCharacter[] lastRenderedRow = lastRendered[row];
+                    boolean rowIsDirty = false;
+                    for(int column = 0; column < size.getColumns(); column++) {
+                        TextCharacter character = textImage.getCharacterAt(column, row);
+                        changed[column] = !character.equals(lastRenderedRow[column]);
+                        if(changed[column]) {
+                            rowIsDirty = true;
+                            lastRenderedRow[column] = character;
+                        }
+                    }
+                    // Glyphs drawn as part of a run may leave some ink in the neighbouring cells, so redraw the cells on
+                    // both sides of a change too. This also covers double-width characters whose padding changed.
+                    for(int column = 0; column < size.getColumns(); column++) {
+                        dirty[column] = changed[column] ||
+                                (column > 0 && changed[column - 1]) ||
+                                (column + 1 < size.getColumns() && changed[column + 1]);
+                    }
+                    if(rowIsDirty) {
+                        drawRow(graphics, cellRun, textImage, row, size.getColumns(), dirty);
+                    }
+                }
+            }
+            finally {
+                graphics.dispose();
+            }
+            return image;
+        }
+
+        /**
+         * Returns the image as of the last call to {@link #update(TextImage)}, or {@code null} if it has never been
+         * updated
+         * @return Last rendered image
+         */
+        public synchronized BufferedImage getImage() {
+            return image;
+        }
+    }
+}
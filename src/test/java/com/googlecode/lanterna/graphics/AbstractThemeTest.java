@@ -0,0 +1,80 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.graphics;
+
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.gui2.Button;
+import com.googlecode.lanterna.gui2.Label;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+public class AbstractThemeTest {
+    private static class TestTheme extends AbstractTheme {
+        TestTheme() {
+            super(null, null);
+            addStyle(null, "foreground", "white");
+            addStyle(null, "background", "blue");
+            addStyle(Button.class.getName(), "foreground[SELECTED]", "yellow");
+            addStyle(Button.class.getName(), "sgr[SELECTED]", "BOLD");
+        }
+
+        void declare(String definition, String style, String value) {
+            addStyle(definition, style, value);
+        }
+    }
+
+    @Test
+    public void resolvedDefinitionsAndStylesAreReused() {
+        TestTheme theme = new TestTheme();
+        ThemeDefinition definition = theme.getDefinition(Button.class);
+        assertSame(definition, theme.getDefinition(Button.class));
+        assertSame(definition.getSelected(), definition.getSelected());
+        assertSame(definition.getCustom("custom"), definition.getCustom("custom"));
+        assertSame(theme.getDefaultDefinition(), theme.getDefaultDefinition());
+
+        assertEquals(TextColor.ANSI.YELLOW, definition.getSelected().getForeground());
+        assertEquals(TextColor.ANSI.BLUE, definition.getSelected().getBackground());
+        assertEquals(TextColor.ANSI.WHITE, definition.getNormal().getForeground());
+        assertEquals(EnumSet.of(SGR.BOLD), definition.getSelected().getSGRs());
+    }
+
+    @Test
+    public void styleSGRsCannotBeAlteredThroughTheReturnedSet() {
+        ThemeStyle style = new TestTheme().getDefinition(Button.class).getSelected();
+        style.getSGRs().clear();
+        assertEquals(EnumSet.of(SGR.BOLD), style.getSGRs());
+    }
+
+    @Test
+    public void modifyingTheThemeDropsResolvedDefinitions() {
+        TestTheme theme = new TestTheme();
+        ThemeDefinition before = theme.getDefinition(Label.class);
+        assertEquals(TextColor.ANSI.WHITE, before.getNormal().getForeground());
+
+        theme.declare(Label.class.getName(), "foreground", "red");
+        ThemeDefinition after = theme.getDefinition(Label.class);
+        assertNotSame(before, after);
+        assertEquals(TextColor.ANSI.RED, after.getNormal().getForeground());
+        assertEquals(TextColor.ANSI.WHITE, theme.getDefinition(Button.class).getNormal().getForeground());
+    }
+}
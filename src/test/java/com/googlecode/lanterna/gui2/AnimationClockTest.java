@@ -0,0 +1,142 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class AnimationClockTest {
+
+    @Test
+    public void tickersAreAlignedAndPausedWhileNotShowing() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(10, 2));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+        Label label = new Label("x");
+        Panel panel = Panels.vertical(label);
+        BasicWindow window = virtualGUI.addFullScreenWindow(panel);
+
+        AtomicLong time = new AtomicLong(1000);
+        AnimationClock clock = new AnimationClock(time::get);
+        AtomicInteger fastTicks = new AtomicInteger();
+        AtomicInteger slowTicks = new AtomicInteger();
+        time.set(1030);
+        clock.register(label, 100, fastTicks::incrementAndGet);
+        AnimationClock.Registration slow = clock.register(label, 200, slowTicks::incrementAndGet);
+
+        // Both tickers count from when the clock was created, so they fire together at +200
+        time.set(1099);
+        clock.tick();
+        assertEquals(0, fastTicks.get());
+        time.set(1100);
+        clock.tick();
+        assertEquals(1, fastTicks.get());
+        assertEquals(0, slowTicks.get());
+        time.set(1205);
+        clock.tick();
+        assertEquals(2, fastTicks.get());
+        assertEquals(1, slowTicks.get());
+
+        // Missed ticks are skipped, not made up for
+        time.set(1750);
+        clock.tick();
+        clock.tick();
+        assertEquals(3, fastTicks.get());
+
+        panel.setVisible(false);
+        time.set(1800);
+        clock.tick();
+        assertEquals(3, fastTicks.get());
+        panel.setVisible(true);
+        window.setVisible(false);
+        time.set(1900);
+        clock.tick();
+        assertEquals(3, fastTicks.get());
+        window.setVisible(true);
+        time.set(2000);
+        clock.tick();
+        assertEquals(4, fastTicks.get());
+
+        slow.cancel();
+        window.close();
+        time.set(2100);
+        clock.tick();
+        assertEquals(4, fastTicks.get());
+        assertEquals(1, clock.getTickerCount());
+    }
+
+    @Test
+    public void animatedLabelRunsOnTheClockOfItsGUI() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(10, 2));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+        AnimatedLabel label = AnimatedLabel.createClassicSpinningLine(10);
+        Panel panel = Panels.vertical(label);
+        virtualGUI.addFullScreenWindow(panel);
+        AnimationClock clock = gui.getGUIThread().getAnimationClock();
+        assertEquals(0, clock.getTickerCount());
+
+        gui.updateScreen();
+        assertEquals(1, clock.getTickerCount());
+        String firstFrame = virtualGUI.getTerminal().toString().trim();
+        Thread.sleep(30);
+        gui.getGUIThread().processEventsAndUpdate();
+        assertNotEquals(firstFrame, virtualGUI.getTerminal().toString().trim());
+
+        panel.remove(label);
+        gui.getGUIThread().processEventsAndUpdate();
+        assertEquals(0, clock.getTickerCount());
+        panel.add(label);
+        gui.updateScreen();
+        assertEquals(1, clock.getTickerCount());
+        label.stopAnimation();
+        gui.getGUIThread().processEventsAndUpdate();
+        assertEquals(0, clock.getTickerCount());
+    }
+
+    @Test
+    public void animatedLabelInAClosedWindowCanBeCollected() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(10, 2));
+        AnimationClock clock = virtualGUI.getGUI().getGUIThread().getAnimationClock();
+        WeakReference<AnimatedLabel> labelRef = showAndCloseAnimatedLabel(virtualGUI);
+        assertEquals(1, clock.getTickerCount());
+
+        for (int i = 0; i < 20 && labelRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(labelRef.get());
+        clock.tick();
+        assertEquals(0, clock.getTickerCount());
+    }
+
+    private static WeakReference<AnimatedLabel> showAndCloseAnimatedLabel(VirtualTerminalGUI virtualGUI) throws Exception {
+        AnimatedLabel label = AnimatedLabel.createClassicSpinningLine(10);
+        BasicWindow window = virtualGUI.addFullScreenWindow(label);
+        virtualGUI.getGUI().updateScreen();
+        window.close();
+        return new WeakReference<>(label);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class BindableValueTest {
+
+    private static MultiWindowFrame createGUI(Component component) throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(20, 2));
+        virtualGUI.addFullScreenWindow(component);
+        return virtualGUI.getGUI();
+    }
+
+    @Test
+    public void onlyTheLatestCoalescedTaskPerKeyRuns() throws Exception {
+        MultiWindowFrame gui = createGUI(new EmptySpace());
+        TextUiThread guiThread = gui.getGUIThread();
+        List<String> ran = new ArrayList<>();
+        guiThread.invokeLaterCoalesced("a", () -> ran.add("a1"));
+        guiThread.invokeLater(() -> ran.add("plain"));
+        guiThread.invokeLaterCoalesced("b", () -> ran.add("b1"));
+        guiThread.invokeLaterCoalesced("a", () -> ran.add("a2"));
+        guiThread.invokeLaterCoalesced("a", () -> ran.add("a3"));
+        guiThread.processEventsAndUpdate();
+        assertEquals(Arrays.asList("a3", "plain", "b1"), ran);
+
+        guiThread.invokeLaterCoalesced("a", () -> ran.add("a4"));
+        guiThread.processEventsAndUpdate();
+        assertEquals(Arrays.asList("a3", "plain", "b1", "a4"), ran);
+    }
+
+    @Test
+    public void updatesFromWorkerThreadAreDeliveredOncePerPass() throws Exception {
+        ProgressBar progressBar = new ProgressBar(0, 10000);
+        MultiWindowFrame gui = createGUI(progressBar);
+        AtomicInteger deliveries = new AtomicInteger();
+        BindableValue<Integer> progress = new BindableValue<>(0);
+        progress.bind(progressBar, value -> {
+            deliveries.incrementAndGet();
+            progressBar.setValue(value);
+        });
+        // Bound on the GUI thread, so the current value has been applied already
+        assertEquals(1, deliveries.get());
+        deliveries.set(0);
+
+        Thread worker = new Thread(() -> {
+            for (int i = 1; i <= 10000; i++) {
+                progress.set(i);
+            }
+        });
+        worker.start();
+        worker.join();
+        gui.getGUIThread().processEventsAndUpdate();
+        assertEquals(1, deliveries.get());
+        assertEquals(10000, progressBar.getValue());
+
+        progress.unbind(progressBar);
+        progress.set(5);
+        gui.getGUIThread().processEventsAndUpdate();
+        assertEquals(1, deliveries.get());
+        assertEquals(10000, progressBar.getValue());
+    }
+
+    @Test
+    public void componentOutsideOfGUIIsUpdatedDirectly() {
+        Label label = new Label("");
+        BindableValue<String> status = new BindableValue<>("Idle");
+        status.bind(label, label::setText);
+        assertEquals("Idle", label.getText());
+        status.set("Working");
+        assertEquals("Working", label.getText());
+    }
+}
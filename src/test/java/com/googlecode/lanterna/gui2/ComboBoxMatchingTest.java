@@ -0,0 +1,119 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ComboBoxMatchingTest {
+
+    private static List<Integer> matchByScanning(ComboBox<String> comboBox, String prefix) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < comboBox.getItemCount(); i++) {
+            if (comboBox.getItem(i).toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT))) {
+                matches.add(i);
+            }
+        }
+        matches.sort((a, b) -> {
+            int comparison = comboBox.getItem(a).toLowerCase(Locale.ROOT).compareTo(comboBox.getItem(b).toLowerCase(Locale.ROOT));
+            return comparison != 0 ? comparison : Integer.compare(a, b);
+        });
+        return matches;
+    }
+
+    @Test
+    public void indexFollowsItemChanges() {
+        Random random = new Random(4711);
+        String[] words = {"alpha", "Alpine", "beta", "Bravo", "b", "charlie", "Char", "delta", ""};
+        ComboBox<String> comboBox = new ComboBox<>();
+        for (int i = 0; i < 200; i++) {
+            comboBox.addItem(words[random.nextInt(words.length)] + random.nextInt(20));
+        }
+        String[] prefixes = {"", "a", "AL", "alp", "b", "br", "c", "char1", "x", "1"};
+        for (int round = 0; round < 500; round++) {
+            String label = words[random.nextInt(words.length)] + random.nextInt(20);
+            switch (random.nextInt(4)) {
+                case 0:
+                    comboBox.addItem(label);
+                    break;
+                case 1:
+                    comboBox.addItem(random.nextInt(comboBox.getItemCount() + 1), label);
+                    break;
+                case 2:
+                    comboBox.setItem(random.nextInt(comboBox.getItemCount()), label);
+                    break;
+                default:
+                    comboBox.removeItem(random.nextInt(comboBox.getItemCount()));
+            }
+            for (String prefix : prefixes) {
+                assertEquals(prefix, matchByScanning(comboBox, prefix), comboBox.getMatchingItemIndexes(prefix));
+            }
+        }
+    }
+
+    @Test
+    public void dropDownListsItemsMatchingTypedText() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(16, 6));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            items.add("sku-" + i);
+        }
+        ComboBox<String> comboBox = new ComboBox<>(items).setReadOnly(false);
+        comboBox.setDropDownNumberOfRows(3);
+        BasicWindow window = virtualGUI.addFullScreenWindow(Panels.vertical(comboBox));
+        window.setFocusedInteractable(comboBox);
+        gui.updateScreen();
+
+        comboBox.onInput(new KeyStroke(KeyType.ArrowLeft));
+        while (!comboBox.getText().isEmpty()) {
+            comboBox.onInput(new KeyStroke(KeyType.Backspace));
+        }
+        for (char c : "SKU-4999".toCharArray()) {
+            comboBox.onInput(new KeyStroke(c, false, false));
+        }
+        assertEquals(Arrays.asList(4999, 49990, 49991, 49992, 49993, 49994, 49995, 49996, 49997, 49998, 49999),
+                comboBox.getMatchingItemIndexes(comboBox.getText()));
+
+        comboBox.onInput(new KeyStroke(KeyType.Tab));
+        comboBox.onInput(new KeyStroke(KeyType.Enter));
+        gui.updateScreen();
+        assertEquals("SKU-4999  │▼\n" +
+                "sku-4999   ▲\n" +
+                "sku-49990  █\n" +
+                "sku-49991  ▼", virtualGUI.getTerminal().toString().trim());
+
+        gui.onInput(new KeyStroke(KeyType.ArrowDown));
+        gui.onInput(new KeyStroke(KeyType.Enter));
+        gui.updateScreen();
+        assertEquals(49990, comboBox.getSelectedIndex());
+        assertEquals("sku-49990", comboBox.getText());
+    }
+}
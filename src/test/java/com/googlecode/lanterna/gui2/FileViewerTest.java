@@ -0,0 +1,118 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FileViewerTest {
+
+    private static Path createFile(int lines) throws IOException {
+        Path file = Files.createTempFile("lanterna-file-viewer", ".txt");
+        file.toFile().deleteOnExit();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append("row ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        content.append("åäö\tend");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void awaitIndex(FileViewer viewer) throws InterruptedException {
+        for (int i = 0; i < 500 && !viewer.isIndexComplete(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(viewer.isIndexComplete());
+    }
+
+    @Test
+    public void indexesLinesAcrossMappedSegments() throws Exception {
+        // 64 byte segments so plenty of lines straddle two mappings
+        try (FileViewer viewer = new FileViewer(createFile(1000), StandardCharsets.UTF_8, 6)) {
+            awaitIndex(viewer);
+            assertEquals(1001, viewer.getLineCount());
+            assertEquals("row 0", viewer.getLine(0));
+            assertEquals("row 613", viewer.getLine(613));
+            assertEquals("åäö\tend", viewer.getLine(1000));
+            assertEquals(777, viewer.search("w 777", 0));
+            assertEquals(1000, viewer.search("äö", 10));
+            assertEquals(-1, viewer.search("row 5", 600));
+        }
+    }
+
+    @Test
+    public void closedViewerIsEmpty() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(12, 3));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+        // Small segments, so the viewer is closed with some of them mapped and, most likely, others not yet
+        FileViewer viewer = new FileViewer(createFile(100000), StandardCharsets.UTF_8, 6);
+        virtualGUI.addFullScreenWindow(viewer);
+        gui.updateScreen();
+        assertEquals("row 0", viewer.getLine(0));
+
+        viewer.close();
+        assertEquals(0, viewer.getLineCount());
+        assertEquals(-1, viewer.search("row", 0));
+        for (long line : new long[] { 0, 99999 }) {
+            try {
+                viewer.getLine(line);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException expected) {
+                assertTrue(expected.getMessage().contains("closed"));
+            }
+        }
+        viewer.onInput(new KeyStroke(KeyType.PageDown));
+        assertEquals(0, viewer.getTopLine());
+        assertTrue(gui.isPendingUpdate());
+        gui.updateScreen();
+        assertEquals("", virtualGUI.getTerminal().toString().trim());
+    }
+
+    @Test
+    public void drawsOnlyTheVisibleLines() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(12, 3));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+        try (FileViewer viewer = new FileViewer(createFile(100000))) {
+            awaitIndex(viewer);
+            virtualGUI.addFullScreenWindow(viewer);
+
+            viewer.goToLine(54321);
+            gui.updateScreen();
+            assertEquals("row 54321\nrow 54322\nrow 54323", virtualGUI.getTerminal().toString().trim());
+
+            viewer.onInput(new KeyStroke(KeyType.End));
+            viewer.setLeftColumn(1);
+            gui.updateScreen();
+            assertEquals(99998, viewer.getTopLine());
+            assertEquals("ow 99998\now 99999\näö     end", virtualGUI.getTerminal().toString().trim());
+        }
+    }
+}
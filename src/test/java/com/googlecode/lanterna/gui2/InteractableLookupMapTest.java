@@ -0,0 +1,90 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InteractableLookupMapTest {
+
+    private MultiWindowFrame gui;
+    private BasicWindow window;
+    private Button topLeft;
+    private Button topRight;
+    private Button bottomLeft;
+    private Button bottomRight;
+
+    @Before
+    public void setUp() throws IOException {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(40, 12), new SeparateTextUiThread.Factory());
+        gui = virtualGUI.getGUI();
+        topLeft = new Button("A");
+        topRight = new Button("B");
+        bottomLeft = new Button("C");
+        bottomRight = new Button("D");
+        window = virtualGUI.addFullScreenWindow(new Panel(new GridLayout(2)).add(topLeft).add(topRight).add(bottomLeft).add(bottomRight));
+        gui.updateScreen();
+        window.setFocusedInteractable(topLeft);
+    }
+
+    @Test
+    public void arrowKeysMoveFocusInThatDirection() {
+        window.onInput(new KeyStroke(KeyType.ArrowRight));
+        assertSame(topRight, window.getFocusedInteractable());
+        window.onInput(new KeyStroke(KeyType.ArrowDown));
+        assertSame(bottomRight, window.getFocusedInteractable());
+        window.onInput(new KeyStroke(KeyType.ArrowLeft));
+        assertSame(bottomLeft, window.getFocusedInteractable());
+        window.onInput(new KeyStroke(KeyType.ArrowUp));
+        assertSame(topLeft, window.getFocusedInteractable());
+    }
+
+    @Test
+    public void lookupMapFollowsLayoutChanges() throws IOException {
+        topRight.setVisible(false);
+        gui.updateScreen();
+        window.onInput(new KeyStroke(KeyType.ArrowRight));
+        assertSame(topLeft, window.getFocusedInteractable());
+    }
+
+    @Test
+    public void hitTestFindsInteractableUnderPoint() {
+        InteractableLookupMap lookupMap = new InteractableLookupMap(new Dimension(40, 12));
+        lookupMap.add(bottomRight);
+        Point position = bottomRight.toBasePane(Point.TOP_LEFT_CORNER);
+        assertSame(bottomRight, lookupMap.getInteractableAt(position));
+        assertSame(bottomRight, lookupMap.getInteractableAt(position.withRelativeColumn(bottomRight.getSize().getColumns() - 1)));
+        assertNull(lookupMap.getInteractableAt(position.withRelativeColumn(bottomRight.getSize().getColumns())));
+        assertNull(lookupMap.getInteractableAt(new Point(-1, 0)));
+
+        // Interactables added later are on top of the ones added before
+        lookupMap.add(topLeft);
+        lookupMap.add(bottomLeft);
+        assertSame(bottomLeft, lookupMap.getInteractableAt(bottomLeft.toBasePane(Point.TOP_LEFT_CORNER)));
+    }
+}
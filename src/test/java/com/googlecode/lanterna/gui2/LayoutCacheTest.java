@@ -0,0 +1,134 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class LayoutCacheTest {
+
+    private static class CountingLabel extends Label {
+        int preferredSizeCalculations;
+
+        CountingLabel(String text) {
+            super(text);
+        }
+
+        @Override
+        protected synchronized Dimension calculatePreferredSize() {
+            preferredSizeCalculations++;
+            return super.calculatePreferredSize();
+        }
+    }
+
+    @Test
+    public void unchangedGridLayoutIsNotRecomputed() {
+        CountingLabel first = new CountingLabel("First");
+        CountingLabel second = new CountingLabel("Second label");
+        CountingLabel third = new CountingLabel("Third");
+        third.setLayoutData(GridLayout.createHorizontallyFilledLayoutData(2));
+        List<Component> components = Arrays.asList(first, second, third);
+        GridLayout layout = new GridLayout(2);
+        Dimension area = new Dimension(30, 5);
+
+        layout.getPreferredSize(components);
+        layout.doLayout(area, components);
+        Point thirdPosition = third.getPosition();
+        Dimension thirdSize = third.getSize();
+
+        first.preferredSizeCalculations = 0;
+        layout.getPreferredSize(components);
+        layout.doLayout(area, components);
+        // Only the check against the cached state
+        assertEquals(2, first.preferredSizeCalculations);
+        assertEquals(thirdPosition, third.getPosition());
+        assertEquals(thirdSize, third.getSize());
+    }
+
+    @Test
+    public void gridLayoutFollowsChanges() {
+        Label first = new Label("First");
+        Label second = new Label("Second");
+        List<Component> components = Arrays.asList(first, second);
+        GridLayout layout = new GridLayout(2);
+        Dimension area = new Dimension(40, 5);
+        layout.doLayout(area, components);
+
+        first.setText("A much longer first label");
+        layout.doLayout(area, components);
+        assertLayout(new GridLayout(2), area, components);
+
+        second.setLayoutData(GridLayout.createLayoutData(GridLayout.Alignment.END, GridLayout.Alignment.BEGINNING, true, false));
+        layout.doLayout(area, components);
+        assertLayout(new GridLayout(2), area, components);
+
+        layout.setLeftMarginSize(3);
+        layout.doLayout(area, components);
+        assertLayout(new GridLayout(2).setLeftMarginSize(3), area, components);
+
+        layout.doLayout(new Dimension(50, 5), components);
+        assertLayout(new GridLayout(2).setLeftMarginSize(3), new Dimension(50, 5), components);
+    }
+
+    @Test
+    public void linearLayoutFollowsChanges() {
+        Label first = new Label("First");
+        Label second = new Label("Second");
+        Label third = new Label("Third");
+        List<Component> components = Arrays.asList(first, second, third);
+        LinearLayout layout = new LinearLayout(Direction.VERTICAL);
+        Dimension area = new Dimension(20, 10);
+        assertEquals(new Dimension(6, 3), layout.getPreferredSize(components));
+        layout.doLayout(area, components);
+
+        second.setVisible(false);
+        assertEquals(new Dimension(5, 2), layout.getPreferredSize(components));
+        layout.doLayout(area, components);
+        assertEquals(new Point(0, 1), third.getPosition());
+
+        second.setVisible(true);
+        second.setText("Second\nlabel");
+        layout.doLayout(area, components);
+        assertEquals(new Point(0, 3), third.getPosition());
+
+        layout.setSpacing(1);
+        layout.doLayout(area, components);
+        assertEquals(new Point(0, 5), third.getPosition());
+    }
+
+    private static void assertLayout(LayoutManager freshLayout, Dimension area, List<Component> components) {
+        Point[] positions = new Point[components.size()];
+        Dimension[] sizes = new Dimension[components.size()];
+        for (int i = 0; i < components.size(); i++) {
+            positions[i] = components.get(i).getPosition();
+            sizes[i] = components.get(i).getSize();
+        }
+        freshLayout.doLayout(area, components);
+        for (int i = 0; i < components.size(); i++) {
+            assertEquals(components.get(i).getPosition(), positions[i]);
+            assertEquals(components.get(i).getSize(), sizes[i]);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.input.KeyStroke;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ListModelTest {
+
+    /**
+     * Generates its items on request, every tenth one is a database server
+     */
+    private static class HostListModel implements ListModel<String> {
+        private final int itemCount;
+        private int itemsFetched = 0;
+
+        private HostListModel(int itemCount) {
+            this.itemCount = itemCount;
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        @Override
+        public String getItemAt(int index) {
+            itemsFetched++;
+            return (index % 10 == 0 ? "db-" : "host-") + index;
+        }
+
+        @Override
+        public void addListener(Listener listener) {
+        }
+
+        @Override
+        public void removeListener(Listener listener) {
+        }
+    }
+
+    @Test
+    public void onlyVisibleItemsAreFetchedAndTypeAheadUsesTheIndex() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(20, 3));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+
+        HostListModel model = new HostListModel(500000);
+        CheckBoxList<String> listBox = new CheckBoxList<>(new Dimension(20, 3));
+        listBox.setListModel(model);
+        virtualGUI.addFullScreenWindow(listBox);
+        gui.updateScreen();
+        assertTrue("Fetched " + model.itemsFetched + " items", model.itemsFetched < 20);
+        assertEquals(0, listBox.getSelectedIndex());
+
+        listBox.onInput(new KeyStroke('d', false, false));
+        assertEquals(10, listBox.getSelectedIndex());
+        listBox.onInput(new KeyStroke('d', false, false));
+        assertEquals(20, listBox.getSelectedIndex());
+        listBox.onInput(new KeyStroke('b', false, false));
+        listBox.onInput(new KeyStroke('-', false, false));
+        listBox.onInput(new KeyStroke('4', false, false));
+        assertEquals(40, listBox.getSelectedIndex());
+        listBox.onInput(new KeyStroke('9', false, false));
+        assertEquals(490, listBox.getSelectedIndex());
+
+        int fetchedBeforeSearch = model.itemsFetched;
+        listBox.onInput(new KeyStroke('x', false, false));
+        listBox.onInput(new KeyStroke('h', false, false));
+        assertEquals(491, listBox.getSelectedIndex());
+        assertTrue(model.itemsFetched - fetchedBeforeSearch < 1000);
+
+        gui.updateScreen();
+        assertEquals("[ ] host-489       ▲\n[ ] db-490         █\n[ ] host-491       ▼", virtualGUI.getTerminal().toString().trim());
+    }
+
+    @Test
+    public void perItemStateFollowsTheModel() {
+        CheckBoxList<String> checkBoxList = new CheckBoxList<>();
+        checkBoxList.addItem("a").addItem("b", true).addItem("c");
+        checkBoxList.removeItem(0);
+        assertEquals(Arrays.asList("b", "c"), checkBoxList.getItems());
+        assertTrue(checkBoxList.isChecked(0));
+        assertFalse(checkBoxList.isChecked(1));
+
+        RadioBoxList<String> radioBoxList = new RadioBoxList<>();
+        radioBoxList.addItems(List.of("a", "b", "c"));
+        radioBoxList.setCheckedItemIndex(2);
+        ((DefaultListModel<String>) radioBoxList.getListModel()).insertItems(0, List.of("x", "y"));
+        assertEquals(4, radioBoxList.getCheckedItemIndex());
+        assertEquals("c", radioBoxList.getCheckedItem());
+        radioBoxList.setSelectedIndex(3);
+        radioBoxList.removeItem(0);
+        assertEquals(2, radioBoxList.getSelectedIndex());
+        assertEquals("c", radioBoxList.getCheckedItem());
+    }
+
+    @Test
+    public void replacingTheModelClearsTheCheckedItem() {
+        RadioBoxList<String> radioBoxList = new RadioBoxList<>();
+        radioBoxList.addItems(List.of("a", "b", "c"));
+        radioBoxList.setCheckedItemIndex(2);
+        int[] previousSelection = {-2};
+        radioBoxList.addSelectionListener((selectedIndex, previous, source) -> previousSelection[0] = previous);
+
+        radioBoxList.setListModel(new HostListModel(5));
+        assertEquals(-1, radioBoxList.getCheckedItemIndex());
+        assertEquals(2, previousSelection[0]);
+        assertEquals(0, radioBoxList.getSelectedIndex());
+    }
+}
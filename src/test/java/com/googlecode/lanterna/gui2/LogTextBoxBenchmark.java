@@ -0,0 +1,75 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of a {@link LogTextBox} fed from a background thread as fast as it will take lines, while the GUI thread
+ * keeps redrawing a virtual terminal. It reports the sustained number of lines per second that made it into the log
+ * and how many frames were drawn in the meantime.
+ */
+public class LogTextBoxBenchmark {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(120, 40));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+        LogTextBox log = new LogTextBox(new Dimension(120, 40), 50000);
+        virtualGUI.addFullScreenWindow(log);
+        gui.updateScreen();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong produced = new AtomicLong();
+        Thread producer = new Thread(() -> {
+            long line = 0;
+            while(running.get()) {
+                log.appendLine("2020-01-01 12:00:00.000 INFO  [worker-" + (line % 8) + "] Processed request #" + line);
+                line++;
+                if((line & 0xff) == 0) {
+                    produced.set(line);
+                    // Let the GUI thread catch up now and then, like a real producer waiting on I/O would
+                    Thread.yield();
+                }
+            }
+            produced.set(line);
+        }, "LogProducer");
+
+        long frames = 0;
+        long startTime = System.nanoTime();
+        long endTime = startTime + seconds * 1000000000L;
+        producer.start();
+        while(System.nanoTime() < endTime) {
+            if(gui.getGUIThread().processEventsAndUpdate()) {
+                frames++;
+            }
+        }
+        running.set(false);
+        producer.join();
+        gui.getGUIThread().processEventsAndUpdate();
+        double elapsed = (System.nanoTime() - startTime) / 1000000000.0;
+
+        System.out.printf("%.0f lines per second appended, %d lines retained%n", produced.get() / elapsed, log.getLineCount());
+        System.out.printf("%.1f frames per second%n", frames / elapsed);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class LogTextBoxTest {
+
+    @Test
+    public void dropsOldestLinesPastTheLimits() {
+        LogTextBox log = new LogTextBox(new Dimension(20, 5), 3);
+        log.appendLine("one").appendLine("two\nthree").appendLine("four");
+        assertEquals("two\nthree\nfour", log.getText());
+
+        log.setMaxCharacters(9);
+        assertEquals("three\nfour", log.getText());
+        log.appendLine("12345678901");
+        assertEquals("12345678901", log.getText());
+    }
+
+    @Test
+    public void inheritedMutatorsKeepTheLogConsistent() {
+        LogTextBox log = new LogTextBox(new Dimension(20, 5), 10);
+        log.addLine("header");
+        log.appendLine("x");
+        assertEquals("header\nx", log.getText());
+
+        log.setText("a\nb");
+        log.appendLine("c");
+        assertEquals("a\nb\nc", log.getText());
+
+        log.setMaxCharacters(2);
+        assertEquals("b\nc", log.getText());
+    }
+
+    @Test
+    public void caretStaysInsideTheLogWhenLinesAreDropped() {
+        LogTextBox log = new LogTextBox(new Dimension(20, 5), 3);
+        log.appendLine("one\ntwo\nthree");
+        log.setCaretPosition(2, 5);
+        log.appendLine("four\nfive\nsix\nseven");
+        assertEquals("five\nsix\nseven", log.getText());
+        assertEquals(2, log.getCaretPosition().getRow());
+        assertEquals(5, log.getCaretPosition().getColumn());
+
+        log.setMaxCharacters(5);
+        assertEquals("seven", log.getText());
+        assertEquals(0, log.getCaretPosition().getRow());
+        assertEquals(5, log.getCaretPosition().getColumn());
+    }
+
+    @Test
+    public void linesAreAddedOncePerFrameAndTheViewFollowsTheTail() throws IOException {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(10, 3));
+        MultiWindowFrame gui = virtualGUI.getGUI();
+        LogTextBox log = new LogTextBox(new Dimension(10, 3), 100);
+        ((TextBox.DefaultTextBoxRenderer) log.getRenderer()).setHideScrollBars(true);
+        virtualGUI.addFullScreenWindow(log);
+        gui.updateScreen();
+
+        for (int i = 1; i <= 250; i++) {
+            log.appendLine("line " + i);
+        }
+        assertEquals(1, log.getLineCount());
+
+        gui.getGUIThread().processEventsAndUpdate();
+        assertEquals(100, log.getLineCount());
+        assertEquals("line 151", log.getLine(0));
+        assertEquals("line 248\nline 249\nline 250", virtualGUI.getTerminal().toString().trim());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.gui2.Window.Hint;
+import com.googlecode.lanterna.screen.TerminalScreen;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiWindowFrameRedrawTest {
+
+    private TerminalScreen screen;
+    private MultiWindowFrame gui;
+    private BasicWindow bottomWindow;
+    private BasicWindow topWindow;
+    private CountingLabel bottomLabel;
+    private CountingLabel topLabel;
+
+    @Before
+    public void setUp() throws IOException {
+        Dimension size = new Dimension(60, 20);
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(size, new SeparateTextUiThread.Factory(), new DefaultWindowManager(size));
+        screen = virtualGUI.getScreen();
+        gui = virtualGUI.getGUI();
+        bottomLabel = new CountingLabel("Bottom");
+        bottomWindow = createWindow("Bottom", bottomLabel, new Point(2, 2), new Dimension(20, 4));
+        topLabel = new CountingLabel("Top");
+        topWindow = createWindow("Top", topLabel, new Point(30, 2), new Dimension(20, 4));
+        gui.addWindow(bottomWindow);
+        gui.addWindow(topWindow);
+        gui.updateScreen();
+    }
+
+    @Test
+    public void cleanWindowIsNotRedrawn() throws IOException {
+        bottomLabel.setText("Changed");
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(1, bottomLabel.draws);
+        assertEquals(0, topLabel.draws);
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void activeWindowChangeOnlyRedrawsDecorations() throws IOException {
+        gui.setActiveWindow(bottomWindow);
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(0, bottomLabel.draws);
+        assertEquals(0, topLabel.draws);
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void occludedWindowIsSkipped() throws IOException {
+        topWindow.setPosition(new Point(0, 0));
+        topWindow.setFixedSize(new Dimension(40, 12));
+        gui.updateScreen();
+        bottomLabel.setText("Hidden");
+        assertFalse(gui.isPendingUpdate());
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(0, bottomLabel.draws);
+
+        topWindow.setPosition(new Point(30, 2));
+        topWindow.setFixedSize(new Dimension(20, 4));
+        assertTrue(gui.isPendingUpdate());
+        gui.updateScreen();
+        assertEquals(1, bottomLabel.draws);
+        assertSameAsFullRedraw();
+    }
+
+    private BasicWindow createWindow(String title, Component component, Point position, Dimension size) {
+        BasicWindow window = new BasicWindow(title);
+        window.setHints(Arrays.asList(Hint.FIXED_POSITION, Hint.FIXED_SIZE, Hint.NO_POST_RENDERING));
+        window.setPosition(position);
+        window.setFixedSize(size);
+        window.setComponent(new Panel().add(component));
+        return window;
+    }
+
+    private void resetCounters() {
+        bottomLabel.draws = 0;
+        topLabel.draws = 0;
+    }
+
+    private void assertSameAsFullRedraw() throws IOException {
+        String partial = dumpScreen();
+        bottomWindow.invalidate();
+        topWindow.invalidate();
+        gui.getBackgroundPane().invalidate();
+        gui.updateScreen();
+        assertEquals(dumpScreen(), partial);
+    }
+
+    private String dumpScreen() {
+        StringBuilder sb = new StringBuilder();
+        Dimension size = screen.getTerminalSize();
+        for (int row = 0; row < size.getRows(); row++) {
+            for (int column = 0; column < size.getColumns(); column++) {
+                TextCharacter character = screen.getFrontCharacter(column, row);
+                sb.append(character.getCharacterString())
+                        .append(character.getForegroundColor())
+                        .append(character.getBackgroundColor())
+                        .append(character.getModifiers());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static class CountingLabel extends Label {
+        private int draws;
+
+        CountingLabel(String text) {
+            super(text);
+        }
+
+        @Override
+        protected void onAfterDrawing(TextUiGraphics graphics) {
+            draws++;
+        }
+    }
+}
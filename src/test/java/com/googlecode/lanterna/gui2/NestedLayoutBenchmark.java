@@ -0,0 +1,96 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark of laying out deeply nested {@link GridLayout} panels, the way {@link Panel} does it on every redraw. It
+ * compares passes where the layout managers have to compute everything again (their settings are re-applied before
+ * each pass, which drops the cached layouts) with passes where nothing has changed since the last layout.
+ */
+public class NestedLayoutBenchmark {
+    private static final int DEPTH = 4;
+    private static final int COLUMNS = 3;
+    private static final Dimension AREA = new Dimension(200, 60);
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        List<GridLayout> layouts = new ArrayList<>();
+        Panel root = createGrid(DEPTH, layouts);
+        System.out.printf("%d nested grids, %d levels deep%n", layouts.size(), DEPTH);
+
+        // Warm-up
+        for(int i = 0; i < iterations / 4; i++) {
+            dropCachedLayouts(layouts);
+            layoutTree(root, AREA);
+            layoutTree(root, AREA);
+        }
+
+        long startTime = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            dropCachedLayouts(layouts);
+            layoutTree(root, AREA);
+        }
+        long uncached = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            layoutTree(root, AREA);
+        }
+        long cached = System.nanoTime() - startTime;
+
+        System.out.printf("Full layout:      %.3f ms per pass%n", uncached / 1000000.0 / iterations);
+        System.out.printf("Unchanged layout: %.3f ms per pass%n", cached / 1000000.0 / iterations);
+    }
+
+    private static Panel createGrid(int depth, List<GridLayout> layouts) {
+        GridLayout layout = new GridLayout(COLUMNS);
+        layouts.add(layout);
+        Panel panel = new Panel(layout);
+        for(int i = 0; i < COLUMNS * 2; i++) {
+            if(depth > 1 && i % 2 == 0) {
+                panel.add(createGrid(depth - 1, layouts), GridLayout.createHorizontallyFilledLayoutData());
+            }
+            else {
+                panel.add(new Label("Label " + depth + "-" + i));
+            }
+        }
+        return panel;
+    }
+
+    private static void dropCachedLayouts(List<GridLayout> layouts) {
+        for(GridLayout layout: layouts) {
+            layout.setHorizontalSpacing(layout.getHorizontalSpacing());
+        }
+    }
+
+    private static void layoutTree(Panel panel, Dimension area) {
+        panel.getLayoutManager().doLayout(area, panel.getChildrenList());
+        for(Component child: panel.getChildrenList()) {
+            if(child instanceof Panel) {
+                layoutTree((Panel)child, child.getSize());
+            }
+        }
+    }
+}
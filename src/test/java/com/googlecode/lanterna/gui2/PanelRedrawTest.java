@@ -0,0 +1,276 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.gui2.Window.Hint;
+import com.googlecode.lanterna.screen.TerminalScreen;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PanelRedrawTest {
+
+    private TerminalScreen screen;
+    private MultiWindowFrame gui;
+    private BasicWindow window;
+    private CountingLabel first;
+    private CountingLabel second;
+    private CountingLabel bordered;
+    private CountingLabel overlapped;
+    private Panel overlapping;
+
+    @Before
+    public void setUp() throws IOException {
+        Dimension size = new Dimension(40, 12);
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(size, new SeparateTextUiThread.Factory(), new DefaultWindowManager(size));
+        screen = virtualGUI.getScreen();
+        gui = virtualGUI.getGUI();
+        window = new BasicWindow("Redraw");
+        window.setHints(Arrays.asList(Hint.FIXED_SIZE));
+        window.setFixedSize(new Dimension(30, 8));
+
+        first = new CountingLabel("First");
+        first.setPreferredSize(new Dimension(10, 1));
+        second = new CountingLabel("Second");
+        bordered = new CountingLabel("Inside");
+        bordered.setPreferredSize(new Dimension(10, 1));
+        overlapped = new CountingLabel("Under");
+        overlapping = new Panel(new AbsoluteLayout());
+        overlapped.setPosition(new Point(0, 0)).setSize(new Dimension(8, 1));
+        Button button = new Button("Over");
+        button.setPosition(new Point(4, 0)).setSize(new Dimension(8, 1));
+        overlapping.add(overlapped).add(button);
+        overlapping.setPreferredSize(new Dimension(12, 1));
+
+        Panel panel = new Panel()
+                .add(first)
+                .add(second)
+                .add(new Panel().add(bordered).withBorder(Borders.singleLine("Border")))
+                .add(overlapping);
+        window.setComponent(panel);
+        gui.addWindow(window);
+        gui.updateScreen();
+    }
+
+    @Test
+    public void onlyInvalidComponentIsRedrawn() throws IOException {
+        first.setText("Changed");
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(1, first.draws);
+        assertEquals(0, second.draws);
+        assertEquals(0, bordered.draws);
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void shorterTextClearsPreviousContent() throws IOException {
+        first.setText("F");
+        bordered.setText("I");
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(0, second.draws);
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void overlappingSiblingsAreRedrawnTogether() throws IOException {
+        overlapped.setText("Changed!");
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(1, overlapped.draws);
+        assertEquals(0, first.draws);
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void layoutChangeRedrawsWholePanel() throws IOException {
+        second.setText("Second label is now longer");
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(1, first.draws);
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void settersInvalidateTheirComponent() throws IOException {
+        CheckBoxList<String> checkBoxList = new CheckBoxList<>();
+        checkBoxList.addItem("alpha").addItem("beta");
+        EmptySpace emptySpace = new EmptySpace(new Dimension(4, 1));
+        Button button = new Button("Press");
+        // The selection listeners of CheckBoxList need a GUI thread that accepts tasks
+        Dimension size = screen.getTerminalSize();
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(size, new SameTextUiThread.Factory(), new DefaultWindowManager(size));
+        screen = virtualGUI.getScreen();
+        gui = virtualGUI.getGUI();
+        window = new BasicWindow("Setters");
+        window.setComponent(new Panel().add(checkBoxList).add(emptySpace).add(button));
+        gui.addWindow(window);
+        gui.updateScreen();
+
+        checkBoxList.setChecked("beta", true);
+        checkBoxList.toggleChecked(0);
+        emptySpace.setColor(TextColor.ANSI.BLUE);
+        button.setEnabled(false);
+        assertTrue(window.isInvalid());
+        gui.updateScreen();
+        assertTrue(screenText().contains("[x] beta"));
+        assertSameAsFullRedraw();
+    }
+
+    @Test
+    public void invalidationDuringDrawIsKeptForTheNextFrame() throws IOException {
+        // The first label has already been drawn when the second one changes it
+        second.afterDrawing = () -> first.setText("Late");
+        second.setText("Second!");
+        gui.updateScreen();
+        second.afterDrawing = null;
+        assertTrue(window.isInvalid());
+        assertTrue(gui.isPendingUpdate());
+
+        resetCounters();
+        gui.updateScreen();
+        assertEquals(1, first.draws);
+        assertFalse(window.isInvalid());
+        assertTrue(screenText().contains("Late"));
+    }
+
+    @Test
+    public void invalidationFromAnotherThreadDuringDrawIsKept() throws Exception {
+        second.afterDrawing = () -> runOnOtherThread(() -> first.setText("Worker"));
+        second.setText("Second!");
+        gui.updateScreen();
+        second.afterDrawing = null;
+        assertTrue(window.isInvalid());
+        gui.updateScreen();
+        assertTrue(screenText().contains("Worker"));
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                bordered.setText("n" + i);
+                first.setText("w" + (i % 10));
+            }
+        });
+        worker.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        worker.start();
+        while (worker.isAlive()) {
+            gui.updateScreen();
+        }
+        worker.join();
+        assertEquals(null, failure.get());
+        // The last change is either still pending or already on the screen, never dropped
+        assertTrue(gui.isPendingUpdate() || screenText().contains("n19999"));
+        gui.updateScreen();
+        assertTrue(screenText().contains("n19999"));
+        assertFalse(gui.isPendingUpdate());
+    }
+
+    @Test
+    public void invalidationIsPropagatedToWindow() throws IOException {
+        assertFalse(window.isInvalid());
+        assertFalse(gui.isPendingUpdate());
+        bordered.setText("Nested");
+        assertTrue(window.isInvalid());
+        assertTrue(gui.isPendingUpdate());
+        gui.updateScreen();
+        assertFalse(window.isInvalid());
+        assertFalse(gui.isPendingUpdate());
+    }
+
+    private static void runOnOtherThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void resetCounters() {
+        first.draws = 0;
+        second.draws = 0;
+        bordered.draws = 0;
+        overlapped.draws = 0;
+    }
+
+    private void assertSameAsFullRedraw() throws IOException {
+        String partial = dumpScreen();
+        window.invalidate();
+        gui.updateScreen();
+        assertEquals(dumpScreen(), partial);
+    }
+
+    private String screenText() {
+        StringBuilder sb = new StringBuilder();
+        Dimension size = screen.getTerminalSize();
+        for (int row = 0; row < size.getRows(); row++) {
+            for (int column = 0; column < size.getColumns(); column++) {
+                sb.append(screen.getFrontCharacter(column, row).getCharacterString());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String dumpScreen() {
+        StringBuilder sb = new StringBuilder();
+        Dimension size = screen.getTerminalSize();
+        for (int row = 0; row < size.getRows(); row++) {
+            for (int column = 0; column < size.getColumns(); column++) {
+                TextCharacter character = screen.getFrontCharacter(column, row);
+                sb.append(character.getCharacterString())
+                        .append(character.getForegroundColor())
+                        .append(character.getBackgroundColor())
+                        .append(character.getModifiers());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static class CountingLabel extends Label {
+        private int draws;
+        private Runnable afterDrawing;
+
+        CountingLabel(String text) {
+            super(text);
+        }
+
+        @Override
+        protected void onAfterDrawing(TextUiGraphics graphics) {
+            draws++;
+            if (afterDrawing != null) {
+                afterDrawing.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class RopeTextDocumentTest {
+
+    @Test
+    public void matchesAListUnderRandomEdits() {
+        Random random = new Random(4711);
+        List<String> expected = new ArrayList<>();
+        RopeTextDocument document = new RopeTextDocument();
+        for (int round = 0; round < 2000; round++) {
+            int from = random.nextInt(expected.size() + 1);
+            int count = random.nextInt(Math.min(5, expected.size() - from) + 1);
+            List<String> newLines = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                newLines.add("line " + round + "." + i);
+            }
+            expected.subList(from, from + count).clear();
+            expected.addAll(from, newLines);
+            document.replaceLines(from, count, newLines);
+            if (!expected.isEmpty() && random.nextBoolean()) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, "set " + round);
+                document.setLine(index, "set " + round);
+            }
+
+            assertEquals(expected.size(), document.getLineCount());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), document.getLine(i));
+        }
+        assertEquals(String.join("\n", expected), document.getText());
+    }
+
+    @Test
+    public void textBoxReportsDeltas() {
+        TextBox textBox = new TextBox(new Dimension(10, 5), "one\ntwo\nthree");
+        List<String> events = new ArrayList<>();
+        textBox.getDocument().addChangeListener((document, fromIndex, removedLineCount, insertedLineCount) ->
+                events.add(fromIndex + "-" + removedLineCount + "+" + insertedLineCount));
+
+        textBox.setCaretPosition(1, 3);
+        textBox.onInput(new KeyStroke('s', false, false));
+        textBox.onInput(new KeyStroke(KeyType.Enter));
+        textBox.onInput(new KeyStroke(KeyType.Backspace));
+        textBox.addLine("four\nfive");
+
+        assertEquals(Arrays.asList("1-1+1", "1-1+2", "1-2+1", "3-0+2"), events);
+        assertEquals("one\ntwos\nthree\nfour\nfive", textBox.getText());
+    }
+
+    @Test
+    public void textBoxKeepsCaretInsideDocumentEditedFromOutside() {
+        TextBox textBox = new TextBox(new Dimension(10, 5), "one\ntwo\nthree\nfour\nfive");
+        textBox.setCaretPosition(4, 3);
+        textBox.getDocument().removeLines(2, 3);
+        assertEquals(new Point(3, 1), textBox.getCaretPosition());
+        textBox.onInput(new KeyStroke('!', false, false));
+        assertEquals("one\ntwo!", textBox.getText());
+
+        textBox.getDocument().setLine(1, "t");
+        assertEquals(new Point(1, 1), textBox.getCaretPosition());
+
+        textBox.getDocument().removeLines(0, 2);
+        assertEquals(1, textBox.getDocument().getLineCount());
+        assertEquals("", textBox.getText());
+        assertEquals(Point.TOP_LEFT_CORNER, textBox.getCaretPosition());
+
+        // The TextBox's own edits are not affected
+        textBox.setText("abc\ndef");
+        textBox.setCaretPosition(1, 3);
+        textBox.onInput(new KeyStroke(KeyType.Backspace));
+        assertEquals(new Point(2, 1), textBox.getCaretPosition());
+        textBox.removeLine(0);
+        assertEquals("de", textBox.getText());
+        assertEquals(new Point(2, 0), textBox.getCaretPosition());
+    }
+
+    @Test
+    public void listenersSeeChangesInTheOrderTheyWereMade() {
+        TextBox first = new TextBox(new Dimension(10, 5), "one\ntwo");
+        TextDocument document = first.getDocument();
+        TextBox second = new TextBox(new Dimension(10, 5));
+        second.setDocument(document);
+        List<String> events = new ArrayList<>();
+        document.addChangeListener((changed, fromIndex, removedLineCount, insertedLineCount) ->
+                events.add(fromIndex + "-" + removedLineCount + "+" + insertedLineCount + "=" + changed.getLineCount()));
+
+        document.removeLines(0, 2);
+        assertEquals(Arrays.asList("0-2+0=0", "0-0+1=1"), events);
+        assertEquals(1, document.getLineCount());
+        assertEquals("", first.getText());
+        assertEquals("", second.getText());
+    }
+}
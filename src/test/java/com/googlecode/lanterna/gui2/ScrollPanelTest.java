@@ -0,0 +1,167 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import com.googlecode.lanterna.screen.TerminalScreen;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ScrollPanelTest {
+    private static final int ITEMS = 1000;
+
+    private TerminalScreen screen;
+    private MultiWindowFrame gui;
+    private BasicWindow window;
+
+    @Before
+    public void setUp() throws IOException {
+        Dimension size = new Dimension(30, 6);
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(size, new SeparateTextUiThread.Factory());
+        screen = virtualGUI.getScreen();
+        gui = virtualGUI.getGUI();
+    }
+
+    @Test
+    public void onlyChildrenInsideTheViewportAreDrawn() throws IOException {
+        List<CountingLabel> labels = new ArrayList<>();
+        Panel content = new Panel();
+        for (int i = 0; i < ITEMS; i++) {
+            CountingLabel label = new CountingLabel("Item " + i);
+            labels.add(label);
+            content.add(label);
+        }
+        ScrollPanel scrollPanel = new ScrollPanel(content);
+        window = VirtualTerminalGUI.createFullScreenWindow(scrollPanel);
+        gui.addWindow(window);
+        gui.updateScreen();
+
+        assertEquals(6, countDrawn(labels));
+        assertEquals("Item 0", rowText(0));
+
+        resetCounters(labels);
+        scrollPanel.setScrollOffset(new Point(0, 500));
+        gui.updateScreen();
+        assertEquals(6, countDrawn(labels));
+        assertEquals(1, labels.get(505).draws);
+        assertEquals("Item 500", rowText(0));
+
+        // Scrolling past the end stops at the last item
+        scrollPanel.setScrollOffset(new Point(0, 5000));
+        gui.updateScreen();
+        assertEquals(new Point(0, ITEMS - 6), scrollPanel.getScrollOffset());
+        assertEquals("Item " + (ITEMS - 1), rowText(5));
+    }
+
+    @Test
+    public void viewportFollowsFocus() throws IOException {
+        List<Button> buttons = new ArrayList<>();
+        Panel content = new Panel();
+        for (int i = 0; i < 20; i++) {
+            Button button = new Button("Button " + i);
+            buttons.add(button);
+            content.add(button);
+        }
+        ScrollPanel scrollPanel = new ScrollPanel(content);
+        window = VirtualTerminalGUI.createFullScreenWindow(scrollPanel);
+        gui.addWindow(window);
+        window.setFocusedInteractable(buttons.get(0));
+        gui.updateScreen();
+
+        // The lookup map only knows about what is visible
+        assertSame(buttons.get(5), window.getInteractableLookupMap().getInteractableAt(new Point(2, 5)));
+        assertNull(window.getInteractableLookupMap().getInteractableAt(new Point(2, 6)));
+
+        window.setFocusedInteractable(buttons.get(5));
+        window.onInput(new KeyStroke(KeyType.ArrowDown));
+        assertSame(buttons.get(6), window.getFocusedInteractable());
+        gui.updateScreen();
+        assertEquals(new Point(0, 1), scrollPanel.getScrollOffset());
+        assertSame(buttons.get(6), window.getInteractableLookupMap().getInteractableAt(new Point(2, 5)));
+
+        window.setFocusedInteractable(buttons.get(15));
+        gui.updateScreen();
+        assertEquals(new Point(0, 10), scrollPanel.getScrollOffset());
+        assertEquals("<Button 15>", rowText(5).trim());
+    }
+
+    @Test
+    public void unchangedScrollPanelDoesNotKeepItsWindowInvalid() throws IOException {
+        Panel content = new Panel();
+        for (int i = 0; i < 20; i++) {
+            content.add(new Label("Item " + i));
+        }
+        ScrollPanel scrollPanel = new ScrollPanel(content);
+        window = VirtualTerminalGUI.createFullScreenWindow(Panels.vertical(scrollPanel));
+        gui.addWindow(window);
+        gui.updateScreen();
+        assertFalse(window.isInvalid());
+
+        gui.updateScreen();
+        assertFalse(window.isInvalid());
+        assertFalse(gui.isPendingUpdate());
+    }
+
+    private String rowText(int row) {
+        StringBuilder sb = new StringBuilder();
+        for (int column = 0; column < screen.getTerminalSize().getColumns() - 1; column++) {
+            sb.append(screen.getFrontCharacter(column, row).getCharacterString());
+        }
+        return sb.toString().trim();
+    }
+
+    private static int countDrawn(List<CountingLabel> labels) {
+        int drawn = 0;
+        for (CountingLabel label : labels) {
+            drawn += label.draws > 0 ? 1 : 0;
+        }
+        return drawn;
+    }
+
+    private static void resetCounters(List<CountingLabel> labels) {
+        for (CountingLabel label : labels) {
+            label.draws = 0;
+        }
+    }
+
+    private static class CountingLabel extends Label {
+        private int draws;
+
+        CountingLabel(String text) {
+            super(text);
+        }
+
+        @Override
+        protected void onAfterDrawing(TextUiGraphics graphics) {
+            draws++;
+        }
+    }
+}
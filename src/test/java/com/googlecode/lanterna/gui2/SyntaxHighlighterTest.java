@@ -0,0 +1,116 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.DefaultMutableThemeStyle;
+import com.googlecode.lanterna.graphics.ThemeStyle;
+import com.googlecode.lanterna.terminal.virtual.DefaultVirtualTerminal;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class SyntaxHighlighterTest {
+
+    /**
+     * Colours block comments, the state is whether the line ends inside a comment
+     */
+    private static class CommentHighlighter implements SyntaxHighlighter<Boolean> {
+        private static final ThemeStyle COMMENT = new DefaultMutableThemeStyle(TextColor.ANSI.RED, TextColor.ANSI.BLACK);
+        private int highlightedLines = 0;
+
+        @Override
+        public Boolean getInitialState() {
+            return false;
+        }
+
+        @Override
+        public Boolean highlightLine(String line, Boolean startState, List<Span> spans) {
+            highlightedLines++;
+            boolean inComment = startState;
+            int index = 0;
+            while (index < line.length()) {
+                if (inComment) {
+                    int end = line.indexOf("*/", index);
+                    end = end == -1 ? line.length() : end + 2;
+                    spans.add(new Span(index, end, COMMENT));
+                    inComment = end == line.length() && !line.endsWith("*/");
+                    index = end;
+                } else {
+                    int start = line.indexOf("/*", index);
+                    if (start == -1) {
+                        break;
+                    }
+                    index = start;
+                    inComment = true;
+                }
+            }
+            return inComment;
+        }
+    }
+
+    @Test
+    public void onlyChangedLinesAndLinesWithNewStartStateAreHighlightedAgain() throws Exception {
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(10, 3));
+        DefaultVirtualTerminal terminal = virtualGUI.getTerminal();
+        MultiWindowFrame gui = virtualGUI.getGUI();
+
+        List<String> lines = new ArrayList<>(Arrays.asList("a", "x /* b", "c", "c", "c", "d */ y"));
+        while (lines.size() < 1000) {
+            lines.add("e");
+        }
+        TextBox textBox = new TextBox(new Dimension(10, 3), String.join("\n", lines), TextBox.Style.MULTI_LINE, Attributes.EMPTY);
+        ((TextBox.DefaultTextBoxRenderer) textBox.getRenderer()).setHideScrollBars(true);
+        CommentHighlighter highlighter = new CommentHighlighter();
+        textBox.setSyntaxHighlighter(highlighter);
+        virtualGUI.addFullScreenWindow(textBox);
+
+        gui.updateScreen();
+        assertEquals(3, highlighter.highlightedLines);
+        assertEquals(TextColor.ANSI.RED, terminal.getCharacter(2, 1).getForegroundColor());
+        assertEquals(TextColor.ANSI.RED, terminal.getCharacter(0, 2).getForegroundColor());
+        assertNotEquals(TextColor.ANSI.RED, terminal.getCharacter(0, 1).getForegroundColor());
+
+        textBox.setCaretPosition(999, 0);
+        gui.updateScreen();
+        assertEquals(1000, highlighter.highlightedLines);
+
+        // Same state at the end of the line, nothing after it is affected
+        highlighter.highlightedLines = 0;
+        textBox.getDocument().setLine(3, "cc");
+        gui.updateScreen();
+        assertEquals(1, highlighter.highlightedLines);
+
+        // Removing the comment start changes the start state of the lines up to the comment end
+        textBox.getDocument().setLine(1, "x b");
+        gui.updateScreen();
+        assertEquals(6, highlighter.highlightedLines);
+
+        textBox.setCaretPosition(0, 0);
+        gui.updateScreen();
+        assertEquals(6, highlighter.highlightedLines);
+        assertNotEquals(TextColor.ANSI.RED, terminal.getCharacter(0, 2).getForegroundColor());
+    }
+}
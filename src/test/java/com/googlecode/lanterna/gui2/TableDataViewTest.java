@@ -0,0 +1,211 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.gui2.table.Table;
+import com.googlecode.lanterna.gui2.table.TableDataProvider;
+import com.googlecode.lanterna.gui2.table.TableDataView;
+import com.googlecode.lanterna.gui2.table.TableModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TableDataViewTest {
+
+    private static TableModel<String> createModel(String... names) {
+        TableModel<String> model = new TableModel<>("name");
+        for (String name : names) {
+            model.addRow(name);
+        }
+        return model;
+    }
+
+    private static List<String> column(TableDataView<String> view) {
+        List<String> values = new ArrayList<>();
+        for (int row = 0; row < view.getRowCount(); row++) {
+            values.add(view.getCell(0, row));
+        }
+        return values;
+    }
+
+    @Test
+    public void sortsAndFiltersWithoutTouchingTheModel() {
+        TableModel<String> model = createModel("pear", "apple", "fig", "banana");
+        TableDataView<String> view = new TableDataView<>(model, Runnable::run, Runnable::run);
+
+        view.setSortColumn(0, Comparator.naturalOrder());
+        assertEquals(Arrays.asList("apple", "banana", "fig", "pear"), column(view));
+        assertEquals(3, view.convertRowIndexToModel(1));
+
+        view.setFilter((source, row) -> source.getCell(0, row).length() > 3);
+        assertEquals(Arrays.asList("apple", "banana", "pear"), column(view));
+
+        model.addRow("cherry");
+        model.removeRow(0);
+        assertEquals(Arrays.asList("apple", "banana", "cherry"), column(view));
+        assertEquals("apple", model.getCell(0, 0));
+
+        view.setSortColumn(0, null).setFilter(null);
+        assertEquals(Arrays.asList("apple", "fig", "banana", "cherry"), column(view));
+    }
+
+    @Test
+    public void oldOrderIsShownUntilTheResultIsApplied() {
+        List<Runnable> guiQueue = new ArrayList<>();
+        TableModel<String> model = createModel("c", "a", "b");
+        TableDataView<String> view = new TableDataView<>(model, guiQueue::add, Runnable::run);
+        Table<String> table = new Table<>("name");
+        table.setDataProvider(view);
+
+        view.setSortColumn(0, Comparator.reverseOrder());
+        view.setSortColumn(0, Comparator.naturalOrder());
+        assertTrue(view.isUpdating());
+        assertEquals(Arrays.asList("c", "a", "b"), column(view));
+
+        // New rows show up at the end right away
+        model.addRow("d");
+        assertEquals(Arrays.asList("c", "a", "b", "d"), column(view));
+        assertEquals(4, table.getDataProvider().getRowCount());
+
+        // Only the result of the latest request is applied
+        for (Runnable runnable : guiQueue) {
+            runnable.run();
+        }
+        assertFalse(view.isUpdating());
+        assertEquals(Arrays.asList("a", "b", "c", "d"), column(view));
+    }
+
+    @Test
+    public void removingARangeFromASortedViewSendsFewEvents() {
+        TableModel<String> model = new TableModel<>("name");
+        for (int i = 0; i < 1000; i++) {
+            model.addRow((i % 2 == 0 ? "even-" : "odd-") + (1000 + i));
+        }
+        TableDataView<String> view = new TableDataView<>(model, Runnable::run, Runnable::run);
+        view.setSortColumn(0, Comparator.naturalOrder());
+        List<String> events = new ArrayList<>();
+        int[] rowCount = { view.getRowCount() };
+        view.addDataListener(new TableDataProvider.DataListener() {
+            @Override
+            public void onRowsAdded(TableDataProvider<?> provider, int fromIndex, int count) {
+                events.add("added " + fromIndex + "+" + count);
+                rowCount[0] += count;
+            }
+
+            @Override
+            public void onRowsRemoved(TableDataProvider<?> provider, int fromIndex, int count) {
+                events.add("removed " + fromIndex + "+" + count);
+                rowCount[0] -= count;
+            }
+
+            @Override
+            public void onRowsChanged(TableDataProvider<?> provider, int fromIndex, int count) {
+            }
+
+            @Override
+            public void onColumnsChanged(TableDataProvider<?> provider) {
+            }
+        });
+
+        // The first rows are spread over the two halves of the sorted view
+        model.removeRows(0, 100);
+        assertEquals(Arrays.asList("removed 0+550", "added 0+450"), events);
+        assertEquals(900, rowCount[0]);
+        assertEquals(900, view.getRowCount());
+
+        // Rows next to each other in the view are reported as one range
+        model.addRow("zz-1");
+        model.addRow("zz-2");
+        events.clear();
+        model.removeRows(900, 2);
+        assertEquals(Arrays.asList("removed 900+2"), events);
+        assertEquals(900, view.getRowCount());
+    }
+
+    @Test
+    public void failingFilterIsReportedThroughTheResultExecutor() {
+        List<Runnable> guiQueue = new ArrayList<>();
+        TableModel<String> model = createModel("c", "a", "b");
+        TableDataView<String> view = new TableDataView<>(model, guiQueue::add, Runnable::run);
+
+        view.setFilter((source, row) -> {
+            throw new IllegalStateException("Broken filter");
+        });
+        assertTrue(view.isUpdating());
+        assertEquals(1, guiQueue.size());
+        try {
+            guiQueue.get(0).run();
+            fail("The filter exception should have been rethrown");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Broken filter", e.getMessage());
+        }
+        assertFalse(view.isUpdating());
+        assertEquals(Arrays.asList("c", "a", "b"), column(view));
+
+        guiQueue.clear();
+        view.setFilter(null).setSortColumn(0, Comparator.naturalOrder());
+        guiQueue.forEach(Runnable::run);
+        assertEquals(Arrays.asList("a", "b", "c"), column(view));
+    }
+
+    @Test
+    public void modelAndViewCanBeUsedFromDifferentThreads() throws InterruptedException {
+        TableModel<String> model = createModel("c", "a", "b");
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        TableDataView<String> view = new TableDataView<>(model, Runnable::run, background);
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                model.addRow("row" + i);
+                if (i % 100 == 0) {
+                    model.removeRow(0);
+                }
+            }
+        });
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                view.getRowCount();
+                if (i % 500 == 0) {
+                    view.setSortColumn(0, (i / 500) % 2 == 0 ? Comparator.naturalOrder() : null);
+                }
+            }
+        });
+        writer.setDaemon(true);
+        reader.setDaemon(true);
+        writer.start();
+        reader.start();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        reader.join(TimeUnit.SECONDS.toMillis(30));
+        background.shutdown();
+        assertFalse("Writer thread is stuck", writer.isAlive());
+        assertFalse("Reader thread is stuck", reader.isAlive());
+    }
+}
@@ -1,18 +1,22 @@
 package com.googlecode.lanterna.gui2;
 
 import com.googlecode.lanterna.Dimension;
-import com.googlecode.lanterna.gui2.Window.Hint;
+import com.googlecode.lanterna.gui2.table.DefaultTableRenderer;
 import com.googlecode.lanterna.gui2.table.Table;
+import com.googlecode.lanterna.gui2.table.TableDataProvider;
 import com.googlecode.lanterna.gui2.table.TableModel;
-import com.googlecode.lanterna.screen.TerminalScreen;
 import com.googlecode.lanterna.terminal.virtual.DefaultVirtualTerminal;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class TableUnitTests {
 
@@ -24,17 +28,11 @@ public class TableUnitTests {
 
     @Before
     public void setUp() throws IOException {
-        Dimension size = new Dimension(30, 24);
-        terminal = new DefaultVirtualTerminal(size);
-        TerminalScreen screen = new TerminalScreen(terminal);
-        screen.start();
-        DefaultWindowManager windowManager = new DefaultWindowManager(new EmptyWindowDecorationRenderer(), size);
-        gui = new MultiWindowFrame(new SeparateTextUiThread.Factory(), screen, windowManager, null, new EmptySpace());
-        window = new BasicWindow();
-        window.setHints(Arrays.asList(Hint.NO_DECORATIONS, Hint.FIT_TERMINAL_WINDOW, Hint.FULL_SCREEN));
+        VirtualTerminalGUI virtualGUI = new VirtualTerminalGUI(new Dimension(30, 24), new SeparateTextUiThread.Factory());
+        terminal = virtualGUI.getTerminal();
+        gui = virtualGUI.getGUI();
         table = new Table<>("a", "b");
-        window.setComponent(new Panel(new LinearLayout().setSpacing(0)).add(table, LinearLayout.createLayoutData(LinearLayout.Alignment.Fill)));
-        gui.addWindow(window);
+        window = virtualGUI.addFullScreenWindow(new Panel(new LinearLayout().setSpacing(0)).add(table, LinearLayout.createLayoutData(LinearLayout.Alignment.Fill)));
         model = table.getTableModel();
     }
 
@@ -221,8 +219,156 @@ public class TableUnitTests {
                 "A4 B4                        ▼");
     }
 
+    @Test
+    public void testDataProviderIsOnlyAskedForSampledAndVisibleRows() throws Exception {
+        CountingDataProvider provider = new CountingDataProvider(100000);
+        table.setDataProvider(provider);
+        ((DefaultTableRenderer<String>) table.getRenderer()).setColumnWidthSampleSize(10);
+        table.setVisibleRows(2);
+        table.setSelectedRow(50000);
+        assertScreenEquals("" +
+                "a      b\n" +
+                "A50000 B50000                ▲\n" +
+                "A50001 B50001                ▼");
+        assertEquals(null, table.getTableModel());
+        assertEquals(true, provider.cellRequests < 100);
+    }
+
+    @Test
+    public void testDataProviderChangesUpdateSelection() throws Exception {
+        CountingDataProvider provider = new CountingDataProvider(10);
+        table.setDataProvider(provider);
+        table.setSelectedRow(8);
+        provider.removeRows(2, 3);
+        assertEquals(5, table.getSelectedRow());
+        provider.removeRows(4, 3);
+        assertEquals(3, table.getSelectedRow());
+    }
+
+    @Test
+    public void testBatchUpdateSendsOneRangeEvent() throws Exception {
+        List<String> events = new ArrayList<>();
+        model.addDataListener(new TableDataProvider.DataListener() {
+            @Override
+            public void onRowsAdded(TableDataProvider<?> provider, int fromIndex, int count) {
+                events.add("added " + fromIndex + "+" + count);
+            }
+
+            @Override
+            public void onRowsRemoved(TableDataProvider<?> provider, int fromIndex, int count) {
+                events.add("removed " + fromIndex + "+" + count);
+            }
+
+            @Override
+            public void onRowsChanged(TableDataProvider<?> provider, int fromIndex, int count) {
+                events.add("changed " + fromIndex + "+" + count);
+            }
+
+            @Override
+            public void onColumnsChanged(TableDataProvider<?> provider) {
+                events.add("columns");
+            }
+        });
+        model.batchUpdate(() -> {
+            for (int i = 1; i <= 1000; i++) {
+                model.addRow("A" + i, "B" + i);
+            }
+            model.setCell(0, 10, "X");
+            model.setCell(0, 11, "Y");
+        });
+        assertEquals(Arrays.asList("added 0+1000", "changed 10+2"), events);
+
+        events.clear();
+        model.removeRows(0, 998);
+        model.setCells(0, 0, Arrays.asList(Arrays.asList("C", "D"), Arrays.asList("E", "F")));
+        assertEquals(Arrays.asList("removed 0+998", "changed 0+2"), events);
+        assertScreenEquals("" +
+                "a b\n" +
+                "C D\n" +
+                "E F");
+
+        // A block that doesn't fit is rejected before anything is changed
+        events.clear();
+        try {
+            model.setCells(0, 1, Arrays.asList(Arrays.asList("G", "H"), Arrays.asList("I", "J")));
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+        try {
+            model.setCells(1, 0, Arrays.asList(Arrays.asList("G", "H")));
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+        assertEquals(Collections.emptyList(), events);
+        assertEquals("E", model.getCell(0, 1));
+        assertEquals("D", model.getCell(1, 0));
+    }
+
+    @Test
+    public void testReplaceAllKeepsSelection() throws Exception {
+        addFourRows();
+        table.setSelectedRow(2);
+        model.replaceAll(Arrays.asList(Arrays.asList("X1", "Y1"), Arrays.asList("X2", "Y2"), Arrays.asList("X3", "Y3")));
+        assertEquals(2, table.getSelectedRow());
+        model.replaceAll(Arrays.asList(Arrays.asList("Z1", "W1")));
+        assertEquals(0, table.getSelectedRow());
+        assertScreenEquals("" +
+                "a  b\n" +
+                "Z1 W1");
+    }
+
     // ---------------- END OF TESTS ----------------
 
+    private static class CountingDataProvider implements TableDataProvider<String> {
+        private final List<DataListener> listeners = new ArrayList<>();
+        private int rowCount;
+        private int cellRequests;
+
+        CountingDataProvider(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        void removeRows(int fromIndex, int count) {
+            rowCount -= count;
+            for (DataListener listener : listeners) {
+                listener.onRowsRemoved(this, fromIndex, count);
+            }
+        }
+
+        @Override
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 2;
+        }
+
+        @Override
+        public String getColumnLabel(int columnIndex) {
+            return columnIndex == 0 ? "a" : "b";
+        }
+
+        @Override
+        public String getCell(int columnIndex, int rowIndex) {
+            cellRequests++;
+            return (columnIndex == 0 ? "A" : "B") + (rowIndex + 1);
+        }
+
+        @Override
+        public void addDataListener(DataListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeDataListener(DataListener listener) {
+            listeners.remove(listener);
+        }
+    }
+
     private void addFourRows() {
         model.addRow("A1", "B1");
         model.addRow("A2", "B2");
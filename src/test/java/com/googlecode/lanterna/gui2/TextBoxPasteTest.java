@@ -0,0 +1,46 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Point;
+import com.googlecode.lanterna.input.PasteAction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TextBoxPasteTest {
+
+    @Test
+    public void pasteIsInsertedAsOneChange() {
+        TextBox textBox = new TextBox("head tail", TextBox.Style.MULTI_LINE, Attributes.EMPTY);
+        textBox.setCaretPosition(0, 5);
+        int[] changes = { 0 };
+        textBox.setTextChangeListener((newText, changedByUserInteraction, source) -> changes[0]++);
+
+        assertEquals(Interactable.KeyStrokeResult.HANDLED, textBox.onInput(new PasteAction("one\ntwo\nthree ")));
+        assertEquals("head one\ntwo\nthree tail", textBox.getText());
+        assertEquals(new Point(6, 2), textBox.getCaretPosition());
+        assertEquals(1, changes[0]);
+
+        TextBox singleLine = new TextBox("[]", TextBox.Style.SINGLE_LINE, Attributes.EMPTY);
+        singleLine.setCaretPosition(1);
+        singleLine.onInput(new PasteAction("a\nb"));
+        assertEquals("[ab]", singleLine.getText());
+    }
+}
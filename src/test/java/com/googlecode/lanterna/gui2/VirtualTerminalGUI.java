@@ -0,0 +1,102 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.screen.TerminalScreen;
+import com.googlecode.lanterna.terminal.virtual.DefaultVirtualTerminal;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Headless text GUI for the unit tests, drawing to a {@link DefaultVirtualTerminal} so that the tests can check what
+ * ended up on the screen. Unless told otherwise, the GUI thread is the calling thread and windows are drawn without
+ * decorations.
+ */
+public class VirtualTerminalGUI {
+    private final DefaultVirtualTerminal terminal;
+    private final TerminalScreen screen;
+    private final MultiWindowFrame gui;
+
+    /**
+     * Creates a GUI that runs its tasks on the calling thread
+     * @param size Size of the virtual terminal
+     */
+    public VirtualTerminalGUI(Dimension size) throws IOException {
+        this(size, new SameTextUiThread.Factory());
+    }
+
+    /**
+     * Creates a GUI that draws windows without decorations
+     * @param size Size of the virtual terminal
+     * @param threadFactory Factory for the GUI thread
+     */
+    public VirtualTerminalGUI(Dimension size, TextUiThreadFactory threadFactory) throws IOException {
+        this(size, threadFactory, new DefaultWindowManager(new EmptyWindowDecorationRenderer(), size));
+    }
+
+    /**
+     * Creates a GUI with a custom window manager
+     * @param size Size of the virtual terminal
+     * @param threadFactory Factory for the GUI thread
+     * @param windowManager Window manager to lay out the windows with
+     */
+    public VirtualTerminalGUI(Dimension size, TextUiThreadFactory threadFactory, WindowManager windowManager) throws IOException {
+        terminal = new DefaultVirtualTerminal(size);
+        screen = new TerminalScreen(terminal);
+        screen.start();
+        gui = new MultiWindowFrame(threadFactory, screen, windowManager, null, new EmptySpace());
+    }
+
+    /**
+     * Creates a window that covers the whole terminal without any decorations
+     * @param component Component to put in the window
+     * @return The new window, not yet added to any GUI
+     */
+    public static BasicWindow createFullScreenWindow(Component component) {
+        BasicWindow window = new BasicWindow();
+        window.setHints(Arrays.asList(Window.Hint.NO_DECORATIONS, Window.Hint.FULL_SCREEN, Window.Hint.NO_POST_RENDERING));
+        window.setComponent(component);
+        return window;
+    }
+
+    /**
+     * Shows a component in a new full-screen window, see {@link #createFullScreenWindow(Component)}
+     * @param component Component to put in the window
+     * @return The window that was added to the GUI
+     */
+    public BasicWindow addFullScreenWindow(Component component) {
+        BasicWindow window = createFullScreenWindow(component);
+        gui.addWindow(window);
+        return window;
+    }
+
+    public DefaultVirtualTerminal getTerminal() {
+        return terminal;
+    }
+
+    public TerminalScreen getScreen() {
+        return screen;
+    }
+
+    public MultiWindowFrame getGUI() {
+        return gui;
+    }
+}
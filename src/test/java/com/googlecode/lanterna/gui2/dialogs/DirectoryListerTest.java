@@ -0,0 +1,137 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.gui2.dialogs;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.gui2.BasicWindow;
+import com.googlecode.lanterna.gui2.MultiWindowFrame;
+import com.googlecode.lanterna.gui2.VirtualTerminalGUI;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DirectoryListerTest {
+
+    private static Path createDirectory(int fileCount) throws Exception {
+        Path directory = Files.createTempDirectory("lanterna-directory-lister");
+        directory.toFile().deleteOnExit();
+        for (int i = 0; i < fileCount; i++) {
+            Path file = Files.createFile(directory.resolve(String.format("File-%04d.txt", i)));
+            file.toFile().deleteOnExit();
+        }
+        Path subdirectory = Files.createDirectory(directory.resolve("sub"));
+        subdirectory.toFile().deleteOnExit();
+        Files.createFile(directory.resolve(".hidden")).toFile().deleteOnExit();
+        return directory;
+    }
+
+    /**
+     * Collects what the listener receives; the complete listing is put on the queue when it arrives
+     */
+    private static class CollectingListener implements DirectoryLister.Listener {
+        private final List<DirectoryLister.Entry> batched = new ArrayList<>();
+        private final BlockingQueue<List<DirectoryLister.Entry>> completed = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onEntries(List<DirectoryLister.Entry> entries) {
+            batched.addAll(entries);
+        }
+
+        @Override
+        public void onComplete(List<DirectoryLister.Entry> entries) {
+            completed.add(entries);
+        }
+    }
+
+    @Test
+    public void listsInBatchesAndServesUnchangedDirectoriesFromCache() throws Exception {
+        Path directory = createDirectory(300);
+        CollectingListener listener = new CollectingListener();
+        DirectoryLister.Listing listing = DirectoryLister.list(directory.toFile(), Runnable::run, listener);
+        List<DirectoryLister.Entry> entries = listener.completed.poll(10, TimeUnit.SECONDS);
+
+        assertEquals(302, entries.size());
+        assertFalse(listing.isServedFromCache());
+        assertFalse(listener.batched.isEmpty());
+        assertEquals(".hidden", entries.get(0).getName());
+        assertTrue(entries.get(0).isHidden());
+        assertEquals("File-0000.txt", entries.get(1).getName());
+        assertFalse(entries.get(1).isHidden());
+        assertEquals("sub", entries.get(301).getName());
+        assertTrue(entries.get(301).isDirectory());
+        assertEquals(1, entries.stream().filter(DirectoryLister.Entry::isDirectory).count());
+
+        CollectingListener secondListener = new CollectingListener();
+        DirectoryLister.Listing secondListing = DirectoryLister.list(directory.toFile(), Runnable::run, secondListener);
+        assertEquals(entries, secondListener.completed.poll(10, TimeUnit.SECONDS));
+        assertTrue(secondListing.isServedFromCache());
+        assertTrue(secondListener.batched.isEmpty());
+    }
+
+    @Test
+    public void cancelledListingsAreNotDelivered() throws Exception {
+        Path directory = createDirectory(10);
+        List<Runnable> backgroundTasks = new ArrayList<>();
+        CollectingListener listener = new CollectingListener();
+        DirectoryLister.Listing listing = DirectoryLister.list(directory.toFile(), Runnable::run, backgroundTasks::add, listener);
+        listing.cancel();
+        backgroundTasks.forEach(Runnable::run);
+        assertNull(listener.completed.poll());
+        assertTrue(listener.batched.isEmpty());
+
+        File missing = directory.resolve("missing").toFile();
+        DirectoryLister.list(missing, Runnable::run, Runnable::run, listener);
+        assertEquals(0, listener.completed.poll(10, TimeUnit.SECONDS).size());
+        assertEquals("", listener.batched.stream().map(DirectoryLister.Entry::getName).collect(Collectors.joining()));
+    }
+
+    @Test
+    public void guiExecutorHoldsTasksUntilTheWindowIsInAGUI() throws Exception {
+        BasicWindow window = new BasicWindow();
+        DirectoryLister.GuiExecutor executor = new DirectoryLister.GuiExecutor(window);
+        List<Thread> ranOn = new ArrayList<>();
+        Thread worker = new Thread(() -> executor.execute(() -> ranOn.add(Thread.currentThread())));
+        worker.start();
+        worker.join();
+        assertTrue(ranOn.isEmpty());
+        assertEquals(1, executor.getPendingTaskCount());
+
+        MultiWindowFrame gui = new VirtualTerminalGUI(new Dimension(20, 5)).getGUI();
+        gui.addWindow(window);
+        executor.flush();
+        assertEquals(0, executor.getPendingTaskCount());
+        assertTrue(ranOn.isEmpty());
+        gui.getGUIThread().processEventsAndUpdate();
+        assertEquals(Collections.singletonList(Thread.currentThread()), ranOn);
+    }
+}
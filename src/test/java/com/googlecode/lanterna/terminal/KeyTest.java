@@ -18,11 +18,19 @@
  */
 package com.googlecode.lanterna.terminal;
 
+import com.googlecode.lanterna.input.DefaultKeyDecodingProfile;
+import com.googlecode.lanterna.input.InputDecoder;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
+import com.googlecode.lanterna.input.PasteAction;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+
 import static org.junit.Assert.*;
 
 public class KeyTest {
@@ -64,4 +72,52 @@ public class KeyTest {
         assertEquals(KeyType.PageUp, KeyStroke.fromString("<PageUp>").getKeyType());
     }
 
+    @Test
+    public void testBracketedPaste() throws IOException {
+        InputDecoder decoder = new InputDecoder(new StringReader("a\u001b[200~one\r\ntwo\r\u001b[A\u001b[201~b"));
+        decoder.addProfile(new DefaultKeyDecodingProfile());
+        assertEquals(new Character('a'), decoder.getNextCharacter(true).getCharacter());
+        KeyStroke paste = decoder.getNextCharacter(true);
+        assertEquals(KeyType.Paste, paste.getKeyType());
+        assertEquals("one\ntwo\n\u001b[A", ((PasteAction) paste).getText());
+        assertEquals(new Character('b'), decoder.getNextCharacter(true).getCharacter());
+    }
+
+    @Test
+    public void unfinishedPasteDoesNotHoldUpNonBlockingInput() throws IOException {
+        PipedWriter writer = new PipedWriter();
+        InputDecoder decoder = new InputDecoder(new PipedReader(writer));
+        decoder.addProfile(new DefaultKeyDecodingProfile());
+        writer.write("\u001b[200~one\r");
+        assertEquals("one", ((PasteAction) decoder.getNextCharacter(false)).getText());
+        assertNull(decoder.getNextCharacter(false));
+
+        writer.write("\ntwo\u001b[20");
+        assertEquals("\ntwo", ((PasteAction) decoder.getNextCharacter(false)).getText());
+        writer.write("1~x");
+        assertEquals("", ((PasteAction) decoder.getNextCharacter(false)).getText());
+        assertEquals(new Character('x'), decoder.getNextCharacter(false).getCharacter());
+    }
+
+    @Test
+    public void longPasteIsDeliveredInParts() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 200000) {
+            text.append("line ").append(text.length()).append('\n');
+        }
+        InputDecoder decoder = new InputDecoder(new StringReader("\u001b[200~" + text + "\u001b[201~b"));
+        decoder.addProfile(new DefaultKeyDecodingProfile());
+        StringBuilder pasted = new StringBuilder();
+        int parts = 0;
+        KeyStroke keyStroke;
+        while ((keyStroke = decoder.getNextCharacter(true)).getKeyType() == KeyType.Paste) {
+            String part = ((PasteAction) keyStroke).getText();
+            assertTrue(part.length() <= 64 * 1024);
+            pasted.append(part);
+            parts++;
+        }
+        assertTrue(parts > 1);
+        assertEquals(text.toString(), pasted.toString());
+        assertEquals(new Character('b'), keyStroke.getCharacter());
+    }
 }
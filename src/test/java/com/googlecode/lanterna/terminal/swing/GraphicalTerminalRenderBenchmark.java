@@ -0,0 +1,134 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.terminal.swing;
+
+import com.googlecode.lanterna.Dimension;
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+
+import java.awt.*;
+
+/**
+ * Headless benchmark of the back buffer update in {@link GraphicalTerminalImplementation}. It renders a 200x60
+ * terminal filled with typical colored text into an off-screen {@link java.awt.image.BufferedImage} and reports the
+ * average time spent per full redraw.
+ */
+public class GraphicalTerminalRenderBenchmark {
+    private static final int COLUMNS = 200;
+    private static final int ROWS = 60;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        final AWTTerminalFontConfiguration fontConfiguration =
+                AWTTerminalFontConfiguration.newInstance(new Font(Font.MONOSPACED, Font.PLAIN, 14));
+        GraphicalTerminalImplementation terminal = new HeadlessTerminalImplementation(fontConfiguration);
+
+        // Warm-up
+        for(int i = 0; i < iterations / 4; i++) {
+            fillScreen(terminal, i);
+            flushAndWait(terminal);
+        }
+
+        long startTime = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            fillScreen(terminal, i);
+            flushAndWait(terminal);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        System.out.printf("%dx%d, %d full redraws: %.3f ms per frame%n",
+                COLUMNS, ROWS, iterations, elapsed / 1000000.0 / iterations);
+    }
+
+    private static void flushAndWait(GraphicalTerminalImplementation terminal) {
+        // Flushing is asynchronous, wait for the render clock to draw the frame
+        long renderedFrames = terminal.getRenderedFrameCount();
+        terminal.flush();
+        while(terminal.getRenderedFrameCount() == renderedFrames) {
+            Thread.yield();
+        }
+    }
+
+    private static void fillScreen(GraphicalTerminalImplementation terminal, int frame) {
+        TextColor[] colors = { TextColor.ANSI.DEFAULT, TextColor.ANSI.GREEN, TextColor.ANSI.YELLOW, TextColor.ANSI.CYAN };
+        for(int row = 0; row < ROWS; row++) {
+            terminal.setCursorPosition(0, row);
+            for(int column = 0; column < COLUMNS; column++) {
+                // Style changes roughly every word, similar to what a syntax-colored editor or a TUI would produce
+                int word = (column + frame) / 8;
+                terminal.setForegroundColor(colors[(word + row) % colors.length]);
+                if(word % 5 == 0) {
+                    terminal.enableSGR(SGR.BOLD);
+                }
+                else {
+                    terminal.disableSGR(SGR.BOLD);
+                }
+                terminal.putCharacter((column + frame) % 8 == 7 ? ' ' : (char)('a' + (column + row + frame) % 26));
+            }
+        }
+    }
+
+    private static class HeadlessTerminalImplementation extends GraphicalTerminalImplementation {
+        private final AWTTerminalFontConfiguration fontConfiguration;
+
+        HeadlessTerminalImplementation(AWTTerminalFontConfiguration fontConfiguration) {
+            super(new Dimension(COLUMNS, ROWS),
+                    TerminalEmulatorDeviceConfiguration.getDefault().withFrameIntervalInMilliSeconds(0),
+                    TerminalEmulatorColorConfiguration.getDefault(),
+                    new TerminalScrollController.Null());
+            this.fontConfiguration = fontConfiguration;
+        }
+
+        @Override
+        int getFontHeight() {
+            return fontConfiguration.getFontHeight();
+        }
+
+        @Override
+        int getFontWidth() {
+            return fontConfiguration.getFontWidth();
+        }
+
+        @Override
+        int getHeight() {
+            return fontConfiguration.getFontHeight() * ROWS;
+        }
+
+        @Override
+        int getWidth() {
+            return fontConfiguration.getFontWidth() * COLUMNS;
+        }
+
+        @Override
+        Font getFontForCharacter(TextCharacter character) {
+            return fontConfiguration.getFontForCharacter(character);
+        }
+
+        @Override
+        boolean isTextAntiAliased() {
+            return fontConfiguration.isAntiAliased();
+        }
+
+        @Override
+        void repaint() {
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of lanterna (https://github.com/mabe02/lanterna).
+ *
+ * lanterna is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2010-2020 Martin Berglund
+ */
+package com.googlecode.lanterna.terminal.swing;
+
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.BasicTextImage;
+import com.googlecode.lanterna.graphics.TextGraphics;
+import com.googlecode.lanterna.graphics.TextImage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class TextImageRendererTest {
+    private static TextImageRenderer renderer;
+    private static int fontWidth;
+    private static int fontHeight;
+
+    @BeforeClass
+    public static void setUp() {
+        System.setProperty("java.awt.headless", "true");
+        AWTTerminalFontConfiguration fontConfiguration =
+                AWTTerminalFontConfiguration.newInstance(new Font(Font.MONOSPACED, Font.PLAIN, 14));
+        fontWidth = fontConfiguration.getFontWidth();
+        fontHeight = fontConfiguration.getFontHeight();
+        renderer = new TextImageRenderer(fontConfiguration, TerminalEmulatorColorConfiguration.getDefault());
+    }
+
+    @Test
+    public void renderedImageCoversAllCells() {
+        BufferedImage image = renderer.render(new BasicTextImage(20, 5));
+        assertEquals(20 * fontWidth, image.getWidth());
+        assertEquals(5 * fontHeight, image.getHeight());
+    }
+
+    @Test
+    public void backgroundColorIsPaintedPerCell() {
+        TextImage textImage = new BasicTextImage(10, 3);
+        TextGraphics textGraphics = textImage.newTextGraphics();
+        textGraphics.setBackgroundColor(TextColor.ANSI.BLUE);
+        textGraphics.putString(2, 1, "   ");
+
+        BufferedImage image = renderer.render(textImage);
+        Color blue = TerminalEmulatorPalette.STANDARD_VGA.get(TextColor.ANSI.BLUE, false, false);
+        Color black = TerminalEmulatorPalette.STANDARD_VGA.get(TextColor.ANSI.DEFAULT, false, false);
+        assertEquals(blue.getRGB(), image.getRGB(3 * fontWidth, fontHeight + fontHeight / 2));
+        assertEquals(black.getRGB(), image.getRGB(6 * fontWidth, fontHeight + fontHeight / 2));
+    }
+
+    @Test
+    public void retainedImageMatchesFullRender() {
+        TextImage textImage = new BasicTextImage(30, 4);
+        TextGraphics textGraphics = textImage.newTextGraphics();
+        textGraphics.putString(0, 0, "Hello World");
+        TextImageRenderer.RetainedImage retainedImage = renderer.newRetainedImage();
+        BufferedImage first = retainedImage.update(textImage);
+
+        textGraphics.setForegroundColor(TextColor.ANSI.RED);
+        textGraphics.putString(6, 0, "there");
+        textGraphics.putString(3, 2, "Second row");
+        BufferedImage second = retainedImage.update(textImage);
+
+        assertSame(first, second);
+        assertImagesEqual(renderer.render(textImage), second);
+    }
+
+    @Test
+    public void retainedImageIsReallocatedOnResize() {
+        TextImageRenderer.RetainedImage retainedImage = renderer.newRetainedImage();
+        BufferedImage first = retainedImage.update(new BasicTextImage(10, 2));
+        BufferedImage second = retainedImage.update(new BasicTextImage(12, 2));
+        assertNotSame(first, second);
+        assertEquals(12 * fontWidth, second.getWidth());
+    }
+
+    @Test
+    public void batchRenderingKeepsOrder() throws InterruptedException {
+        List<TextImage> textImages = Arrays.asList(new BasicTextImage(5, 1), new BasicTextImage(6, 1), new BasicTextImage(7, 1));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            List<BufferedImage> images = renderer.renderAll(textImages, executorService);
+            assertEquals(3, images.size());
+            for(int i = 0; i < images.size(); i++) {
+                assertEquals((5 + i) * fontWidth, images.get(i).getWidth());
+            }
+        }
+        finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static void assertImagesEqual(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for(int y = 0; y < expected.getHeight(); y++) {
+            for(int x = 0; x < expected.getWidth(); x++) {
+                assertEquals("Pixel at " + x + "x" + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+}